@@ -0,0 +1,83 @@
+package com.example.benchmarks;
+
+import com.example.notification_backend.mail.EmailBodyCodec;
+import com.example.notification_backend.mail.EmailRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * notification_body'ye yazılan email gövdelerinin sıkıştırma ve açma süresi
+ * Sıkıştırılmış boyutlar setUp'ta yazdırılır (ham, sözlüksüz deflate, şablon sözlüklü deflate).
+ * compressWithDictionary: kayıt başına NotificationBodyService'in yaptığı iş
+ * decompressWithDictionary: detay görüntülemede gövdenin açılması
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EmailBodyCodecBenchmark {
+
+    private EmailBodyCodec plainCodec;
+    private EmailBodyCodec dictionaryCodec;
+    private String body;
+    private byte[] compressedBody;
+    private int bodyLength;
+
+    @Setup
+    public void setUp() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        resolver.setCacheable(true);
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+
+        EmailRenderer emailRenderer = new EmailRenderer();
+        ReflectionTestUtils.setField(emailRenderer, "templateEngine", templateEngine);
+        ReflectionTestUtils.setField(emailRenderer, "templateCacheEnabled", true);
+        emailRenderer.warmUp();
+
+        plainCodec = new EmailBodyCodec(null);
+        dictionaryCodec = new EmailBodyCodec(emailRenderer.renderBodyDictionary().getBytes(StandardCharsets.UTF_8));
+        body = emailRenderer.renderPersonelNotification(42L, "Ahmet", "Demir", "ahmet.demir@firma.com.tr",
+                "UPDATE", "Departman, Pozisyon, Maaş");
+        bodyLength = body.getBytes(StandardCharsets.UTF_8).length;
+        compressedBody = dictionaryCodec.compress(body);
+        System.out.printf("%nGövde: %d byte, sözlüksüz: %d byte, sözlüklü: %d byte%n",
+                bodyLength, plainCodec.compress(body).length, compressedBody.length);
+    }
+
+    @Benchmark
+    public byte[] compressWithoutDictionary() {
+        return plainCodec.compress(body);
+    }
+
+    @Benchmark
+    public byte[] compressWithDictionary() {
+        return dictionaryCodec.compress(body);
+    }
+
+    @Benchmark
+    public String decompressWithDictionary() {
+        return dictionaryCodec.decompress(compressedBody, bodyLength);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.benchmarks;
+
+import com.example.notification_backend.mail.EmailRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bildirim emaili konu ve HTML gövde oluşturma hızı (saniyedeki render sayısı, SMTP gönderimi hariç)
+ * Render başına ayrılan byte'lar BenchmarkRunner'ın varsayılan olarak açtığı GC profiler'ında
+ * gc.alloc.rate.norm satırındadır.
+ * thymeleafRender: EmailRenderer öncesi yol, her email için Context + şablon işleme + yeni DateTimeFormatter
+ * precompiledRender: EmailRenderer'ın derlenmiş şablonu
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EmailRenderBenchmark {
+
+    private SpringTemplateEngine templateEngine;
+    private EmailRenderer emailRenderer;
+
+    @Setup
+    public void setUp() {
+        // Spring Boot'un varsayılan ayarlarıyla aynı: classpath:templates/*.html, önbellekli
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        resolver.setCacheable(true);
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+
+        emailRenderer = new EmailRenderer();
+        ReflectionTestUtils.setField(emailRenderer, "templateEngine", templateEngine);
+        ReflectionTestUtils.setField(emailRenderer, "templateCacheEnabled", true);
+        emailRenderer.warmUp();
+    }
+
+    @Benchmark
+    public String thymeleafRender() {
+        Context context = new Context();
+        context.setVariable("personelId", 42L);
+        context.setVariable("ad", "Ahmet");
+        context.setVariable("soyad", "Demir");
+        context.setVariable("email", "ahmet.demir@firma.com.tr");
+        context.setVariable("operationType", "UPDATE");
+        context.setVariable("changedFields", "Departman, Pozisyon, Maaş");
+        context.setVariable("timestamp", LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm:ss")));
+        return templateEngine.process("personel-notification", context);
+    }
+
+    @Benchmark
+    public String precompiledRender() {
+        return emailRenderer.renderPersonelNotification(42L, "Ahmet", "Demir", "ahmet.demir@firma.com.tr",
+                "UPDATE", "Departman, Pozisyon, Maaş");
+    }
+
+    @Benchmark
+    public String createSubject() {
+        return emailRenderer.createSubject("UPDATE", "Ahmet", "Demir");
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.benchmarks;
+
+import com.example.personel_events.PersonelNotificationDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RabbitMQ mesaj gövdesinin üretici ve tüketici tarafındaki JSON dönüşümleri
+ * Üretici: outbox'a yazılan payload (Spring ObjectMapper) ve Jackson2JsonMessageConverter.toMessage
+ * Tüketici: notification-backend'deki Jackson2JsonMessageConverter.fromMessage (tekil ve toplu mesaj)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MessagePayloadBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    private final Jackson2JsonMessageConverter producerConverter = new Jackson2JsonMessageConverter();
+    private final Jackson2JsonMessageConverter consumerConverter = new Jackson2JsonMessageConverter();
+    // Spring Boot'un uygulamaya verdiği ObjectMapper ile aynı ayarlar (ISO tarih formatı)
+    private final ObjectMapper outboxObjectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private PersonelNotificationDTO notification;
+    private Message singleMessage;
+    private Message batchMessage;
+
+    @Setup
+    public void setUp() throws Exception {
+        notification = new PersonelNotificationDTO(42L, "Ahmet", "Demir", "ahmet.demir@firma.com.tr",
+                "UPDATE", "Güncellenen alanlar: Departman, Pozisyon, Maaş");
+
+        List<PersonelNotificationDTO> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(new PersonelNotificationDTO((long) i, "Ad" + i, "Soyad" + i, "personel" + i + "@firma.com.tr",
+                    "CREATE", "Yeni personel eklendi"));
+        }
+
+        singleMessage = consumerMessage(outboxObjectMapper.writeValueAsBytes(notification),
+                PersonelNotificationDTO.class);
+        batchMessage = consumerMessage(outboxObjectMapper.writeValueAsBytes(batch),
+                com.example.notification_backend.listener.PersonelNotificationListener.class
+                        .getMethod("handleAggregatedPersonelNotification", List.class).getGenericParameterTypes()[0]);
+    }
+
+    @Benchmark
+    public String producerOutboxPayload() throws JsonProcessingException {
+        return outboxObjectMapper.writeValueAsString(notification);
+    }
+
+    @Benchmark
+    public Message producerConverterToMessage() {
+        return producerConverter.toMessage(notification, new MessageProperties());
+    }
+
+    @Benchmark
+    public Object consumerFromMessage() {
+        return consumerConverter.fromMessage(singleMessage);
+    }
+
+    @Benchmark
+    public Object consumerFromBatchMessage() {
+        return consumerConverter.fromMessage(batchMessage);
+    }
+
+    // Listener container'ın yaptığı gibi hedef tip metot parametresinden çıkarılır
+    private static Message consumerMessage(byte[] body, Type listenerParameterType) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setContentEncoding("UTF-8");
+        properties.setInferredArgumentType(listenerParameterType);
+        return new Message(body, properties);
+    }
+}
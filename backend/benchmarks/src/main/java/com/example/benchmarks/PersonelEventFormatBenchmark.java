@@ -0,0 +1,114 @@
+package com.example.benchmarks;
+
+import com.example.personel_events.PersonelEventContract;
+import com.example.personel_events.PersonelEventFormat;
+import com.example.personel_events.PersonelNotificationDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Personel olayı mesaj gövdesi biçimlerinin (JSON, Smile) karşılaştırması
+ * Gövde boyutları setUp'ta yazdırılır (tekil olay ve 100 olaylık toplu mesaj).
+ * encode: OutboxRelay'in outbox'taki JSON payload'ı yayın biçimine çevirmesi (JSON'da kopyasız)
+ * decode: notification-backend'in PersonelEventContract converter'ı ile content-type'a göre okuması
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PersonelEventFormatBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"JSON", "SMILE"})
+    private PersonelEventFormat format;
+
+    private final MessageConverter consumerConverter = PersonelEventContract.messageConverter();
+    // Spring Boot'un uygulamaya verdiği ObjectMapper ile aynı ayarlar (outbox payload'ı)
+    private final ObjectMapper outboxObjectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private String singlePayload;
+    private String batchPayload;
+    private Message singleMessage;
+    private Message batchMessage;
+
+    @Setup
+    public void setUp() throws Exception {
+        PersonelNotificationDTO notification = new PersonelNotificationDTO(42L, "Ahmet", "Demir",
+                "ahmet.demir@firma.com.tr", "UPDATE", "Güncellenen alanlar: Departman, Pozisyon, Maaş");
+        notification.setEventId(UUID.randomUUID().toString());
+
+        List<PersonelNotificationDTO> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            PersonelNotificationDTO item = new PersonelNotificationDTO((long) i, "Ad" + i, "Soyad" + i,
+                    "personel" + i + "@firma.com.tr", "CREATE", "Yeni personel eklendi");
+            item.setEventId(UUID.randomUUID().toString());
+            batch.add(item);
+        }
+
+        singlePayload = outboxObjectMapper.writeValueAsString(notification);
+        batchPayload = outboxObjectMapper.writeValueAsString(batch);
+        singleMessage = consumerMessage(format.encode(singlePayload), PersonelNotificationDTO.class);
+        batchMessage = consumerMessage(format.encode(batchPayload),
+                com.example.notification_backend.listener.PersonelNotificationListener.class
+                        .getMethod("handleAggregatedPersonelNotification", List.class).getGenericParameterTypes()[0]);
+        System.out.printf("%n%s: tekil olay %d byte (JSON %d), %d olaylık batch %d byte (JSON %d)%n", format,
+                singleMessage.getBody().length, singlePayload.getBytes(StandardCharsets.UTF_8).length, BATCH_SIZE,
+                batchMessage.getBody().length, batchPayload.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Benchmark
+    public byte[] encodeSingle() {
+        return format.encode(singlePayload);
+    }
+
+    @Benchmark
+    public byte[] encodeBatch() {
+        return format.encode(batchPayload);
+    }
+
+    @Benchmark
+    public Object decodeSingle() {
+        return consumerConverter.fromMessage(singleMessage);
+    }
+
+    @Benchmark
+    public Object decodeBatch() {
+        return consumerConverter.fromMessage(batchMessage);
+    }
+
+    // Listener container'ın yaptığı gibi hedef tip metot parametresinden çıkarılır
+    private Message consumerMessage(byte[] body, Type listenerParameterType) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(format.getContentType());
+        if (format.isText()) {
+            properties.setContentEncoding(StandardCharsets.UTF_8.name());
+        }
+        properties.setHeader(PersonelEventContract.SCHEMA_VERSION_HEADER, PersonelEventContract.SCHEMA_VERSION);
+        properties.setInferredArgumentType(listenerParameterType);
+        return new Message(body, properties);
+    }
+}
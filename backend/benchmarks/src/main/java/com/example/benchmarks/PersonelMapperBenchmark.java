@@ -0,0 +1,96 @@
+package com.example.benchmarks;
+
+import com.example.personal_backend.dto.PersonelResponseDTO;
+import com.example.personal_backend.dto.PersonelUpdateDTO;
+import com.example.personal_backend.entity.Personel;
+import com.example.personal_backend.mapper.PersonelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PersonelService'in güncelleme (alan karşılaştırma) ve DTO dönüşüm yolları
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PersonelMapperBenchmark {
+
+    private final PersonelMapper mapper = new PersonelMapper();
+
+    private Personel personel;
+    private Personel changingPersonel;
+    private PersonelUpdateDTO[] alternatingUpdates;
+    private PersonelUpdateDTO unchangedUpdate;
+    private int nextUpdate;
+
+    @Setup
+    public void setUp() {
+        personel = newPersonel();
+        changingPersonel = newPersonel();
+        // Her çağrıda tüm alanların gerçekten değişmesi için iki farklı güncelleme sırayla uygulanır
+        alternatingUpdates = new PersonelUpdateDTO[]{
+                update("Mehmet", "Kaya", "mehmet.kaya@firma.com.tr", "5551112233", "Muhasebe", "Uzman",
+                        LocalDate.of(2019, 3, 1), 61_000.0, false),
+                update("Ayşe", "Yılmaz", "ayse.yilmaz@firma.com.tr", "5554445566", "Bilgi İşlem", "Yazılım Mühendisi",
+                        LocalDate.of(2021, 6, 15), 72_500.0, true)
+        };
+        unchangedUpdate = update(personel.getAd(), personel.getSoyad(), personel.getEmail(), personel.getTelefon(),
+                personel.getDepartman(), personel.getPozisyon(), personel.getIseBaslamaTarihi(), personel.getMaas(),
+                personel.getAktif());
+    }
+
+    @Benchmark
+    public PersonelResponseDTO toResponseDTO() {
+        return mapper.toResponseDTO(personel);
+    }
+
+    @Benchmark
+    public String applyUpdateAllFieldsChanged() {
+        nextUpdate ^= 1;
+        return mapper.applyUpdate(changingPersonel, alternatingUpdates[nextUpdate]);
+    }
+
+    @Benchmark
+    public String applyUpdateNoChange() {
+        return mapper.applyUpdate(personel, unchangedUpdate);
+    }
+
+    private static Personel newPersonel() {
+        Personel personel = new Personel("Ahmet", "Demir", "ahmet.demir@firma.com.tr", "5550000000",
+                "İnsan Kaynakları", "Müdür", LocalDate.of(2020, 1, 1), 55_000.0);
+        personel.setId(42L);
+        personel.setOlusturmaTarihi(LocalDateTime.of(2024, 1, 1, 9, 0));
+        personel.setGuncellemeTarihi(LocalDateTime.of(2024, 6, 1, 9, 0));
+        return personel;
+    }
+
+    private static PersonelUpdateDTO update(String ad, String soyad, String email, String telefon, String departman,
+                                            String pozisyon, LocalDate iseBaslamaTarihi, Double maas, Boolean aktif) {
+        PersonelUpdateDTO update = new PersonelUpdateDTO();
+        update.setAd(ad);
+        update.setSoyad(soyad);
+        update.setEmail(email);
+        update.setTelefon(telefon);
+        update.setDepartman(departman);
+        update.setPozisyon(pozisyon);
+        update.setIseBaslamaTarihi(iseBaslamaTarihi);
+        update.setMaas(maas);
+        update.setAktif(aktif);
+        return update;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.loadtest;
+
+import org.apache.qpid.server.SystemLauncher;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Aynı JVM içinde çalışan AMQP 0-9-1 broker'ı (Apache Qpid Broker-J, sadece bellek)
+ * Servisler RabbitMQ yerine buna bağlanır; exchange/queue tanımları ve publisher confirm'ler
+ * gerçek broker'daki gibi çalışır, RabbitMQ'ya özgü queue argümanları desteklenmeyebilir.
+ */
+public class EmbeddedAmqpBroker implements AutoCloseable {
+
+    private static final String CONFIG_RESOURCE = "/loadtest/qpid-config.json";
+
+    private final SystemLauncher systemLauncher = new SystemLauncher();
+    private final Path workDir;
+    private final int port;
+
+    private EmbeddedAmqpBroker(Path workDir, int port) {
+        this.workDir = workDir;
+        this.port = port;
+    }
+
+    /**
+     * Broker'ı verilen portta başlatır
+     * @param port AMQP portu
+     * @return Çalışan broker
+     * @throws Exception Broker başlatılamazsa
+     */
+    public static EmbeddedAmqpBroker start(int port) throws Exception {
+        Path workDir = Files.createTempDirectory("loadtest-qpid");
+        // Konfigürasyon jar içinden okunamayabileceği için çalışma dizinine kopyalanır
+        Path config = workDir.resolve("qpid-config.json");
+        try (InputStream in = EmbeddedAmqpBroker.class.getResourceAsStream(CONFIG_RESOURCE)) {
+            if (in == null) {
+                throw new IOException("Broker konfigürasyonu bulunamadı: " + CONFIG_RESOURCE);
+            }
+            Files.copy(in, config, StandardCopyOption.REPLACE_EXISTING);
+        }
+        // Verilmezse Qpid "classpath:system.properties" URL'ini açmaya çalışır, bu protokol JVM'de tanımlı değil
+        Path systemProperties = Files.createFile(workDir.resolve("system.properties"));
+
+        Map<String, String> context = new HashMap<>();
+        context.put("qpid.work_dir", workDir.toString());
+        context.put("qpid.amqp_port", String.valueOf(port));
+
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("type", "Memory");
+        attributes.put("initialConfigurationLocation", config.toUri().toString());
+        attributes.put("initialSystemPropertiesLocation", systemProperties.toUri().toString());
+        attributes.put("startupLoggedToSystemOut", false);
+        attributes.put("context", context);
+
+        EmbeddedAmqpBroker broker = new EmbeddedAmqpBroker(workDir, port);
+        broker.systemLauncher.startup(attributes);
+        return broker;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    @Override
+    public void close() throws IOException {
+        systemLauncher.shutdown();
+        FileSystemUtils.deleteRecursively(workDir);
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+
+import java.time.Duration;
+
+/**
+ * Yük testi parametreleri (--anahtar=değer biçiminde komut satırından okunur)
+ * Süreler "30s", "2m" veya ISO-8601 ("PT30S") olarak verilebilir.
+ * Eşik (gate) parametreleri verilmezse ilgili kontrol yapılmaz.
+ */
+public class LoadTestOptions {
+
+    // Saniyedeki istek sayısı (open model: cevap beklenmeden sabit hızda gönderilir)
+    private double rate = 50;
+    // Ölçülen yük süresi
+    private Duration duration = Duration.ofSeconds(60);
+    // Ölçüme dahil edilmeyen ısınma süresi (JIT, connection pool'lar)
+    private Duration warmup = Duration.ofSeconds(15);
+    // İsteklerin ne kadarı mevcut bir personelin güncellenmesi olsun (geri kalanı yeni kayıt)
+    private double updateRatio = 0.2;
+    // Aynı anda cevap bekleyen en fazla istek sayısı, aşılırsa istek gönderilmez ve reddedilmiş sayılır
+    private int maxInFlight = 1000;
+    // Yük bittikten sonra bekleyen bildirimler için beklenecek en uzun süre
+    private Duration drainTimeout = Duration.ofSeconds(60);
+    // Sonuçların JSON olarak yazılacağı dosya
+    private String resultFile = "loadtest-result.json";
+
+    // Regresyon eşikleri
+    private Duration maxP99;
+    private Duration maxLagP99;
+    private Double minEmailsPerSecond;
+
+    /**
+     * Komut satırı argümanlarını okur
+     * @param args --rate=200 --duration=2m --max-p99=250ms gibi argümanlar
+     * @return LoadTestOptions
+     * @throws IllegalArgumentException Bir değer geçersizse
+     */
+    public static LoadTestOptions parse(String[] args) {
+        SimpleCommandLinePropertySource source = new SimpleCommandLinePropertySource(args);
+        LoadTestOptions options = new LoadTestOptions();
+        if (source.containsProperty("rate")) {
+            options.rate = Double.parseDouble(source.getProperty("rate"));
+        }
+        if (source.containsProperty("duration")) {
+            options.duration = DurationStyle.detectAndParse(source.getProperty("duration"));
+        }
+        if (source.containsProperty("warmup")) {
+            options.warmup = DurationStyle.detectAndParse(source.getProperty("warmup"));
+        }
+        if (source.containsProperty("update-ratio")) {
+            options.updateRatio = Double.parseDouble(source.getProperty("update-ratio"));
+        }
+        if (source.containsProperty("max-in-flight")) {
+            options.maxInFlight = Integer.parseInt(source.getProperty("max-in-flight"));
+        }
+        if (source.containsProperty("drain-timeout")) {
+            options.drainTimeout = DurationStyle.detectAndParse(source.getProperty("drain-timeout"));
+        }
+        if (source.containsProperty("result-file")) {
+            options.resultFile = source.getProperty("result-file");
+        }
+        if (source.containsProperty("max-p99")) {
+            options.maxP99 = DurationStyle.detectAndParse(source.getProperty("max-p99"));
+        }
+        if (source.containsProperty("max-lag-p99")) {
+            options.maxLagP99 = DurationStyle.detectAndParse(source.getProperty("max-lag-p99"));
+        }
+        if (source.containsProperty("min-emails-per-second")) {
+            options.minEmailsPerSecond = Double.parseDouble(source.getProperty("min-emails-per-second"));
+        }
+
+        if (options.rate <= 0) {
+            throw new IllegalArgumentException("rate sıfırdan büyük olmalıdır");
+        }
+        if (options.updateRatio < 0 || options.updateRatio > 1) {
+            throw new IllegalArgumentException("update-ratio 0 ile 1 arasında olmalıdır");
+        }
+        if (options.maxInFlight <= 0) {
+            throw new IllegalArgumentException("max-in-flight sıfırdan büyük olmalıdır");
+        }
+        return options;
+    }
+
+    // Getters
+    public double getRate() {
+        return rate;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public double getUpdateRatio() {
+        return updateRatio;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public Duration getDrainTimeout() {
+        return drainTimeout;
+    }
+
+    public String getResultFile() {
+        return resultFile;
+    }
+
+    public Duration getMaxP99() {
+        return maxP99;
+    }
+
+    public Duration getMaxLagP99() {
+        return maxLagP99;
+    }
+
+    public Double getMinEmailsPerSecond() {
+        return minEmailsPerSecond;
+    }
+}
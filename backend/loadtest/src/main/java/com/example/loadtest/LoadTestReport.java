@@ -0,0 +1,137 @@
+package com.example.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Yük testi sonuçlarını özetler, konsola ve JSON dosyasına yazar, regresyon eşiklerini kontrol eder
+ * Gecikmeler milisaniye cinsindendir.
+ */
+public class LoadTestReport {
+
+    private final Map<String, Object> result = new LinkedHashMap<>();
+    private final List<String> violations = new ArrayList<>();
+
+    /**
+     * @param options Test parametreleri
+     * @param generator Tamamlanmış yük üreticisi
+     * @param lagTracker Email gecikme ölçümleri
+     * @param measureStartNanos Ölçüm penceresinin başlangıcı
+     * @param notificationLogRows notification_log tablosundaki toplam satır sayısı
+     */
+    public LoadTestReport(LoadTestOptions options, OpenModelLoadGenerator generator, NotificationLagTracker lagTracker,
+                          long measureStartNanos, long notificationLogRows) {
+        Histogram latency = generator.getLatencyMicros();
+        Histogram lag = lagTracker.getLagMicros();
+        long lastDelivery = lagTracker.getLastMeasuredDeliveryNanos();
+        double deliverySeconds = lastDelivery > measureStartNanos ? (lastDelivery - measureStartNanos) / 1e9 : 0;
+        double emailsPerSecond = deliverySeconds > 0 ? lagTracker.getMeasuredDelivered() / deliverySeconds : 0;
+
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("rate", options.getRate());
+        parameters.put("durationSeconds", options.getDuration().toSeconds());
+        parameters.put("warmupSeconds", options.getWarmup().toSeconds());
+        parameters.put("updateRatio", options.getUpdateRatio());
+        result.put("parameters", parameters);
+
+        Map<String, Object> requests = new LinkedHashMap<>();
+        requests.put("sent", generator.getSent());
+        requests.put("errors", generator.getErrors());
+        requests.put("rejected", generator.getRejected());
+        requests.put("throughputPerSecond", round(generator.getSent() / (double) options.getDuration().toSeconds()));
+        requests.put("latencyMillis", percentiles(latency));
+        result.put("requests", requests);
+
+        Map<String, Object> notifications = new LinkedHashMap<>();
+        notifications.put("delivered", lagTracker.getMeasuredDelivered());
+        notifications.put("missing", lagTracker.measuredOutstanding());
+        notifications.put("unmatched", lagTracker.getUnmatched());
+        notifications.put("emailsPerSecond", round(emailsPerSecond));
+        notifications.put("notificationLogRows", notificationLogRows);
+        notifications.put("lagMillis", percentiles(lag));
+        result.put("notifications", notifications);
+
+        if (generator.getErrors() > 0) {
+            violations.add(generator.getErrors() + " istek hata ile sonuçlandı");
+        }
+        if (lagTracker.measuredOutstanding() > 0) {
+            violations.add(lagTracker.measuredOutstanding() + " bildirim emaili ulaşmadı");
+        }
+        if (options.getMaxP99() != null && latency.getValueAtPercentile(99) > options.getMaxP99().toNanos() / 1_000) {
+            violations.add("İstek p99 " + millis(latency.getValueAtPercentile(99)) + " ms > " +
+                    options.getMaxP99().toMillis() + " ms");
+        }
+        if (options.getMaxLagP99() != null && lag.getValueAtPercentile(99) > options.getMaxLagP99().toNanos() / 1_000) {
+            violations.add("Bildirim gecikmesi p99 " + millis(lag.getValueAtPercentile(99)) + " ms > " +
+                    options.getMaxLagP99().toMillis() + " ms");
+        }
+        if (options.getMinEmailsPerSecond() != null && emailsPerSecond < options.getMinEmailsPerSecond()) {
+            violations.add("Email/s " + round(emailsPerSecond) + " < " + options.getMinEmailsPerSecond());
+        }
+        result.put("violations", violations);
+    }
+
+    /**
+     * Özeti konsola yazar
+     */
+    @SuppressWarnings("unchecked")
+    public void print() {
+        Map<String, Object> requests = (Map<String, Object>) result.get("requests");
+        Map<String, Object> notifications = (Map<String, Object>) result.get("notifications");
+        System.out.println();
+        System.out.println("=== Yük testi sonucu ===");
+        System.out.printf("İstekler      : gönderilen=%s hata=%s reddedilen=%s (%s istek/s)%n",
+                requests.get("sent"), requests.get("errors"), requests.get("rejected"), requests.get("throughputPerSecond"));
+        System.out.println("İstek (ms)    : " + requests.get("latencyMillis"));
+        System.out.printf("Bildirimler   : ulaşan=%s eksik=%s eşlenemeyen=%s notification_log=%s (%s email/s)%n",
+                notifications.get("delivered"), notifications.get("missing"), notifications.get("unmatched"),
+                notifications.get("notificationLogRows"), notifications.get("emailsPerSecond"));
+        System.out.println("Gecikme (ms)  : " + notifications.get("lagMillis"));
+        if (violations.isEmpty()) {
+            System.out.println("Eşikler       : OK");
+        } else {
+            violations.forEach(violation -> System.out.println("Eşik aşıldı   : " + violation));
+        }
+    }
+
+    /**
+     * Sonucu JSON olarak yazar
+     * @param path Dosya yolu
+     * @throws IOException Dosya yazılamazsa
+     */
+    public void write(String path) throws IOException {
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(new File(path), result);
+    }
+
+    public boolean passed() {
+        return violations.isEmpty();
+    }
+
+    private Map<String, Object> percentiles(Histogram histogram) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("count", histogram.getTotalCount());
+        values.put("mean", round(histogram.getMean() / 1_000));
+        values.put("p50", millis(histogram.getValueAtPercentile(50)));
+        values.put("p90", millis(histogram.getValueAtPercentile(90)));
+        values.put("p99", millis(histogram.getValueAtPercentile(99)));
+        values.put("p999", millis(histogram.getValueAtPercentile(99.9)));
+        values.put("max", millis(histogram.getMaxValue()));
+        return values;
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.loadtest;
+
+import com.example.notification_backend.NotificationBackendApplication;
+import com.example.notification_backend.repository.NotificationLogRepository;
+import com.example.personal_backend.PersonalBackendApplication;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.URL;
+import java.util.Enumeration;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * loadtest.jar giriş noktası
+ * Gömülü AMQP broker'ı ve SMTP sink'i başlatır, iki servisi aynı JVM içinde ayağa kaldırır ve
+ * POST/PUT /api/personel -> outbox -> RabbitMQ -> PersonelNotificationListener -> EmailService -> SMTP
+ * yolunu uçtan uca ölçer. Eşiklerden biri aşılırsa çıkış kodu 1 olur.
+ * Örnek: java -jar loadtest/target/loadtest.jar --rate=200 --duration=2m --max-p99=250ms --min-emails-per-second=190
+ */
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {}
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        // Servisler loglamayı kendi ayarlarıyla kurana kadar broker'ın operasyonel logları konsolu doldurmasın
+        LoggingSystem loggingSystem = LoggingSystem.get(LoadTestRunner.class.getClassLoader());
+        loggingSystem.setLogLevel("qpid", LogLevel.WARN);
+        loggingSystem.setLogLevel("org.apache.qpid", LogLevel.WARN);
+        NotificationLagTracker lagTracker = new NotificationLagTracker();
+        int amqpPort = freePort();
+        int smtpPort = freePort();
+
+        boolean passed;
+        try (EmbeddedAmqpBroker broker = EmbeddedAmqpBroker.start(amqpPort);
+             SmtpSink smtpSink = SmtpSink.start(smtpPort, lagTracker::delivered);
+             ConfigurableApplicationContext notification = startService(NotificationBackendApplication.class,
+                     "notification-backend", amqpPort, smtpPort);
+             ConfigurableApplicationContext personnel = startService(PersonalBackendApplication.class,
+                     "personnel-backend", amqpPort, smtpPort)) {
+
+            int personnelPort = ((WebServerApplicationContext) personnel).getWebServer().getPort();
+            URI personelUri = URI.create("http://127.0.0.1:" + personnelPort + "/api/personel");
+            System.out.printf("Yük başlıyor: %.0f istek/s, ısınma %ds, ölçüm %ds%n",
+                    options.getRate(), options.getWarmup().toSeconds(), options.getDuration().toSeconds());
+
+            OpenModelLoadGenerator generator = new OpenModelLoadGenerator(personelUri, options, lagTracker);
+            long measureStartNanos = generator.run();
+            awaitNotifications(lagTracker, options);
+
+            long notificationLogRows = notification.getBean(NotificationLogRepository.class).count();
+            LoadTestReport report = new LoadTestReport(options, generator, lagTracker, measureStartNanos, notificationLogRows);
+            report.print();
+            report.write(options.getResultFile());
+            passed = report.passed();
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    /**
+     * Servisi kendi application.properties'i ve classpath:/loadtest/{name}.properties override'ları ile başlatır
+     * İki servisin jar'ında da application.properties olduğu için varsayılan classpath araması yerine
+     * servisin kendi jar'ındaki dosya okunur.
+     */
+    private static ConfigurableApplicationContext startService(Class<?> application, String name,
+                                                               int amqpPort, int smtpPort) throws IOException {
+        Properties defaults = ownApplicationProperties(application);
+        defaults.setProperty("loadtest.amqp-port", String.valueOf(amqpPort));
+        defaults.setProperty("loadtest.smtp-port", String.valueOf(smtpPort));
+        defaults.setProperty("spring.config.location", "classpath:/loadtest/" + name + ".properties");
+        return new SpringApplicationBuilder(application)
+                .bannerMode(Banner.Mode.OFF)
+                .properties(defaults)
+                .run();
+    }
+
+    private static Properties ownApplicationProperties(Class<?> application) throws IOException {
+        String codeSource = application.getProtectionDomain().getCodeSource().getLocation().toExternalForm();
+        Enumeration<URL> candidates = application.getClassLoader().getResources("application.properties");
+        while (candidates.hasMoreElements()) {
+            URL candidate = candidates.nextElement();
+            if (candidate.toExternalForm().contains(codeSource)) {
+                Properties properties = new Properties();
+                try (InputStream in = candidate.openStream()) {
+                    properties.load(in);
+                }
+                return properties;
+            }
+        }
+        throw new IOException(application.getSimpleName() + " için application.properties bulunamadı: " + codeSource);
+    }
+
+    // Yük bittikten sonra kuyrukta/outbox'ta bekleyen bildirimlerin emaile dönüşmesini bekler
+    private static void awaitNotifications(NotificationLagTracker lagTracker, LoadTestOptions options)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + options.getDrainTimeout().toNanos();
+        while (lagTracker.measuredOutstanding() > 0 && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
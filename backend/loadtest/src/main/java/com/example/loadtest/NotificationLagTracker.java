@@ -0,0 +1,99 @@
+package com.example.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * HTTP isteği ile SMTP'ye ulaşan email arasındaki gecikmeyi ölçer
+ * Her istek personel adına benzersiz bir token yazar (ör. "R42"); notification-backend bu adı
+ * email konusuna koyduğu için ("Yeni Personel Eklendi: R42 Yuktesti") email isteğe konu üzerinden eşlenir.
+ */
+public class NotificationLagTracker {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(30);
+
+    private record Pending(long startNanos, boolean measured) {}
+
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+    private final Histogram lagMicros = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final AtomicLong measuredDelivered = new AtomicLong();
+    private final AtomicLong unmatched = new AtomicLong();
+    private final AtomicLong lastMeasuredDeliveryNanos = new AtomicLong();
+
+    /**
+     * İstek gönderilmeden önce çağrılır (email HTTP cevabından önce gelebilir)
+     * @param token Personel adına yazılan token
+     * @param startNanos İsteğin planlanan gönderim zamanı (System.nanoTime)
+     * @param measured Isınma dışında gönderildiyse true
+     */
+    public void expect(String token, long startNanos, boolean measured) {
+        pending.put(token, new Pending(startNanos, measured));
+    }
+
+    /**
+     * İstek başarısız olduysa email beklenmez
+     * @param token Personel adına yazılan token
+     */
+    public void cancel(String token) {
+        pending.remove(token);
+    }
+
+    /**
+     * SMTP sink'e ulaşan her email için çağrılır
+     * @param subject Email konusu
+     */
+    public void delivered(String subject) {
+        long now = System.nanoTime();
+        Pending request = pending.remove(tokenOf(subject));
+        if (request == null) {
+            unmatched.incrementAndGet();
+            return;
+        }
+        if (request.measured()) {
+            lagMicros.recordValue(Math.min((now - request.startNanos()) / 1_000, HIGHEST_TRACKABLE_MICROS));
+            measuredDelivered.incrementAndGet();
+            lastMeasuredDeliveryNanos.accumulateAndGet(now, Math::max);
+        }
+    }
+
+    // "Yeni Personel Eklendi: R42 Yuktesti" -> "R42"
+    private String tokenOf(String subject) {
+        if (subject == null) {
+            return "";
+        }
+        int start = subject.indexOf(": ");
+        if (start < 0) {
+            return "";
+        }
+        int end = subject.indexOf(' ', start + 2);
+        return end < 0 ? subject.substring(start + 2) : subject.substring(start + 2, end);
+    }
+
+    /**
+     * Henüz emaili gelmemiş ölçülen istek sayısı
+     */
+    public long measuredOutstanding() {
+        return pending.values().stream().filter(Pending::measured).count();
+    }
+
+    public Histogram getLagMicros() {
+        return lagMicros;
+    }
+
+    public long getMeasuredDelivered() {
+        return measuredDelivered.get();
+    }
+
+    public long getUnmatched() {
+        return unmatched.get();
+    }
+
+    public long getLastMeasuredDeliveryNanos() {
+        return lastMeasuredDeliveryNanos.get();
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Personel API'sine sabit hızda (open model) istek gönderir
+ * İstekler cevap beklenmeden planlanan zamanda gönderilir; gecikme planlanan zamandan itibaren
+ * ölçüldüğü için sistem yavaşladığında biriken bekleme de sonuçlara yansır (coordinated omission olmaz).
+ */
+public class OpenModelLoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(30);
+    private static final String SOYAD = "Yuktesti";
+
+    private final URI personelUri;
+    private final LoadTestOptions options;
+    private final NotificationLagTracker lagTracker;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final Histogram latencyMicros = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final List<Long> createdIds = new ArrayList<>();
+
+    public OpenModelLoadGenerator(URI personelUri, LoadTestOptions options, NotificationLagTracker lagTracker) {
+        this.personelUri = personelUri;
+        this.options = options;
+        this.lagTracker = lagTracker;
+    }
+
+    /**
+     * Isınma + ölçüm süresi boyunca yük üretir ve cevabı beklenen tüm istekler bitince döner
+     * @return Ölçüm penceresinin başlangıcı (System.nanoTime)
+     * @throws InterruptedException Bekleme sırasında kesilirse
+     */
+    public long run() throws InterruptedException {
+        Semaphore inFlight = new Semaphore(options.getMaxInFlight());
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.getRate();
+        long totalRequests = (long) ((options.getWarmup().toNanos() + options.getDuration().toNanos()) / intervalNanos);
+
+        long startNanos = System.nanoTime();
+        long measureStartNanos = startNanos + options.getWarmup().toNanos();
+        for (long sequence = 0; sequence < totalRequests; sequence++) {
+            long intendedNanos = startNanos + (long) (sequence * intervalNanos);
+            long waitNanos = intendedNanos - System.nanoTime();
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(waitNanos);
+            }
+            boolean measured = intendedNanos >= measureStartNanos;
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    rejected.incrementAndGet();
+                }
+                continue;
+            }
+            send(sequence, intendedNanos, measured, inFlight);
+        }
+
+        // Cevabı beklenen isteklerin bitmesini bekle
+        if (!inFlight.tryAcquire(options.getMaxInFlight(), options.getDrainTimeout().toSeconds(), TimeUnit.SECONDS)) {
+            throw new IllegalStateException("İstekler " + options.getDrainTimeout() + " içinde tamamlanmadı");
+        }
+        return measureStartNanos;
+    }
+
+    private void send(long sequence, long intendedNanos, boolean measured, Semaphore inFlight) {
+        String token = "R" + sequence;
+        Long updateId = ThreadLocalRandom.current().nextDouble() < options.getUpdateRatio() ? randomCreatedId() : null;
+        HttpRequest request = updateId == null ? createRequest(token, sequence) : updateRequest(updateId, token);
+        int expectedStatus = updateId == null ? 201 : 200;
+
+        lagTracker.expect(token, intendedNanos, measured);
+        if (measured) {
+            sent.incrementAndGet();
+        }
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, failure) -> {
+            inFlight.release();
+            if (measured) {
+                latencyMicros.recordValue(Math.min((System.nanoTime() - intendedNanos) / 1_000, HIGHEST_TRACKABLE_MICROS));
+            }
+            if (failure != null || response.statusCode() != expectedStatus) {
+                lagTracker.cancel(token);
+                if (measured) {
+                    errors.incrementAndGet();
+                }
+                return;
+            }
+            if (updateId == null) {
+                rememberCreatedId(response.body());
+            }
+        });
+    }
+
+    private HttpRequest createRequest(String token, long sequence) {
+        String body = "{\"ad\":\"" + token + "\",\"soyad\":\"" + SOYAD + "\",\"email\":\"lt" + sequence +
+                "@loadtest.local\",\"telefon\":\"5550000000\",\"departman\":\"Bilgi İşlem\"," +
+                "\"pozisyon\":\"Yazılım Mühendisi\",\"iseBaslamaTarihi\":\"2024-01-01\",\"maas\":50000}";
+        return HttpRequest.newBuilder(personelUri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest updateRequest(long id, String token) {
+        return HttpRequest.newBuilder(personelUri.resolve("personel/" + id))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString("{\"ad\":\"" + token + "\"}"))
+                .build();
+    }
+
+    private Long randomCreatedId() {
+        synchronized (createdIds) {
+            return createdIds.isEmpty() ? null : createdIds.get(ThreadLocalRandom.current().nextInt(createdIds.size()));
+        }
+    }
+
+    private void rememberCreatedId(String responseBody) {
+        try {
+            JsonNode id = objectMapper.readTree(responseBody).get("id");
+            if (id != null) {
+                synchronized (createdIds) {
+                    createdIds.add(id.asLong());
+                }
+            }
+        } catch (Exception e) {
+            // Güncelleme hedefi olarak kullanılamaz, ölçümü etkilemez
+        }
+    }
+
+    public Histogram getLatencyMicros() {
+        return latencyMicros;
+    }
+
+    public long getSent() {
+        return sent.get();
+    }
+
+    public long getErrors() {
+        return errors.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+}
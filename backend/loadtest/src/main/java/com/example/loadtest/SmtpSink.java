@@ -0,0 +1,76 @@
+package com.example.loadtest;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.store.FolderException;
+import com.icegreen.greenmail.user.MessageDeliveryHandler;
+import com.icegreen.greenmail.user.UserManager;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Gelen emailleri kabul eden yerel SMTP sunucusu (GreenMail, kimlik doğrulama kapalı)
+ * Her teslimatta konu başlığı dinleyiciye verilir. Uzun testlerde bellek dolmasın diye
+ * posta kutuları düzenli olarak boşaltılır, emailler saklanmaz.
+ */
+public class SmtpSink implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmtpSink.class);
+
+    private static final long PURGE_INTERVAL_SECONDS = 5;
+
+    private final GreenMail greenMail;
+    private final ScheduledExecutorService purger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "smtp-sink-purger");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private SmtpSink(GreenMail greenMail) {
+        this.greenMail = greenMail;
+    }
+
+    /**
+     * SMTP sunucusunu verilen portta başlatır
+     * @param port SMTP portu
+     * @param subjectListener Her teslim edilen emailin konusu ile çağrılır
+     * @return Çalışan SMTP sink
+     */
+    public static SmtpSink start(int port, Consumer<String> subjectListener) {
+        GreenMail greenMail = new GreenMail(new ServerSetup(port, "127.0.0.1", ServerSetup.PROTOCOL_SMTP));
+        greenMail.withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+
+        UserManager userManager = greenMail.getManagers().getUserManager();
+        MessageDeliveryHandler defaultHandler = userManager.getMessageDeliveryHandler();
+        userManager.setMessageDeliveryHandler((message, address) -> {
+            subjectListener.accept(message.getMessage().getSubject());
+            return defaultHandler.handle(message, address);
+        });
+        greenMail.start();
+
+        SmtpSink sink = new SmtpSink(greenMail);
+        sink.purger.scheduleWithFixedDelay(sink::purge,
+                PURGE_INTERVAL_SECONDS, PURGE_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        return sink;
+    }
+
+    private void purge() {
+        try {
+            greenMail.purgeEmailFromAllMailboxes();
+        } catch (FolderException e) {
+            logger.warn("SMTP sink posta kutuları boşaltılamadı: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        purger.shutdownNow();
+        greenMail.stop();
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.notification_backend.archive;
+
+import com.example.notification_backend.entity.NotificationLog;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * notification_log arşiv segment dosyasının biçimi ve okuyucusu
+ * Dosya sırasıyla MAGIC, deflate ile sıkıştırılmış bloklar (her biri (createdAt, id) sırasındaki kayıtların JSON dizisi),
+ * JSON indeks footer'ı ve footer'ın konumu (8 byte) ile MAGIC'ten oluşur. Segment bir kez yazılır, sonra değiştirilmez.
+ * Footer her bloğun konumunu, zaman aralığını ve personel ID'lerini tutar; okuyucu sadece sorguya uyan blokları açar.
+ */
+public final class ArchiveSegment {
+
+    public static final String FILE_SUFFIX = ".nla";
+
+    // "NLA1"
+    static final int MAGIC = 0x4E4C4131;
+    static final int TRAILER_SIZE = Long.BYTES + Integer.BYTES;
+
+    // Uygulamanın Jackson ayarlarından bağımsız, sabit dosya biçimi
+    static final ObjectMapper MAPPER = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private static final TypeReference<List<NotificationLog>> BLOCK_TYPE = new TypeReference<>() {};
+
+    /**
+     * Bir bloğun footer'daki kaydı, personelIds sıralıdır
+     */
+    public record BlockIndex(long offset, int length, int rows, LocalDateTime fromCreatedAt,
+                             LocalDateTime toCreatedAt, long[] personelIds) {
+
+        /**
+         * @return Blokta [startDate, endDate] aralığında (ve personelId verildiyse o personele ait) kayıt olabilir mi
+         */
+        public boolean matches(Long personelId, LocalDateTime startDate, LocalDateTime endDate) {
+            return !toCreatedAt.isBefore(startDate) && !fromCreatedAt.isAfter(endDate)
+                    && (personelId == null || Arrays.binarySearch(personelIds, personelId) >= 0);
+        }
+    }
+
+    /**
+     * Segmentin footer'ı
+     */
+    public record Index(long rows, LocalDateTime fromCreatedAt, LocalDateTime toCreatedAt, List<BlockIndex> blocks) {
+
+        public boolean overlaps(LocalDateTime startDate, LocalDateTime endDate) {
+            return !toCreatedAt.isBefore(startDate) && !fromCreatedAt.isAfter(endDate);
+        }
+    }
+
+    private ArchiveSegment() {}
+
+    /**
+     * Segmentin footer'ını okur
+     * @throws IOException Dosya okunamazsa veya tamamlanmış bir segment değilse
+     */
+    public static Index readIndex(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < Integer.BYTES + TRAILER_SIZE) {
+                throw new IOException("Arşiv segmenti eksik: " + file);
+            }
+            ByteBuffer trailer = read(channel, size - TRAILER_SIZE, TRAILER_SIZE);
+            long footerOffset = trailer.getLong();
+            if (trailer.getInt() != MAGIC || footerOffset < Integer.BYTES || footerOffset > size - TRAILER_SIZE) {
+                throw new IOException("Geçersiz arşiv segmenti: " + file);
+            }
+            ByteBuffer footer = read(channel, footerOffset, (int) (size - TRAILER_SIZE - footerOffset));
+            return MAPPER.readValue(footer.array(), Index.class);
+        }
+    }
+
+    /**
+     * Bloğu açar
+     * @return Bloktaki kayıtlar, (createdAt, id) sırasıyla
+     */
+    public static List<NotificationLog> readBlock(Path file, BlockIndex block) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return MAPPER.readValue(inflate(read(channel, block.offset(), block.length()).array()), BLOCK_TYPE);
+        }
+    }
+
+    static byte[] deflate(byte[] bytes) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.length / 4);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                output.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes);
+            ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Arşiv bloğu eksik");
+                }
+                output.write(buffer, 0, count);
+            }
+            return output.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IOException("Arşiv bloğu açılamadı", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Arşiv segmenti beklenenden kısa");
+            }
+        }
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.notification_backend.archive;
+
+import com.example.notification_backend.archive.ArchiveSegment.BlockIndex;
+import com.example.notification_backend.archive.ArchiveSegment.Index;
+import com.example.notification_backend.entity.NotificationLog;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Arşiv segmentini (ArchiveSegment) yazar
+ * Bloklar geçici dosyaya eklenir; finish footer'ı yazar, dosyayı diske zorlar (fsync) ve segmenti tek adımda
+ * (atomic move) yerine taşır. Tamamlanmadan kapatılan segmentin geçici dosyası silinir, yarım segment görünmez.
+ */
+public class ArchiveSegmentWriter implements Closeable {
+
+    private final Path target;
+    private final Path tempFile;
+    private final FileChannel channel;
+    private final List<BlockIndex> blocks = new ArrayList<>();
+    private long position;
+    private long rows;
+    private boolean finished;
+
+    public ArchiveSegmentWriter(Path target) throws IOException {
+        this.target = target;
+        this.tempFile = target.resolveSibling(target.getFileName() + ".tmp");
+        this.channel = FileChannel.open(tempFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        write(ByteBuffer.allocate(Integer.BYTES).putInt(ArchiveSegment.MAGIC).flip());
+    }
+
+    /**
+     * Kayıtları tek blok olarak ekler, kayıtların emailContent'i yüklenmiş olmalıdır
+     * @param notificationLogs (createdAt, id) sırasıyla kayıtlar
+     */
+    public void writeBlock(List<NotificationLog> notificationLogs) throws IOException {
+        if (notificationLogs.isEmpty()) {
+            return;
+        }
+        byte[] compressed = ArchiveSegment.deflate(ArchiveSegment.MAPPER.writeValueAsBytes(notificationLogs));
+        LocalDateTime fromCreatedAt = notificationLogs.stream().map(NotificationLog::getCreatedAt)
+                .min(Comparator.naturalOrder()).orElseThrow();
+        LocalDateTime toCreatedAt = notificationLogs.stream().map(NotificationLog::getCreatedAt)
+                .max(Comparator.naturalOrder()).orElseThrow();
+        long[] personelIds = notificationLogs.stream().mapToLong(NotificationLog::getPersonelId)
+                .distinct().sorted().toArray();
+        blocks.add(new BlockIndex(position, compressed.length, notificationLogs.size(), fromCreatedAt, toCreatedAt,
+                personelIds));
+        write(ByteBuffer.wrap(compressed));
+        rows += notificationLogs.size();
+    }
+
+    /**
+     * Footer'ı yazar ve segmenti yerine taşır
+     * @return Segmentin footer'ı
+     */
+    public Index finish() throws IOException {
+        if (blocks.isEmpty()) {
+            throw new IllegalStateException("Boş arşiv segmenti yazılamaz");
+        }
+        Index index = new Index(rows,
+                blocks.stream().map(BlockIndex::fromCreatedAt).min(Comparator.naturalOrder()).orElseThrow(),
+                blocks.stream().map(BlockIndex::toCreatedAt).max(Comparator.naturalOrder()).orElseThrow(),
+                List.copyOf(blocks));
+        long footerOffset = position;
+        write(ByteBuffer.wrap(ArchiveSegment.MAPPER.writeValueAsBytes(index)));
+        write(ByteBuffer.allocate(ArchiveSegment.TRAILER_SIZE).putLong(footerOffset).putInt(ArchiveSegment.MAGIC).flip());
+        channel.force(true);
+        channel.close();
+        Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        finished = true;
+        return index;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!finished) {
+            channel.close();
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer);
+        }
+    }
+}
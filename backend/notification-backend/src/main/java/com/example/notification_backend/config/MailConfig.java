@@ -0,0 +1,72 @@
+package com.example.notification_backend.config;
+
+import com.example.notification_backend.mail.PooledJavaMailSender;
+import com.example.notification_backend.mail.PooledJavaMailSender.PooledTransport;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * spring.mail.* ayarlarıyla havuzlu JavaMailSender oluşturur
+ * Spring Boot'un varsayılan JavaMailSenderImpl'i bu bean tanımlı olduğunda devreye girmez.
+ */
+@Configuration
+@EnableConfigurationProperties(MailProperties.class)
+public class MailConfig {
+
+    @Bean
+    public PooledJavaMailSender javaMailSender(
+            MailProperties mailProperties,
+            @Value("${app.mail.pool.max-total:4}") int maxTotal,
+            @Value("${app.mail.pool.min-idle:0}") int minIdle,
+            @Value("${app.mail.pool.max-wait:PT10S}") Duration maxWait,
+            @Value("${app.mail.pool.max-messages-per-connection:100}") int maxMessagesPerConnection,
+            @Value("${app.mail.pool.validate-after-idle:PT5S}") Duration validateAfterIdle,
+            @Value("${app.mail.pool.eviction-interval:PT30S}") Duration evictionInterval,
+            @Value("${app.mail.pool.min-evictable-idle:PT2M}") Duration minEvictableIdle) {
+        GenericObjectPoolConfig<PooledTransport> poolConfig = new GenericObjectPoolConfig<>();
+        poolConfig.setMaxTotal(maxTotal);
+        poolConfig.setMaxIdle(maxTotal);
+        poolConfig.setMinIdle(minIdle);
+        poolConfig.setMaxWait(maxWait);
+        poolConfig.setTestOnBorrow(true);
+        poolConfig.setTestWhileIdle(true);
+        poolConfig.setTimeBetweenEvictionRuns(evictionInterval);
+        poolConfig.setMinEvictableIdleDuration(minEvictableIdle);
+        poolConfig.setJmxEnabled(false);
+
+        PooledJavaMailSender mailSender = new PooledJavaMailSender(poolConfig, maxMessagesPerConnection, validateAfterIdle);
+        applyProperties(mailProperties, mailSender);
+        return mailSender;
+    }
+
+    // Spring Boot'un MailSenderPropertiesConfiguration'ı ile aynı eşleme
+    private void applyProperties(MailProperties properties, PooledJavaMailSender sender) {
+        sender.setHost(properties.getHost());
+        if (properties.getPort() != null) {
+            sender.setPort(properties.getPort());
+        }
+        sender.setUsername(properties.getUsername());
+        sender.setPassword(properties.getPassword());
+        sender.setProtocol(properties.getProtocol());
+        if (properties.getDefaultEncoding() != null) {
+            sender.setDefaultEncoding(properties.getDefaultEncoding().name());
+        }
+        Properties javaMailProperties = new Properties();
+        javaMailProperties.putAll(properties.getProperties());
+        if (properties.getSsl().isEnabled()) {
+            String protocol = StringUtils.hasLength(properties.getProtocol()) ? properties.getProtocol() : "smtp";
+            javaMailProperties.setProperty("mail." + protocol + ".ssl.enable", "true");
+        }
+        if (!javaMailProperties.isEmpty()) {
+            sender.setJavaMailProperties(javaMailProperties);
+        }
+    }
+}
@@ -1,20 +1,53 @@
 package com.example.notification_backend.config;
 
+import com.example.personel_events.PersonelEventContract;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 public class RabbitMQConfig {
 
+    // Sharding öncesi tekil ve toplu kuyruklar: yeni mesaj gönderilmez, notification-backend içlerinde kalanları tüketir
     public static final String PERSONEL_QUEUE = "personel.notification.queue";
     public static final String PERSONEL_EXCHANGE = "personel.notification.exchange";
     public static final String PERSONEL_ROUTING_KEY = "personel.notification.routing.key";
 
+    // personel-backend'in batch endpoint'i değişiklikleri tek bir liste mesajı olarak gönderir
+    public static final String PERSONEL_BATCH_QUEUE = "personel.notification.batch.queue";
+    public static final String PERSONEL_BATCH_ROUTING_KEY = "personel.notification.batch.routing.key";
+
+    // Tekil bildirimler personelId'ye göre N shard kuyruğuna dağıtılır (bkz. PersonelNotificationShards),
+    // shard sayısı iki serviste de app.notification.shards.count ile aynı verilmelidir
+    public static final String PERSONEL_SHARD_QUEUE_PREFIX = "personel.notification.shard.";
+    public static final String PERSONEL_SHARD_ROUTING_KEY_PREFIX = "personel.notification.shard.routing.key.";
+
+    // İşlenemeyen bildirim mesajları dead-letter exchange'e (headers) gönderilir ve retry-target başlığındaki
+    // kuyruğa düşer. Bekleme kuyruklarında TTL dolan mesaj personel.notification.exchange'e aynı routing key ile
+    // dead-letter edilip geldiği kuyruğa döner; son beklemeden sonra tekrar hata alan mesaj parking-lot'ta kalır.
+    // Bekleme süreleri iki serviste de app.notification.dead-letter.retry-delays ile aynı verilmelidir
+    public static final String PERSONEL_DEAD_LETTER_EXCHANGE = "personel.notification.dlx";
+    public static final String PERSONEL_RETRY_QUEUE_PREFIX = "personel.notification.retry.";
+    public static final String PERSONEL_PARKING_LOT_QUEUE = "personel.notification.parking-lot";
+    // "x-" ile başlayan başlıklar headers exchange eşleşmesinde dikkate alınmaz
+    public static final String RETRY_TARGET_HEADER = "retry-target";
+
+    // personel.notification.queue'yu toplu (batch) tüketen listener'ların container factory'si
+    public static final String BATCH_LISTENER_CONTAINER_FACTORY = "batchListenerContainerFactory";
+
+    // Shard kuyruklarının listener'larının (PersonelShardListenerRegistrar) container factory'si
+    public static final String SHARD_LISTENER_CONTAINER_FACTORY = "shardListenerContainerFactory";
+
     @Bean
     public Queue personelQueue() {
         return QueueBuilder.durable(PERSONEL_QUEUE).build();
@@ -34,14 +67,146 @@ public class RabbitMQConfig {
     }
 
     @Bean
-    public MessageConverter jsonMessageConverter() {
-        return new Jackson2JsonMessageConverter();
+    public Queue personelBatchQueue() {
+        return QueueBuilder.durable(PERSONEL_BATCH_QUEUE).build();
+    }
+
+    @Bean
+    public Binding personelBatchBinding() {
+        return BindingBuilder
+                .bind(personelBatchQueue())
+                .to(personelExchange())
+                .with(PERSONEL_BATCH_ROUTING_KEY);
+    }
+
+    public static String shardQueueName(int shard) {
+        return PERSONEL_SHARD_QUEUE_PREFIX + shard;
+    }
+
+    public static String shardRoutingKey(int shard) {
+        return PERSONEL_SHARD_ROUTING_KEY_PREFIX + shard;
+    }
+
+    /**
+     * Shard kuyruğu tanımı (iki serviste de aynı argümanlarla tanımlanmalıdır)
+     * single-active-consumer: birden fazla node dinlese de kuyruğu aynı anda tek consumer işler,
+     * aktif consumer düşerse sıradaki devralır; böylece shard içindeki sıra korunur.
+     */
+    public static Queue shardQueue(int shard) {
+        return QueueBuilder.durable(shardQueueName(shard)).singleActiveConsumer().build();
+    }
+
+    @Bean
+    public Declarables personelShardDeclarables(@Value("${app.notification.shards.count:4}") int shardCount) {
+        List<Declarable> declarables = new ArrayList<>();
+        for (int shard = 0; shard < shardCount; shard++) {
+            Queue queue = shardQueue(shard);
+            declarables.add(queue);
+            declarables.add(BindingBuilder.bind(queue).to(personelExchange()).with(shardRoutingKey(shard)));
+        }
+        return new Declarables(declarables);
+    }
+
+    public static String retryQueueName(Duration delay) {
+        return PERSONEL_RETRY_QUEUE_PREFIX + delay.toSeconds() + "s";
+    }
+
+    /**
+     * Bekleme kuyruğu tanımı (iki serviste de aynı argümanlarla tanımlanmalıdır)
+     * Kuyruğun consumer'ı yoktur, TTL dolan mesajlar routing key'leri korunarak personel.notification.exchange'e döner.
+     * Dönen mesaj shard kuyruğunun sonuna eklenir, yani bekleme süresince gelen aynı personelin daha yeni olaylarının
+     * arkasında kalır. Hatalı bir mesaj yüzünden shard'ı durdurmamak için bu sıra kaybı bilerek kabul edilir;
+     * NotificationService olayların personel sürümlerini karşılaştırır ve daha yeni sürümü işlenmiş personelin eski
+     * olayını göndermez.
+     */
+    public static Queue retryQueue(Duration delay) {
+        return QueueBuilder.durable(retryQueueName(delay))
+                .ttl(Math.toIntExact(delay.toMillis()))
+                .deadLetterExchange(PERSONEL_EXCHANGE)
+                .build();
+    }
+
+    @Bean
+    public Declarables personelDeadLetterDeclarables(
+            @Value("${app.notification.dead-letter.retry-delays:PT10S,PT1M,PT10M}") List<Duration> retryDelays) {
+        HeadersExchange deadLetterExchange = new HeadersExchange(PERSONEL_DEAD_LETTER_EXCHANGE);
+        List<Declarable> declarables = new ArrayList<>();
+        declarables.add(deadLetterExchange);
+        for (Duration delay : retryDelays) {
+            Queue queue = retryQueue(delay);
+            declarables.add(queue);
+            declarables.add(BindingBuilder.bind(queue).to(deadLetterExchange).where(RETRY_TARGET_HEADER).matches(queue.getName()));
+        }
+        Queue parkingLot = QueueBuilder.durable(PERSONEL_PARKING_LOT_QUEUE).build();
+        declarables.add(parkingLot);
+        declarables.add(BindingBuilder.bind(parkingLot).to(deadLetterExchange).where(RETRY_TARGET_HEADER).matches(PERSONEL_PARKING_LOT_QUEUE));
+        return new Declarables(declarables);
+    }
+
+    /**
+     * Personel olayı sözleşmesinin converter'ı: gelen mesajlar content-type'a göre JSON veya Smile olarak okunur,
+     * RabbitTemplate ile gönderilen nesneler JSON yazılır
+     */
+    @Bean
+    public MessageConverter messageConverter() {
+        return PersonelEventContract.messageConverter();
+    }
+
+    /**
+     * Mesajları batchSize adet birikene veya receiveTimeout dolana kadar toplayıp listener'a liste olarak veren factory
+     * Spring Boot'un spring.rabbitmq.listener.simple.* ayarları ve messageConverter aynen uygulanır.
+     * Acknowledge modu AUTO kaldığı için batch'teki mesajlar listener metodu hatasız döndükten sonra birlikte onaylanır.
+     */
+    @Bean(name = BATCH_LISTENER_CONTAINER_FACTORY)
+    public SimpleRabbitListenerContainerFactory batchListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${app.notification.listener.batch.enabled:true}") boolean batchEnabled,
+            @Value("${app.notification.listener.batch.size:50}") int batchSize,
+            @Value("${app.notification.listener.batch.receive-timeout:PT0.1S}") Duration receiveTimeout) {
+        return batchFactory(configurer, connectionFactory, batchEnabled ? batchSize : 1, receiveTimeout);
+    }
+
+    /**
+     * Shard listener'larının factory'si: batch factory ile aynı, ancak mesajlar manual ack ile onaylanır
+     * Listener batch'i PersonelNotificationDispatcher'a bırakıp döner, mesajlar loglar yazıldıktan sonra
+     * dispatcher'ın worker'larında onaylanır. Prefetch shard başına onaylanmamış mesaj sınırıdır; worker'lar
+     * yetişemezse broker bu sınırda mesaj göndermeyi durdurur. Hatalar dispatcher'da ele alınır, retry advice'ı
+     * (PersonelNotificationRecoverer) uygulanmaz çünkü recoverer manual ack modunda mesajı onaylayamaz.
+     * Batch modu kapalıysa listener'lar mesajları tek tek (batch boyutu 1) alır.
+     */
+    @Bean(name = SHARD_LISTENER_CONTAINER_FACTORY)
+    public SimpleRabbitListenerContainerFactory shardListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${app.notification.listener.batch.enabled:true}") boolean batchEnabled,
+            @Value("${app.notification.listener.batch.size:50}") int batchSize,
+            @Value("${app.notification.listener.batch.receive-timeout:PT0.1S}") Duration receiveTimeout,
+            @Value("${app.notification.delivery.prefetch:100}") int prefetch) {
+        SimpleRabbitListenerContainerFactory factory =
+                batchFactory(configurer, connectionFactory, batchEnabled ? batchSize : 1, receiveTimeout);
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        factory.setPrefetchCount(prefetch);
+        factory.setAdviceChain();
+        return factory;
+    }
+
+    private SimpleRabbitListenerContainerFactory batchFactory(SimpleRabbitListenerContainerFactoryConfigurer configurer,
+                                                              ConnectionFactory connectionFactory,
+                                                              int batchSize, Duration receiveTimeout) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(receiveTimeout.toMillis());
+        return factory;
     }
 
     @Bean
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
-        template.setMessageConverter(jsonMessageConverter());
+        template.setMessageConverter(messageConverter());
         return template;
     }
 }
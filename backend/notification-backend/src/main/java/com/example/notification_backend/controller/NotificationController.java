@@ -1,8 +1,16 @@
 package com.example.notification_backend.controller;
 
+import com.example.notification_backend.dto.CursorPageDTO;
+import com.example.notification_backend.dto.NotificationLogSummaryDTO;
 import com.example.notification_backend.dto.NotificationRequest;
+import com.example.notification_backend.dto.ParkedMessageDTO;
+import com.example.notification_backend.dto.RetryJobDTO;
+import com.example.notification_backend.dto.StatisticsBucketDTO;
 import com.example.notification_backend.entity.NotificationLog;
+import com.example.notification_backend.exception.InvalidCursorException;
 import com.example.notification_backend.service.NotificationService;
+import com.example.notification_backend.service.NotificationStatisticsService.Granularity;
+import com.example.notification_backend.service.ParkingLotService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -13,9 +21,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -31,18 +42,27 @@ public class NotificationController {
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private ParkingLotService parkingLotService;
+
     @PostMapping("/send")
-    @Operation(summary = "Doğrudan notification gönder", description = "RabbitMQ kullanmadan doğrudan email notification gönderir")
+    @Operation(summary = "Doğrudan notification gönder", description = "RabbitMQ kullanmadan doğrudan email notification gönderir, SMTP devre kesicisi açıksa notification ertelenir ve 202 döner")
     public ResponseEntity<Map<String, String>> sendNotification(@RequestBody NotificationRequest request) {
         logger.info("POST /api/notifications/send - Doğrudan notification gönderiliyor: personelId={}", request.getPersonelId());
         
         try {
-            notificationService.sendDirectNotification(request);
+            NotificationLog notificationLog = notificationService.sendDirectNotification(request);
             
             Map<String, String> response = new HashMap<>();
+            response.put("personelId", request.getPersonelId().toString());
+            if (notificationLog.getDeferred()) {
+                // SMTP devre kesicisi açık, email devre kapanınca gönderilecek
+                response.put("message", "Email sunucusu şu anda kullanılamıyor, notification kaydedildi ve daha sonra gönderilecek");
+                response.put("status", "deferred");
+                return ResponseEntity.accepted().body(response);
+            }
             response.put("message", "Notification başarıyla gönderildi");
             response.put("status", "success");
-            response.put("personelId", request.getPersonelId().toString());
             
             return ResponseEntity.ok(response);
             
@@ -58,13 +78,31 @@ public class NotificationController {
     }
 
     @GetMapping
-    @Operation(summary = "Tüm notification loglarını getir", description = "Sistemdeki tüm notification loglarını listeler")
+    @Operation(summary = "Tüm notification loglarını getir", description = "Sistemdeki tüm notification loglarını listeler, büyük tablolarda /cursor kullanılmalıdır", deprecated = true)
     public ResponseEntity<List<NotificationLog>> getAllNotifications() {
         logger.info("GET /api/notifications - Tüm notification loglar istendi");
         List<NotificationLog> notifications = notificationService.getAllNotifications();
         return ResponseEntity.ok(notifications);
     }
 
+    @GetMapping("/cursor")
+    @Operation(summary = "Cursor ile notification özetlerini getir", description = "Notification log özetlerini yeniden eskiye keyset sayfalama ile listeler, email içeriği dönmez")
+    public ResponseEntity<CursorPageDTO<NotificationLogSummaryDTO>> getNotificationsByCursor(
+            @Parameter(description = "Sayfa boyutu (en fazla 500)") @RequestParam(defaultValue = "50") int size,
+            @Parameter(description = "Sonraki sayfa token'ı") @RequestParam(required = false) String cursor) {
+        logger.info("GET /api/notifications/cursor - Cursor ile notification özetleri istendi: size={}", size);
+        return ResponseEntity.ok(notificationService.getNotificationsByCursor(cursor, size));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "ID ile notification logunu getir", description = "Notification logunun email içeriği ve hata mesajı dahil tüm alanlarını getirir")
+    public ResponseEntity<NotificationLog> getNotificationById(
+            @Parameter(description = "Notification ID'si") @PathVariable Long id) {
+        logger.info("GET /api/notifications/{} - Notification logu istendi", id);
+        NotificationLog notificationLog = notificationService.getNotificationById(id);
+        return notificationLog != null ? ResponseEntity.ok(notificationLog) : ResponseEntity.notFound().build();
+    }
+
     @GetMapping("/paged")
     @Operation(summary = "Sayfalama ile notification loglarını getir", description = "Belirtilen sayfa ve boyutta notification loglarını listeler")
     public ResponseEntity<Page<NotificationLog>> getAllNotificationsPaged(
@@ -83,15 +121,24 @@ public class NotificationController {
     }
 
     @GetMapping("/failed")
-    @Operation(summary = "Başarısız notification loglarını getir", description = "Email gönderimi başarısız olan notification loglarını listeler")
+    @Operation(summary = "Başarısız notification loglarını getir", description = "Email gönderimi başarısız olan notification loglarını listeler, büyük tablolarda /failed/cursor kullanılmalıdır", deprecated = true)
     public ResponseEntity<List<NotificationLog>> getFailedNotifications() {
         logger.info("GET /api/notifications/failed - Başarısız notification loglar istendi");
         List<NotificationLog> failedNotifications = notificationService.getFailedNotifications();
         return ResponseEntity.ok(failedNotifications);
     }
 
+    @GetMapping("/failed/cursor")
+    @Operation(summary = "Cursor ile başarısız notification özetlerini getir", description = "Email gönderimi başarısız olan notification log özetlerini yeniden eskiye keyset sayfalama ile listeler")
+    public ResponseEntity<CursorPageDTO<NotificationLogSummaryDTO>> getFailedNotificationsByCursor(
+            @Parameter(description = "Sayfa boyutu (en fazla 500)") @RequestParam(defaultValue = "50") int size,
+            @Parameter(description = "Sonraki sayfa token'ı") @RequestParam(required = false) String cursor) {
+        logger.info("GET /api/notifications/failed/cursor - Cursor ile başarısız notification özetleri istendi: size={}", size);
+        return ResponseEntity.ok(notificationService.getFailedNotificationsByCursor(cursor, size));
+    }
+
     @GetMapping("/personel/{personelId}")
-    @Operation(summary = "Personel ID'sine göre notification loglarını getir", description = "Belirtilen personel ID'sine ait notification loglarını listeler")
+    @Operation(summary = "Personel ID'sine göre notification loglarını getir", description = "Belirtilen personel ID'sine ait notification loglarını listeler, büyük tablolarda /personel/{personelId}/cursor kullanılmalıdır", deprecated = true)
     public ResponseEntity<List<NotificationLog>> getNotificationsByPersonelId(
             @Parameter(description = "Personel ID'si") @PathVariable Long personelId) {
         logger.info("GET /api/notifications/personel/{} - Personel notification logları istendi", personelId);
@@ -99,8 +146,19 @@ public class NotificationController {
         return ResponseEntity.ok(notifications);
     }
 
+    @GetMapping("/personel/{personelId}/cursor")
+    @Operation(summary = "Cursor ile personelin notification özetlerini getir", description = "Belirtilen personel ID'sine ait notification log özetlerini yeniden eskiye keyset sayfalama ile listeler")
+    public ResponseEntity<CursorPageDTO<NotificationLogSummaryDTO>> getNotificationsByPersonelIdByCursor(
+            @Parameter(description = "Personel ID'si") @PathVariable Long personelId,
+            @Parameter(description = "Sayfa boyutu (en fazla 500)") @RequestParam(defaultValue = "50") int size,
+            @Parameter(description = "Sonraki sayfa token'ı") @RequestParam(required = false) String cursor) {
+        logger.info("GET /api/notifications/personel/{}/cursor - Cursor ile personel notification özetleri istendi: size={}",
+                personelId, size);
+        return ResponseEntity.ok(notificationService.getNotificationsByPersonelIdByCursor(personelId, cursor, size));
+    }
+
     @GetMapping("/operation/{operationType}")
-    @Operation(summary = "İşlem türüne göre notification loglarını getir", description = "Belirtilen işlem türüne ait notification loglarını listeler")
+    @Operation(summary = "İşlem türüne göre notification loglarını getir", description = "Belirtilen işlem türüne ait notification loglarını listeler, büyük tablolarda /operation/{operationType}/cursor kullanılmalıdır", deprecated = true)
     public ResponseEntity<List<NotificationLog>> getNotificationsByOperationType(
             @Parameter(description = "İşlem türü (CREATE, UPDATE, DELETE)") @PathVariable String operationType) {
         logger.info("GET /api/notifications/operation/{} - İşlem türü notification logları istendi", operationType);
@@ -108,6 +166,32 @@ public class NotificationController {
         return ResponseEntity.ok(notifications);
     }
 
+    @GetMapping("/operation/{operationType}/cursor")
+    @Operation(summary = "Cursor ile işlem türünün notification özetlerini getir", description = "Belirtilen işlem türüne ait notification log özetlerini yeniden eskiye keyset sayfalama ile listeler")
+    public ResponseEntity<CursorPageDTO<NotificationLogSummaryDTO>> getNotificationsByOperationTypeByCursor(
+            @Parameter(description = "İşlem türü (CREATE, UPDATE, DELETE)") @PathVariable String operationType,
+            @Parameter(description = "Sayfa boyutu (en fazla 500)") @RequestParam(defaultValue = "50") int size,
+            @Parameter(description = "Sonraki sayfa token'ı") @RequestParam(required = false) String cursor) {
+        logger.info("GET /api/notifications/operation/{}/cursor - Cursor ile işlem türü notification özetleri istendi: size={}",
+                operationType, size);
+        return ResponseEntity.ok(notificationService.getNotificationsByOperationTypeByCursor(operationType, cursor, size));
+    }
+
+    @GetMapping("/archive")
+    @Operation(summary = "Arşivlenmiş notification loglarını getir", description = "Saklama süresi dolup arşiv dosyalarına taşınan notification loglarını oluşturulma tarih aralığına (sınırlar dahil) ve isteğe bağlı olarak personele göre eskiden yeniye listeler")
+    public ResponseEntity<List<NotificationLog>> getArchivedNotifications(
+            @Parameter(description = "Başlangıç tarihi (ISO-8601, ör. 2025-01-01T00:00:00)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "Bitiş tarihi (ISO-8601)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "Personel ID'si") @RequestParam(required = false) Long personelId,
+            @Parameter(description = "En fazla getirilecek kayıt sayısı (en fazla 1000)") @RequestParam(defaultValue = "500") int limit) {
+        logger.info("GET /api/notifications/archive - Arşivlenmiş notification logları istendi: startDate={}, endDate={}, personelId={}",
+                startDate, endDate, personelId);
+        if (startDate.isAfter(endDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(notificationService.getArchivedNotifications(personelId, startDate, endDate, limit));
+    }
+
     @GetMapping("/status/{emailSent}")
     @Operation(summary = "Email durumuna göre notification loglarını getir", description = "Email gönderim durumuna göre notification loglarını listeler")
     public ResponseEntity<Page<NotificationLog>> getNotificationsByStatus(
@@ -123,28 +207,46 @@ public class NotificationController {
     }
 
     @PostMapping("/retry-failed")
-    @Operation(summary = "Başarısız notification'ları tekrar dene", description = "Email gönderimi başarısız olan notification'ları tekrar göndermeyi dener")
-    public ResponseEntity<Map<String, String>> retryFailedNotifications() {
-        logger.info("POST /api/notifications/retry-failed - Başarısız notification'lar tekrar deneniyor");
-        
-        try {
-            notificationService.retryFailedNotifications();
-            
-            Map<String, String> response = new HashMap<>();
-            response.put("message", "Başarısız notification'lar tekrar gönderildi");
-            response.put("status", "success");
-            
-            return ResponseEntity.ok(response);
-            
-        } catch (Exception e) {
-            logger.error("Başarısız notification'lar tekrar gönderilirken hata oluştu: {}", e.getMessage());
-            
-            Map<String, String> response = new HashMap<>();
-            response.put("message", "Hata oluştu: " + e.getMessage());
-            response.put("status", "error");
-            
-            return ResponseEntity.internalServerError().body(response);
-        }
+    @Operation(summary = "Başarısız notification'ları tekrar dene", description = "Email gönderimi başarısız olan ve park edilen notification'ları arka planda tekrar gönderen işi başlatır, iş ID'si ile hemen döner")
+    public ResponseEntity<RetryJobDTO> retryFailedNotifications() {
+        logger.info("POST /api/notifications/retry-failed - Başarısız notification'lar için tekrar deneme işi başlatılıyor");
+        RetryJobDTO job = notificationService.retryFailedNotifications();
+        return ResponseEntity.accepted().body(job);
+    }
+
+    @GetMapping("/retry-failed/{jobId}")
+    @Operation(summary = "Tekrar deneme işinin durumunu getir", description = "retry-failed ile başlatılan işin durumunu ve sonuç sayılarını getirir")
+    public ResponseEntity<RetryJobDTO> getRetryJob(
+            @Parameter(description = "İş ID'si") @PathVariable String jobId) {
+        logger.info("GET /api/notifications/retry-failed/{} - Tekrar deneme işi durumu istendi", jobId);
+        RetryJobDTO job = notificationService.getRetryJob(jobId);
+        return job != null ? ResponseEntity.ok(job) : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping("/parking-lot")
+    @Operation(summary = "Parking-lot'taki mesajları getir", description = "Tekrar denemeleri tükenen veya okunamayan RabbitMQ mesajlarını kuyruktan silmeden listeler")
+    public ResponseEntity<Map<String, Object>> getParkedMessages(
+            @Parameter(description = "En fazla getirilecek mesaj sayısı") @RequestParam(defaultValue = "50") int limit) {
+        logger.info("GET /api/notifications/parking-lot - Parking-lot mesajları istendi: limit={}", limit);
+        List<ParkedMessageDTO> messages = parkingLotService.getParkedMessages(limit);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("total", parkingLotService.getParkedMessageCount());
+        response.put("messages", messages);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/parking-lot/replay")
+    @Operation(summary = "Parking-lot'taki mesajları tekrar işle", description = "Parking-lot'un başındaki mesajları geldikleri kuyruğa geri gönderir, tekrar deneme sayıları sıfırlanır")
+    public ResponseEntity<Map<String, Object>> replayParkedMessages(
+            @Parameter(description = "En fazla geri gönderilecek mesaj sayısı") @RequestParam(defaultValue = "100") int limit) {
+        logger.info("POST /api/notifications/parking-lot/replay - Parking-lot mesajları geri gönderiliyor: limit={}", limit);
+        int replayed = parkingLotService.replayParkedMessages(limit);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("replayed", replayed);
+        response.put("remaining", parkingLotService.getParkedMessageCount());
+        return ResponseEntity.ok(response);
     }
 
     @GetMapping("/statistics")
@@ -160,8 +262,36 @@ public class NotificationController {
         statistics.put("total", totalCount);
         statistics.put("successful", successfulCount);
         statistics.put("failed", failedCount);
+        statistics.put("parked", notificationService.getParkedNotificationCount());
+        statistics.put("deferred", notificationService.getDeferredNotificationCount());
+        statistics.put("digestPending", notificationService.getDigestPendingNotificationCount());
         statistics.put("successRate", totalCount > 0 ? (double) successfulCount / totalCount * 100 : 0.0);
         
         return ResponseEntity.ok(statistics);
     }
+
+    @GetMapping("/statistics/timeseries")
+    @Operation(summary = "Notification zaman serisini getir", description = "Yanıtı veren node'un son window süresinde işlediği notification sayılarını dakikalık veya saatlik dilimlerde, işlem türü ve duruma göre getirir (her dilimde node adı yer alır)")
+    public ResponseEntity<List<StatisticsBucketDTO>> getNotificationTimeSeries(
+            @Parameter(description = "Süre (ISO-8601, ör. PT30M, PT24H)") @RequestParam(defaultValue = "PT1H") Duration window,
+            @Parameter(description = "Dilim uzunluğu (MINUTE, HOUR), belirtilmezse 2 saate kadar MINUTE") @RequestParam(required = false) Granularity granularity) {
+        logger.info("GET /api/notifications/statistics/timeseries - Notification zaman serisi istendi: window={}, granularity={}",
+                window, granularity);
+        if (window.isNegative() || window.isZero()) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (granularity == null) {
+            granularity = window.compareTo(Duration.ofHours(2)) <= 0 ? Granularity.MINUTE : Granularity.HOUR;
+        }
+        return ResponseEntity.ok(notificationService.getStatisticsTimeSeries(window, granularity));
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Map<String, String>> handleInvalidCursorException(InvalidCursorException ex) {
+        logger.error("Geçersiz cursor: {}", ex.getMessage());
+        Map<String, String> response = new HashMap<>();
+        response.put("message", ex.getMessage());
+        response.put("status", "error");
+        return ResponseEntity.badRequest().body(response);
+    }
 }
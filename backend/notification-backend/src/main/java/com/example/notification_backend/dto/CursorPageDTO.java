@@ -0,0 +1,58 @@
+package com.example.notification_backend.dto;
+
+import java.util.List;
+
+/**
+ * Cursor (keyset) tabanlı sayfalama cevabı
+ * Page'den farklı olarak toplam kayıt sayısı içermez, bu yüzden COUNT(*) sorgusu çalıştırılmaz
+ */
+public class CursorPageDTO<T> {
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor; // Sonraki sayfa için opak token, son sayfada null
+
+    // Constructors
+    public CursorPageDTO() {}
+
+    public CursorPageDTO(List<T> content, boolean hasNext, String nextCursor) {
+        this.content = content;
+        this.size = content.size();
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.notification_backend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notification log listelerinde dönen özet
+ * Büyük kolonlar (email_content, error_message, changed_fields) okunmaz, tam kayıt GET /api/notifications/{id} ile alınır.
+ * Sorgularda constructor expression ile doğrudan oluşturulur, entity persistence context'e eklenmez.
+ */
+public class NotificationLogSummaryDTO {
+
+    private final Long id;
+    private final Long personelId;
+    private final String personelAd;
+    private final String personelSoyad;
+    private final String operationType;
+    private final Boolean emailSent;
+    private final String recipientEmail;
+    private final Boolean digestPending;
+    private final Integer attemptCount;
+    private final Boolean parked;
+    private final Boolean deferred;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime sentAt;
+
+    public NotificationLogSummaryDTO(Long id, Long personelId, String personelAd, String personelSoyad,
+                                     String operationType, Boolean emailSent, String recipientEmail,
+                                     Boolean digestPending, Integer attemptCount, Boolean parked, Boolean deferred,
+                                     LocalDateTime createdAt, LocalDateTime sentAt) {
+        this.id = id;
+        this.personelId = personelId;
+        this.personelAd = personelAd;
+        this.personelSoyad = personelSoyad;
+        this.operationType = operationType;
+        this.emailSent = emailSent;
+        this.recipientEmail = recipientEmail;
+        this.digestPending = digestPending;
+        this.attemptCount = attemptCount;
+        this.parked = parked;
+        this.deferred = deferred;
+        this.createdAt = createdAt;
+        this.sentAt = sentAt;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getPersonelId() {
+        return personelId;
+    }
+
+    public String getPersonelAd() {
+        return personelAd;
+    }
+
+    public String getPersonelSoyad() {
+        return personelSoyad;
+    }
+
+    public String getOperationType() {
+        return operationType;
+    }
+
+    public Boolean getEmailSent() {
+        return emailSent;
+    }
+
+    public String getRecipientEmail() {
+        return recipientEmail;
+    }
+
+    public Boolean getDigestPending() {
+        return digestPending;
+    }
+
+    public Integer getAttemptCount() {
+        return attemptCount;
+    }
+
+    public Boolean getParked() {
+        return parked;
+    }
+
+    public Boolean getDeferred() {
+        return deferred;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getSentAt() {
+        return sentAt;
+    }
+}
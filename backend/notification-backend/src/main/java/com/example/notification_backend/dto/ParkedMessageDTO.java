@@ -0,0 +1,73 @@
+package com.example.notification_backend.dto;
+
+/**
+ * personel.notification.parking-lot kuyruğundaki bir mesajın özeti
+ * Alanlar mesajın PersonelNotificationRecoverer tarafından eklenen başlıklarından okunur.
+ */
+public class ParkedMessageDTO {
+
+    private String messageId;
+    private String originalExchange;
+    private String originalRoutingKey;
+    private int retryCount;           // Parking-lot'a düşmeden önceki tekrar deneme sayısı
+    private String exceptionMessage;
+    private String failedAt;
+    private String payload;
+
+    // Getters and Setters
+    public String getMessageId() {
+        return messageId;
+    }
+
+    public void setMessageId(String messageId) {
+        this.messageId = messageId;
+    }
+
+    public String getOriginalExchange() {
+        return originalExchange;
+    }
+
+    public void setOriginalExchange(String originalExchange) {
+        this.originalExchange = originalExchange;
+    }
+
+    public String getOriginalRoutingKey() {
+        return originalRoutingKey;
+    }
+
+    public void setOriginalRoutingKey(String originalRoutingKey) {
+        this.originalRoutingKey = originalRoutingKey;
+    }
+
+    public int getRetryCount() {
+        return retryCount;
+    }
+
+    public void setRetryCount(int retryCount) {
+        this.retryCount = retryCount;
+    }
+
+    public String getExceptionMessage() {
+        return exceptionMessage;
+    }
+
+    public void setExceptionMessage(String exceptionMessage) {
+        this.exceptionMessage = exceptionMessage;
+    }
+
+    public String getFailedAt() {
+        return failedAt;
+    }
+
+    public void setFailedAt(String failedAt) {
+        this.failedAt = failedAt;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+}
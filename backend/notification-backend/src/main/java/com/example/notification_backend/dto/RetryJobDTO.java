@@ -0,0 +1,119 @@
+package com.example.notification_backend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * POST /api/notifications/retry-failed ile başlatılan tekrar deneme işinin durumu
+ * İş arka planda çalışırken güncellenir, alanlar bu yüzden volatile'dır.
+ */
+public class RetryJobDTO {
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final String jobId;
+    private final LocalDateTime requestedAt;
+    private volatile Status status = Status.QUEUED;
+    private volatile int scheduled;   // Tekrar denenmek üzere işaretlenen başarısız kayıt sayısı
+    private volatile int attempted;
+    private volatile int succeeded;
+    private volatile int rescheduled; // Tekrar başarısız olup ileri bir zamana ertelenen
+    private volatile int parked;      // Azami deneme sayısına ulaşan
+    private volatile int deferred;    // SMTP devre kesicisi reddettiği için denenmeden ertelenen
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String errorMessage;
+
+    public RetryJobDTO(String jobId, LocalDateTime requestedAt) {
+        this.jobId = jobId;
+        this.requestedAt = requestedAt;
+    }
+
+    // Getters and Setters
+    public String getJobId() {
+        return jobId;
+    }
+
+    public LocalDateTime getRequestedAt() {
+        return requestedAt;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public int getScheduled() {
+        return scheduled;
+    }
+
+    public void setScheduled(int scheduled) {
+        this.scheduled = scheduled;
+    }
+
+    public int getAttempted() {
+        return attempted;
+    }
+
+    public void setAttempted(int attempted) {
+        this.attempted = attempted;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public int getRescheduled() {
+        return rescheduled;
+    }
+
+    public void setRescheduled(int rescheduled) {
+        this.rescheduled = rescheduled;
+    }
+
+    public int getParked() {
+        return parked;
+    }
+
+    public void setParked(int parked) {
+        this.parked = parked;
+    }
+
+    public int getDeferred() {
+        return deferred;
+    }
+
+    public void setDeferred(int deferred) {
+        this.deferred = deferred;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+}
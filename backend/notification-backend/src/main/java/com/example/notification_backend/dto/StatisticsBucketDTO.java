@@ -0,0 +1,42 @@
+package com.example.notification_backend.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * GET /api/notifications/statistics/timeseries yanıtındaki bir zaman dilimi
+ * counts işlem türü (CREATE, UPDATE, DELETE, OTHER) ve durum (SENT, FAILED, PARKED, DEFERRED, DIGEST_PENDING)
+ * bazında o dilimdeki sayıları içerir, sıfır olanlar yer almaz.
+ * Sayılar dilimi sayan node'a (node) aittir; birden fazla node çalışıyorsa toplam için her node'un serisi toplanmalıdır.
+ */
+public class StatisticsBucketDTO {
+
+    private final String node;
+    private final LocalDateTime start;
+    private final long total;
+    private final Map<String, Map<String, Long>> counts;
+
+    public StatisticsBucketDTO(String node, LocalDateTime start, long total, Map<String, Map<String, Long>> counts) {
+        this.node = node;
+        this.start = start;
+        this.total = total;
+        this.counts = counts;
+    }
+
+    // Getters
+    public String getNode() {
+        return node;
+    }
+
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public Map<String, Map<String, Long>> getCounts() {
+        return counts;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.notification_backend.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Bildirim emailinin sıkıştırılmış gövdesi
+ * Gövdeler notification_log'dan ayrı tutulur, log kaydı sadece bodyId taşır ve gövde sadece detay
+ * görüntülenirken okunur. Aynı içerikli gövdeler (contentHash) tek kayıtta paylaşılır.
+ * İçerik dictionaryId ile belirtilen sözlükle deflate edilmiştir (EmailBodyCodec).
+ */
+@Entity
+@Table(name = "notification_body", indexes = {
+        @Index(name = "idx_notification_body_content_hash", columnList = "content_hash")
+})
+public class NotificationBody {
+
+    // notification_log gibi sequence kullanır, böylece gövdeler de JDBC batch ile yazılır
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_body_seq")
+    @SequenceGenerator(name = "notification_body_seq", sequenceName = "notification_body_seq", allocationSize = 50)
+    private Long id;
+
+    // Sıkıştırılmamış gövdenin SHA-256 özeti (hex)
+    @Column(name = "content_hash", length = 64, nullable = false)
+    private String contentHash;
+
+    @Column(name = "dictionary_id", nullable = false)
+    private Long dictionaryId;
+
+    // Sıkıştırılmamış gövdenin UTF-8 byte uzunluğu
+    @Column(name = "content_length", nullable = false)
+    private Integer contentLength;
+
+    @Column(name = "content", length = 65535, nullable = false)
+    private byte[] content;
+
+    // Constructors
+    public NotificationBody() {}
+
+    public NotificationBody(String contentHash, Long dictionaryId, Integer contentLength, byte[] content) {
+        this.contentHash = contentHash;
+        this.dictionaryId = dictionaryId;
+        this.contentLength = contentLength;
+        this.content = content;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public Long getDictionaryId() {
+        return dictionaryId;
+    }
+
+    public void setDictionaryId(Long dictionaryId) {
+        this.dictionaryId = dictionaryId;
+    }
+
+    public Integer getContentLength() {
+        return contentLength;
+    }
+
+    public void setContentLength(Integer contentLength) {
+        this.contentLength = contentLength;
+    }
+
+    public byte[] getContent() {
+        return content;
+    }
+
+    public void setContent(byte[] content) {
+        this.content = content;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.notification_backend.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Email gövdelerinin sıkıştırıldığı sözlük
+ * Sözlük açılışta bildirim şablonundan oluşturulur; şablon değişince yeni bir sözlük kaydedilir,
+ * eski gövdeler kendi sözlükleriyle açılmaya devam eder.
+ */
+@Entity
+@Table(name = "notification_body_dictionary")
+public class NotificationBodyDictionary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Sözlük içeriğinin SHA-256 özeti (hex)
+    @Column(name = "content_hash", length = 64, nullable = false, unique = true)
+    private String contentHash;
+
+    @Column(name = "content", length = 32768, nullable = false)
+    private byte[] content;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public NotificationBodyDictionary() {}
+
+    public NotificationBodyDictionary(String contentHash, byte[] content) {
+        this.contentHash = contentHash;
+        this.content = content;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public byte[] getContent() {
+        return content;
+    }
+
+    public void setContent(byte[] content) {
+        this.content = content;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.notification_backend.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Birden fazla personel değişikliğini tek emailde toplayan özet gönderim kaydı
+ * Özete dahil edilen her değişikliğin NotificationLog kaydı digestId ile bu kayda bağlanır.
+ * Başarısız denemeler de kaydedilir, değişiklikler bekleyen durumda kalır ve bir sonraki turda tekrar gönderilir.
+ */
+@Entity
+@Table(name = "notification_digest")
+public class NotificationDigest {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "recipient_email", length = 200, nullable = false)
+    private String recipientEmail;
+
+    @Column(name = "email_subject", length = 200)
+    private String emailSubject;
+
+    @Column(name = "event_count", nullable = false)
+    private Integer eventCount;
+
+    // Özetteki en eski değişikliğin zamanı
+    @Column(name = "window_start")
+    private LocalDateTime windowStart;
+
+    @Column(name = "email_sent", nullable = false)
+    private Boolean emailSent = false;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    // Constructors
+    public NotificationDigest() {}
+
+    public NotificationDigest(String recipientEmail, Integer eventCount, LocalDateTime windowStart) {
+        this.recipientEmail = recipientEmail;
+        this.eventCount = eventCount;
+        this.windowStart = windowStart;
+        this.emailSent = false;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getRecipientEmail() {
+        return recipientEmail;
+    }
+
+    public void setRecipientEmail(String recipientEmail) {
+        this.recipientEmail = recipientEmail;
+    }
+
+    public String getEmailSubject() {
+        return emailSubject;
+    }
+
+    public void setEmailSubject(String emailSubject) {
+        this.emailSubject = emailSubject;
+    }
+
+    public Integer getEventCount() {
+        return eventCount;
+    }
+
+    public void setEventCount(Integer eventCount) {
+        this.eventCount = eventCount;
+    }
+
+    public LocalDateTime getWindowStart() {
+        return windowStart;
+    }
+
+    public void setWindowStart(LocalDateTime windowStart) {
+        this.windowStart = windowStart;
+    }
+
+    public Boolean getEmailSent() {
+        return emailSent;
+    }
+
+    public void setEmailSent(Boolean emailSent) {
+        this.emailSent = emailSent;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getSentAt() {
+        return sentAt;
+    }
+
+    public void setSentAt(LocalDateTime sentAt) {
+        this.sentAt = sentAt;
+    }
+
+    @Override
+    public String toString() {
+        return "NotificationDigest{" +
+                "id=" + id +
+                ", recipientEmail='" + recipientEmail + '\'' +
+                ", eventCount=" + eventCount +
+                ", emailSent=" + emailSent +
+                ", createdAt=" + createdAt +
+                '}';
+    }
+}
@@ -6,16 +6,44 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notification_log")
+@Table(name = "notification_log", uniqueConstraints = {
+        // Aynı personel olayının ikinci kez kaydedilmesine karşı son koruma (NotificationEventDeduplicator)
+        @UniqueConstraint(name = "uk_notification_log_event_id", columnNames = "event_id")
+}, indexes = {
+        // Digest zamanlayıcısı bekleyen kayıtları alıcıya göre okur
+        @Index(name = "idx_notification_log_digest_pending", columnList = "digest_pending, recipient_email, id"),
+        // Tekrar deneme zamanlayıcısı zamanı gelen kayıtları okur, gönderilmiş ve park edilmiş kayıtlarda null'dır
+        @Index(name = "idx_notification_log_next_attempt", columnList = "next_attempt_at"),
+        // Keyset sayfalamalı listeler (createdAt, id) sırasıyla okunur
+        @Index(name = "idx_notification_log_created_id", columnList = "created_at, id"),
+        @Index(name = "idx_notification_log_failed_created_id", columnList = "email_sent, digest_pending, created_at, id"),
+        @Index(name = "idx_notification_log_personel_created_id", columnList = "personel_id, created_at, id"),
+        // Personelin en yeni sürümü sırada geride kalan olayları ayıklamak için okunur
+        @Index(name = "idx_notification_log_personel_version", columnList = "personel_id, personel_version"),
+        @Index(name = "idx_notification_log_operation_created_id", columnList = "operation_type, created_at, id"),
+        // Arşivleme sonrası kullanılmayan gövdeler body_id ile aranır
+        @Index(name = "idx_notification_log_body", columnList = "body_id")
+})
 public class NotificationLog {
 
+    // Birincil anahtar - sequence'tan 50'lik bloklar halinde alınır (pooled optimizer),
+    // IDENTITY'den farklı olarak batch listener'ın saveAll çağrısının JDBC batch ile gönderilmesine izin verir
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_log_seq")
+    @SequenceGenerator(name = "notification_log_seq", sequenceName = "notification_log_seq", allocationSize = 50)
     private Long id;
 
+    // personnel-backend'in olaya atadığı ID, doğrudan gönderimlerde ve eski mesajlarda null
+    @Column(name = "event_id", length = 36)
+    private String eventId;
+
     @Column(name = "personel_id", nullable = false)
     private Long personelId;
 
+    // Olayın taşıdığı personel sürümü, aynı personelin geç gelen eski olaylarını ayırt etmek için; eski mesajlarda null
+    @Column(name = "personel_version")
+    private Long personelVersion;
+
     @Column(name = "personel_ad", length = 100)
     private String personelAd;
 
@@ -37,7 +65,12 @@ public class NotificationLog {
     @Column(name = "email_subject", length = 200)
     private String emailSubject;
 
-    @Column(name = "email_content", columnDefinition = "TEXT")
+    // Gönderilen gövde, sıkıştırılmış olarak notification_body tablosunda (NotificationBodyService)
+    @Column(name = "body_id")
+    private Long bodyId;
+
+    // Render edilen gövde; kaydederken notification_body'ye yazılır, okurken sadece detayda yüklenir
+    @Transient
     private String emailContent;
 
     @Column(name = "recipient_email", length = 200)
@@ -46,6 +79,34 @@ public class NotificationLog {
     @Column(name = "error_message", length = 1000)
     private String errorMessage;
 
+    // Digest modunda email henüz gönderilmedi, bir sonraki özet emailine eklenecek
+    @Column(name = "digest_pending", nullable = false)
+    private Boolean digestPending = false;
+
+    // Kaydın dahil edildiği özet emaili (NotificationDigest), tekil gönderimlerde null
+    @Column(name = "digest_id")
+    private Long digestId;
+
+    // Digest'te bekleyen kayıt bu zamana kadar alınmaz: gönderen node'un lease'i veya başarısız özetin beklemesi
+    @Column(name = "digest_next_attempt_at")
+    private LocalDateTime digestNextAttemptAt;
+
+    // İlk gönderim dahil yapılan gönderim denemesi sayısı
+    @Column(name = "attempt_count", nullable = false)
+    private Integer attemptCount = 0;
+
+    // Başarısız kaydın bir sonraki deneme zamanı, denenecek kayıt yoksa null
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    // Azami deneme sayısına ulaşıldı, sadece elle tekrar deneme (retry-failed) ile gönderilir
+    @Column(name = "parked", nullable = false)
+    private Boolean parked = false;
+
+    // SMTP devre kesicisi açıkken gönderim denenmeden ertelendi, devre kapanınca tekrar deneme servisi gönderir
+    @Column(name = "deferred", nullable = false)
+    private Boolean deferred = false;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -76,6 +137,14 @@ public class NotificationLog {
         this.id = id;
     }
 
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
     public Long getPersonelId() {
         return personelId;
     }
@@ -84,6 +153,14 @@ public class NotificationLog {
         this.personelId = personelId;
     }
 
+    public Long getPersonelVersion() {
+        return personelVersion;
+    }
+
+    public void setPersonelVersion(Long personelVersion) {
+        this.personelVersion = personelVersion;
+    }
+
     public String getPersonelAd() {
         return personelAd;
     }
@@ -164,6 +241,70 @@ public class NotificationLog {
         this.errorMessage = errorMessage;
     }
 
+    public Boolean getDigestPending() {
+        return digestPending;
+    }
+
+    public void setDigestPending(Boolean digestPending) {
+        this.digestPending = digestPending;
+    }
+
+    public Long getDigestId() {
+        return digestId;
+    }
+
+    public void setDigestId(Long digestId) {
+        this.digestId = digestId;
+    }
+
+    public LocalDateTime getDigestNextAttemptAt() {
+        return digestNextAttemptAt;
+    }
+
+    public void setDigestNextAttemptAt(LocalDateTime digestNextAttemptAt) {
+        this.digestNextAttemptAt = digestNextAttemptAt;
+    }
+
+    public Long getBodyId() {
+        return bodyId;
+    }
+
+    public void setBodyId(Long bodyId) {
+        this.bodyId = bodyId;
+    }
+
+    public Integer getAttemptCount() {
+        return attemptCount;
+    }
+
+    public void setAttemptCount(Integer attemptCount) {
+        this.attemptCount = attemptCount;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public Boolean getParked() {
+        return parked;
+    }
+
+    public void setParked(Boolean parked) {
+        this.parked = parked;
+    }
+
+    public Boolean getDeferred() {
+        return deferred;
+    }
+
+    public void setDeferred(Boolean deferred) {
+        this.deferred = deferred;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -184,11 +325,16 @@ public class NotificationLog {
     public String toString() {
         return "NotificationLog{" +
                 "id=" + id +
+                ", eventId='" + eventId + '\'' +
                 ", personelId=" + personelId +
                 ", personelAd='" + personelAd + '\'' +
                 ", personelSoyad='" + personelSoyad + '\'' +
                 ", operationType='" + operationType + '\'' +
                 ", emailSent=" + emailSent +
+                ", digestId=" + digestId +
+                ", bodyId=" + bodyId +
+                ", attemptCount=" + attemptCount +
+                ", deferred=" + deferred +
                 ", createdAt=" + createdAt +
                 '}';
     }
@@ -0,0 +1,61 @@
+package com.example.notification_backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aynı anda tek node'un yapması gereken işler için süreli kilit (lease)
+ * Kilidi alan node lockedBy'a yazılır ve lockedUntil'e kadar başka node alamaz; node kapanırsa süre dolunca
+ * başka bir node devralır. Satırlar açılışta oluşturulur.
+ */
+@Entity
+@Table(name = "scheduler_lock")
+public class SchedulerLock {
+
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+
+    @Column(name = "locked_by", length = 255)
+    private String lockedBy;
+
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+
+    // Constructors
+    public SchedulerLock() {}
+
+    public SchedulerLock(String name) {
+        this.name = name;
+        this.lockedUntil = LocalDateTime.of(1970, 1, 1, 0, 0);
+    }
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getLockedBy() {
+        return lockedBy;
+    }
+
+    public void setLockedBy(String lockedBy) {
+        this.lockedBy = lockedBy;
+    }
+
+    public LocalDateTime getLockedUntil() {
+        return lockedUntil;
+    }
+
+    public void setLockedUntil(LocalDateTime lockedUntil) {
+        this.lockedUntil = lockedUntil;
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.notification_backend.listener;
+
+import com.example.notification_backend.service.NotificationService;
+import com.example.personel_events.PersonelNotificationDTO;
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shard listener'larının aldığı batch'leri email gönderen worker'lara (lane) aktarır ve mesajları elle onaylar
+ * Her lane tek thread ve sınırlı bir kuyruktur; bir shard hep aynı lane'e (shard % workers) düştüğü için
+ * shard içindeki sıra korunur. Listener thread'i SMTP'yi beklemez, batch'i lane'e bırakıp sıradaki mesajları alır.
+ * Mesajlar NotificationLog'lar yazıldıktan sonra onaylanır (manual ack). Lane kuyruğu doluysa listener bekler;
+ * bu sırada onaylanmamış mesaj sayısı prefetch'e ulaşınca broker o shard'a mesaj göndermeyi durdurur.
+ */
+@Component
+public class PersonelNotificationDispatcher implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(PersonelNotificationDispatcher.class);
+
+    /**
+     * Bir shard container'ından gelen batch: notifications.get(i), messages.get(i)'nin taşıdığı bildirimlerdir,
+     * okunamayan mesajlar için boş listedir (bu mesajlar listener'da parking-lot'a gönderilmiştir)
+     */
+    private record Delivery(Channel channel, List<Message> messages, List<List<PersonelNotificationDTO>> notifications) {
+
+        private long lastDeliveryTag() {
+            return messages.get(messages.size() - 1).getMessageProperties().getDeliveryTag();
+        }
+    }
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private PersonelNotificationRecoverer personelNotificationRecoverer;
+
+    @Value("${app.notification.delivery.workers:4}")
+    private int workers;
+
+    // Lane başına bekleyebilecek batch sayısı
+    @Value("${app.notification.delivery.queue-capacity:4}")
+    private int queueCapacity;
+
+    // Kapanışta lane'lerde bekleyen batch'lerin işlenmesi için beklenen süre
+    @Value("${app.notification.delivery.shutdown-timeout:PT10S}")
+    private Duration shutdownTimeout;
+
+    private List<BlockingQueue<Delivery>> lanes;
+    private List<Thread> laneThreads;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void init() {
+        lanes = new ArrayList<>(workers);
+        laneThreads = new ArrayList<>(workers);
+        running = true;
+        for (int lane = 0; lane < workers; lane++) {
+            BlockingQueue<Delivery> queue = new ArrayBlockingQueue<>(queueCapacity);
+            Thread thread = new Thread(() -> runLane(queue), "notification-delivery-" + lane);
+            lanes.add(queue);
+            laneThreads.add(thread);
+            thread.start();
+        }
+    }
+
+    /**
+     * Lane'lere yeni batch alınmaz, kuyruktaki batch'ler shutdown-timeout süresince işlenmeye devam eder
+     * Süre içinde onaylanamayan mesajlar kanal kapandığında broker tarafından tekrar teslim edilir.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        long deadline = System.nanoTime() + shutdownTimeout.toNanos();
+        for (Thread thread : laneThreads) {
+            thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("notification.delivery.queue.size", this, dispatcher -> dispatcher.queuedDeliveries())
+                .description("Batches waiting for a notification delivery worker")
+                .register(registry);
+    }
+
+    /**
+     * Batch'i shard'ın lane'ine bırakır, lane doluysa yer açılana kadar bekler
+     * @param shard Batch'in geldiği shard
+     * @param channel Mesajların onaylanacağı kanal (batch'in geldiği consumer'ın kanalı)
+     * @param messages Batch'teki mesajlar (geliş sırasıyla)
+     * @param notifications Her mesajın taşıdığı bildirimler
+     */
+    public void dispatch(int shard, Channel channel, List<Message> messages,
+                         List<List<PersonelNotificationDTO>> notifications) throws InterruptedException {
+        lanes.get(shard % workers).put(new Delivery(channel, messages, notifications));
+    }
+
+    private int queuedDeliveries() {
+        int queued = 0;
+        for (BlockingQueue<Delivery> lane : lanes) {
+            queued += lane.size();
+        }
+        return queued;
+    }
+
+    private void runLane(BlockingQueue<Delivery> queue) {
+        while (running || !queue.isEmpty()) {
+            try {
+                Delivery delivery = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (delivery != null) {
+                    deliver(delivery);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void deliver(Delivery delivery) {
+        List<PersonelNotificationDTO> notifications = new ArrayList<>();
+        delivery.notifications().forEach(notifications::addAll);
+        try {
+            if (!notifications.isEmpty()) {
+                notificationService.processPersonelNotifications(notifications);
+            }
+        } catch (RuntimeException e) {
+            if (!deliverSeparately(delivery, e)) {
+                nack(delivery);
+                return;
+            }
+        }
+        ack(delivery);
+    }
+
+    /**
+     * Batch işlenemediğinde mesajları tek tek işler, hata alanları PersonelNotificationRecoverer'a verir
+     * Batch'in emailleri gönderildiyse olayları kaydedilmiştir ve burada tekrar gönderilmez (NotificationService).
+     * @return Tüm mesajlar işlendi veya dead-letter edildiyse true
+     */
+    private boolean deliverSeparately(Delivery delivery, RuntimeException batchFailure) {
+        logger.warn("{} mesajlık shard batch'i işlenemedi, mesajlar tek tek işleniyor: {}",
+                delivery.messages().size(), batchFailure.getMessage());
+        try {
+            for (int i = 0; i < delivery.messages().size(); i++) {
+                List<PersonelNotificationDTO> notifications = delivery.notifications().get(i);
+                if (notifications.isEmpty()) {
+                    continue;
+                }
+                try {
+                    notificationService.processPersonelNotifications(notifications);
+                } catch (RuntimeException e) {
+                    personelNotificationRecoverer.recover(delivery.messages().get(i), e);
+                }
+            }
+            return true;
+        } catch (RuntimeException e) {
+            logger.error("Hatalı mesajlar dead-letter exchange'e gönderilemedi: {}", e.getMessage(), e);
+            return false;
+        }
+    }
+
+    // Lane shard'ın batch'lerini sırayla işlediği için son mesajın onayı (multiple) batch'in tamamını kapsar
+    private void ack(Delivery delivery) {
+        try {
+            delivery.channel().basicAck(delivery.lastDeliveryTag(), true);
+        } catch (Exception e) {
+            logger.warn("{} mesaj onaylanamadı, broker tarafından tekrar teslim edilecek: {}",
+                    delivery.messages().size(), e.getMessage());
+        }
+    }
+
+    private void nack(Delivery delivery) {
+        try {
+            delivery.channel().basicNack(delivery.lastDeliveryTag(), true, true);
+        } catch (Exception e) {
+            logger.warn("{} mesaj kuyruğa geri bırakılamadı: {}", delivery.messages().size(), e.getMessage());
+        }
+    }
+}
@@ -1,14 +1,16 @@
 package com.example.notification_backend.listener;
 
 import com.example.notification_backend.config.RabbitMQConfig;
-import com.example.notification_backend.dto.PersonelNotificationDTO;
 import com.example.notification_backend.service.NotificationService;
+import com.example.personel_events.PersonelNotificationDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class PersonelNotificationListener {
 
@@ -17,7 +19,13 @@ public class PersonelNotificationListener {
     @Autowired
     private NotificationService notificationService;
 
-    @RabbitListener(queues = RabbitMQConfig.PERSONEL_QUEUE)
+    /**
+     * personel.notification.queue'daki mesajları tek tek işler
+     * Sadece app.notification.listener.batch.enabled=false iken çalışır.
+     * @param notification Personel değişiklik bilgisi
+     */
+    @RabbitListener(queues = RabbitMQConfig.PERSONEL_QUEUE,
+            autoStartup = "#{!${app.notification.listener.batch.enabled:true}}")
     public void handlePersonelNotification(PersonelNotificationDTO notification) {
         try {
             logger.info("RabbitMQ'dan mesaj alındı: {}", notification);
@@ -30,8 +38,36 @@ public class PersonelNotificationListener {
                        
         } catch (Exception e) {
             logger.error("Personel notification işlenirken hata oluştu: {}", e.getMessage(), e);
-            // Bu durumda RabbitMQ mesajı tekrar kuyruğa gönderecek 
+            // Mesaj PersonelNotificationRecoverer ile bekleme kuyruğuna veya parking-lot'a gönderilecek
             throw e;
         }
     }
+
+    /**
+     * personel.notification.queue'daki mesajları batch halinde işler (varsayılan mod)
+     * Batch app.notification.listener.batch.size mesaja ulaşınca veya receive-timeout dolunca teslim edilir.
+     * Loglar tek transaction'da kaydedilir; metot hatasız dönerse batch'teki tüm mesajlar onaylanır,
+     * exception fırlatırsa batch'in tamamı PersonelNotificationRecoverer ile bekleme kuyruğuna gönderilir.
+     * @param notifications Ayrı mesajlar olarak gelen bildirimler (kuyruktaki sırayla)
+     */
+    @RabbitListener(queues = RabbitMQConfig.PERSONEL_QUEUE,
+            containerFactory = RabbitMQConfig.BATCH_LISTENER_CONTAINER_FACTORY,
+            autoStartup = "${app.notification.listener.batch.enabled:true}")
+    public void handlePersonelNotificationBatch(List<PersonelNotificationDTO> notifications) {
+        logger.info("RabbitMQ'dan {} mesajlık batch alındı", notifications.size());
+        notificationService.processPersonelNotifications(notifications);
+        logger.info("Personel notification batch'i işlendi: {} bildirim", notifications.size());
+    }
+
+    /**
+     * Batch endpoint'inden gelen toplu mesajı işler
+     * Her bildirim ayrı ayrı işlenir ve loglanır, bir öğedeki email hatası diğerlerini etkilemez.
+     * @param notifications Tek mesajda gelen bildirimler
+     */
+    @RabbitListener(queues = RabbitMQConfig.PERSONEL_BATCH_QUEUE)
+    public void handleAggregatedPersonelNotification(List<PersonelNotificationDTO> notifications) {
+        logger.info("RabbitMQ'dan toplu mesaj alındı: {} bildirim", notifications.size());
+        notificationService.processPersonelNotifications(notifications);
+        logger.info("Toplu personel notification işlendi: {} bildirim", notifications.size());
+    }
 }
@@ -0,0 +1,111 @@
+package com.example.notification_backend.listener;
+
+import com.example.notification_backend.config.RabbitMQConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.retry.MessageBatchRecoverer;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Listener'larda hata alan mesajları dead-letter exchange üzerinden bekleme kuyruklarına veya parking-lot'a gönderir
+ * Spring Boot bu bean'i spring.rabbitmq.listener.simple.retry ayarlarıyla listener container'larına uygular,
+ * manual ack kullanan shard listener'ları ise doğrudan çağırır (PersonelNotificationDispatcher);
+ * mesaj kuyruğun başına geri dönmediği için hatalı bir mesaj consumer'ı meşgul edip arkasındakileri bekletmez.
+ * n. hatada mesaj retry-delays[n-1] bekleme kuyruğuna gider ve süre dolunca geldiği kuyruğa döner,
+ * bekleme süreleri tükenince veya mesaj okunamıyorsa (tekrar denemek sonucu değiştirmez) parking-lot'a gider.
+ * Mesajlar confirm alındıktan sonra onaylanır, gönderilemezse exception fırlatılır ve mesaj kuyruğa geri döner.
+ */
+@Component
+public class PersonelNotificationRecoverer implements MessageBatchRecoverer {
+
+    private static final Logger logger = LoggerFactory.getLogger(PersonelNotificationRecoverer.class);
+
+    // Dead-letter edilen mesaja eklenen başlıklar
+    public static final String RETRY_COUNT_HEADER = "x-retry-count";
+    public static final String ORIGINAL_EXCHANGE_HEADER = "x-original-exchange";
+    public static final String ORIGINAL_ROUTING_KEY_HEADER = "x-original-routing-key";
+    public static final String EXCEPTION_HEADER = "x-exception-message";
+    public static final String FAILED_AT_HEADER = "x-failed-at";
+
+    // Başlıklar frame boyutuna dahil olduğu için hata mesajı kısaltılır
+    private static final int MAX_EXCEPTION_LENGTH = 500;
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Value("${app.notification.dead-letter.retry-delays:PT10S,PT1M,PT10M}")
+    private List<Duration> retryDelays;
+
+    @Value("${app.notification.dead-letter.confirm-timeout:PT5S}")
+    private Duration confirmTimeout;
+
+    @Override
+    public void recover(Message message, Throwable cause) {
+        recover(List.of(message), cause);
+    }
+
+    @Override
+    public void recover(List<Message> messages, Throwable cause) {
+        Throwable failure = unwrap(cause);
+        rabbitTemplate.invoke(operations -> {
+            for (Message message : messages) {
+                String routingKey = prepare(message, failure);
+                operations.send(RabbitMQConfig.PERSONEL_DEAD_LETTER_EXCHANGE, routingKey, message);
+            }
+            operations.waitForConfirmsOrDie(confirmTimeout.toMillis());
+            return null;
+        });
+    }
+
+    // Başlıkları günceller ve mesajın dead-letter exchange'e gönderileceği (özgün) routing key'i döner
+    private String prepare(Message message, Throwable failure) {
+        MessageProperties properties = message.getMessageProperties();
+        if (properties.getHeader(ORIGINAL_EXCHANGE_HEADER) == null) {
+            properties.setHeader(ORIGINAL_EXCHANGE_HEADER, properties.getReceivedExchange());
+            properties.setHeader(ORIGINAL_ROUTING_KEY_HEADER, properties.getReceivedRoutingKey());
+        }
+        String routingKey = properties.getHeader(ORIGINAL_ROUTING_KEY_HEADER);
+
+        Number header = properties.getHeader(RETRY_COUNT_HEADER);
+        int retryCount = header != null ? header.intValue() : 0;
+        boolean retryable = !(failure instanceof MessageConversionException) && retryCount < retryDelays.size();
+        if (retryable) {
+            Duration delay = retryDelays.get(retryCount);
+            properties.setHeader(RabbitMQConfig.RETRY_TARGET_HEADER, RabbitMQConfig.retryQueueName(delay));
+            properties.setHeader(RETRY_COUNT_HEADER, retryCount + 1);
+            logger.warn("Notification mesajı işlenemedi, {} sn sonra tekrar denenecek ({}. deneme): Kuyruk={}, Hata={}",
+                    delay.toSeconds(), retryCount + 1, properties.getConsumerQueue(), failure.getMessage());
+        } else {
+            properties.setHeader(RabbitMQConfig.RETRY_TARGET_HEADER, RabbitMQConfig.PERSONEL_PARKING_LOT_QUEUE);
+            logger.error("Notification mesajı parking-lot'a taşındı ({} tekrar denemeden sonra): Kuyruk={}, Hata={}",
+                    retryCount, properties.getConsumerQueue(), failure.getMessage());
+        }
+
+        String exceptionMessage = failure.getClass().getName() + ": " + failure.getMessage();
+        properties.setHeader(EXCEPTION_HEADER, exceptionMessage.length() > MAX_EXCEPTION_LENGTH
+                ? exceptionMessage.substring(0, MAX_EXCEPTION_LENGTH) : exceptionMessage);
+        properties.setHeader(FAILED_AT_HEADER, LocalDateTime.now().toString());
+        properties.setDeliveryMode(MessageDeliveryMode.PERSISTENT);
+        return routingKey;
+    }
+
+    private Throwable unwrap(Throwable cause) {
+        Throwable failure = cause;
+        while (failure instanceof ListenerExecutionFailedException && failure.getCause() != null) {
+            failure = failure.getCause();
+        }
+        return failure;
+    }
+}
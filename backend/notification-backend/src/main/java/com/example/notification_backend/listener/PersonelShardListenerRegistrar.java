@@ -0,0 +1,173 @@
+package com.example.notification_backend.listener;
+
+import com.example.notification_backend.config.RabbitMQConfig;
+import com.example.personel_events.PersonelNotificationDTO;
+import com.rabbitmq.client.Channel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListenerConfigurer;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerEndpoint;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistrar;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistry;
+import org.springframework.amqp.rabbit.listener.api.ChannelAwareBatchMessageListener;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Her shard kuyruğu için ayrı bir batch listener container'ı kaydeder
+ * Her container tek consumer ile çalışır; shard'lar birbirine paralel, shard içindeki mesajlar sırayla işlenir.
+ * Kuyruklar single-active-consumer olduğu için birden fazla node'da da bir shard'ı aynı anda tek node işler.
+ * Shard sayısı azaltıldığında (veya personel-backend daha büyük bir sayı ile çalışırken) app.notification.shards.count
+ * ve üstündeki mevcut shard kuyrukları düzenli olarak aranır ve onlar da dinlenir, böylece içlerinde kalan mesajlar kaybolmaz.
+ * Eski kuyruklar yeni shard'larla paralel tüketildiği için shard'ı değişen personelin olayları bu sırada sırasız
+ * işlenebilir; sayı değişmeden önce kuyruklar boşaltılmalıdır (personel-backend'de app.outbox.relay.paused).
+ * Listener'lar batch'leri okuyup PersonelNotificationDispatcher'a bırakır; email gönderimi ve mesaj onayı (manual ack)
+ * dispatcher'ın worker'larında yapılır. Okunamayan mesajlar burada PersonelNotificationRecoverer ile parking-lot'a gider.
+ */
+@Component
+public class PersonelShardListenerRegistrar implements RabbitListenerConfigurer {
+
+    private static final Logger logger = LoggerFactory.getLogger(PersonelShardListenerRegistrar.class);
+
+    private static final String ENDPOINT_ID_PREFIX = "personelShard-";
+
+    private static final Type NOTIFICATION_TYPE = PersonelNotificationDTO.class;
+    private static final Type NOTIFICATION_LIST_TYPE =
+            new ParameterizedTypeReference<List<PersonelNotificationDTO>>() {}.getType();
+
+    @Autowired
+    private PersonelNotificationDispatcher personelNotificationDispatcher;
+
+    @Autowired
+    private PersonelNotificationRecoverer personelNotificationRecoverer;
+
+    @Autowired
+    private MessageConverter messageConverter;
+
+    @Autowired
+    private AmqpAdmin amqpAdmin;
+
+    @Autowired
+    private RabbitListenerEndpointRegistry rabbitListenerEndpointRegistry;
+
+    @Autowired
+    @Qualifier(RabbitMQConfig.SHARD_LISTENER_CONTAINER_FACTORY)
+    private SimpleRabbitListenerContainerFactory shardListenerContainerFactory;
+
+    @Value("${app.notification.shards.count:4}")
+    private int shardCount;
+
+    // Container'ı kayıtlı shard numaraları
+    private final Set<Integer> registeredShards = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void configureRabbitListeners(RabbitListenerEndpointRegistrar registrar) {
+        for (int shard = 0; shard < shardCount; shard++) {
+            registrar.registerEndpoint(createEndpoint(shard), shardListenerContainerFactory);
+            registeredShards.add(shard);
+        }
+        logger.info("{} shard kuyruğu için listener kaydedildi", shardCount);
+    }
+
+    /**
+     * app.notification.shards.count ve üstündeki shard kuyruklarını arar, bulunanlar için listener başlatır
+     * Kuyruklar 0'dan itibaren ardışık oluşturulduğu için ilk bulunamayan kuyrukta durulur.
+     * Bu kuyruklar silinmez: personel-backend hâlâ eski shard sayısıyla çalışıyor olabilir.
+     */
+    @Scheduled(fixedDelayString = "${app.notification.shards.discovery-interval:PT1M}")
+    public void discoverAdditionalShards() {
+        try {
+            for (int shard = shardCount; ; shard++) {
+                if (registeredShards.contains(shard)) {
+                    continue;
+                }
+                String queueName = RabbitMQConfig.shardQueueName(shard);
+                if (amqpAdmin.getQueueInfo(queueName) == null) {
+                    return;
+                }
+                rabbitListenerEndpointRegistry.registerListenerContainer(createEndpoint(shard), shardListenerContainerFactory, true);
+                registeredShards.add(shard);
+                logger.warn("Yapılandırılan shard sayısı ({}) dışında kalan kuyruk bulundu, dinlenmeye başlandı: {}",
+                        shardCount, queueName);
+            }
+        } catch (Exception e) {
+            logger.warn("Shard kuyrukları aranamadı: {}", e.getMessage());
+        }
+    }
+
+    private SimpleRabbitListenerEndpoint createEndpoint(int shard) {
+        SimpleRabbitListenerEndpoint endpoint = new SimpleRabbitListenerEndpoint();
+        endpoint.setId(ENDPOINT_ID_PREFIX + shard);
+        endpoint.setQueueNames(RabbitMQConfig.shardQueueName(shard));
+        // Shard içindeki sıra tek consumer ile korunur, spring.rabbitmq.listener.simple.concurrency uygulanmaz
+        endpoint.setConcurrency("1");
+        endpoint.setBatchListener(true);
+        endpoint.setMessageListener((ChannelAwareBatchMessageListener) (messages, channel) ->
+                onMessageBatch(shard, messages, channel));
+        return endpoint;
+    }
+
+    private void onMessageBatch(int shard, List<Message> messages, Channel channel) {
+        List<List<PersonelNotificationDTO>> notifications = new ArrayList<>(messages.size());
+        try {
+            for (Message message : messages) {
+                try {
+                    notifications.add(toNotifications(message));
+                } catch (MessageConversionException e) {
+                    // Mesaj batch'in onayıyla birlikte kuyruktan silinir
+                    personelNotificationRecoverer.recover(message, e);
+                    notifications.add(List.of());
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Okunamayan mesaj parking-lot'a gönderilemedi, batch kuyruğa geri bırakılıyor: {}", e.getMessage());
+            requeue(channel, messages);
+            return;
+        }
+        try {
+            personelNotificationDispatcher.dispatch(shard, channel, messages, notifications);
+        } catch (InterruptedException e) {
+            // Container duruyor, onaylanmayan mesajlar kanal kapanınca tekrar teslim edilir
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Manual ack modunda container hata alan mesajları kendisi reddetmez
+    private void requeue(Channel channel, List<Message> messages) {
+        try {
+            for (Message message : messages) {
+                channel.basicNack(message.getMessageProperties().getDeliveryTag(), false, true);
+            }
+        } catch (IOException e) {
+            logger.warn("Mesajlar kuyruğa geri bırakılamadı: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Mesajı bildirim listesine çevirir
+     * Tekil mesajlar bir bildirim, batch endpoint'inden gelen mesajlar bildirim listesi taşır.
+     */
+    @SuppressWarnings("unchecked")
+    private List<PersonelNotificationDTO> toNotifications(Message message) {
+        boolean aggregated = ArrayList.class.getName().equals(message.getMessageProperties().getHeader("__TypeId__"));
+        message.getMessageProperties().setInferredArgumentType(aggregated ? NOTIFICATION_LIST_TYPE : NOTIFICATION_TYPE);
+        Object payload = messageConverter.fromMessage(message);
+        return aggregated ? (List<PersonelNotificationDTO>) payload : List.of((PersonelNotificationDTO) payload);
+    }
+}
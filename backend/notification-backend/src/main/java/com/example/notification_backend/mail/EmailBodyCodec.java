@@ -0,0 +1,104 @@
+package com.example.notification_backend.mail;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Email gövdelerini ortak bir sözlükle (preset dictionary) deflate ile sıkıştırır ve açar
+ * Bildirim emailleri aynı şablonun render'ları olduğu için şablon metni sözlüğe konur; tek bir gövde
+ * sözlük olmadan iyi sıkışmaz, sözlükle gövdenin sadece personele özgü kısımları kalır.
+ * Aynı sözlükle sıkıştırılan veri sadece aynı sözlükle açılabilir. Thread-safe'tir.
+ */
+public class EmailBodyCodec {
+
+    // Deflate penceresi 32 KB'tır, sözlüğün sadece son 32 KB'ı kullanılır
+    public static final int MAX_DICTIONARY_SIZE = 32 * 1024;
+
+    private final byte[] dictionary;
+
+    /**
+     * @param dictionary Sözlük (en fazla 32 KB), null ise sözlüksüz sıkıştırılır
+     */
+    public EmailBodyCodec(byte[] dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * @param content Email gövdesi
+     * @return Sıkıştırılmış gövde
+     */
+    public byte[] compress(String content) {
+        byte[] input = content.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            if (dictionary != null) {
+                deflater.setDictionary(dictionary);
+            }
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream output = new ByteArrayOutputStream(input.length / 4 + 64);
+            byte[] buffer = new byte[1024];
+            while (!deflater.finished()) {
+                output.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * @param compressed compress ile sıkıştırılmış gövde
+     * @param length Gövdenin UTF-8 byte uzunluğu
+     * @return Email gövdesi
+     * @throws IllegalStateException Veri bozuksa veya farklı bir sözlükle sıkıştırılmışsa
+     */
+    public String decompress(byte[] compressed, int length) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            byte[] output = new byte[length];
+            int read = 0;
+            while (read < length) {
+                int inflated = inflater.inflate(output, read, length - read);
+                if (inflated == 0) {
+                    if (inflater.needsDictionary() && dictionary != null) {
+                        // Sözlüğün Adler-32 özeti veridekiyle eşleşmezse IllegalArgumentException fırlatılır
+                        try {
+                            inflater.setDictionary(dictionary);
+                        } catch (IllegalArgumentException e) {
+                            throw new IllegalStateException("Email gövdesi açılamadı: farklı bir sözlükle sıkıştırılmış", e);
+                        }
+                    } else if (inflater.finished() || inflater.needsInput() || inflater.needsDictionary()) {
+                        throw new IllegalStateException("Email gövdesi açılamadı: beklenen " + length + " byte, okunan " + read);
+                    }
+                }
+                read += inflated;
+            }
+            return new String(output, StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Email gövdesi açılamadı: " + e.getMessage(), e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * @param content Email gövdesi
+     * @return Gövdenin UTF-8 byte'larının SHA-256 özeti (64 karakter hex), aynı gövdeleri bulmak için
+     */
+    public static String hash(String content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.example.notification_backend.mail;
+
+import com.example.notification_backend.entity.NotificationLog;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.unbescape.html.HtmlEscape;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bildirim emaillerinin konu ve gövdelerini oluşturur
+ * personel-notification şablonu başlangıçta her işlem türü için (değişen alanlar satırı olan ve olmayan)
+ * yer tutucu değerlerle bir kez Thymeleaf'te işlenir ve sabit HTML parçaları ile değişken yerlerine bölünür.
+ * Email başına Thymeleaf Context'i ve şablon yorumlaması yapılmaz, sadece sabit parçalar ile
+ * Thymeleaf'in th:text ile aynı şekilde escape edilmiş değerler birleştirilir.
+ * spring.thymeleaf.cache=false ise (şablon geliştirme) her email Thymeleaf ile işlenir.
+ */
+@Component
+public class EmailRenderer {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailRenderer.class);
+
+    public static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm:ss");
+
+    private static final String PERSONEL_TEMPLATE = "personel-notification";
+    private static final String DIGEST_TEMPLATE = "personel-digest";
+
+    /**
+     * Şablondaki değişken değerler, derleme sırasında "{{AD}}" gibi yer tutucularla işlenir
+     */
+    private enum Slot {
+        PERSONEL_ID, AD, SOYAD, EMAIL, CHANGED_FIELDS, TIMESTAMP;
+
+        private final String token = "{{" + name() + "}}";
+    }
+
+    /**
+     * Sabit parçalar ve aralarındaki değişkenler: literals[0] slots[0] literals[1] ... literals[n]
+     */
+    private record CompiledTemplate(String[] literals, Slot[] slots, int literalLength) {}
+
+    /**
+     * Saniye çözünürlüğünde formatlanmış zaman, aynı saniyedeki emailler tekrar formatlamaz
+     */
+    private record CachedTimestamp(long epochSecond, String text) {}
+
+    @Autowired
+    private TemplateEngine templateEngine;
+
+    @Value("${spring.thymeleaf.cache:true}")
+    private boolean templateCacheEnabled;
+
+    // [OperationType.ordinal()][değişen alanlar var ? 1 : 0], şablon derlenemediyse null
+    private CompiledTemplate[][] personelTemplates;
+
+    private volatile CachedTimestamp cachedTimestamp = new CachedTimestamp(Long.MIN_VALUE, null);
+
+    /**
+     * Şablonları önbelleğe alır ve personel-notification şablonunu derler
+     * Şablon işlenemezse gövdeler düz metin olarak oluşturulur.
+     */
+    @PostConstruct
+    public void warmUp() {
+        if (templateCacheEnabled) {
+            try {
+                CompiledTemplate[][] compiled = new CompiledTemplate[OperationType.values().length][2];
+                for (OperationType type : OperationType.values()) {
+                    compiled[type.ordinal()][0] = compile(type, false);
+                    compiled[type.ordinal()][1] = compile(type, true);
+                }
+                personelTemplates = compiled;
+            } catch (Exception e) {
+                logger.warn("{} şablonu derlenemedi, emailler düz metin olarak gönderilecek: {}",
+                        PERSONEL_TEMPLATE, e.getMessage());
+            }
+        }
+        try {
+            renderDigestTemplate(List.of());
+        } catch (Exception e) {
+            logger.warn("{} şablonu yüklenemedi: {}", DIGEST_TEMPLATE, e.getMessage());
+        }
+    }
+
+    /**
+     * @param operationType İşlem türü
+     * @param ad Personel adı
+     * @param soyad Personel soyadı
+     * @return Email konu başlığı
+     */
+    public String createSubject(String operationType, String ad, String soyad) {
+        return OperationType.from(operationType).subject(ad, soyad);
+    }
+
+    /**
+     * Personel değişiklik bildirimi HTML gövdesini oluşturur
+     * @return HTML gövde, şablon kullanılamıyorsa düz metin
+     */
+    public String renderPersonelNotification(Long personelId, String ad, String soyad, String email,
+                                             String operationType, String changedFields) {
+        OperationType type = OperationType.from(operationType);
+        boolean hasChangedFields = changedFields != null && !changedFields.isEmpty();
+        String timestamp = currentTimestamp();
+
+        if (!templateCacheEnabled) {
+            try {
+                return processPersonelTemplate(type, personelId, ad, soyad, email,
+                        hasChangedFields ? changedFields : null, timestamp);
+            } catch (Exception e) {
+                logger.warn("Template işlenirken hata oluştu, basit metin döndürülüyor: {}", e.getMessage());
+                return renderPersonelNotificationText(personelId, ad, soyad, email, operationType, changedFields);
+            }
+        }
+        if (personelTemplates == null) {
+            return renderPersonelNotificationText(personelId, ad, soyad, email, operationType, changedFields);
+        }
+
+        CompiledTemplate template = personelTemplates[type.ordinal()][hasChangedFields ? 1 : 0];
+        StringBuilder content = new StringBuilder(template.literalLength() + 256);
+        String[] literals = template.literals();
+        Slot[] slots = template.slots();
+        for (int i = 0; i < slots.length; i++) {
+            content.append(literals[i]);
+            String value = switch (slots[i]) {
+                case PERSONEL_ID -> personelId != null ? personelId.toString() : null;
+                case AD -> ad;
+                case SOYAD -> soyad;
+                case EMAIL -> email;
+                case CHANGED_FIELDS -> changedFields;
+                case TIMESTAMP -> timestamp;
+            };
+            if (value != null) {
+                content.append(HtmlEscape.escapeHtml4Xml(value));
+            }
+        }
+        content.append(literals[slots.length]);
+        return content.toString();
+    }
+
+    /**
+     * Email gövdelerinin sıkıştırma sözlüğü (EmailBodyCodec) için personel-notification şablonunun sabit metni
+     * Şablon değişken değerleri boş olarak (zaman dahil) işlendiği için sonuç şablon değişmedikçe aynıdır.
+     * En sık gönderilen bildirim (UPDATE) sona konur, deflate yakın eşleşmeleri daha kısa kodlar.
+     * @return DELETE, CREATE ve UPDATE render'larının birleşimi, şablon işlenemezse boş metin
+     */
+    public String renderBodyDictionary() {
+        StringBuilder dictionary = new StringBuilder();
+        try {
+            for (OperationType type : List.of(OperationType.DELETE, OperationType.CREATE, OperationType.UPDATE)) {
+                dictionary.append(processPersonelTemplate(type, "", "", "", "", " ", ""));
+            }
+        } catch (Exception e) {
+            logger.warn("{} şablonu işlenemedi: {}", PERSONEL_TEMPLATE, e.getMessage());
+        }
+        return dictionary.toString();
+    }
+
+    /**
+     * Personel değişiklik bildiriminin düz metin gövdesini oluşturur
+     * @return Düz metin gövde
+     */
+    public String renderPersonelNotificationText(Long personelId, String ad, String soyad, String email,
+                                                 String operationType, String changedFields) {
+        StringBuilder content = new StringBuilder(256);
+        content.append("Personel Bilgileri Değişiklik Bildirimi\n\n");
+        content.append("Personel ID: ").append(personelId).append("\n");
+        content.append("Ad Soyad: ").append(ad).append(" ").append(soyad).append("\n");
+        content.append("Email: ").append(email).append("\n");
+        content.append("İşlem Türü: ").append(OperationType.from(operationType).displayText(operationType)).append("\n");
+
+        if (changedFields != null && !changedFields.isEmpty()) {
+            content.append("Değişen Alanlar: ").append(changedFields).append("\n");
+        }
+
+        content.append("Tarih: ").append(currentTimestamp()).append("\n\n");
+        content.append("Bu otomatik bir bildirim mesajıdır.");
+
+        return content.toString();
+    }
+
+    /**
+     * Özet emailinin HTML gövdesini oluşturur
+     * @param events Özete dahil edilen değişiklikler
+     * @return HTML gövde, şablon işlenemezse düz metin
+     */
+    public String renderDigest(List<NotificationLog> events) {
+        try {
+            return renderDigestTemplate(events);
+        } catch (Exception e) {
+            logger.warn("Özet template işlenirken hata oluştu, basit metin döndürülüyor: {}", e.getMessage());
+            StringBuilder content = new StringBuilder(64 + events.size() * 96);
+            content.append("Personel Değişiklik Özeti (").append(events.size()).append(" değişiklik)\n\n");
+            for (NotificationLog event : events) {
+                content.append(OperationType.from(event.getOperationType()).displayText(event.getOperationType()))
+                        .append(": ").append(event.getPersonelAd()).append(" ").append(event.getPersonelSoyad())
+                        .append(" (ID=").append(event.getPersonelId()).append(")");
+                if (event.getChangedFields() != null && !event.getChangedFields().isEmpty()) {
+                    content.append(" - ").append(event.getChangedFields());
+                }
+                content.append("\n");
+            }
+            content.append("\nBu otomatik bir bildirim mesajıdır.");
+            return content.toString();
+        }
+    }
+
+    private String renderDigestTemplate(List<NotificationLog> events) {
+        int[] counts = new int[OperationType.values().length];
+        for (NotificationLog event : events) {
+            counts[OperationType.from(event.getOperationType()).ordinal()]++;
+        }
+        Context context = new Context();
+        context.setVariable("events", events);
+        context.setVariable("createCount", counts[OperationType.CREATE.ordinal()]);
+        context.setVariable("updateCount", counts[OperationType.UPDATE.ordinal()]);
+        context.setVariable("deleteCount", counts[OperationType.DELETE.ordinal()]);
+        context.setVariable("timestamp", currentTimestamp());
+        return templateEngine.process(DIGEST_TEMPLATE, context);
+    }
+
+    private String processPersonelTemplate(OperationType type, Object personelId, String ad, String soyad,
+                                           String email, String changedFields, String timestamp) {
+        Context context = new Context();
+        context.setVariable("personelId", personelId);
+        context.setVariable("ad", ad);
+        context.setVariable("soyad", soyad);
+        context.setVariable("email", email);
+        context.setVariable("operationType", type.name());
+        context.setVariable("changedFields", changedFields);
+        context.setVariable("timestamp", timestamp);
+        return templateEngine.process(PERSONEL_TEMPLATE, context);
+    }
+
+    // Şablonu yer tutucularla işler ve sabit parçalar ile değişken sırasına böler
+    private CompiledTemplate compile(OperationType type, boolean withChangedFields) {
+        String rendered = processPersonelTemplate(type, Slot.PERSONEL_ID.token, Slot.AD.token, Slot.SOYAD.token,
+                Slot.EMAIL.token, withChangedFields ? Slot.CHANGED_FIELDS.token : null, Slot.TIMESTAMP.token);
+
+        List<String> literals = new ArrayList<>();
+        List<Slot> slots = new ArrayList<>();
+        int literalLength = 0;
+        int start = 0;
+        int index = rendered.indexOf("{{");
+        while (index >= 0) {
+            Slot slot = slotAt(rendered, index);
+            if (slot == null) {
+                index = rendered.indexOf("{{", index + 2);
+                continue;
+            }
+            literals.add(rendered.substring(start, index));
+            literalLength += index - start;
+            slots.add(slot);
+            start = index + slot.token.length();
+            index = rendered.indexOf("{{", start);
+        }
+        literals.add(rendered.substring(start));
+        literalLength += rendered.length() - start;
+        return new CompiledTemplate(literals.toArray(String[]::new), slots.toArray(Slot[]::new), literalLength);
+    }
+
+    private Slot slotAt(String rendered, int index) {
+        for (Slot slot : Slot.values()) {
+            if (rendered.startsWith(slot.token, index)) {
+                return slot;
+            }
+        }
+        return null;
+    }
+
+    private String currentTimestamp() {
+        long epochSecond = System.currentTimeMillis() / 1000;
+        CachedTimestamp cached = cachedTimestamp;
+        if (cached.epochSecond() != epochSecond) {
+            cached = new CachedTimestamp(epochSecond, LocalDateTime.now().format(TIMESTAMP_FORMATTER));
+            cachedTimestamp = cached;
+        }
+        return cached.text();
+    }
+}
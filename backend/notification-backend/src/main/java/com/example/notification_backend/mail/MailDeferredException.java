@@ -0,0 +1,12 @@
+package com.example.notification_backend.mail;
+
+/**
+ * Email SMTP'ye hiç gönderilmeden ertelendiğinde fırlatılır
+ * SMTP devre kesicisi açıksa veya eşzamanlı gönderim sınırı (bulkhead) dolu kaldıysa oluşur;
+ * çağıran bildirimi ertelenmiş olarak kaydeder ve tekrar deneme servisi devre kapanınca gönderir.
+ */
+public class MailDeferredException extends RuntimeException {
+    public MailDeferredException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
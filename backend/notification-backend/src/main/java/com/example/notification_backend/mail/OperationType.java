@@ -0,0 +1,56 @@
+package com.example.notification_backend.mail;
+
+/**
+ * Personel işlem türleri ve email'de kullanılan, önceden hesaplanmış metinleri
+ * Konu satırı her email için sadece önek + ad soyad birleştirmesiyle oluşturulur.
+ */
+public enum OperationType {
+
+    CREATE("Yeni Personel Eklendi: ", "Yeni Personel Eklendi"),
+    UPDATE("Personel Bilgileri Güncellendi: ", "Personel Bilgileri Güncellendi"),
+    DELETE("Personel Silindi: ", "Personel Silindi"),
+    OTHER("Personel Değişikliği: ", null);
+
+    private static final OperationType[] KNOWN = {CREATE, UPDATE, DELETE};
+
+    private final String subjectPrefix;
+    private final String displayText;
+
+    OperationType(String subjectPrefix, String displayText) {
+        this.subjectPrefix = subjectPrefix;
+        this.displayText = displayText;
+    }
+
+    /**
+     * İşlem türü metnini çözer, büyük/küçük harf duyarsızdır
+     * @param operationType İşlem türü (CREATE, UPDATE, DELETE)
+     * @return OperationType, tanınmayan veya null değerler için OTHER
+     */
+    public static OperationType from(String operationType) {
+        if (operationType != null) {
+            for (OperationType type : KNOWN) {
+                if (type.name().equalsIgnoreCase(operationType)) {
+                    return type;
+                }
+            }
+        }
+        return OTHER;
+    }
+
+    /**
+     * @param ad Personel adı
+     * @param soyad Personel soyadı
+     * @return Email konu başlığı
+     */
+    public String subject(String ad, String soyad) {
+        return subjectPrefix + ad + " " + soyad;
+    }
+
+    /**
+     * @param operationType Çözülen ham işlem türü, OTHER için olduğu gibi gösterilir
+     * @return İşlem türünün okunabilir karşılığı
+     */
+    public String displayText(String operationType) {
+        return displayText != null ? displayText : operationType;
+    }
+}
@@ -0,0 +1,267 @@
+package com.example.notification_backend.mail;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.mail.Address;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.apache.commons.pool2.BasePooledObjectFactory;
+import org.apache.commons.pool2.PooledObject;
+import org.apache.commons.pool2.impl.DefaultPooledObject;
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SMTP bağlantılarını havuzda tutan JavaMailSender
+ * JavaMailSenderImpl her send çağrısında bağlantı açar, STARTTLS + AUTH yapar ve kapatır;
+ * burada bağlantılar bir kez kurulur ve maxMessagesPerConnection mesaja kadar yeniden kullanılır.
+ * Uzun süre boşta kalan bağlantılar ödünç verilmeden önce NOOP ile kontrol edilir,
+ * idle eviction ile kapatılır. HTML ve düz metin gönderimleri aynı havuzu kullanır.
+ */
+public class PooledJavaMailSender extends JavaMailSenderImpl implements MeterBinder, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(PooledJavaMailSender.class);
+
+    private static final String HEADER_MESSAGE_ID = "Message-ID";
+
+    private final GenericObjectPool<PooledTransport> pool;
+    private final int maxMessagesPerConnection;
+    private final Duration validateAfterIdle;
+
+    private volatile Timer handshakeTimer;
+    private volatile Timer borrowTimer;
+
+    /**
+     * @param poolConfig Havuz ayarları (maxTotal, maxWait, eviction vb.)
+     * @param maxMessagesPerConnection Bir bağlantı bu kadar mesaj gönderdikten sonra kapatılır
+     * @param validateAfterIdle Bu süreden uzun boşta kalan bağlantı ödünç verilmeden önce NOOP ile kontrol edilir
+     */
+    public PooledJavaMailSender(GenericObjectPoolConfig<PooledTransport> poolConfig,
+                                int maxMessagesPerConnection, Duration validateAfterIdle) {
+        this.pool = new GenericObjectPool<>(new TransportFactory(), poolConfig);
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.validateAfterIdle = validateAfterIdle;
+    }
+
+    /**
+     * JavaMailSenderImpl.doSend ile aynı sözleşme, fakat bağlantı havuzdan alınır ve iade edilir
+     * Havuzdan alınan bağlantı sunucu tarafında kapatılmışsa mesaj bir kez yeni bağlantıyla tekrar denenir.
+     */
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) throws MailException {
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+        for (int i = 0; i < mimeMessages.length; i++) {
+            Object original = (originalMessages != null ? originalMessages[i] : mimeMessages[i]);
+            try {
+                prepare(mimeMessages[i]);
+                sendPooled(mimeMessages[i]);
+            } catch (MailAuthenticationException ex) {
+                throw ex;
+            } catch (ConnectFailedException ex) {
+                // Bağlantı kurulamıyorsa kalan mesajlar da gönderilemez
+                for (int j = i; j < mimeMessages.length; j++) {
+                    failedMessages.put(originalMessages != null ? originalMessages[j] : mimeMessages[j], ex.connectException);
+                }
+                throw new MailSendException("Mail server connection failed", ex.connectException, failedMessages);
+            } catch (Exception ex) {
+                failedMessages.put(original, ex);
+            }
+        }
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
+
+    private void prepare(MimeMessage mimeMessage) throws MessagingException {
+        if (mimeMessage.getSentDate() == null) {
+            mimeMessage.setSentDate(new Date());
+        }
+        String messageId = mimeMessage.getMessageID();
+        mimeMessage.saveChanges();
+        if (messageId != null) {
+            // saveChanges üretilen Message-ID'yi değiştirir, önceden atanmış olanı koru
+            mimeMessage.setHeader(HEADER_MESSAGE_ID, messageId);
+        }
+    }
+
+    private void sendPooled(MimeMessage mimeMessage) throws MessagingException {
+        Address[] addresses = mimeMessage.getAllRecipients();
+        Address[] recipients = (addresses != null ? addresses : new Address[0]);
+
+        PooledTransport pooled = borrow();
+        boolean reused = pooled.sentMessages > 0;
+        try {
+            pooled.transport.sendMessage(mimeMessage, recipients);
+        } catch (MessagingException ex) {
+            if (pooled.transport.isConnected()) {
+                // Alıcı reddi gibi mesaja özel hata, bağlantı kullanılabilir durumda
+                release(pooled);
+                throw ex;
+            }
+            invalidate(pooled);
+            if (!reused) {
+                throw ex;
+            }
+            logger.debug("Havuzdaki SMTP bağlantısı kopmuş, yeni bağlantı ile tekrar deneniyor: {}", ex.getMessage());
+            pooled = borrow();
+            try {
+                pooled.transport.sendMessage(mimeMessage, recipients);
+            } catch (MessagingException retryEx) {
+                invalidate(pooled);
+                throw retryEx;
+            }
+        } catch (RuntimeException ex) {
+            invalidate(pooled);
+            throw ex;
+        }
+        pooled.sentMessages++;
+        release(pooled);
+    }
+
+    private PooledTransport borrow() {
+        long startNanos = System.nanoTime();
+        try {
+            return pool.borrowObject();
+        } catch (AuthenticationFailedException ex) {
+            throw new MailAuthenticationException(ex);
+        } catch (Exception ex) {
+            throw new ConnectFailedException(ex);
+        } finally {
+            Timer timer = borrowTimer;
+            if (timer != null) {
+                timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private void release(PooledTransport pooled) {
+        if (pooled.sentMessages >= maxMessagesPerConnection) {
+            invalidate(pooled);
+        } else {
+            pool.returnObject(pooled);
+        }
+    }
+
+    private void invalidate(PooledTransport pooled) {
+        try {
+            pool.invalidateObject(pooled);
+        } catch (Exception ex) {
+            logger.debug("SMTP bağlantısı kapatılırken hata oluştu: {}", ex.getMessage());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        handshakeTimer = Timer.builder("mail.smtp.handshake")
+                .description("SMTP bağlantı kurulumu (connect + STARTTLS + AUTH) süresi")
+                .register(registry);
+        borrowTimer = Timer.builder("mail.smtp.pool.borrow")
+                .description("Havuzdan bağlantı alma (bekleme + gerekirse bağlantı kurma) süresi")
+                .register(registry);
+        Gauge.builder("mail.smtp.pool.active", pool, GenericObjectPool::getNumActive)
+                .description("Kullanımdaki SMTP bağlantıları")
+                .register(registry);
+        Gauge.builder("mail.smtp.pool.idle", pool, GenericObjectPool::getNumIdle)
+                .description("Boştaki SMTP bağlantıları")
+                .register(registry);
+        Gauge.builder("mail.smtp.pool.waiting", pool, GenericObjectPool::getNumWaiters)
+                .description("Bağlantı bekleyen thread'ler")
+                .register(registry);
+        Gauge.builder("mail.smtp.pool.max", pool, GenericObjectPool::getMaxTotal)
+                .description("Havuzdaki azami bağlantı sayısı")
+                .register(registry);
+        FunctionCounter.builder("mail.smtp.connections.created", pool, GenericObjectPool::getCreatedCount)
+                .description("Açılan SMTP bağlantıları")
+                .register(registry);
+        FunctionCounter.builder("mail.smtp.connections.destroyed", pool, GenericObjectPool::getDestroyedCount)
+                .description("Kapatılan SMTP bağlantıları (mesaj limiti, hata veya idle eviction)")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        pool.close();
+    }
+
+    /**
+     * Havuzdaki bağlantı ve üzerinden gönderilen mesaj sayısı
+     */
+    public static final class PooledTransport {
+
+        private final Transport transport;
+        private int sentMessages;
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+    }
+
+    private final class TransportFactory extends BasePooledObjectFactory<PooledTransport> {
+
+        @Override
+        public PooledTransport create() throws MessagingException {
+            long startNanos = System.nanoTime();
+            Transport transport = connectTransport();
+            Timer timer = handshakeTimer;
+            if (timer != null) {
+                timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            }
+            logger.debug("Yeni SMTP bağlantısı açıldı: {}:{}", getHost(), getPort());
+            return new PooledTransport(transport);
+        }
+
+        @Override
+        public PooledObject<PooledTransport> wrap(PooledTransport transport) {
+            return new DefaultPooledObject<>(transport);
+        }
+
+        @Override
+        public boolean validateObject(PooledObject<PooledTransport> pooledObject) {
+            // Yeni iade edilen bağlantı için NOOP round-trip'i atlanır, kopmuşsa send tekrar dener
+            if (pooledObject.getIdleDuration().compareTo(validateAfterIdle) < 0) {
+                return true;
+            }
+            return pooledObject.getObject().transport.isConnected();
+        }
+
+        @Override
+        public void destroyObject(PooledObject<PooledTransport> pooledObject) {
+            try {
+                pooledObject.getObject().transport.close();
+            } catch (MessagingException ex) {
+                logger.debug("SMTP bağlantısı kapatılamadı: {}", ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Havuzdan bağlantı alınamadı (sunucuya bağlanılamadı veya maxWait aşıldı)
+     */
+    private static final class ConnectFailedException extends RuntimeException {
+
+        private final Exception connectException;
+
+        private ConnectFailedException(Exception cause) {
+            super(cause);
+            this.connectException = cause;
+        }
+    }
+}
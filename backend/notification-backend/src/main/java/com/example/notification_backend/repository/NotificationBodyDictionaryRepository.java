@@ -0,0 +1,13 @@
+package com.example.notification_backend.repository;
+
+import com.example.notification_backend.entity.NotificationBodyDictionary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface NotificationBodyDictionaryRepository extends JpaRepository<NotificationBodyDictionary, Long> {
+
+    Optional<NotificationBodyDictionary> findByContentHash(String contentHash);
+}
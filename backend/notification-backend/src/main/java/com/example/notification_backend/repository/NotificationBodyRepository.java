@@ -0,0 +1,44 @@
+package com.example.notification_backend.repository;
+
+import com.example.notification_backend.entity.NotificationBody;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface NotificationBodyRepository extends JpaRepository<NotificationBody, Long> {
+
+    /**
+     * Verilen özetlere sahip gövdelerin ID'lerini satırları kilitleyerek döner, sıkıştırılmış içerik okunmaz
+     * Kilit transaction sonuna kadar tutulur; gövdeyi paylaşan log kaydı commit edilmeden gövde silinemez
+     * (bkz. lockByIdIn). Silinmekte olan bir gövde kilit bırakıldığında sonuçta yer almaz.
+     * @return List<Object[]> - [contentHash, id]
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.contentHash, b.id FROM NotificationBody b WHERE b.contentHash IN :contentHashes")
+    List<Object[]> findIdsByContentHashIn(@Param("contentHashes") Collection<String> contentHashes);
+
+    /**
+     * Verilen gövdeleri kilitler, gövdeyi paylaşmak için kilitlemiş (findIdsByContentHashIn) transaction'ları bekler
+     * @return Var olan gövdelerin ID'leri
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.id FROM NotificationBody b WHERE b.id IN :ids")
+    List<Long> lockByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Verilen gövdelerden artık hiçbir log kaydının kullanmadıklarını siler
+     * @return Silinen gövde sayısı
+     */
+    @Modifying
+    @Query("DELETE FROM NotificationBody b WHERE b.id IN :ids " +
+            "AND NOT EXISTS (SELECT n.id FROM NotificationLog n WHERE n.bodyId = b.id)")
+    int deleteUnreferencedByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,9 @@
+package com.example.notification_backend.repository;
+
+import com.example.notification_backend.entity.NotificationDigest;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface NotificationDigestRepository extends JpaRepository<NotificationDigest, Long> {
+}
@@ -1,20 +1,36 @@
 package com.example.notification_backend.repository;
 
+import com.example.notification_backend.dto.NotificationLogSummaryDTO;
 import com.example.notification_backend.entity.NotificationLog;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface NotificationLogRepository extends JpaRepository<NotificationLog, Long> {
 
-    List<NotificationLog> findByEmailSentFalse();
+    // Liste sorgularının ortak özet projeksiyonu (email_content, error_message ve changed_fields okunmaz)
+    String SUMMARY_SELECT = "SELECT new com.example.notification_backend.dto.NotificationLogSummaryDTO(" +
+            "n.id, n.personelId, n.personelAd, n.personelSoyad, n.operationType, n.emailSent, n.recipientEmail, " +
+            "n.digestPending, n.attemptCount, n.parked, n.deferred, n.createdAt, n.sentAt) FROM NotificationLog n ";
+
+    // Keyset koşulu ve sıralaması: cursor satırından (createdAt, id) eski kayıtlar, yeniden eskiye
+    String KEYSET_CONDITION = "(n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) ";
+    String KEYSET_ORDER = "ORDER BY n.createdAt DESC, n.id DESC";
+
+    // Digest'te bekleyen kayıtlar henüz gönderilmemiştir ama başarısız sayılmaz
+    List<NotificationLog> findByEmailSentFalseAndDigestPendingFalse();
     
     List<NotificationLog> findByPersonelId(Long personelId);
     
@@ -26,12 +42,141 @@ public interface NotificationLogRepository extends JpaRepository<NotificationLog
     List<NotificationLog> findByDateRange(@Param("startDate") LocalDateTime startDate, 
                                          @Param("endDate") LocalDateTime endDate);
     
+    /**
+     * Tüm kayıtların keyset sayfalamalı özetleri
+     * @param createdAt Önceki sayfadaki son kaydın oluşturulma zamanı
+     * @param id Önceki sayfadaki son kaydın ID'si
+     * @param limit Sayfa boyutu
+     * @return List<NotificationLogSummaryDTO> - Yeniden eskiye sıralı özetler
+     */
+    @Query(SUMMARY_SELECT + "WHERE " + KEYSET_CONDITION + KEYSET_ORDER)
+    List<NotificationLogSummaryDTO> findSummariesBefore(@Param("createdAt") LocalDateTime createdAt,
+                                                        @Param("id") Long id, Limit limit);
+
+    /**
+     * Başarısız (digest'te beklemeyen, gönderilmemiş) kayıtların keyset sayfalamalı özetleri
+     */
+    @Query(SUMMARY_SELECT + "WHERE n.emailSent = false AND n.digestPending = false AND " + KEYSET_CONDITION + KEYSET_ORDER)
+    List<NotificationLogSummaryDTO> findFailedSummariesBefore(@Param("createdAt") LocalDateTime createdAt,
+                                                              @Param("id") Long id, Limit limit);
+
+    /**
+     * Personele ait kayıtların keyset sayfalamalı özetleri
+     */
+    @Query(SUMMARY_SELECT + "WHERE n.personelId = :personelId AND " + KEYSET_CONDITION + KEYSET_ORDER)
+    List<NotificationLogSummaryDTO> findSummariesByPersonelIdBefore(@Param("personelId") Long personelId,
+                                                                    @Param("createdAt") LocalDateTime createdAt,
+                                                                    @Param("id") Long id, Limit limit);
+
+    /**
+     * İşlem türüne ait kayıtların keyset sayfalamalı özetleri
+     */
+    @Query(SUMMARY_SELECT + "WHERE n.operationType = :operationType AND " + KEYSET_CONDITION + KEYSET_ORDER)
+    List<NotificationLogSummaryDTO> findSummariesByOperationTypeBefore(@Param("operationType") String operationType,
+                                                                       @Param("createdAt") LocalDateTime createdAt,
+                                                                       @Param("id") Long id, Limit limit);
+
+    /**
+     * Verilen olay ID'lerinden daha önce kaydedilmiş olanları döner (uk_notification_log_event_id üzerinden)
+     */
+    @Query("SELECT n.eventId FROM NotificationLog n WHERE n.eventId IN :eventIds")
+    List<String> findExistingEventIds(@Param("eventIds") Collection<String> eventIds);
+
+    /**
+     * Verilen personellerin kaydedilmiş en yeni sürümleri (personelId, en büyük personelVersion)
+     */
+    @Query("SELECT n.personelId, MAX(n.personelVersion) FROM NotificationLog n " +
+            "WHERE n.personelId IN :personelIds AND n.personelVersion IS NOT NULL GROUP BY n.personelId")
+    List<Object[]> findLatestPersonelVersions(@Param("personelIds") Collection<Long> personelIds);
+
     @Query("SELECT COUNT(n) FROM NotificationLog n WHERE n.emailSent = true")
     long countSuccessfulNotifications();
     
-    @Query("SELECT COUNT(n) FROM NotificationLog n WHERE n.emailSent = false")
+    @Query("SELECT COUNT(n) FROM NotificationLog n WHERE n.emailSent = false AND n.digestPending = false")
     long countFailedNotifications();
     
+    @Query("SELECT COUNT(n) FROM NotificationLog n WHERE n.digestPending = true")
+    long countDigestPendingNotifications();
+
+    @Query("SELECT DISTINCT n.recipientEmail FROM NotificationLog n WHERE n.digestPending = true")
+    List<String> findDigestPendingRecipients();
+
+    /**
+     * Alıcının digest'te bekleyen en eski kayıtlarını kilitleyerek okur, aynı anda çalışan diğer node'lar bu satırları
+     * bekler ve kilit bırakıldığında güncel digestNextAttemptAt değerini görür
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<NotificationLog> findByDigestPendingTrueAndRecipientEmailOrderByIdAsc(String recipientEmail, Limit limit);
+
+    @Query("SELECT COUNT(n) FROM NotificationLog n WHERE n.parked = true")
+    long countParkedNotifications();
+
+    @Query("SELECT COUNT(n) FROM NotificationLog n WHERE n.deferred = true")
+    long countDeferredNotifications();
+
+    /**
+     * Kayıt sayılarını durum alanlarına göre gruplar (emailSent, parked, deferred, digestPending, sayı)
+     */
+    @Query("SELECT n.emailSent, n.parked, n.deferred, n.digestPending, COUNT(n) FROM NotificationLog n " +
+            "GROUP BY n.emailSent, n.parked, n.deferred, n.digestPending")
+    List<Object[]> countByState();
+
+    /**
+     * since'den sonraki kayıtları işlem türü, durum ve dakikaya göre gruplar; gönderilen kayıtlar sentAt,
+     * diğerleri createdAt dakikasına düşer
+     * (operationType, emailSent, parked, deferred, digestPending, yıl, ay, gün, saat, dakika, sayı)
+     */
+    @Query("SELECT n.operationType, n.emailSent, n.parked, n.deferred, n.digestPending, " +
+            "year(coalesce(n.sentAt, n.createdAt)), month(coalesce(n.sentAt, n.createdAt)), " +
+            "day(coalesce(n.sentAt, n.createdAt)), hour(coalesce(n.sentAt, n.createdAt)), " +
+            "minute(coalesce(n.sentAt, n.createdAt)), COUNT(n) FROM NotificationLog n " +
+            "WHERE coalesce(n.sentAt, n.createdAt) >= :since " +
+            "GROUP BY n.operationType, n.emailSent, n.parked, n.deferred, n.digestPending, " +
+            "year(coalesce(n.sentAt, n.createdAt)), month(coalesce(n.sentAt, n.createdAt)), " +
+            "day(coalesce(n.sentAt, n.createdAt)), hour(coalesce(n.sentAt, n.createdAt)), " +
+            "minute(coalesce(n.sentAt, n.createdAt))")
+    List<Object[]> countByMinuteSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Tekrar deneme zamanı gelmiş kayıtları kilitleyerek okur, aynı anda çalışan diğer turlar bu satırları bekler
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<NotificationLog> findByNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(LocalDateTime now, Limit limit);
+
+    /**
+     * Başarısız ve park edilmiş tüm kayıtları hemen denenecek şekilde işaretler, deneme sayılarını sıfırlar
+     * Tekrar deneme zamanı henüz gelmemiş kayıtlara dokunulmaz: bunlar gönderilmek üzere sahiplenilmiş (lease) olabilir,
+     * hemen denenecek hale gelirlerse gönderim sürerken tekrar gönderilirler.
+     * @return Güncellenen kayıt sayısı
+     */
+    @Modifying
+    @Query("UPDATE NotificationLog n SET n.nextAttemptAt = :now, n.parked = false, n.attemptCount = 0 " +
+            "WHERE n.emailSent = false AND n.digestPending = false " +
+            "AND (n.nextAttemptAt IS NULL OR n.nextAttemptAt <= :now OR n.parked = true)")
+    int scheduleAllFailedForRetry(@Param("now") LocalDateTime now);
+
+    /**
+     * Saklama süresi dolmuş, bekleyen işi olmayan (digest'te veya tekrar denemede beklemeyen) kayıtları
+     * (createdAt, id) sırasıyla, verilen kayıttan sonrasından okur
+     * @param cutoff Bu zamandan önce oluşturulan kayıtlar arşivlenir
+     * @param createdAt Önceki parçadaki son kaydın oluşturulma zamanı
+     * @param id Önceki parçadaki son kaydın ID'si
+     */
+    @Query("SELECT n FROM NotificationLog n WHERE n.createdAt < :cutoff AND n.digestPending = false " +
+            "AND n.nextAttemptAt IS NULL AND (n.createdAt > :createdAt OR (n.createdAt = :createdAt AND n.id > :id)) " +
+            "ORDER BY n.createdAt, n.id")
+    List<NotificationLog> findArchivableAfter(@Param("cutoff") LocalDateTime cutoff,
+                                              @Param("createdAt") LocalDateTime createdAt,
+                                              @Param("id") Long id, Limit limit);
+
+    /**
+     * Arşivlenen kayıtları siler; arşivlendikten sonra tekrar denemeye alınan kayıtlar silinmez
+     * @return Silinen kayıt sayısı
+     */
+    @Modifying
+    @Query("DELETE FROM NotificationLog n WHERE n.id IN :ids AND n.digestPending = false AND n.nextAttemptAt IS NULL")
+    int deleteArchivedByIdIn(@Param("ids") Collection<Long> ids);
+
     @Query("SELECT n FROM NotificationLog n WHERE n.personelEmail = :email ORDER BY n.createdAt DESC")
     List<NotificationLog> findByPersonelEmailOrderByCreatedAtDesc(@Param("email") String email);
 }
@@ -0,0 +1,33 @@
+package com.example.notification_backend.repository;
+
+import com.example.notification_backend.entity.SchedulerLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Süreli node kilitleri için repository
+ */
+@Repository
+public interface SchedulerLockRepository extends JpaRepository<SchedulerLock, String> {
+
+    /**
+     * Kilidi süresi dolmuşsa veya zaten bu node'daysa alır ya da uzatır
+     * UPDATE satırı transaction sonuna kadar kilitler; aynı kilidi isteyen diğer node'lar o zamana kadar bekler,
+     * ardından kilidi dolu bulur. Zamanlar node saatinden gelir, node saatleri senkron (NTP) olmalıdır.
+     * @param name Kilit adı
+     * @param owner Bu node'un kimliği
+     * @param now Şimdiki zaman
+     * @param until Kilidin geçerli olacağı son zaman
+     * @return Kilit alındıysa 1, başka node'daysa 0
+     */
+    @Modifying
+    @Query("UPDATE SchedulerLock l SET l.lockedBy = :owner, l.lockedUntil = :until " +
+           "WHERE l.name = :name AND (l.lockedUntil <= :now OR l.lockedBy = :owner)")
+    int tryAcquire(@Param("name") String name, @Param("owner") String owner,
+                   @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+}
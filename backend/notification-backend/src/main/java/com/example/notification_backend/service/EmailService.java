@@ -1,5 +1,15 @@
 package com.example.notification_backend.service;
 
+import com.example.notification_backend.entity.NotificationLog;
+import com.example.notification_backend.mail.EmailRenderer;
+import com.example.notification_backend.mail.MailDeferredException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,24 +18,31 @@ import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
 
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-
+import java.util.List;
+
+/**
+ * Bildirim emaillerini gönderir
+ * SMTP çağrıları "smtp" adlı bulkhead (eşzamanlı gönderim sınırı) ve devre kesici ile sarılır. SMTP sunucusu
+ * yavaşladığında veya hata verdiğinde devre açılır ve emailler soket zaman aşımını beklemeden MailDeferredException
+ * ile ertelenir; bekleme süresinden sonra devre yarı açık duruma geçer ve birkaç deneme çağrısıyla tekrar kapanır.
+ * Ayarlar resilience4j.circuitbreaker.instances.smtp.* ve resilience4j.bulkhead.instances.smtp.* altındadır.
+ */
 @Service
 public class EmailService {
 
     private static final Logger logger = LoggerFactory.getLogger(EmailService.class);
 
+    // Devre kesici ve bulkhead'in adı (actuator health ve metriklerde de bu adla görünür)
+    public static final String SMTP = "smtp";
+
     @Autowired
     private JavaMailSender mailSender;
 
     @Autowired
-    private TemplateEngine templateEngine;
+    private EmailRenderer emailRenderer;
 
     @Value("${spring.mail.username:noreply@company.com}")
     private String fromEmail;
@@ -33,13 +50,51 @@ public class EmailService {
     @Value("${app.notification.hr-email:hr@company.com}")
     private String hrEmail;
 
-    public boolean sendPersonelChangeNotification(Long personelId, String personelAd, String personelSoyad, 
-                                                String personelEmail, String operationType, String changedFields) {
-        try {
-            logger.info("Email gönderimi başlatılıyor: Personel ID={}, Operation={}", personelId, operationType);
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private BulkheadRegistry bulkheadRegistry;
+
+    private CircuitBreaker circuitBreaker;
+    private Bulkhead bulkhead;
+
+    @PostConstruct
+    public void init() {
+        circuitBreaker = circuitBreakerRegistry.circuitBreaker(SMTP);
+        bulkhead = bulkheadRegistry.bulkhead(SMTP);
+    }
+
+    /**
+     * @return SMTP devre kesicisi açık değilse (kapalı veya yarı açık) true
+     */
+    public boolean isMailAvailable() {
+        CircuitBreaker.State state = circuitBreaker.getState();
+        return state != CircuitBreaker.State.OPEN && state != CircuitBreaker.State.FORCED_OPEN;
+    }
 
-            String subject = createSubject(operationType, personelAd, personelSoyad);
-            String content = createEmailContent(personelId, personelAd, personelSoyad, personelEmail, operationType, changedFields);
+    /**
+     * Log kaydındaki personel değişiklik bildirimini HR'a HTML email olarak gönderir
+     * Kayıtta gövde yoksa (emailContent) render edilip kayda yazılır, tekrar denemelerde kayıtlı gövde gönderilir.
+     * @param notificationLog Bildirimin log kaydı
+     * @return boolean - Email gönderildiyse true, gönderim hata verdiyse false
+     * @throws MailDeferredException Devre açık veya bulkhead dolu olduğu için email gönderilmediyse
+     */
+    public boolean sendPersonelChangeNotification(NotificationLog notificationLog) {
+        Long personelId = notificationLog.getPersonelId();
+        try {
+            logger.info("Email gönderimi başlatılıyor: Personel ID={}, Operation={}",
+                    personelId, notificationLog.getOperationType());
+
+            String subject = emailRenderer.createSubject(notificationLog.getOperationType(),
+                    notificationLog.getPersonelAd(), notificationLog.getPersonelSoyad());
+            if (notificationLog.getEmailContent() == null) {
+                notificationLog.setEmailContent(emailRenderer.renderPersonelNotification(personelId,
+                        notificationLog.getPersonelAd(), notificationLog.getPersonelSoyad(),
+                        notificationLog.getPersonelEmail(), notificationLog.getOperationType(),
+                        notificationLog.getChangedFields()));
+            }
+            String content = notificationLog.getEmailContent();
 
             // HTML email gönder
             MimeMessage message = mailSender.createMimeMessage();
@@ -50,11 +105,14 @@ public class EmailService {
             helper.setSubject(subject);
             helper.setText(content, true); // true = HTML content
 
-            mailSender.send(message);
+            send(() -> mailSender.send(message));
 
             logger.info("Email başarıyla gönderildi: Personel ID={}, Alıcı={}", personelId, hrEmail);
             return true;
 
+        } catch (MailDeferredException e) {
+            logger.warn("Email ertelendi: Personel ID={}, Sebep={}", personelId, e.getMessage());
+            throw e;
         } catch (MessagingException e) {
             logger.error("Email gönderimi sırasında hata oluştu: Personel ID={}, Hata={}", personelId, e.getMessage(), e);
             return false;
@@ -64,6 +122,39 @@ public class EmailService {
         }
     }
 
+    /**
+     * Birden fazla personel değişikliğini tek HTML emailde özet olarak gönderir
+     * @param to Alıcı email adresi
+     * @param subject Email konusu
+     * @param events Özete dahil edilen değişiklikler (oluşturulma sırasıyla)
+     * @return boolean - Email gönderildiyse true
+     */
+    public boolean sendDigestNotification(String to, String subject, List<NotificationLog> events) {
+        try {
+            logger.info("Özet email gönderimi başlatılıyor: Alıcı={}, Değişiklik sayısı={}", to, events.size());
+
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+
+            helper.setFrom(fromEmail);
+            helper.setTo(to);
+            helper.setSubject(subject);
+            helper.setText(emailRenderer.renderDigest(events), true);
+
+            send(() -> mailSender.send(message));
+
+            logger.info("Özet email başarıyla gönderildi: Alıcı={}, Değişiklik sayısı={}", to, events.size());
+            return true;
+
+        } catch (MailDeferredException e) {
+            logger.warn("Özet email ertelendi: Alıcı={}, Sebep={}", to, e.getMessage());
+            return false;
+        } catch (Exception e) {
+            logger.error("Özet email gönderimi sırasında hata oluştu: Alıcı={}, Hata={}", to, e.getMessage(), e);
+            return false;
+        }
+    }
+
     public boolean sendSimpleNotification(String to, String subject, String content) {
         try {
             SimpleMailMessage message = new SimpleMailMessage();
@@ -72,78 +163,34 @@ public class EmailService {
             message.setSubject(subject);
             message.setText(content);
 
-            mailSender.send(message);
+            send(() -> mailSender.send(message));
             logger.info("Basit email başarıyla gönderildi: Alıcı={}", to);
             return true;
 
+        } catch (MailDeferredException e) {
+            logger.warn("Basit email ertelendi: Alıcı={}, Sebep={}", to, e.getMessage());
+            return false;
         } catch (Exception e) {
             logger.error("Basit email gönderimi sırasında hata oluştu: Alıcı={}, Hata={}", to, e.getMessage(), e);
             return false;
         }
     }
 
-    private String createSubject(String operationType, String ad, String soyad) {
-        String fullName = ad + " " + soyad;
-        switch (operationType.toUpperCase()) {
-            case "CREATE":
-                return "Yeni Personel Eklendi: " + fullName;
-            case "UPDATE":
-                return "Personel Bilgileri Güncellendi: " + fullName;
-            case "DELETE":
-                return "Personel Silindi: " + fullName;
-            default:
-                return "Personel Değişikliği: " + fullName;
+    // Bulkhead dışta: bulkhead'in reddettiği çağrılar ve yer beklerken geçen süre devre kesicinin hata ve yavaş çağrı
+    // oranlarına sayılmaz. Bulkhead'e giren her çağrı devre açık olsa da yer tutar ve bulkhead doluysa
+    // max-wait-duration kadar bekleyebilir; bu yüzden devre açıkken çağrılar bulkhead'e girmeden ertelenir.
+    // Durum kontrolü ile çağrı arasında devre açılırsa içteki devre kesici çağrıyı yine reddeder.
+    private void send(Runnable smtpCall) {
+        if (!isMailAvailable()) {
+            throw new MailDeferredException("SMTP devre kesicisi açık, email gönderilmedi",
+                    CallNotPermittedException.createCallNotPermittedException(circuitBreaker));
         }
-    }
-
-    private String createEmailContent(Long personelId, String ad, String soyad, String email, 
-                                    String operationType, String changedFields) {
-        Context context = new Context();
-        context.setVariable("personelId", personelId);
-        context.setVariable("ad", ad);
-        context.setVariable("soyad", soyad);
-        context.setVariable("email", email);
-        context.setVariable("operationType", operationType);
-        context.setVariable("changedFields", changedFields);
-        context.setVariable("timestamp", LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm:ss")));
-
         try {
-            return templateEngine.process("personel-notification", context);
-        } catch (Exception e) {
-            logger.warn("Template işlenirken hata oluştu, basit metin döndürülüyor: {}", e.getMessage());
-            return createSimpleEmailContent(personelId, ad, soyad, email, operationType, changedFields);
-        }
-    }
-
-    private String createSimpleEmailContent(Long personelId, String ad, String soyad, String email, 
-                                          String operationType, String changedFields) {
-        StringBuilder content = new StringBuilder();
-        content.append("Personel Bilgileri Değişiklik Bildirimi\n\n");
-        content.append("Personel ID: ").append(personelId).append("\n");
-        content.append("Ad Soyad: ").append(ad).append(" ").append(soyad).append("\n");
-        content.append("Email: ").append(email).append("\n");
-        content.append("İşlem Türü: ").append(getOperationTypeText(operationType)).append("\n");
-        
-        if (changedFields != null && !changedFields.isEmpty()) {
-            content.append("Değişen Alanlar: ").append(changedFields).append("\n");
-        }
-        
-        content.append("Tarih: ").append(LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm:ss"))).append("\n\n");
-        content.append("Bu otomatik bir bildirim mesajıdır.");
-        
-        return content.toString();
-    }
-
-    private String getOperationTypeText(String operationType) {
-        switch (operationType.toUpperCase()) {
-            case "CREATE":
-                return "Yeni Personel Eklendi";
-            case "UPDATE":
-                return "Personel Bilgileri Güncellendi";
-            case "DELETE":
-                return "Personel Silindi";
-            default:
-                return operationType;
+            Bulkhead.decorateRunnable(bulkhead, CircuitBreaker.decorateRunnable(circuitBreaker, smtpCall)).run();
+        } catch (CallNotPermittedException e) {
+            throw new MailDeferredException("SMTP devre kesicisi açık, email gönderilmedi", e);
+        } catch (BulkheadFullException e) {
+            throw new MailDeferredException("Eşzamanlı email gönderim sınırı dolu, email gönderilmedi", e);
         }
     }
 }
@@ -0,0 +1,326 @@
+package com.example.notification_backend.service;
+
+import com.example.notification_backend.archive.ArchiveSegment;
+import com.example.notification_backend.archive.ArchiveSegmentWriter;
+import com.example.notification_backend.entity.NotificationLog;
+import com.example.notification_backend.entity.SchedulerLock;
+import com.example.notification_backend.repository.NotificationLogRepository;
+import com.example.notification_backend.repository.SchedulerLockRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * notification_log saklama süresini uygular
+ * hot-period'dan eski ve bekleyen işi olmayan kayıtlar (createdAt, id) sırasıyla okunur, gövdeleriyle birlikte
+ * sıkıştırılmış arşiv segmentlerine (ArchiveSegment) yazılır ve segment diske yazıldıktan sonra chunk-size'lık
+ * parçalar halinde, her parça kendi kısa transaction'ında silinir. Silme sonrası kullanılmayan gövdeler de silinir.
+ * Segment yazıldıktan sonra silme yarıda kalırsa kalan kayıtlar sonraki turda tekrar arşivlenir; okuma ID'ye göre
+ * tekilleştirir. Arşivlenen kayıtlar findArchivedNotifications ile tarih aralığı ve personele göre sorgulanabilir.
+ * Birden fazla node çalışıyorsa turu notification-archive kilidini (lease) alan tek node yapar, kilit her segmentten
+ * önce uzatılır. archive-dir tüm node'ların bağladığı paylaşımlı bir dizin (ör. NFS) olmalıdır: segmentleri yazan
+ * node'dan farklı node'lar da arşiv sorgularına cevap verir.
+ */
+@Service
+public class NotificationArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationArchiveService.class);
+
+    private static final String FILE_PREFIX = "notification-log-";
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    // İlk parçanın keyset başlangıcı: tüm kayıtlar bu değerlerden büyüktür
+    private static final LocalDateTime ARCHIVE_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private static final String ARCHIVE_LOCK = "notification-archive";
+
+    @Autowired
+    private NotificationLogRepository notificationLogRepository;
+
+    @Autowired
+    private NotificationBodyService notificationBodyService;
+
+    @Autowired
+    private NotificationStatisticsService notificationStatisticsService;
+
+    @Autowired
+    private SchedulerLockRepository schedulerLockRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Value("${app.notification.retention.enabled:true}")
+    private boolean enabled;
+
+    // notification_log'da tutulan süre
+    @Value("${app.notification.retention.hot-period:P90D}")
+    private Duration hotPeriod;
+
+    @Value("${app.notification.retention.archive-dir:notification-archive}")
+    private String archiveDir;
+
+    // Bir blokta arşivlenen ve bir transaction'da silinen kayıt sayısı
+    @Value("${app.notification.retention.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.notification.retention.segment-rows:50000}")
+    private int segmentRows;
+
+    // Arşiv kilidinin süresi, bir segmentin yazılıp silinmesinden uzun olmalıdır
+    @Value("${app.notification.retention.lease:PT1H}")
+    private Duration lease;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    // Segmentler değişmediği için footer'lar bir kez okunur
+    private final Map<Path, ArchiveSegment.Index> indexes = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void createArchiveLock() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!schedulerLockRepository.existsById(ARCHIVE_LOCK)) {
+                    schedulerLockRepository.saveAndFlush(new SchedulerLock(ARCHIVE_LOCK));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Arşiv kilidi başka bir node tarafından oluşturuldu");
+        }
+    }
+
+    /**
+     * Zamanlanmış arşivleme turu
+     */
+    @Scheduled(cron = "${app.notification.retention.cron:0 30 3 * * *}")
+    public void archiveExpiredNotifications() {
+        if (!enabled) {
+            return;
+        }
+        if (!running.compareAndSet(false, true)) {
+            logger.warn("Önceki arşivleme turu hala çalışıyor, bu tur atlandı");
+            return;
+        }
+        try {
+            int archived = archiveExpired(LocalDateTime.now().minus(hotPeriod));
+            if (archived > 0) {
+                logger.info("Arşivleme tamamlandı: {} kayıt arşivlendi", archived);
+            }
+        } catch (IOException e) {
+            logger.error("Arşivleme turu başarısız oldu: {}", e.getMessage(), e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * cutoff'tan önce oluşturulan, bekleyen işi olmayan kayıtları arşivler ve siler
+     * Arşiv kilidi başka bir node'daysa hiçbir şey yapmaz; kilit bir segment sırasında başka bir node'a geçerse
+     * (lease süresi aşıldıysa) tur o segmentten önce durur.
+     * @param cutoff Saklama sınırı
+     * @return Arşivlenen kayıt sayısı
+     * @throws IOException Segment yazılamazsa; yazılamayan segmentin kayıtları silinmez
+     */
+    public int archiveExpired(LocalDateTime cutoff) throws IOException {
+        if (!acquireArchiveLock()) {
+            logger.info("Arşiv kilidi başka bir node'da, arşivleme turu atlandı");
+            return 0;
+        }
+        Path directory = Files.createDirectories(Paths.get(archiveDir));
+        LocalDateTime afterCreatedAt = ARCHIVE_START;
+        long afterId = 0;
+        int archived = 0;
+
+        List<NotificationLog> chunk = notificationLogRepository.findArchivableAfter(cutoff, afterCreatedAt, afterId,
+                Limit.of(chunkSize));
+        while (!chunk.isEmpty()) {
+            if (archived > 0 && !acquireArchiveLock()) {
+                logger.warn("Arşiv kilidi başka bir node'a geçti, arşivleme turu durduruldu: {} kayıt arşivlendi", archived);
+                break;
+            }
+            NotificationLog first = chunk.get(0);
+            Path segment = directory.resolve(FILE_PREFIX + first.getCreatedAt().format(FILE_TIMESTAMP) + "-"
+                    + first.getId() + ArchiveSegment.FILE_SUFFIX);
+            List<Long> ids = new ArrayList<>();
+            Set<Long> bodyIds = new HashSet<>();
+            try (ArchiveSegmentWriter writer = new ArchiveSegmentWriter(segment)) {
+                do {
+                    notificationBodyService.loadBodies(chunk);
+                    writer.writeBlock(chunk);
+                    for (NotificationLog notificationLog : chunk) {
+                        ids.add(notificationLog.getId());
+                        if (notificationLog.getBodyId() != null) {
+                            bodyIds.add(notificationLog.getBodyId());
+                        }
+                    }
+                    NotificationLog last = chunk.get(chunk.size() - 1);
+                    afterCreatedAt = last.getCreatedAt();
+                    afterId = last.getId();
+                    chunk = notificationLogRepository.findArchivableAfter(cutoff, afterCreatedAt, afterId,
+                            Limit.of(chunkSize));
+                } while (!chunk.isEmpty() && ids.size() < segmentRows);
+                ArchiveSegment.Index index = writer.finish();
+                indexes.put(segment, index);
+                logger.info("Arşiv segmenti yazıldı: {} ({} kayıt, {} - {})", segment.getFileName(), index.rows(),
+                        index.fromCreatedAt(), index.toCreatedAt());
+            }
+            deleteArchived(ids, bodyIds);
+            archived += ids.size();
+        }
+
+        if (archived > 0) {
+            notificationStatisticsService.reloadTotals();
+        }
+        return archived;
+    }
+
+    /**
+     * Arşivlenmiş kayıtları findByDateRange gibi createdAt'e göre [startDate, endDate] aralığında (sınırlar dahil) arar
+     * Sadece aralığa ve personele uyan bloklar açılır. Sonraki turlarda arşivlenen kayıtlar önceki segmentlerdekinden
+     * eski olabildiği için aralıkla kesişen tüm segmentler okunur, sonuç (createdAt, id) sırasıyla limit'e kesilir.
+     * Sonuç eskiden yeniye sıralıdır; limit'e ulaşıldıysa daha yeni kayıtlar için startDate ilerletilerek tekrar
+     * sorgulanmalıdır. İki kez arşivlenen kaydın en son yazılan segmentteki kopyası döner.
+     * @param personelId Verilirse sadece bu personelin kayıtları
+     * @param startDate Aralık başlangıcı
+     * @param endDate Aralık sonu
+     * @param limit En fazla dönecek kayıt sayısı
+     * @return List<NotificationLog> - emailContent dahil arşivlenmiş kayıtlar
+     */
+    public List<NotificationLog> findArchivedNotifications(Long personelId, LocalDateTime startDate,
+                                                           LocalDateTime endDate, int limit) {
+        Comparator<NotificationLog> order = Comparator.comparing(NotificationLog::getCreatedAt)
+                .thenComparing(NotificationLog::getId);
+        Map<Long, NotificationLog> found = new LinkedHashMap<>();
+        try {
+            // Yazılma sırasıyla okunur, sonraki segmentteki kopya öncekinin yerine geçer
+            for (Path segment : listSegmentsByWriteOrder()) {
+                ArchiveSegment.Index index = readIndex(segment);
+                if (!index.overlaps(startDate, endDate)) {
+                    continue;
+                }
+                for (ArchiveSegment.BlockIndex block : index.blocks()) {
+                    if (!block.matches(personelId, startDate, endDate)) {
+                        continue;
+                    }
+                    for (NotificationLog notificationLog : ArchiveSegment.readBlock(segment, block)) {
+                        LocalDateTime createdAt = notificationLog.getCreatedAt();
+                        if (!createdAt.isBefore(startDate) && !createdAt.isAfter(endDate)
+                                && (personelId == null || personelId.equals(notificationLog.getPersonelId()))) {
+                            // Silme yarıda kaldıysa kayıt iki segmentte olabilir
+                            found.put(notificationLog.getId(), notificationLog);
+                        }
+                    }
+                }
+                // createdAt değişmediği için kesilen kaydın başka bir kopyası da yine kesilir
+                if (found.size() > limit) {
+                    List<NotificationLog> kept = found.values().stream().sorted(order).limit(limit).toList();
+                    found.clear();
+                    kept.forEach(notificationLog -> found.put(notificationLog.getId(), notificationLog));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Arşiv okunamadı: " + e.getMessage(), e);
+        }
+        return found.values().stream().sorted(order).limit(limit).toList();
+    }
+
+    /**
+     * Arşivlenen kayıtları chunk-size'lık parçalar halinde, her parçayı ayrı transaction'da siler
+     * Böylece kilitler parça süresince tutulur ve diğer yazmalar uzun süre beklemez.
+     */
+    private void deleteArchived(List<Long> ids, Set<Long> bodyIds) {
+        int deleted = 0;
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Long> part = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            Integer count = transactionTemplate.execute(status -> notificationLogRepository.deleteArchivedByIdIn(part));
+            deleted += count != null ? count : 0;
+        }
+        List<Long> bodies = new ArrayList<>(bodyIds);
+        int deletedBodies = 0;
+        for (int from = 0; from < bodies.size(); from += chunkSize) {
+            List<Long> part = bodies.subList(from, Math.min(from + chunkSize, bodies.size()));
+            Integer count = transactionTemplate.execute(status -> notificationBodyService.deleteUnreferencedBodies(part));
+            deletedBodies += count != null ? count : 0;
+        }
+        if (deleted < ids.size()) {
+            logger.warn("Arşivlenen {} kaydın {} tanesi tekrar denemeye alındığı için silinmedi",
+                    ids.size(), ids.size() - deleted);
+        }
+        logger.debug("Arşivlenen kayıtlar silindi: {} log, {} gövde", deleted, deletedBodies);
+    }
+
+    // Arşiv kilidini alır veya bu node'daysa uzatır
+    private boolean acquireArchiveLock() {
+        LocalDateTime now = LocalDateTime.now();
+        Integer acquired = transactionTemplate.execute(status ->
+                schedulerLockRepository.tryAcquire(ARCHIVE_LOCK, nodeId, now, now.plus(lease)));
+        return acquired != null && acquired > 0;
+    }
+
+    private List<Path> listSegments() throws IOException {
+        Path directory = Paths.get(archiveDir);
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(ArchiveSegment.FILE_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Segmentleri yazılma sırasıyla döner; dosya adı ilk kaydın createdAt'inden üretildiği için yazılma sırasını
+     * vermez. Segmentler tek seferde taşınıp bir daha değiştirilmediği için değişiklik zamanı yazılma zamanıdır.
+     */
+    private List<Path> listSegmentsByWriteOrder() throws IOException {
+        List<Path> segments = listSegments();
+        Map<Path, FileTime> writtenAt = new HashMap<>();
+        for (Path segment : segments) {
+            writtenAt.put(segment, Files.getLastModifiedTime(segment));
+        }
+        return segments.stream()
+                .sorted(Comparator.comparing((Path segment) -> writtenAt.get(segment))
+                        .thenComparing(Comparator.naturalOrder()))
+                .toList();
+    }
+
+    private ArchiveSegment.Index readIndex(Path segment) throws IOException {
+        ArchiveSegment.Index index = indexes.get(segment);
+        if (index == null) {
+            index = ArchiveSegment.readIndex(segment);
+            indexes.put(segment, index);
+        }
+        return index;
+    }
+}
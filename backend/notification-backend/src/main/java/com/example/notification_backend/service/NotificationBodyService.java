@@ -0,0 +1,182 @@
+package com.example.notification_backend.service;
+
+import com.example.notification_backend.entity.NotificationBody;
+import com.example.notification_backend.entity.NotificationBodyDictionary;
+import com.example.notification_backend.entity.NotificationLog;
+import com.example.notification_backend.mail.EmailBodyCodec;
+import com.example.notification_backend.mail.EmailRenderer;
+import com.example.notification_backend.repository.NotificationBodyDictionaryRepository;
+import com.example.notification_backend.repository.NotificationBodyRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bildirim email gövdelerini notification_log dışında, sıkıştırılmış ve tekilleştirilmiş olarak saklar
+ * Gövdeler şablon metninden oluşturulan ortak sözlükle sıkıştırılır ve içerik özetine göre paylaşılır.
+ * Log kaydı sadece bodyId taşır; gövde listelerde okunmaz, detay görüntülenirken açılır.
+ */
+@Service
+public class NotificationBodyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationBodyService.class);
+
+    @Autowired
+    private NotificationBodyRepository notificationBodyRepository;
+
+    @Autowired
+    private NotificationBodyDictionaryRepository notificationBodyDictionaryRepository;
+
+    @Autowired
+    private EmailRenderer emailRenderer;
+
+    // Yeni gövdelerin sıkıştırıldığı sözlük
+    private Long currentDictionaryId;
+    private EmailBodyCodec currentCodec;
+
+    // Eski gövdeleri açmak için okunan sözlükler
+    private final Map<Long, EmailBodyCodec> codecs = new ConcurrentHashMap<>();
+
+    /**
+     * Güncel şablondan sözlüğü oluşturur, aynı sözlük daha önce kaydedilmediyse kaydeder
+     */
+    @PostConstruct
+    public void init() {
+        byte[] dictionary = createDictionary();
+        String contentHash = EmailBodyCodec.hash(new String(dictionary, StandardCharsets.UTF_8));
+        NotificationBodyDictionary bodyDictionary = notificationBodyDictionaryRepository.findByContentHash(contentHash)
+                .orElseGet(() -> notificationBodyDictionaryRepository.save(
+                        new NotificationBodyDictionary(contentHash, dictionary)));
+        currentDictionaryId = bodyDictionary.getId();
+        currentCodec = new EmailBodyCodec(dictionary);
+        codecs.put(currentDictionaryId, currentCodec);
+        logger.info("Email gövde sözlüğü hazır: ID={}, {} byte", currentDictionaryId, dictionary.length);
+    }
+
+    /**
+     * Render edilmiş gövdesi olan ve henüz gövdesi kaydedilmemiş log kayıtlarının gövdelerini kaydeder
+     * ve kayıtlara bodyId'lerini yazar. Aynı içerikli gövdeler (bu çağrıdaki veya önceden kaydedilmiş) tek
+     * kayıtta paylaşılır; özetler tek sorguyla aranır, yeni gövdeler saveAll ile batch olarak yazılır.
+     * Çağıran transaction içinde olmalıdır.
+     * @param notificationLogs Log kayıtları
+     */
+    public void storeBodies(List<NotificationLog> notificationLogs) {
+        Map<String, List<NotificationLog>> logsByHash = new LinkedHashMap<>();
+        Map<String, String> contentByHash = new HashMap<>();
+        for (NotificationLog notificationLog : notificationLogs) {
+            String content = notificationLog.getEmailContent();
+            if (content == null || notificationLog.getBodyId() != null) {
+                continue;
+            }
+            String contentHash = EmailBodyCodec.hash(content);
+            logsByHash.computeIfAbsent(contentHash, hash -> new ArrayList<>()).add(notificationLog);
+            contentByHash.putIfAbsent(contentHash, content);
+        }
+        if (logsByHash.isEmpty()) {
+            return;
+        }
+
+        // Eşzamanlı iki batch aynı gövdeyi ikişer kez yazabilir, bu durumda sadece yer kaybı olur.
+        // Bulunan gövdeler kilitlenir, arşivleme bu transaction commit edilene kadar onları silemez
+        Map<String, Long> bodyIds = new HashMap<>();
+        for (Object[] row : notificationBodyRepository.findIdsByContentHashIn(logsByHash.keySet())) {
+            bodyIds.putIfAbsent((String) row[0], (Long) row[1]);
+        }
+        List<NotificationBody> newBodies = new ArrayList<>();
+        for (String contentHash : logsByHash.keySet()) {
+            if (!bodyIds.containsKey(contentHash)) {
+                String content = contentByHash.get(contentHash);
+                newBodies.add(new NotificationBody(contentHash, currentDictionaryId,
+                        content.getBytes(StandardCharsets.UTF_8).length, currentCodec.compress(content)));
+            }
+        }
+        for (NotificationBody body : notificationBodyRepository.saveAll(newBodies)) {
+            bodyIds.put(body.getContentHash(), body.getId());
+        }
+        logsByHash.forEach((contentHash, logs) ->
+                logs.forEach(notificationLog -> notificationLog.setBodyId(bodyIds.get(contentHash))));
+    }
+
+    /**
+     * Log kaydının gövdesini okuyup kayda (emailContent) yükler, gövdesi olmayan kayıtlarda bir şey yapmaz
+     * @param notificationLog Log kaydı
+     */
+    public void loadBody(NotificationLog notificationLog) {
+        if (notificationLog.getEmailContent() != null || notificationLog.getBodyId() == null) {
+            return;
+        }
+        notificationBodyRepository.findById(notificationLog.getBodyId()).ifPresentOrElse(body ->
+                notificationLog.setEmailContent(codec(body.getDictionaryId())
+                        .decompress(body.getContent(), body.getContentLength())),
+                () -> logger.warn("Email gövdesi bulunamadı: Log ID={}, Body ID={}",
+                        notificationLog.getId(), notificationLog.getBodyId()));
+    }
+
+    /**
+     * Kayıtların gövdelerini tek sorguyla okuyup kayıtlara yükler (loadBody'nin toplu hali)
+     * @param notificationLogs Log kayıtları
+     */
+    public void loadBodies(List<NotificationLog> notificationLogs) {
+        Set<Long> bodyIds = new HashSet<>();
+        for (NotificationLog notificationLog : notificationLogs) {
+            if (notificationLog.getEmailContent() == null && notificationLog.getBodyId() != null) {
+                bodyIds.add(notificationLog.getBodyId());
+            }
+        }
+        if (bodyIds.isEmpty()) {
+            return;
+        }
+        Map<Long, String> contents = new HashMap<>();
+        for (NotificationBody body : notificationBodyRepository.findAllById(bodyIds)) {
+            contents.put(body.getId(), codec(body.getDictionaryId()).decompress(body.getContent(), body.getContentLength()));
+        }
+        for (NotificationLog notificationLog : notificationLogs) {
+            if (notificationLog.getEmailContent() == null && notificationLog.getBodyId() != null) {
+                notificationLog.setEmailContent(contents.get(notificationLog.getBodyId()));
+            }
+        }
+    }
+
+    /**
+     * Verilen gövdelerden artık hiçbir log kaydının kullanmadıklarını siler, çağıran transaction içinde olmalıdır
+     * notification_log.body_id'nin foreign key'i yoktur. Gövdeler önce kilitlenir: storeBodies ile aynı gövdeyi
+     * paylaşan ve henüz commit edilmemiş bir batch varsa beklenir, silme sorgusu ayrı bir ifade olarak çalıştığı için
+     * o batch'in log kayıtlarını görür ve gövdeyi silmez.
+     * @param bodyIds Silinen log kayıtlarının gövde ID'leri
+     * @return Silinen gövde sayısı
+     */
+    public int deleteUnreferencedBodies(Collection<Long> bodyIds) {
+        if (bodyIds.isEmpty() || notificationBodyRepository.lockByIdIn(bodyIds).isEmpty()) {
+            return 0;
+        }
+        return notificationBodyRepository.deleteUnreferencedByIdIn(bodyIds);
+    }
+
+    private EmailBodyCodec codec(Long dictionaryId) {
+        return codecs.computeIfAbsent(dictionaryId, id -> new EmailBodyCodec(notificationBodyDictionaryRepository
+                .findById(id)
+                .orElseThrow(() -> new IllegalStateException("Email gövde sözlüğü bulunamadı: ID=" + id))
+                .getContent()));
+    }
+
+    private byte[] createDictionary() {
+        byte[] bytes = emailRenderer.renderBodyDictionary().getBytes(StandardCharsets.UTF_8);
+        return bytes.length > EmailBodyCodec.MAX_DICTIONARY_SIZE
+                ? Arrays.copyOfRange(bytes, bytes.length - EmailBodyCodec.MAX_DICTIONARY_SIZE, bytes.length)
+                : bytes;
+    }
+}
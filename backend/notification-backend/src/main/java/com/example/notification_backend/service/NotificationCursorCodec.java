@@ -0,0 +1,55 @@
+package com.example.notification_backend.service;
+
+import com.example.notification_backend.exception.InvalidCursorException;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Notification log listelerinin keyset sayfalaması için opak cursor token'larını üretir ve çözer
+ * Listeler (createdAt, id) ikilisine göre yeniden eskiye sıralıdır; token son satırın bu ikilisini içerir.
+ */
+@Component
+public class NotificationCursorCodec {
+
+    /**
+     * Sayfanın son satırının keyset değerleri, sonraki sayfa bu satırdan eski kayıtlarla başlar
+     */
+    public record Cursor(LocalDateTime createdAt, Long id) {
+
+        // İlk sayfa: tüm kayıtlar bu değerlerden küçüktür
+        public static final Cursor FIRST = new Cursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+    }
+
+    /**
+     * @param createdAt Son satırın oluşturulma zamanı
+     * @param id Son satırın ID'si
+     * @return URL-safe Base64 token
+     */
+    public String encode(LocalDateTime createdAt, Long id) {
+        String token = createdAt + "," + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Token'ı çözer, null/boş token ilk sayfayı ifade eder
+     * @param token İstemciden gelen token
+     * @return Keyset pozisyonu
+     * @throws InvalidCursorException Token bozuksa
+     */
+    public Cursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return Cursor.FIRST;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            int separator = decoded.lastIndexOf(',');
+            return new Cursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.valueOf(decoded.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Geçersiz cursor");
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.notification_backend.service;
+
+import com.example.notification_backend.entity.NotificationDigest;
+import com.example.notification_backend.entity.NotificationLog;
+import com.example.notification_backend.repository.NotificationDigestRepository;
+import com.example.notification_backend.repository.NotificationLogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Digest modunda bekleyen personel bildirimlerini alıcı bazında tek özet emailde gönderir
+ * Bildirimler NotificationLog tablosunda digestPending=true olarak tamponlanır, böylece servis yeniden
+ * başlasa da kaybolmaz. Bir alıcının en eski bekleyen kaydı window süresini aştığında veya bekleyen
+ * kayıt sayısı max-events'e ulaştığında en fazla max-events kayıt tek emailde gönderilir.
+ *
+ * Birden fazla node aynı kayıtları göndermesin diye kayıtlar NotificationRetryService'teki gibi alınır (claim):
+ * satırlar kilitlenerek okunur, digestNextAttemptAt lease süresi kadar ileri alınıp commit edilir ve email
+ * transaction dışında gönderilir. Başarısız özetin kayıtları jitter'lı üstel bekleme ile ertelenir; alıcının en eski
+ * kaydı beklemedeyken o alıcıya özet gönderilmez.
+ */
+@Service
+public class NotificationDigestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDigestService.class);
+
+    @Autowired
+    private NotificationLogRepository notificationLogRepository;
+
+    @Autowired
+    private NotificationDigestRepository notificationDigestRepository;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private NotificationStatisticsService notificationStatisticsService;
+
+    // İlk bekleyen değişiklikten sonra özetin gönderilmesi için beklenecek azami süre
+    @Value("${app.notification.digest.window:PT5M}")
+    private Duration window;
+
+    // Bir özet emailine girebilecek azami değişiklik sayısı
+    @Value("${app.notification.digest.max-events:500}")
+    private int maxEvents;
+
+    // Alınan kayıtların gönderim sonucu yazılana kadar diğer node'lardan saklandığı süre
+    @Value("${app.notification.digest.lease:PT5M}")
+    private Duration lease;
+
+    @Value("${app.notification.digest.initial-backoff:PT1M}")
+    private Duration initialBackoff;
+
+    @Value("${app.notification.digest.max-backoff:PT1H}")
+    private Duration maxBackoff;
+
+    /**
+     * Zamanı gelen (window süresi dolan veya max-events'e ulaşan) özetleri gönderir
+     * Digest modu kapatılsa da çalışır, böylece önceden tamponlanmış kayıtlar gönderilmeden kalmaz.
+     */
+    @Scheduled(fixedDelayString = "${app.notification.digest.flush-interval:PT10S}")
+    public synchronized void flushDueDigests() {
+        for (String recipient : notificationLogRepository.findDigestPendingRecipients()) {
+            try {
+                int sent;
+                do {
+                    List<NotificationLog> claimed = transactionTemplate.execute(status -> claimDueDigest(recipient));
+                    sent = claimed == null || claimed.isEmpty() ? 0 : sendDigest(recipient, claimed);
+                } while (sent == maxEvents);
+            } catch (Exception e) {
+                logger.error("Özet email gönderilemedi: Alıcı={}, Hata={}", recipient, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Alıcının bekleyen en eski max-events kaydını, özet gönderilme zamanı geldiyse lease süresi kadar alır
+     * @param recipient Alıcı email adresi
+     * @return Alınan kayıtlar; özetin zamanı gelmediyse, kayıtlar başka node'daysa veya beklemedeyse boş
+     */
+    private List<NotificationLog> claimDueDigest(String recipient) {
+        List<NotificationLog> events = notificationLogRepository
+                .findByDigestPendingTrueAndRecipientEmailOrderByIdAsc(recipient, Limit.of(maxEvents));
+        if (events.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (NotificationLog event : events) {
+            if (event.getDigestNextAttemptAt() != null && event.getDigestNextAttemptAt().isAfter(now)) {
+                return List.of();
+            }
+        }
+        LocalDateTime windowStart = events.get(0).getCreatedAt();
+        boolean full = events.size() >= maxEvents;
+        if (!full && windowStart.isAfter(now.minus(window))) {
+            return List.of();
+        }
+        for (NotificationLog event : events) {
+            event.setDigestNextAttemptAt(now.plus(lease));
+        }
+        return events;
+    }
+
+    /**
+     * Alınan kayıtları tek emailde gönderir ve sonucu kaydeder
+     * @param recipient Alıcı email adresi
+     * @param events claimDueDigest ile alınan kayıtlar
+     * @return Özete dahil edilen kayıt sayısı, gönderilmediyse 0
+     */
+    private int sendDigest(String recipient, List<NotificationLog> events) {
+        NotificationDigest digest = new NotificationDigest(recipient, events.size(), events.get(0).getCreatedAt());
+        digest.setEmailSubject(createDigestSubject(events.size()));
+        boolean emailSent = emailService.sendDigestNotification(recipient, digest.getEmailSubject(), events);
+        digest.setEmailSent(emailSent);
+
+        LocalDateTime now = LocalDateTime.now();
+        if (!emailSent) {
+            // Kayıtlar bekleyen durumda kalır, bekleme süresi sonunda tekrar denenir
+            int attempts = events.get(0).getAttemptCount() + 1;
+            LocalDateTime nextAttemptAt = now.plus(backoff(attempts));
+            for (NotificationLog event : events) {
+                event.setAttemptCount(event.getAttemptCount() + 1);
+                event.setDigestNextAttemptAt(nextAttemptAt);
+            }
+            digest.setErrorMessage("Email gönderimi başarısız");
+            transactionTemplate.executeWithoutResult(status -> {
+                notificationDigestRepository.save(digest);
+                notificationLogRepository.saveAll(events);
+            });
+            logger.error("Özet email gönderimi başarısız: Alıcı={}, Değişiklik sayısı={}, Deneme={}, Sonraki deneme={}",
+                    recipient, events.size(), attempts, nextAttemptAt);
+            return 0;
+        }
+
+        digest.setSentAt(now);
+        for (NotificationLog event : events) {
+            event.setDigestPending(false);
+            event.setDigestNextAttemptAt(null);
+            event.setAttemptCount(event.getAttemptCount() + 1);
+            event.setEmailSent(true);
+            event.setSentAt(now);
+            event.setEmailSubject(digest.getEmailSubject());
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            notificationDigestRepository.save(digest);
+            for (NotificationLog event : events) {
+                event.setDigestId(digest.getId());
+                notificationStatisticsService.recordTransition(NotificationStatisticsService.Outcome.DIGEST_PENDING,
+                        event);
+            }
+            notificationLogRepository.saveAll(events);
+        });
+        logger.info("Özet email gönderildi ve {} log kaydı bağlandı: Digest ID={}", events.size(), digest.getId());
+        return events.size();
+    }
+
+    // Üstel bekleme (initial-backoff * 2^(deneme-1), en fazla max-backoff), yarısı sabit yarısı rastgele
+    private Duration backoff(int attempts) {
+        long exponentialMillis = initialBackoff.toMillis() << Math.min(attempts - 1, 30);
+        long cappedMillis = Math.min(maxBackoff.toMillis(), exponentialMillis > 0 ? exponentialMillis : Long.MAX_VALUE);
+        long half = cappedMillis / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1));
+    }
+
+    private String createDigestSubject(int eventCount) {
+        return "Personel Değişiklik Özeti: " + eventCount + " değişiklik";
+    }
+}
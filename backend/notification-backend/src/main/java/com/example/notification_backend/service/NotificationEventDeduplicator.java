@@ -0,0 +1,146 @@
+package com.example.notification_backend.service;
+
+import com.example.notification_backend.repository.NotificationLogRepository;
+import com.example.personel_events.PersonelNotificationDTO;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aynı personel olayının (eventId) tekrar teslimlerini email gönderilmeden ve log yazılmadan önce ayıklar
+ * Broker ve outbox relay bir mesajı birden fazla kez teslim edebilir. Olay ID'si önce son kaydedilen cache-size
+ * olayı tutan LRU'da aranır (tekrar teslimler çoğunlukla dakikalar içinde gelir), bulunamayanlar batch başına tek
+ * sorguyla notification_log'da aranır. Eşzamanlı iki teslimin ikisi de yeni görünürse uk_notification_log_event_id
+ * ikinci kaydı reddeder. eventId taşımayan (eski) mesajlar ayıklanmaz.
+ */
+@Service
+public class NotificationEventDeduplicator implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationEventDeduplicator.class);
+
+    @Autowired
+    private NotificationLogRepository notificationLogRepository;
+
+    // LRU'da tutulan olay ID'si sayısı, bellek kullanımı bununla sınırlıdır
+    @Value("${app.notification.dedup.cache-size:50000}")
+    private int cacheSize;
+
+    // Kaydı commit edilmiş olay ID'leri, erişim sırasıyla
+    private Map<String, Boolean> recentEventIds;
+
+    private final LongAdder dropped = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        recentEventIds = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Daha önce işlenmiş ve batch içinde tekrarlanan olayları çıkarır
+     * Log kayıtlarını yazan transaction içinde çağrılmalıdır; dönen olaylar transaction commit edilince LRU'ya eklenir,
+     * rollback olursa eklenmez ve tekrar teslimleri işlenir.
+     * @param notifications Gelen bildirimler (sırayla)
+     * @return İşlenecek bildirimler, gelen sırayla
+     */
+    public List<PersonelNotificationDTO> filterNew(List<PersonelNotificationDTO> notifications) {
+        Set<String> batchEventIds = new HashSet<>();
+        List<String> uncachedEventIds = new ArrayList<>();
+        synchronized (recentEventIds) {
+            for (PersonelNotificationDTO notification : notifications) {
+                String eventId = notification.getEventId();
+                if (eventId != null && batchEventIds.add(eventId) && recentEventIds.get(eventId) == null) {
+                    uncachedEventIds.add(eventId);
+                }
+            }
+        }
+        Set<String> existingEventIds = uncachedEventIds.isEmpty()
+                ? Set.of()
+                : new HashSet<>(notificationLogRepository.findExistingEventIds(uncachedEventIds));
+
+        List<PersonelNotificationDTO> result = new ArrayList<>(notifications.size());
+        Set<String> newEventIds = new HashSet<>(uncachedEventIds);
+        newEventIds.removeAll(existingEventIds);
+        for (PersonelNotificationDTO notification : notifications) {
+            String eventId = notification.getEventId();
+            if (eventId == null || newEventIds.remove(eventId)) {
+                result.add(notification);
+            } else {
+                logger.info("Tekrar teslim edilen bildirim atlandı: Event ID={}, Personel ID={}",
+                        eventId, notification.getPersonelId());
+            }
+        }
+
+        int duplicates = notifications.size() - result.size();
+        if (duplicates > 0) {
+            dropped.add(duplicates);
+        }
+        // Veritabanında bulunanlar sonraki teslimlerde sorgu gerektirmesin
+        remember(existingEventIds);
+        List<String> acceptedEventIds = result.stream()
+                .map(PersonelNotificationDTO::getEventId)
+                .filter(eventId -> eventId != null)
+                .toList();
+        afterCommit(() -> remember(acceptedEventIds));
+        return result;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("notification.duplicates.dropped", dropped, LongAdder::sum)
+                .description("Redelivered personnel notifications dropped before sending")
+                .register(registry);
+        Gauge.builder("notification.duplicates.cache.size", this, deduplicator -> deduplicator.cachedEventIds())
+                .description("Event ids held in the deduplication cache")
+                .register(registry);
+    }
+
+    private void remember(Iterable<String> eventIds) {
+        synchronized (recentEventIds) {
+            for (String eventId : eventIds) {
+                recentEventIds.put(eventId, Boolean.TRUE);
+            }
+        }
+    }
+
+    private int cachedEventIds() {
+        synchronized (recentEventIds) {
+            return recentEventIds.size();
+        }
+    }
+
+    // Aktif transaction yoksa hemen uygulanır
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package com.example.notification_backend.service;
+
+import com.example.notification_backend.dto.RetryJobDTO;
+import com.example.notification_backend.entity.NotificationLog;
+import com.example.notification_backend.mail.MailDeferredException;
+import com.example.notification_backend.repository.NotificationLogRepository;
+import com.example.notification_backend.service.NotificationStatisticsService.Outcome;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Başarısız bildirim emaillerini arka planda tekrar gönderir
+ * Zamanı gelen kayıtlar küçük sayfalar halinde kilitlenerek alınır ve lease süresi kadar ileri ertelenir
+ * (claim), böylece gönderim sırasında başka bir tur aynı kayıtları almaz; servis çökerse lease sonunda
+ * tekrar denenir. Sayfadaki emailler en fazla parallelism kadar eşzamanlı gönderilir. Tekrar başarısız
+ * olan kayıtlar jitter'lı üstel bekleme ile ertelenir, max-attempts'e ulaşanlar park edilir.
+ * SMTP devre kesicisi açıkken tur yapılmaz; devre yarı açık veya kapalı duruma geçince hemen bir tur başlatılır ve
+ * devre açıkken ertelenen (deferred) kayıtlar da gönderilir. Devre tarafından reddedilen denemeler sayılmaz.
+ */
+@Service
+public class NotificationRetryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationRetryService.class);
+
+    // Bellekte tutulan en fazla iş durumu, eskiler silinir
+    private static final int MAX_TRACKED_JOBS = 100;
+
+    @Autowired
+    private NotificationLogRepository notificationLogRepository;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private NotificationStatisticsService notificationStatisticsService;
+
+    @Autowired
+    private NotificationBodyService notificationBodyService;
+
+    // İlk gönderim dahil azami deneme sayısı
+    @Value("${app.notification.retry.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.notification.retry.initial-backoff:PT30S}")
+    private Duration initialBackoff;
+
+    @Value("${app.notification.retry.max-backoff:PT1H}")
+    private Duration maxBackoff;
+
+    @Value("${app.notification.retry.page-size:20}")
+    private int pageSize;
+
+    @Value("${app.notification.retry.max-pages-per-run:50}")
+    private int maxPagesPerRun;
+
+    @Value("${app.notification.retry.parallelism:4}")
+    private int parallelism;
+
+    // Alınan kayıtların gönderim sonucu yazılana kadar diğer turlardan saklandığı süre
+    @Value("${app.notification.retry.lease:PT5M}")
+    private Duration lease;
+
+    private ExecutorService sendExecutor;
+    private ExecutorService jobExecutor;
+
+    private final Map<String, RetryJobDTO> jobs = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, RetryJobDTO> eldest) {
+            return size() > MAX_TRACKED_JOBS;
+        }
+    };
+
+    private enum SendOutcome { SENT, FAILED, DEFERRED }
+
+    /**
+     * Sayfadaki kayıtların tekrar deneme sonuçları, deferred devre kesicinin gönderimden önce reddettikleridir
+     */
+    private record RetryRunResult(int attempted, int succeeded, int rescheduled, int parked, int deferred) {
+
+        private static final RetryRunResult EMPTY = new RetryRunResult(0, 0, 0, 0, 0);
+
+        private RetryRunResult plus(RetryRunResult other) {
+            return new RetryRunResult(attempted + other.attempted, succeeded + other.succeeded,
+                    rescheduled + other.rescheduled, parked + other.parked, deferred + other.deferred);
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        sendExecutor = Executors.newFixedThreadPool(parallelism, runnable ->
+                new Thread(runnable, "notification-retry-" + threadNumber.incrementAndGet()));
+        jobExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "notification-retry-job"));
+
+        circuitBreakerRegistry.circuitBreaker(EmailService.SMTP).getEventPublisher().onStateTransition(event -> {
+            CircuitBreaker.State state = event.getStateTransition().getToState();
+            if (state == CircuitBreaker.State.HALF_OPEN || state == CircuitBreaker.State.CLOSED) {
+                jobExecutor.execute(this::retryDueNotifications);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        sendExecutor.shutdownNow();
+    }
+
+    /**
+     * Başarısız gönderim denemesini kayda işler (henüz kaydedilmemiş log için de kullanılır)
+     * Deneme sayısı artırılır, max-attempts'e ulaşıldıysa kayıt park edilir, aksi halde
+     * bir sonraki deneme zamanı jitter'lı üstel bekleme ile belirlenir.
+     * @param notificationLog Başarısız gönderimin log kaydı
+     */
+    public void recordFailedAttempt(NotificationLog notificationLog) {
+        int attempts = notificationLog.getAttemptCount() + 1;
+        notificationLog.setAttemptCount(attempts);
+        notificationLog.setDeferred(false);
+        if (attempts >= maxAttempts) {
+            notificationLog.setParked(true);
+            notificationLog.setNextAttemptAt(null);
+            logger.warn("Notification {} denemeden sonra park edildi: Personel ID={}",
+                    attempts, notificationLog.getPersonelId());
+        } else {
+            notificationLog.setNextAttemptAt(LocalDateTime.now().plus(backoff(attempts)));
+        }
+    }
+
+    /**
+     * İlk gönderimi yapılmak üzere sahiplenilen (henüz kaydedilmemiş) log kaydını lease süresi kadar turlardan saklar
+     * Gönderen node sonucu yazamazsa kayıt lease sonunda tekrar denenir.
+     * @param notificationLog Sahiplenilen log kaydı
+     */
+    public void recordClaimed(NotificationLog notificationLog) {
+        notificationLog.setNextAttemptAt(LocalDateTime.now().plus(lease));
+    }
+
+    /**
+     * SMTP'ye gidilmeden ertelenen gönderimi kayda işler (henüz kaydedilmemiş log için de kullanılır)
+     * Deneme sayısı artmaz, kayıt hemen denenecek şekilde işaretlenir ama devre açıkken tur yapılmadığı için
+     * devre yarı açık veya kapalı duruma geçince gönderilir.
+     * @param notificationLog Ertelenen gönderimin log kaydı
+     * @param reason Erteleme sebebi
+     */
+    public void recordDeferred(NotificationLog notificationLog, String reason) {
+        notificationLog.setEmailSent(false);
+        notificationLog.setDeferred(true);
+        notificationLog.setErrorMessage(reason);
+        notificationLog.setNextAttemptAt(LocalDateTime.now());
+    }
+
+    /**
+     * Zamanı gelen başarısız kayıtları tekrar dener
+     */
+    @Scheduled(fixedDelayString = "${app.notification.retry.interval:PT10S}")
+    public void retryDueNotifications() {
+        try {
+            RetryRunResult result = retryDue();
+            if (result.attempted() > 0 || result.deferred() > 0) {
+                logger.info("Notification tekrar denemesi: deneme={}, başarılı={}, ertelenen={}, park edilen={}, devre reddi={}",
+                        result.attempted(), result.succeeded(), result.rescheduled(), result.parked(), result.deferred());
+            }
+        } catch (Exception e) {
+            logger.error("Notification tekrar denemesi sırasında hata oluştu: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Tüm başarısız ve park edilmiş kayıtları hemen denenecek şekilde işaretleyen ve deneyen işi başlatır
+     * Deneme sayıları sıfırlanır, böylece park edilmiş kayıtlar da tekrar max-attempts kadar denenir. O anda
+     * gönderilmek üzere sahiplenilmiş veya tekrar deneme zamanı henüz gelmemiş kayıtlar kendi zamanlarında denenir.
+     * @return İşin durumu, getRetryJob ile takip edilir
+     */
+    public RetryJobDTO submitRetryJob() {
+        RetryJobDTO job = new RetryJobDTO(UUID.randomUUID().toString(), LocalDateTime.now());
+        synchronized (jobs) {
+            jobs.put(job.getJobId(), job);
+        }
+        jobExecutor.execute(() -> runJob(job));
+        return job;
+    }
+
+    /**
+     * @param jobId submitRetryJob'un döndüğü iş ID'si
+     * @return İşin durumu, bilinmeyen veya silinmiş işler için null
+     */
+    public RetryJobDTO getRetryJob(String jobId) {
+        synchronized (jobs) {
+            return jobs.get(jobId);
+        }
+    }
+
+    private void runJob(RetryJobDTO job) {
+        job.setStartedAt(LocalDateTime.now());
+        job.setStatus(RetryJobDTO.Status.RUNNING);
+        try {
+            Integer scheduled = transactionTemplate.execute(status ->
+                    notificationLogRepository.scheduleAllFailedForRetry(LocalDateTime.now()));
+            job.setScheduled(scheduled != null ? scheduled : 0);
+            // Toplu UPDATE park edilen kayıtları başarısız durumuna aldı
+            notificationStatisticsService.reloadTotals();
+
+            // Tekrar başarısız olanlar ileri bir zamana ertelendiği için zamanı gelen kayıt kalmayınca biter
+            RetryRunResult total = RetryRunResult.EMPTY;
+            RetryRunResult result;
+            do {
+                result = retryDue();
+                total = total.plus(result);
+                job.setAttempted(total.attempted());
+                job.setSucceeded(total.succeeded());
+                job.setRescheduled(total.rescheduled());
+                job.setParked(total.parked());
+                job.setDeferred(total.deferred());
+            } while (result.attempted() > 0);
+            job.setStatus(RetryJobDTO.Status.COMPLETED);
+            logger.info("Tekrar deneme işi tamamlandı: ID={}, işaretlenen={}, başarılı={}",
+                    job.getJobId(), job.getScheduled(), job.getSucceeded());
+        } catch (Exception e) {
+            job.setErrorMessage(e.getMessage());
+            job.setStatus(RetryJobDTO.Status.FAILED);
+            logger.error("Tekrar deneme işi başarısız: ID={}, Hata={}", job.getJobId(), e.getMessage(), e);
+        } finally {
+            job.setFinishedAt(LocalDateTime.now());
+        }
+    }
+
+    // Zamanlayıcı ve elle başlatılan işler aynı anda çalışmaz
+    private synchronized RetryRunResult retryDue() {
+        RetryRunResult total = RetryRunResult.EMPTY;
+        for (int page = 0; page < maxPagesPerRun && emailService.isMailAvailable(); page++) {
+            List<NotificationLog> claimed = transactionTemplate.execute(status -> claimDue());
+            if (claimed == null || claimed.isEmpty()) {
+                break;
+            }
+            RetryRunResult result = retry(claimed);
+            total = total.plus(result);
+            // Devre reddettiyse (yarı açıkta deneme hakları dolu veya devre tekrar açıldı) sonraki sayfalar beklemeli
+            if (claimed.size() < pageSize || result.deferred() > 0) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private List<NotificationLog> claimDue() {
+        LocalDateTime now = LocalDateTime.now();
+        List<NotificationLog> due = notificationLogRepository
+                .findByNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(now, Limit.of(pageSize));
+        for (NotificationLog notificationLog : due) {
+            notificationLog.setNextAttemptAt(now.plus(lease));
+        }
+        return due;
+    }
+
+    private RetryRunResult retry(List<NotificationLog> claimed) {
+        List<Outcome> previousOutcomes = new ArrayList<>(claimed.size());
+        List<CompletableFuture<SendOutcome>> sends = new ArrayList<>(claimed.size());
+        for (NotificationLog notificationLog : claimed) {
+            previousOutcomes.add(Outcome.of(notificationLog));
+            sends.add(CompletableFuture.supplyAsync(() -> send(notificationLog), sendExecutor));
+        }
+
+        int succeeded = 0;
+        int rescheduled = 0;
+        int parked = 0;
+        int deferred = 0;
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < claimed.size(); i++) {
+            NotificationLog notificationLog = claimed.get(i);
+            SendOutcome outcome = sends.get(i).join();
+            if (outcome == SendOutcome.SENT) {
+                notificationLog.setAttemptCount(notificationLog.getAttemptCount() + 1);
+                notificationLog.setEmailSent(true);
+                notificationLog.setDeferred(false);
+                notificationLog.setSentAt(now);
+                notificationLog.setNextAttemptAt(null);
+                notificationLog.setErrorMessage(null);
+                succeeded++;
+            } else if (outcome == SendOutcome.DEFERRED) {
+                deferred++;
+            } else {
+                recordFailedAttempt(notificationLog);
+                if (notificationLog.getParked()) {
+                    parked++;
+                } else {
+                    rescheduled++;
+                }
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            notificationBodyService.storeBodies(claimed);
+            notificationLogRepository.saveAll(claimed);
+            for (int i = 0; i < claimed.size(); i++) {
+                notificationStatisticsService.recordTransition(previousOutcomes.get(i), claimed.get(i));
+            }
+        });
+        return new RetryRunResult(claimed.size() - deferred, succeeded, rescheduled, parked, deferred);
+    }
+
+    private SendOutcome send(NotificationLog notificationLog) {
+        try {
+            // İlk denemede kaydedilen gövde tekrar gönderilir, gövdesi olmayan kayıtlar için yeniden render edilir
+            notificationBodyService.loadBody(notificationLog);
+            boolean emailSent = emailService.sendPersonelChangeNotification(notificationLog);
+            if (!emailSent) {
+                notificationLog.setErrorMessage("Email gönderimi başarısız");
+            }
+            return emailSent ? SendOutcome.SENT : SendOutcome.FAILED;
+        } catch (MailDeferredException e) {
+            recordDeferred(notificationLog, e.getMessage());
+            return SendOutcome.DEFERRED;
+        } catch (Exception e) {
+            notificationLog.setErrorMessage("Hata: " + e.getMessage());
+            logger.error("Notification tekrar gönderilirken hata oluştu: ID={}, Hata={}",
+                    notificationLog.getId(), e.getMessage());
+            return SendOutcome.FAILED;
+        }
+    }
+
+    // Üstel bekleme (initial-backoff * 2^(deneme-1), en fazla max-backoff), yarısı sabit yarısı rastgele
+    private Duration backoff(int attempts) {
+        long exponentialMillis = initialBackoff.toMillis() << Math.min(attempts - 1, 30);
+        long cappedMillis = Math.min(maxBackoff.toMillis(), exponentialMillis > 0 ? exponentialMillis : Long.MAX_VALUE);
+        long half = cappedMillis / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1));
+    }
+}
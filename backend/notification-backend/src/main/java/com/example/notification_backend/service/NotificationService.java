@@ -1,19 +1,39 @@
 package com.example.notification_backend.service;
 
+import com.example.notification_backend.dto.CursorPageDTO;
+import com.example.notification_backend.dto.NotificationLogSummaryDTO;
 import com.example.notification_backend.dto.NotificationRequest;
-import com.example.notification_backend.dto.PersonelNotificationDTO;
+import com.example.notification_backend.dto.RetryJobDTO;
+import com.example.notification_backend.dto.StatisticsBucketDTO;
 import com.example.notification_backend.entity.NotificationLog;
+import com.example.notification_backend.mail.EmailRenderer;
+import com.example.notification_backend.mail.MailDeferredException;
 import com.example.notification_backend.repository.NotificationLogRepository;
+import com.example.notification_backend.service.NotificationCursorCodec.Cursor;
+import com.example.notification_backend.service.NotificationStatisticsService.Granularity;
+import com.example.notification_backend.service.NotificationStatisticsService.Outcome;
+import com.example.personel_events.PersonelNotificationDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
 
 /**
  * Bildirim işlemlerini yöneten servis sınıfı
@@ -26,6 +46,12 @@ public class NotificationService {
     // Loglama için kullanılan logger instance'ı
     private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
 
+    // Cursor ile listelenen bir sayfadaki azami kayıt sayısı
+    private static final int MAX_CURSOR_PAGE_SIZE = 500;
+
+    // Arşiv sorgusunun döndürdüğü azami kayıt sayısı
+    private static final int MAX_ARCHIVE_RESULTS = 1000;
+
     // Bildirim loglarını kaydetmek için repository
     @Autowired
     private NotificationLogRepository notificationLogRepository;
@@ -34,15 +60,172 @@ public class NotificationService {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private EmailRenderer emailRenderer;
+
+    // Email gövdeleri notification_log yerine sıkıştırılmış olarak notification_body'de tutulur
+    @Autowired
+    private NotificationBodyService notificationBodyService;
+
+    // Başarısız gönderimlerin tekrar deneme zamanlaması
+    @Autowired
+    private NotificationRetryService notificationRetryService;
+
+    // İstatistikler log yazıldıkça bellekte güncellenir, her istekte COUNT sorgusu çalıştırılmaz
+    @Autowired
+    private NotificationStatisticsService notificationStatisticsService;
+
+    // Broker'ın tekrar teslim ettiği olaylar email gönderilmeden ayıklanır
+    @Autowired
+    private NotificationEventDeduplicator notificationEventDeduplicator;
+
+    // Olaylar email gönderilmeden önce ayrı bir transaction'da sahiplenilir
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Keyset sayfalama token'ları için
+    @Autowired
+    private NotificationCursorCodec notificationCursorCodec;
+
+    // Saklama süresi dolan kayıtlar arşiv segmentlerine taşınır
+    @Autowired
+    private NotificationArchiveService notificationArchiveService;
+
+    // Digest modunda personel bildirimleri tek tek gönderilmez, NotificationDigestService özet olarak gönderir
+    @Value("${app.notification.digest.enabled:false}")
+    private boolean digestEnabled;
+
+    @Value("${app.notification.hr-email:hr@company.com}")
+    private String hrEmail;
+
     /**
      * Personel değişiklik bildirimini işler
-     * Email gönderir ve sonucu log olarak kaydeder
+     * Email gönderir ve sonucu log olarak kaydeder, daha önce işlenmiş olay (eventId) ise hiçbir şey yapmaz
      * @param notification Personel değişiklik bilgisi
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void processPersonelNotification(PersonelNotificationDTO notification) {
-        logger.info("Personel notification işleniyor: {}", notification);
+        processPersonelNotifications(List.of(notification));
+    }
 
-        // Bildirim log kaydı oluştur
+    /**
+     * Birden fazla personel değişiklik bildirimini işler
+     * Yeni olaylar önce kendi transaction'ında log kaydı olarak yazılıp commit edilir (uk_notification_log_event_id
+     * olayı sahiplenir); emailler ancak bu commit'ten sonra, transaction dışında gönderilir ve sonuçlar ikinci bir
+     * transaction'da yazılır. Sahiplenme başarısız olursa (ör. aynı olayı başka bir node kaydettiyse) hiçbir email
+     * gönderilmeden exception fırlatılır; çağıranın tekrar denemesinde kaydedilmiş olaylar atlanır. Sonuçlar
+     * yazılamazsa kayıtlar gönderilmemiş görünür ve tekrar deneme servisi lease süresi sonunda tekrar gönderir
+     * (en az bir kez teslim). Digest modunda ve sırası geçmiş olaylarda email gönderilmez, loglar ilk transaction'da
+     * son haliyle yazılır.
+     * Sonuçlar commit edildikten sonra döner, böylece çağıran listener mesajları ancak loglar kalıcı olunca onaylar.
+     * Daha önce işlenmiş olaylar (tekrar teslimler) email gönderilmeden ve loglanmadan atlanır.
+     * Bekleme kuyruğundan dönen bir mesaj shard'da aynı personelin daha yeni olaylarının arkasına düşebilir
+     * (bkz. RabbitMQConfig.retryQueue); personelin daha yeni bir sürümü (personelVersion) işlenmişse eski olay
+     * gönderilmez, park edilmiş olarak loglanır ve gerekirse retry-failed ile elle gönderilir. Sürüm personnel-backend'de
+     * her commit edilen değişiklikte artar; olay zamanları node saatlerine bağlı olduğu için karşılaştırılmaz.
+     * @param notifications Personel değişiklik bilgileri
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void processPersonelNotifications(List<PersonelNotificationDTO> notifications) {
+        List<NotificationLog> claimed = transactionTemplate.execute(status -> claimNewNotifications(notifications));
+        if (claimed == null || claimed.isEmpty()) {
+            return;
+        }
+        for (NotificationLog notificationLog : claimed) {
+            send(notificationLog);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            notificationBodyService.storeBodies(claimed);
+            notificationLogRepository.saveAll(claimed);
+            notificationStatisticsService.recordCreated(claimed);
+        });
+    }
+
+    /**
+     * Yeni olayların log kayıtlarını yazar (flush), aynı olayın kaydı varsa DataIntegrityViolationException fırlatır
+     * Gönderilecek kayıtlar tekrar deneme lease'iyle yazılır; gönderen node sonucu yazamadan düşerse
+     * tekrar deneme servisi lease sonunda gönderir.
+     * @return Email gönderilecek kayıtlar
+     */
+    private List<NotificationLog> claimNewNotifications(List<PersonelNotificationDTO> notifications) {
+        List<PersonelNotificationDTO> newNotifications = notificationEventDeduplicator.filterNew(notifications);
+        if (newNotifications.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Long> latestVersions = findLatestPersonelVersions(newNotifications);
+        List<NotificationLog> notificationLogs = new ArrayList<>(newNotifications.size());
+        List<NotificationLog> claimed = new ArrayList<>(newNotifications.size());
+        for (PersonelNotificationDTO notification : newNotifications) {
+            if (isStale(notification, latestVersions)) {
+                notificationLogs.add(createStaleLog(notification));
+            } else if (digestEnabled) {
+                notificationLogs.add(createDigestPendingLog(notification));
+            } else {
+                NotificationLog notificationLog = createLog(notification);
+                notificationRetryService.recordClaimed(notificationLog);
+                claimed.add(notificationLog);
+            }
+        }
+        notificationStatisticsService.recordCreated(notificationLogs);
+        notificationLogs.addAll(claimed);
+        notificationLogRepository.saveAllAndFlush(notificationLogs);
+        return claimed;
+    }
+
+    /**
+     * Bildirimlerin personelleri için kaydedilmiş en yeni personel sürümlerini okur
+     * @return personelId -> en yeni personelVersion (isStale batch içindeki olaylarla günceller)
+     */
+    private Map<Long, Long> findLatestPersonelVersions(List<PersonelNotificationDTO> notifications) {
+        Set<Long> personelIds = new HashSet<>();
+        for (PersonelNotificationDTO notification : notifications) {
+            if (notification.getPersonelVersion() != null && notification.getPersonelId() != null) {
+                personelIds.add(notification.getPersonelId());
+            }
+        }
+        Map<Long, Long> latestVersions = new HashMap<>();
+        if (!personelIds.isEmpty()) {
+            for (Object[] row : notificationLogRepository.findLatestPersonelVersions(personelIds)) {
+                latestVersions.put((Long) row[0], (Long) row[1]);
+            }
+        }
+        return latestVersions;
+    }
+
+    /**
+     * Personelin bu olaydan daha yeni bir sürümü işlenmiş mi kontrol eder, değilse olayı en yeni olarak işaretler
+     * Sürümü olmayan (eski) mesajlar kontrol edilmez.
+     */
+    private static boolean isStale(PersonelNotificationDTO notification, Map<Long, Long> latestVersions) {
+        Long version = notification.getPersonelVersion();
+        if (version == null || notification.getPersonelId() == null) {
+            return false;
+        }
+        Long latest = latestVersions.get(notification.getPersonelId());
+        if (latest != null && latest > version) {
+            return true;
+        }
+        latestVersions.put(notification.getPersonelId(), version);
+        return false;
+    }
+
+    /**
+     * Sırası geçmiş olayın gönderilmeyen, park edilmiş (henüz kaydedilmemiş) log kaydını oluşturur
+     * @param notification Personel değişiklik bilgisi
+     * @return NotificationLog - Kaydedilecek log
+     */
+    private NotificationLog createStaleLog(PersonelNotificationDTO notification) {
+        logger.warn("Personelin daha yeni bir olayı işlendiği için bildirim gönderilmedi: Event ID={}, Personel ID={}, Sürüm={}",
+                notification.getEventId(), notification.getPersonelId(), notification.getPersonelVersion());
+        NotificationLog notificationLog = createLog(notification);
+        notificationLog.setRecipientEmail(hrEmail);
+        notificationLog.setParked(true);
+        notificationLog.setErrorMessage("Personelin daha yeni bir olayından sonra geldi, gönderilmedi");
+        return notificationLog;
+    }
+
+    // Olay bilgilerini taşıyan (henüz kaydedilmemiş) log kaydı
+    private static NotificationLog createLog(PersonelNotificationDTO notification) {
         NotificationLog notificationLog = new NotificationLog(
                 notification.getPersonelId(),
                 notification.getAd(),
@@ -51,53 +234,78 @@ public class NotificationService {
                 notification.getOperationType(),
                 notification.getChangedFields()
         );
+        notificationLog.setEventId(notification.getEventId());
+        notificationLog.setPersonelVersion(notification.getPersonelVersion());
+        return notificationLog;
+    }
+
+    /**
+     * Sahiplenilen log kaydının emailini gönderir ve sonucu (henüz kaydedilmemiş) kayda yazar
+     * Email hataları yakalanır ve log kaydına yazılır, bu metot exception fırlatmaz
+     * @param notificationLog claimNewNotifications ile yazılmış log
+     */
+    private void send(NotificationLog notificationLog) {
+        logger.info("Personel notification işleniyor: Event ID={}, Personel ID={}, Operation={}",
+                notificationLog.getEventId(), notificationLog.getPersonelId(), notificationLog.getOperationType());
 
         try {
-            // Email gönderme işlemi
-            boolean emailSent = emailService.sendPersonelChangeNotification(
-                    notification.getPersonelId(),
-                    notification.getAd(),
-                    notification.getSoyad(),
-                    notification.getEmail(),
-                    notification.getOperationType(),
-                    notification.getChangedFields()
-            );
+            // Email gönderme işlemi, render edilen gövde log kaydına yazılır
+            boolean emailSent = emailService.sendPersonelChangeNotification(notificationLog);
 
             // Log kaydını email gönderim sonucuna göre güncelle
             notificationLog.setEmailSent(emailSent);
             
             if (emailSent) {
+                notificationLog.setAttemptCount(1);
                 // Başarılı gönderim durumu
                 notificationLog.setSentAt(LocalDateTime.now());
-                notificationLog.setEmailSubject(createSubject(notification.getOperationType(), 
-                                                            notification.getAd(), notification.getSoyad()));
+                notificationLog.setNextAttemptAt(null);
+                notificationLog.setEmailSubject(emailRenderer.createSubject(notificationLog.getOperationType(),
+                                                            notificationLog.getPersonelAd(), notificationLog.getPersonelSoyad()));
                 notificationLog.setRecipientEmail("hr@company.com"); // HR departmanına gönder
                 logger.info("Email başarıyla gönderildi ve log kaydedildi: Personel ID={}", 
-                           notification.getPersonelId());
+                           notificationLog.getPersonelId());
             } else {
                 // Başarısız gönderim durumu
                 notificationLog.setErrorMessage("Email gönderimi başarısız");
-                logger.error("Email gönderimi başarısız: Personel ID={}", notification.getPersonelId());
+                notificationRetryService.recordFailedAttempt(notificationLog);
+                logger.error("Email gönderimi başarısız: Personel ID={}", notificationLog.getPersonelId());
             }
 
+        } catch (MailDeferredException e) {
+            // SMTP'ye gidilmedi, devre kapanınca tekrar deneme servisi gönderecek
+            notificationRetryService.recordDeferred(notificationLog, e.getMessage());
         } catch (Exception e) {
             // Hata durumunda log kaydını güncelle
             notificationLog.setEmailSent(false);
             notificationLog.setErrorMessage("Hata: " + e.getMessage());
+            notificationRetryService.recordFailedAttempt(notificationLog);
             logger.error("Notification işlenirken hata oluştu: Personel ID={}, Hata={}", 
-                        notification.getPersonelId(), e.getMessage(), e);
-        } finally {
-            // Her durumda log kaydını veritabanına kaydet
-            notificationLogRepository.save(notificationLog);
+                        notificationLog.getPersonelId(), e.getMessage(), e);
         }
     }
 
+    /**
+     * Bir sonraki özet emailinde gönderilecek (henüz kaydedilmemiş) log kaydını oluşturur
+     * @param notification Personel değişiklik bilgisi
+     * @return NotificationLog - Kaydedilecek log
+     */
+    private NotificationLog createDigestPendingLog(PersonelNotificationDTO notification) {
+        logger.debug("Personel notification özete ekleniyor: {}", notification);
+        NotificationLog notificationLog = createLog(notification);
+        notificationLog.setRecipientEmail(hrEmail);
+        notificationLog.setDigestPending(true);
+        return notificationLog;
+    }
+
     /**
      * Doğrudan bildirim gönderir (API endpoint'ten çağrılır)
+     * SMTP devre kesicisi açıksa email beklemeden ertelenir ve kaydedilir.
      * @param request Bildirim gönderme isteği
+     * @return NotificationLog - Kaydedilen log, ertelendiyse deferred=true
      * @throws RuntimeException Email gönderilemezse
      */
-    public void sendDirectNotification(NotificationRequest request) {
+    public NotificationLog sendDirectNotification(NotificationRequest request) {
         logger.info("Doğrudan notification gönderiliyor: {}", request);
 
         // Bildirim log kaydı oluştur
@@ -116,22 +324,16 @@ public class NotificationService {
 
         try {
             // Email gönderme işlemi
-            boolean emailSent = emailService.sendPersonelChangeNotification(
-                    request.getPersonelId(),
-                    request.getPersonelAd(),
-                    request.getPersonelSoyad(),
-                    request.getPersonelEmail(),
-                    request.getOperationType(),
-                    request.getChangedFields()
-            );
+            boolean emailSent = emailService.sendPersonelChangeNotification(notificationLog);
 
             // Log kaydını güncelle
             notificationLog.setEmailSent(emailSent);
             
             if (emailSent) {
+                notificationLog.setAttemptCount(1);
                 // Başarılı gönderim
                 notificationLog.setSentAt(LocalDateTime.now());
-                notificationLog.setEmailSubject(createSubject(request.getOperationType(), 
+                notificationLog.setEmailSubject(emailRenderer.createSubject(request.getOperationType(), 
                                                             request.getPersonelAd(), request.getPersonelSoyad()));
                 notificationLog.setRecipientEmail(recipientEmail);
                 logger.info("Email başarıyla gönderildi ve log kaydedildi: Personel ID={}", 
@@ -139,20 +341,27 @@ public class NotificationService {
             } else {
                 // Başarısız gönderim
                 notificationLog.setErrorMessage("Email gönderimi başarısız");
+                notificationRetryService.recordFailedAttempt(notificationLog);
                 logger.error("Email gönderimi başarısız: Personel ID={}", request.getPersonelId());
             }
 
+        } catch (MailDeferredException e) {
+            notificationRetryService.recordDeferred(notificationLog, e.getMessage());
         } catch (Exception e) {
             // Hata durumu
             notificationLog.setEmailSent(false);
             notificationLog.setErrorMessage("Hata: " + e.getMessage());
+            notificationRetryService.recordFailedAttempt(notificationLog);
             logger.error("Doğrudan notification gönderilirken hata oluştu: Personel ID={}, Hata={}", 
                         request.getPersonelId(), e.getMessage(), e);
             throw new RuntimeException("Notification gönderilemedi: " + e.getMessage(), e);
         } finally {
             // Log kaydını kaydet
+            notificationBodyService.storeBodies(List.of(notificationLog));
             notificationLogRepository.save(notificationLog);
+            notificationStatisticsService.recordCreated(List.of(notificationLog));
         }
+        return notificationLog;
     }
 
     /**
@@ -180,7 +389,7 @@ public class NotificationService {
      */
     @Transactional(readOnly = true)
     public List<NotificationLog> getFailedNotifications() {
-        return notificationLogRepository.findByEmailSentFalse();
+        return notificationLogRepository.findByEmailSentFalseAndDigestPendingFalse();
     }
 
     /**
@@ -215,80 +424,166 @@ public class NotificationService {
     }
 
     /**
-     * Başarısız olan bildirimleri tekrar göndermeyi dener
-     * Toplu işlem olarak çalışır
+     * Bildirim özetlerini cursor (keyset) sayfalama ile yeniden eskiye listeler
+     * @param cursor Önceki sayfanın nextCursor değeri, ilk sayfa için null
+     * @param size Sayfa boyutu (en fazla 500)
+     * @return CursorPageDTO<NotificationLogSummaryDTO> - Bildirim özetleri
      */
-    public void retryFailedNotifications() {
-        logger.info("Başarısız olan notification'lar tekrar deneniyor...");
-        
-        // Başarısız bildirimleri bul
-        List<NotificationLog> failedNotifications = notificationLogRepository.findByEmailSentFalse();
-        
-        // Her başarısız bildirim için tekrar deneme yap
-        for (NotificationLog log : failedNotifications) {
-            try {
-                // Email göndermeyi tekrar dene
-                boolean emailSent = emailService.sendPersonelChangeNotification(
-                        log.getPersonelId(),
-                        log.getPersonelAd(),
-                        log.getPersonelSoyad(),
-                        log.getPersonelEmail(),
-                        log.getOperationType(),
-                        log.getChangedFields()
-                );
-
-                // Başarılı ise log kaydını güncelle
-                if (emailSent) {
-                    log.setEmailSent(true);
-                    log.setSentAt(LocalDateTime.now());
-                    log.setErrorMessage(null); // Hata mesajını temizle
-                    notificationLogRepository.save(log);
-                    logger.info("Başarısız notification tekrar gönderildi: ID={}", log.getId());
-                }
-
-            } catch (Exception e) {
-                logger.error("Notification tekrar gönderilirken hata oluştu: ID={}, Hata={}", 
-                            log.getId(), e.getMessage());
-            }
+    @Transactional(readOnly = true)
+    public CursorPageDTO<NotificationLogSummaryDTO> getNotificationsByCursor(String cursor, int size) {
+        return getCursorPage(cursor, size, (position, limit) ->
+                notificationLogRepository.findSummariesBefore(position.createdAt(), position.id(), limit));
+    }
+
+    /**
+     * Başarısız bildirimlerin özetlerini cursor (keyset) sayfalama ile yeniden eskiye listeler
+     * @param cursor Önceki sayfanın nextCursor değeri, ilk sayfa için null
+     * @param size Sayfa boyutu (en fazla 500)
+     * @return CursorPageDTO<NotificationLogSummaryDTO> - Başarısız bildirim özetleri
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<NotificationLogSummaryDTO> getFailedNotificationsByCursor(String cursor, int size) {
+        return getCursorPage(cursor, size, (position, limit) ->
+                notificationLogRepository.findFailedSummariesBefore(position.createdAt(), position.id(), limit));
+    }
+
+    /**
+     * Personele ait bildirimlerin özetlerini cursor (keyset) sayfalama ile yeniden eskiye listeler
+     * @param personelId Personel ID'si
+     * @param cursor Önceki sayfanın nextCursor değeri, ilk sayfa için null
+     * @param size Sayfa boyutu (en fazla 500)
+     * @return CursorPageDTO<NotificationLogSummaryDTO> - Personele ait bildirim özetleri
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<NotificationLogSummaryDTO> getNotificationsByPersonelIdByCursor(Long personelId, String cursor,
+                                                                                         int size) {
+        return getCursorPage(cursor, size, (position, limit) -> notificationLogRepository
+                .findSummariesByPersonelIdBefore(personelId, position.createdAt(), position.id(), limit));
+    }
+
+    /**
+     * İşlem türüne ait bildirimlerin özetlerini cursor (keyset) sayfalama ile yeniden eskiye listeler
+     * @param operationType Operasyon tipi (CREATE, UPDATE, DELETE)
+     * @param cursor Önceki sayfanın nextCursor değeri, ilk sayfa için null
+     * @param size Sayfa boyutu (en fazla 500)
+     * @return CursorPageDTO<NotificationLogSummaryDTO> - İşlem türüne ait bildirim özetleri
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<NotificationLogSummaryDTO> getNotificationsByOperationTypeByCursor(String operationType,
+                                                                                            String cursor, int size) {
+        return getCursorPage(cursor, size, (position, limit) -> notificationLogRepository
+                .findSummariesByOperationTypeBefore(operationType, position.createdAt(), position.id(), limit));
+    }
+
+    /**
+     * Bildirimin tüm alanlarını getirir, email gövdesi notification_body'den açılarak emailContent'e yüklenir
+     * @param id Bildirim ID'si
+     * @return NotificationLog - Bildirim logu, bulunamazsa null
+     */
+    @Transactional(readOnly = true)
+    public NotificationLog getNotificationById(Long id) {
+        NotificationLog notificationLog = notificationLogRepository.findById(id).orElse(null);
+        if (notificationLog != null) {
+            notificationBodyService.loadBody(notificationLog);
         }
+        return notificationLog;
+    }
+
+    /**
+     * Arşive taşınmış bildirimleri oluşturulma zamanına göre (sınırlar dahil) getirir
+     * @param personelId Verilirse sadece bu personelin bildirimleri
+     * @param startDate Başlangıç tarihi
+     * @param endDate Bitiş tarihi
+     * @param limit En fazla dönecek kayıt sayısı (en fazla MAX_ARCHIVE_RESULTS)
+     * @return List<NotificationLog> - Eskiden yeniye sıralı arşiv kayıtları
+     */
+    public List<NotificationLog> getArchivedNotifications(Long personelId, LocalDateTime startDate,
+                                                          LocalDateTime endDate, int limit) {
+        return notificationArchiveService.findArchivedNotifications(personelId, startDate, endDate,
+                Math.max(1, Math.min(limit, MAX_ARCHIVE_RESULTS)));
+    }
+
+    // Sonraki sayfanın olup olmadığını anlamak için bir fazla kayıt okunur
+    private CursorPageDTO<NotificationLogSummaryDTO> getCursorPage(
+            String cursor, int size, BiFunction<Cursor, Limit, List<NotificationLogSummaryDTO>> query) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        List<NotificationLogSummaryDTO> rows = query.apply(notificationCursorCodec.decode(cursor), Limit.of(pageSize + 1));
+        if (rows.size() <= pageSize) {
+            return new CursorPageDTO<>(rows, false, null);
+        }
+        List<NotificationLogSummaryDTO> content = new ArrayList<>(rows.subList(0, pageSize));
+        NotificationLogSummaryDTO last = content.get(pageSize - 1);
+        return new CursorPageDTO<>(content, true, notificationCursorCodec.encode(last.getCreatedAt(), last.getId()));
+    }
+
+    /**
+     * Başarısız ve park edilmiş tüm bildirimleri arka planda tekrar gönderen işi başlatır
+     * İşin bitmesi beklenmez, durum getRetryJob ile sorgulanır
+     * @return RetryJobDTO - Başlatılan işin durumu
+     */
+    public RetryJobDTO retryFailedNotifications() {
+        logger.info("Başarısız olan notification'lar için tekrar deneme işi başlatılıyor...");
+        return notificationRetryService.submitRetryJob();
+    }
+
+    /**
+     * Tekrar deneme işinin durumunu döner
+     * @param jobId İş ID'si
+     * @return RetryJobDTO - İşin durumu, bulunamazsa null
+     */
+    public RetryJobDTO getRetryJob(String jobId) {
+        return notificationRetryService.getRetryJob(jobId);
+    }
+
+    /**
+     * Azami deneme sayısına ulaşıp park edilen bildirim sayısını döner
+     * @return long - Park edilen bildirim sayısı
+     */
+    public long getParkedNotificationCount() {
+        return notificationStatisticsService.count(Outcome.PARKED);
+    }
+
+    /**
+     * SMTP devre kesicisi açıkken ertelenen ve henüz gönderilmemiş bildirim sayısını döner
+     * @return long - Ertelenen bildirim sayısı
+     */
+    public long getDeferredNotificationCount() {
+        return notificationStatisticsService.count(Outcome.DEFERRED);
     }
 
     /**
      * Başarılı gönderilen bildirim sayısını döner
      * @return long - Başarılı bildirim sayısı
      */
-    @Transactional(readOnly = true)
     public long getSuccessfulNotificationCount() {
-        return notificationLogRepository.countSuccessfulNotifications();
+        return notificationStatisticsService.count(Outcome.SENT);
     }
 
     /**
-     * Başarısız olan bildirim sayısını döner
+     * Başarısız olan (park edilen ve ertelenenler dahil) bildirim sayısını döner
      * @return long - Başarısız bildirim sayısı
      */
-    @Transactional(readOnly = true)
     public long getFailedNotificationCount() {
-        return notificationLogRepository.countFailedNotifications();
+        return notificationStatisticsService.count(Outcome.FAILED)
+                + notificationStatisticsService.count(Outcome.PARKED)
+                + notificationStatisticsService.count(Outcome.DEFERRED);
     }
 
     /**
-     * Operasyon tipine ve personel adına göre email konu başlığı oluşturur
-     * @param operationType Operasyon tipi
-     * @param ad Personel adı
-     * @param soyad Personel soyadı
-     * @return String - Email konu başlığı
+     * Digest modunda özet emailini bekleyen bildirim sayısını döner
+     * @return long - Bekleyen bildirim sayısı
      */
-    private String createSubject(String operationType, String ad, String soyad) {
-        String fullName = ad + " " + soyad;
-        switch (operationType.toUpperCase()) {
-            case "CREATE":
-                return "Yeni Personel Eklendi: " + fullName;
-            case "UPDATE":
-                return "Personel Bilgileri Güncellendi: " + fullName;
-            case "DELETE":
-                return "Personel Silindi: " + fullName;
-            default:
-                return "Personel Değişikliği: " + fullName;
-        }
+    public long getDigestPendingNotificationCount() {
+        return notificationStatisticsService.count(Outcome.DIGEST_PENDING);
+    }
+
+    /**
+     * Son window süresindeki bildirim sayılarını zaman dilimlerine göre döner
+     * @param window İstenen süre
+     * @param granularity Zaman dilimi uzunluğu
+     * @return List<StatisticsBucketDTO> - Eskiden yeniye zaman dilimleri
+     */
+    public List<StatisticsBucketDTO> getStatisticsTimeSeries(Duration window, Granularity granularity) {
+        return notificationStatisticsService.getTimeSeries(window, granularity);
     }
 }
@@ -0,0 +1,337 @@
+package com.example.notification_backend.service;
+
+import com.example.notification_backend.dto.StatisticsBucketDTO;
+import com.example.notification_backend.entity.NotificationLog;
+import com.example.notification_backend.mail.OperationType;
+import com.example.notification_backend.repository.NotificationLogRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bildirim istatistiklerini her istekte COUNT sorgusu çalıştırmadan bellekte tutar
+ * Toplamlar kayıtların güncel durumunu (Outcome) sayar: veritabanından refresh-interval aralıklarla okunan
+ * sayılara bu node'un son okumadan sonraki değişiklikleri eklenir. Log yazan servisler her ekleme ve durum
+ * değişikliğini transaction commit edildikten sonra bildirir, böylece geri alınan yazmalar sayılmaz. Diğer
+ * node'ların yazdıkları bir sonraki okumada toplamlara yansır, yani tüm node'lar en geç refresh-interval
+ * sonra aynı toplamları döner.
+ * Dakikalık ve saatlik halka tamponlar (son minute-buckets dakika, son hour-buckets saat) o zaman diliminde
+ * kayıtların geçtiği durumları işlem türü bazında sayar. Tamponlar node'a özeldir: açılışta veritabanındaki
+ * tüm kayıtlarla doldurulur, sonrasında sadece bu node'un işlediği kayıtları sayar (bkz. getNode).
+ * Sayaçlar kilitsizdir.
+ */
+@Service
+public class NotificationStatisticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationStatisticsService.class);
+
+    /**
+     * Bir log kaydının durumu, her kayıt tek bir duruma aittir
+     */
+    public enum Outcome {
+        SENT, FAILED, PARKED, DEFERRED, DIGEST_PENDING;
+
+        /**
+         * @param notificationLog Log kaydı
+         * @return Kaydın güncel durumu
+         */
+        public static Outcome of(NotificationLog notificationLog) {
+            return of(notificationLog.getEmailSent(), notificationLog.getParked(),
+                    notificationLog.getDeferred(), notificationLog.getDigestPending());
+        }
+
+        private static Outcome of(Boolean emailSent, Boolean parked, Boolean deferred, Boolean digestPending) {
+            if (Boolean.TRUE.equals(digestPending)) {
+                return DIGEST_PENDING;
+            }
+            if (Boolean.TRUE.equals(emailSent)) {
+                return SENT;
+            }
+            if (Boolean.TRUE.equals(parked)) {
+                return PARKED;
+            }
+            return Boolean.TRUE.equals(deferred) ? DEFERRED : FAILED;
+        }
+    }
+
+    /**
+     * Zaman serisi çözünürlüğü
+     */
+    public enum Granularity {
+        MINUTE(60), HOUR(3600);
+
+        private final long seconds;
+
+        Granularity(long seconds) {
+            this.seconds = seconds;
+        }
+    }
+
+    private static final OperationType[] OPERATION_TYPES = OperationType.values();
+    private static final Outcome[] OUTCOMES = Outcome.values();
+    private static final int COUNTERS = OPERATION_TYPES.length * OUTCOMES.length;
+
+    @Autowired
+    private NotificationLogRepository notificationLogRepository;
+
+    @Value("${app.notification.statistics.minute-buckets:120}")
+    private int minuteBuckets;
+
+    @Value("${app.notification.statistics.hour-buckets:48}")
+    private int hourBuckets;
+
+    // Zaman serisi yanıtlarında dilimleri sayan node'un adı
+    @Value("${app.notification.statistics.node-name:${HOSTNAME:local}}")
+    private String node;
+
+    // Son veritabanı okumasındaki sayılar ve bu node'da o okumadan sonra commit edilen değişiklikler
+    private volatile long[] baseline = new long[OUTCOMES.length];
+    private final LongAdder[] deltas = new LongAdder[OUTCOMES.length];
+    private RollingCounter minutes;
+    private RollingCounter hours;
+
+    /**
+     * Toplamları ve saklama süresi içindeki zaman dilimlerini veritabanından doldurur
+     * Geçmiş kayıtların ara durumları saklanmadığı için her kayıt güncel durumuyla; gönderilenler sentAt,
+     * diğerleri createdAt zamanına sayılır.
+     */
+    @PostConstruct
+    public void init() {
+        minutes = new RollingCounter(Granularity.MINUTE, minuteBuckets);
+        hours = new RollingCounter(Granularity.HOUR, hourBuckets);
+        for (int i = 0; i < deltas.length; i++) {
+            deltas[i] = new LongAdder();
+        }
+        reloadTotals();
+
+        LocalDateTime since = LocalDateTime.now()
+                .minus(Duration.ofSeconds(Math.max(minuteBuckets * Granularity.MINUTE.seconds,
+                        hourBuckets * Granularity.HOUR.seconds)));
+        long seeded = 0;
+        for (Object[] row : notificationLogRepository.countByMinuteSince(since)) {
+            Outcome outcome = Outcome.of((Boolean) row[1], (Boolean) row[2], (Boolean) row[3], (Boolean) row[4]);
+            LocalDateTime minute = LocalDateTime.of(((Number) row[5]).intValue(), ((Number) row[6]).intValue(),
+                    ((Number) row[7]).intValue(), ((Number) row[8]).intValue(), ((Number) row[9]).intValue());
+            long count = ((Number) row[10]).longValue();
+            add(epochSecond(minute), OperationType.from((String) row[0]), outcome, count);
+            seeded += count;
+        }
+        logger.info("Notification istatistikleri yüklendi: {} kayıt, son {} saatte {} kayıt",
+                total(), Duration.between(since, LocalDateTime.now()).toHours(), seeded);
+    }
+
+    /**
+     * Toplamları veritabanından yeniden okur
+     * Diğer node'ların değişikliklerini almak için refresh-interval aralıklarla, toplu UPDATE gibi kayıt kayıt
+     * bildirilmeyen değişikliklerden sonra da hemen çağrılır.
+     * Sorgudan önce commit edilip sayılan değişiklikler sorgu sonucunda yer aldığı için farklardan düşülür,
+     * sorgu sırasında sayılanlar farklarda kalır. Sorgu sırasında commit edilen bir değişiklik hem sonuçta hem
+     * farkta yer alabilir; bu fazlalık bir sonraki okumada düzelir, güncelleme kaybolmaz.
+     */
+    @Scheduled(fixedDelayString = "${app.notification.statistics.refresh-interval:PT30S}",
+            initialDelayString = "${app.notification.statistics.refresh-interval:PT30S}")
+    public synchronized void reloadTotals() {
+        long[] counted = new long[OUTCOMES.length];
+        for (int i = 0; i < deltas.length; i++) {
+            counted[i] = deltas[i].sum();
+        }
+        long[] counts = new long[OUTCOMES.length];
+        for (Object[] row : notificationLogRepository.countByState()) {
+            Outcome outcome = Outcome.of((Boolean) row[0], (Boolean) row[1], (Boolean) row[2], (Boolean) row[3]);
+            counts[outcome.ordinal()] += ((Number) row[4]).longValue();
+        }
+        for (int i = 0; i < deltas.length; i++) {
+            deltas[i].add(-counted[i]);
+        }
+        baseline = counts;
+    }
+
+    /**
+     * Yeni kaydedilen log kayıtlarını sayar (commit sonrasında)
+     * @param notificationLogs Kaydedilen log kayıtları
+     */
+    public void recordCreated(List<NotificationLog> notificationLogs) {
+        List<OperationType> operationTypes = new ArrayList<>(notificationLogs.size());
+        List<Outcome> outcomes = new ArrayList<>(notificationLogs.size());
+        for (NotificationLog notificationLog : notificationLogs) {
+            operationTypes.add(OperationType.from(notificationLog.getOperationType()));
+            outcomes.add(Outcome.of(notificationLog));
+        }
+        afterCommit(() -> {
+            long now = epochSecond(LocalDateTime.now());
+            for (int i = 0; i < outcomes.size(); i++) {
+                deltas[outcomes.get(i).ordinal()].increment();
+                add(now, operationTypes.get(i), outcomes.get(i), 1);
+            }
+        });
+    }
+
+    /**
+     * Log kaydının durum değişikliğini sayar (commit sonrasında)
+     * Durum aynı kalsa da (ör. tekrar başarısız olan deneme) zaman dilimine sayılır, sadece tekrar ertelenen
+     * (SMTP'ye gidilmeyen) kayıtlar sayılmaz.
+     * @param previous Kaydın değişiklikten önceki durumu
+     * @param notificationLog Güncellenen log kaydı
+     */
+    public void recordTransition(Outcome previous, NotificationLog notificationLog) {
+        Outcome current = Outcome.of(notificationLog);
+        if (previous == Outcome.DEFERRED && current == Outcome.DEFERRED) {
+            return;
+        }
+        OperationType operationType = OperationType.from(notificationLog.getOperationType());
+        afterCommit(() -> {
+            deltas[previous.ordinal()].decrement();
+            deltas[current.ordinal()].increment();
+            add(epochSecond(LocalDateTime.now()), operationType, current, 1);
+        });
+    }
+
+    /**
+     * @param outcome Durum
+     * @return Bu durumdaki kayıt sayısı
+     */
+    public long count(Outcome outcome) {
+        return baseline[outcome.ordinal()] + deltas[outcome.ordinal()].sum();
+    }
+
+    /**
+     * @return Tüm kayıtların sayısı
+     */
+    public long total() {
+        long total = 0;
+        for (Outcome outcome : OUTCOMES) {
+            total += count(outcome);
+        }
+        return total;
+    }
+
+    /**
+     * @return Zaman serisini sayan node'un adı (app.notification.statistics.node-name, varsayılanı HOSTNAME)
+     */
+    public String getNode() {
+        return node;
+    }
+
+    /**
+     * Bu node'un son window süresindeki zaman dilimlerini eskiden yeniye döner, içinde bulunulan dilim dahildir
+     * @param window İstenen süre, saklama süresini aşan kısmı kırpılır
+     * @param granularity Zaman dilimi uzunluğu
+     * @return Her zaman dilimi için işlem türü ve duruma göre sayılar (kayıt olmayan dilimler dahil)
+     */
+    public List<StatisticsBucketDTO> getTimeSeries(Duration window, Granularity granularity) {
+        RollingCounter counter = granularity == Granularity.MINUTE ? minutes : hours;
+        long bucketCount = Math.min(counter.size(), Math.max(1, window.toSeconds() / granularity.seconds));
+        long currentKey = epochSecond(LocalDateTime.now()) / granularity.seconds;
+
+        List<StatisticsBucketDTO> buckets = new ArrayList<>((int) bucketCount);
+        for (long key = currentKey - bucketCount + 1; key <= currentKey; key++) {
+            long[] counts = counter.snapshot(key);
+            Map<String, Map<String, Long>> byOperationType = new LinkedHashMap<>();
+            long total = 0;
+            for (int i = 0; i < COUNTERS; i++) {
+                if (counts[i] > 0) {
+                    byOperationType.computeIfAbsent(OPERATION_TYPES[i / OUTCOMES.length].name(), type -> new LinkedHashMap<>())
+                            .put(OUTCOMES[i % OUTCOMES.length].name(), counts[i]);
+                    total += counts[i];
+                }
+            }
+            LocalDateTime start = LocalDateTime.ofEpochSecond(key * granularity.seconds, 0, ZoneOffset.UTC);
+            buckets.add(new StatisticsBucketDTO(node, start, total, byOperationType));
+        }
+        return buckets;
+    }
+
+    private void add(long epochSecond, OperationType operationType, Outcome outcome, long delta) {
+        int index = operationType.ordinal() * OUTCOMES.length + outcome.ordinal();
+        minutes.add(epochSecond, index, delta);
+        hours.add(epochSecond, index, delta);
+    }
+
+    // Aktif transaction yoksa (ör. sayaçlar transaction dışında güncellenirse) hemen uygulanır
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    // Log zamanları LocalDateTime olduğu için dilimler sunucu saatine göre hizalanır
+    private static long epochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Sabit sayıda zaman diliminden oluşan halka; bir dilimin yuvası yeni bir dilime geçince
+     * eski sayaçlar CAS ile yeni boş bir Bucket'la değiştirilir
+     */
+    private static final class RollingCounter {
+
+        private record Bucket(long key, AtomicLongArray counts) {
+        }
+
+        private final long unitSeconds;
+        private final AtomicReferenceArray<Bucket> slots;
+
+        private RollingCounter(Granularity granularity, int size) {
+            this.unitSeconds = granularity.seconds;
+            this.slots = new AtomicReferenceArray<>(size);
+        }
+
+        private int size() {
+            return slots.length();
+        }
+
+        private void add(long epochSecond, int index, long delta) {
+            long key = epochSecond / unitSeconds;
+            int slot = (int) Math.floorMod(key, (long) slots.length());
+            Bucket bucket = slots.get(slot);
+            while (bucket == null || bucket.key() != key) {
+                if (bucket != null && bucket.key() > key) {
+                    // Dilim saklama süresinin dışında kaldı
+                    return;
+                }
+                Bucket fresh = new Bucket(key, new AtomicLongArray(COUNTERS));
+                if (slots.compareAndSet(slot, bucket, fresh)) {
+                    bucket = fresh;
+                } else {
+                    bucket = slots.get(slot);
+                }
+            }
+            bucket.counts().addAndGet(index, delta);
+        }
+
+        private long[] snapshot(long key) {
+            long[] counts = new long[COUNTERS];
+            Bucket bucket = slots.get((int) Math.floorMod(key, (long) slots.length()));
+            if (bucket != null && bucket.key() == key) {
+                for (int i = 0; i < COUNTERS; i++) {
+                    counts[i] = bucket.counts().get(i);
+                }
+            }
+            return counts;
+        }
+    }
+}
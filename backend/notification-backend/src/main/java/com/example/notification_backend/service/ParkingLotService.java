@@ -0,0 +1,163 @@
+package com.example.notification_backend.service;
+
+import com.example.notification_backend.config.RabbitMQConfig;
+import com.example.notification_backend.dto.ParkedMessageDTO;
+import com.example.notification_backend.listener.PersonelNotificationRecoverer;
+import com.example.personel_events.PersonelEventFormat;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.GetResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.DefaultMessagePropertiesConverter;
+import org.springframework.amqp.rabbit.support.MessagePropertiesConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * personel.notification.parking-lot kuyruğundaki mesajları listeler ve geldikleri kuyruğa geri gönderir
+ * Listeleme mesajları tüketmez: mesajlar onaylanmadan alınır ve aynı sırayla kuyruğa geri bırakılır.
+ * Geri gönderilen mesajların tekrar deneme başlıkları silinir, böylece bekleme kuyruklarından baştan geçerler.
+ */
+@Service
+public class ParkingLotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParkingLotService.class);
+
+    private static final MessagePropertiesConverter PROPERTIES_CONVERTER = new DefaultMessagePropertiesConverter();
+
+    private static final List<String> RETRY_HEADERS = List.of(
+            RabbitMQConfig.RETRY_TARGET_HEADER,
+            PersonelNotificationRecoverer.RETRY_COUNT_HEADER,
+            PersonelNotificationRecoverer.ORIGINAL_EXCHANGE_HEADER,
+            PersonelNotificationRecoverer.ORIGINAL_ROUTING_KEY_HEADER,
+            PersonelNotificationRecoverer.EXCEPTION_HEADER,
+            PersonelNotificationRecoverer.FAILED_AT_HEADER,
+            "x-death", "x-first-death-exchange", "x-first-death-queue", "x-first-death-reason",
+            "x-last-death-exchange", "x-last-death-queue", "x-last-death-reason");
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private AmqpAdmin amqpAdmin;
+
+    @Value("${app.notification.dead-letter.confirm-timeout:PT5S}")
+    private Duration confirmTimeout;
+
+    /**
+     * @return Parking-lot'taki mesaj sayısı, kuyruk yoksa 0
+     */
+    public long getParkedMessageCount() {
+        QueueInformation queueInformation = amqpAdmin.getQueueInfo(RabbitMQConfig.PERSONEL_PARKING_LOT_QUEUE);
+        return queueInformation != null ? queueInformation.getMessageCount() : 0;
+    }
+
+    /**
+     * Parking-lot'un başındaki mesajları tüketmeden getirir
+     * @param limit En fazla getirilecek mesaj sayısı
+     * @return Mesaj özetleri (kuyruktaki sırayla)
+     */
+    public List<ParkedMessageDTO> getParkedMessages(int limit) {
+        return rabbitTemplate.execute(channel -> {
+            List<ParkedMessageDTO> parkedMessages = new ArrayList<>();
+            long lastDeliveryTag = -1;
+            try {
+                while (parkedMessages.size() < limit) {
+                    GetResponse response = channel.basicGet(RabbitMQConfig.PERSONEL_PARKING_LOT_QUEUE, false);
+                    if (response == null) {
+                        break;
+                    }
+                    lastDeliveryTag = response.getEnvelope().getDeliveryTag();
+                    parkedMessages.add(toParkedMessage(response));
+                }
+            } finally {
+                if (lastDeliveryTag >= 0) {
+                    channel.basicNack(lastDeliveryTag, true, true);
+                }
+            }
+            return parkedMessages;
+        });
+    }
+
+    /**
+     * Parking-lot'un başındaki mesajları geldikleri exchange'e özgün routing key ile geri gönderir
+     * Mesajlar broker confirm'inden sonra parking-lot'tan silinir; özgün exchange başlığı olmayan mesajlar yerinde kalır.
+     * @param limit En fazla geri gönderilecek mesaj sayısı
+     * @return Geri gönderilen mesaj sayısı
+     */
+    public int replayParkedMessages(int limit) {
+        Integer replayed = rabbitTemplate.execute(channel -> {
+            List<Long> replayedTags = new ArrayList<>();
+            List<Long> skippedTags = new ArrayList<>();
+            while (replayedTags.size() + skippedTags.size() < limit) {
+                GetResponse response = channel.basicGet(RabbitMQConfig.PERSONEL_PARKING_LOT_QUEUE, false);
+                if (response == null) {
+                    break;
+                }
+                long deliveryTag = response.getEnvelope().getDeliveryTag();
+                MessageProperties properties = toMessageProperties(response);
+                String exchange = properties.getHeader(PersonelNotificationRecoverer.ORIGINAL_EXCHANGE_HEADER);
+                String routingKey = properties.getHeader(PersonelNotificationRecoverer.ORIGINAL_ROUTING_KEY_HEADER);
+                if (exchange == null || routingKey == null) {
+                    skippedTags.add(deliveryTag);
+                    continue;
+                }
+                Map<String, Object> headers = new HashMap<>(response.getProps().getHeaders());
+                RETRY_HEADERS.forEach(headers::remove);
+                AMQP.BasicProperties replayProperties = response.getProps().builder().headers(headers).build();
+                channel.basicPublish(exchange, routingKey, replayProperties, response.getBody());
+                replayedTags.add(deliveryTag);
+            }
+
+            if (!replayedTags.isEmpty()) {
+                channel.waitForConfirmsOrDie(confirmTimeout.toMillis());
+                for (long deliveryTag : replayedTags) {
+                    channel.basicAck(deliveryTag, false);
+                }
+            }
+            for (long deliveryTag : skippedTags) {
+                channel.basicNack(deliveryTag, false, true);
+            }
+            if (!skippedTags.isEmpty()) {
+                logger.warn("Özgün exchange bilgisi olmayan {} mesaj parking-lot'ta bırakıldı", skippedTags.size());
+            }
+            return replayedTags.size();
+        });
+        int count = replayed != null ? replayed : 0;
+        logger.info("Parking-lot'tan {} mesaj geri gönderildi", count);
+        return count;
+    }
+
+    private ParkedMessageDTO toParkedMessage(GetResponse response) {
+        MessageProperties properties = toMessageProperties(response);
+        Number retryCount = properties.getHeader(PersonelNotificationRecoverer.RETRY_COUNT_HEADER);
+
+        ParkedMessageDTO parkedMessage = new ParkedMessageDTO();
+        parkedMessage.setMessageId(properties.getMessageId());
+        parkedMessage.setOriginalExchange(properties.getHeader(PersonelNotificationRecoverer.ORIGINAL_EXCHANGE_HEADER));
+        parkedMessage.setOriginalRoutingKey(properties.getHeader(PersonelNotificationRecoverer.ORIGINAL_ROUTING_KEY_HEADER));
+        parkedMessage.setRetryCount(retryCount != null ? retryCount.intValue() : 0);
+        parkedMessage.setExceptionMessage(properties.getHeader(PersonelNotificationRecoverer.EXCEPTION_HEADER));
+        parkedMessage.setFailedAt(properties.getHeader(PersonelNotificationRecoverer.FAILED_AT_HEADER));
+        // Smile gövdeler okunabilmesi için JSON olarak gösterilir
+        parkedMessage.setPayload(PersonelEventFormat.toJson(response.getBody(), properties.getContentType()));
+        return parkedMessage;
+    }
+
+    private MessageProperties toMessageProperties(GetResponse response) {
+        return PROPERTIES_CONVERTER.toMessageProperties(response.getProps(), response.getEnvelope(),
+                StandardCharsets.UTF_8.name());
+    }
+}
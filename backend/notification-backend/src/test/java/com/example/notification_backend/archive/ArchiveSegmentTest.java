@@ -0,0 +1,124 @@
+package com.example.notification_backend.archive;
+
+import com.example.notification_backend.entity.NotificationLog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArchiveSegmentTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 11, 3, 9, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void blocksRoundTripWithIndex() throws IOException {
+        Path file = directory.resolve("segment" + ArchiveSegment.FILE_SUFFIX);
+        List<NotificationLog> first = List.of(log(1L, 10L, T0), log(2L, 11L, T0.plusMinutes(5)));
+        List<NotificationLog> second = List.of(log(3L, 10L, T0.plusHours(2)), log(4L, 12L, T0.plusHours(3)));
+
+        ArchiveSegment.Index written;
+        try (ArchiveSegmentWriter writer = new ArchiveSegmentWriter(file)) {
+            writer.writeBlock(first);
+            writer.writeBlock(second);
+            written = writer.finish();
+        }
+
+        ArchiveSegment.Index index = ArchiveSegment.readIndex(file);
+        assertEquals(4, index.rows());
+        assertEquals(T0, index.fromCreatedAt());
+        assertEquals(T0.plusHours(3), index.toCreatedAt());
+        assertEquals(2, index.blocks().size());
+        assertEquals(written.blocks().get(1).offset(), index.blocks().get(1).offset());
+        assertArrayEquals(new long[] {10L, 12L}, index.blocks().get(1).personelIds());
+
+        List<NotificationLog> block = ArchiveSegment.readBlock(file, index.blocks().get(1));
+        assertEquals(List.of(3L, 4L), block.stream().map(NotificationLog::getId).toList());
+        NotificationLog restored = block.get(0);
+        assertEquals(T0.plusHours(2), restored.getCreatedAt());
+        assertEquals("<p>Ayşe Işık, Departman</p>", restored.getEmailContent());
+        assertEquals("ik@firma.com.tr", restored.getRecipientEmail());
+        assertTrue(restored.getEmailSent());
+    }
+
+    @Test
+    void blockIndexMatchesTimeRangeAndPersonel() {
+        ArchiveSegment.BlockIndex block = new ArchiveSegment.BlockIndex(4, 100, 3, T0, T0.plusHours(1),
+                new long[] {5L, 10L, 20L});
+
+        // Sınırlar dahil
+        assertTrue(block.matches(null, T0.plusHours(1), T0.plusHours(2)));
+        assertTrue(block.matches(null, T0.minusHours(1), T0));
+        assertTrue(block.matches(10L, T0.minusDays(1), T0.plusDays(1)));
+        assertFalse(block.matches(11L, T0.minusDays(1), T0.plusDays(1)));
+        assertFalse(block.matches(null, T0.plusHours(1).plusSeconds(1), T0.plusHours(2)));
+        assertFalse(block.matches(5L, T0.minusHours(2), T0.minusSeconds(1)));
+    }
+
+    @Test
+    void indexOverlapsDateRange() {
+        ArchiveSegment.Index index = new ArchiveSegment.Index(1, T0, T0.plusDays(1), List.of());
+
+        assertTrue(index.overlaps(T0.minusDays(1), T0));
+        assertTrue(index.overlaps(T0.plusHours(1), T0.plusHours(2)));
+        assertFalse(index.overlaps(T0.plusDays(1).plusNanos(1), T0.plusDays(2)));
+    }
+
+    @Test
+    void unfinishedSegmentLeavesNoFile() throws IOException {
+        Path file = directory.resolve("unfinished" + ArchiveSegment.FILE_SUFFIX);
+        try (ArchiveSegmentWriter writer = new ArchiveSegmentWriter(file)) {
+            writer.writeBlock(List.of(log(1L, 10L, T0)));
+        }
+
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void emptySegmentIsRejected() throws IOException {
+        try (ArchiveSegmentWriter writer = new ArchiveSegmentWriter(directory.resolve("empty" + ArchiveSegment.FILE_SUFFIX))) {
+            writer.writeBlock(List.of());
+            assertThrows(IllegalStateException.class, writer::finish);
+        }
+    }
+
+    @Test
+    void truncatedSegmentIsRejected() throws IOException {
+        Path file = directory.resolve("truncated" + ArchiveSegment.FILE_SUFFIX);
+        try (ArchiveSegmentWriter writer = new ArchiveSegmentWriter(file)) {
+            writer.writeBlock(List.of(log(1L, 10L, T0)));
+            writer.finish();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 1);
+        }
+
+        assertThrows(IOException.class, () -> ArchiveSegment.readIndex(file));
+    }
+
+    private static NotificationLog log(Long id, Long personelId, LocalDateTime createdAt) {
+        NotificationLog log = new NotificationLog(personelId, "Ayşe", "Işık", "ayse@firma.com.tr", "UPDATE", "Departman");
+        log.setId(id);
+        log.setCreatedAt(createdAt);
+        log.setEmailSent(true);
+        log.setRecipientEmail("ik@firma.com.tr");
+        log.setEmailContent("<p>Ayşe Işık, Departman</p>");
+        return log;
+    }
+}
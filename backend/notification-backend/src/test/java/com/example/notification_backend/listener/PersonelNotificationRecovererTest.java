@@ -0,0 +1,133 @@
+package com.example.notification_backend.listener;
+
+import com.example.notification_backend.config.RabbitMQConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PersonelNotificationRecovererTest {
+
+    private static final String SHARD_ROUTING_KEY = RabbitMQConfig.shardRoutingKey(2);
+
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final RabbitOperations operations = mock(RabbitOperations.class);
+    private PersonelNotificationRecoverer recoverer;
+
+    @BeforeEach
+    void setUp() {
+        recoverer = new PersonelNotificationRecoverer();
+        ReflectionTestUtils.setField(recoverer, "rabbitTemplate", rabbitTemplate);
+        ReflectionTestUtils.setField(recoverer, "retryDelays",
+                List.of(Duration.ofSeconds(10), Duration.ofMinutes(1), Duration.ofMinutes(10)));
+        ReflectionTestUtils.setField(recoverer, "confirmTimeout", Duration.ofSeconds(5));
+        when(rabbitTemplate.invoke(any())).thenAnswer(invocation ->
+                invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(operations));
+    }
+
+    @Test
+    void firstFailureGoesToFirstRetryQueueWithOriginalRoutingKey() {
+        Message message = message(null);
+
+        recoverer.recover(message, new IllegalStateException("SMTP yok"));
+
+        Message sent = sentMessages(1).get(0);
+        MessageProperties properties = sent.getMessageProperties();
+        assertEquals("personel.notification.retry.10s", properties.getHeader(RabbitMQConfig.RETRY_TARGET_HEADER));
+        assertEquals(1, (int) properties.getHeader(PersonelNotificationRecoverer.RETRY_COUNT_HEADER));
+        assertEquals(RabbitMQConfig.PERSONEL_EXCHANGE,
+                properties.getHeader(PersonelNotificationRecoverer.ORIGINAL_EXCHANGE_HEADER));
+        assertEquals(SHARD_ROUTING_KEY, properties.getHeader(PersonelNotificationRecoverer.ORIGINAL_ROUTING_KEY_HEADER));
+        verify(operations).waitForConfirmsOrDie(5000);
+    }
+
+    @Test
+    void laterFailuresUseNextDelayAndKeepOriginalRoutingKey() {
+        Message message = message(1);
+        message.getMessageProperties().setHeader(PersonelNotificationRecoverer.ORIGINAL_ROUTING_KEY_HEADER, SHARD_ROUTING_KEY);
+        message.getMessageProperties().setHeader(PersonelNotificationRecoverer.ORIGINAL_EXCHANGE_HEADER,
+                RabbitMQConfig.PERSONEL_EXCHANGE);
+        // Bekleme kuyruğundan dönen mesajın alındığı routing key özgün key ile aynı olmayabilir
+        message.getMessageProperties().setReceivedRoutingKey("baska.key");
+
+        recoverer.recover(message, new IllegalStateException("SMTP yok"));
+
+        MessageProperties properties = sentMessages(1).get(0).getMessageProperties();
+        assertEquals("personel.notification.retry.60s", properties.getHeader(RabbitMQConfig.RETRY_TARGET_HEADER));
+        assertEquals(2, (int) properties.getHeader(PersonelNotificationRecoverer.RETRY_COUNT_HEADER));
+    }
+
+    @Test
+    void exhaustedRetriesGoToParkingLot() {
+        Message message = message(3);
+
+        recoverer.recover(message, new IllegalStateException("SMTP yok"));
+
+        MessageProperties properties = sentMessages(1).get(0).getMessageProperties();
+        assertEquals(RabbitMQConfig.PERSONEL_PARKING_LOT_QUEUE, properties.getHeader(RabbitMQConfig.RETRY_TARGET_HEADER));
+        assertEquals(3, (int) properties.getHeader(PersonelNotificationRecoverer.RETRY_COUNT_HEADER));
+    }
+
+    @Test
+    void unreadableMessageGoesStraightToParkingLot() {
+        Message message = message(null);
+
+        recoverer.recover(message, new ListenerExecutionFailedException("listener",
+                new MessageConversionException("okunamadı"), message));
+
+        MessageProperties properties = sentMessages(1).get(0).getMessageProperties();
+        assertEquals(RabbitMQConfig.PERSONEL_PARKING_LOT_QUEUE, properties.getHeader(RabbitMQConfig.RETRY_TARGET_HEADER));
+        String exception = properties.getHeader(PersonelNotificationRecoverer.EXCEPTION_HEADER);
+        assertTrue(exception.startsWith(MessageConversionException.class.getName()));
+    }
+
+    @Test
+    void batchIsSentInOneConfirmedOperation() {
+        recoverer.recover(List.of(message(null), message(2)), new IllegalStateException("SMTP yok"));
+
+        List<Message> sent = sentMessages(2);
+        assertEquals("personel.notification.retry.10s",
+                sent.get(0).getMessageProperties().getHeader(RabbitMQConfig.RETRY_TARGET_HEADER));
+        assertEquals("personel.notification.retry.600s",
+                sent.get(1).getMessageProperties().getHeader(RabbitMQConfig.RETRY_TARGET_HEADER));
+        verify(rabbitTemplate, times(1)).invoke(any());
+        verify(operations, times(1)).waitForConfirmsOrDie(anyLong());
+    }
+
+    private List<Message> sentMessages(int count) {
+        ArgumentCaptor<Message> captor = ArgumentCaptor.forClass(Message.class);
+        verify(operations, times(count)).send(eq(RabbitMQConfig.PERSONEL_DEAD_LETTER_EXCHANGE), eq(SHARD_ROUTING_KEY),
+                captor.capture());
+        return captor.getAllValues();
+    }
+
+    private static Message message(Integer retryCount) {
+        MessageProperties properties = new MessageProperties();
+        properties.setReceivedExchange(RabbitMQConfig.PERSONEL_EXCHANGE);
+        properties.setReceivedRoutingKey(SHARD_ROUTING_KEY);
+        properties.setConsumerQueue(RabbitMQConfig.shardQueueName(2));
+        if (retryCount != null) {
+            properties.setHeader(PersonelNotificationRecoverer.RETRY_COUNT_HEADER, retryCount);
+        }
+        return new Message("{}".getBytes(), properties);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.notification_backend.mail;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmailBodyCodecTest {
+
+    private static final String TEMPLATE = "<html><body><h2>Personel Bilgi Değişikliği</h2>"
+            + "<table><tr><td>Ad Soyad</td><td>{ad}</td></tr><tr><td>Email</td><td>{email}</td></tr>"
+            + "<tr><td>İşlem</td><td>{islem}</td></tr><tr><td>Değişen alanlar</td><td>{alanlar}</td></tr></table>"
+            + "<p>Bu email İnsan Kaynakları sistemi tarafından otomatik olarak gönderilmiştir.</p></body></html>";
+
+    private static final byte[] DICTIONARY = TEMPLATE.getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void roundTripWithDictionary() {
+        EmailBodyCodec codec = new EmailBodyCodec(DICTIONARY);
+        String body = body("Ayşe Işık", "ayse.isik@firma.com.tr");
+
+        assertEquals(body, codec.decompress(codec.compress(body), utf8Length(body)));
+    }
+
+    @Test
+    void roundTripWithoutDictionary() {
+        EmailBodyCodec codec = new EmailBodyCodec(null);
+        String body = body("Çağrı Öz", "cagri@firma.com.tr");
+
+        assertEquals(body, codec.decompress(codec.compress(body), utf8Length(body)));
+    }
+
+    @Test
+    void roundTripLargerThanBuffer() {
+        EmailBodyCodec codec = new EmailBodyCodec(DICTIONARY);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            builder.append(body("Personel " + i, "personel" + i + "@firma.com.tr"));
+        }
+        String body = builder.toString();
+
+        assertEquals(body, codec.decompress(codec.compress(body), utf8Length(body)));
+    }
+
+    @Test
+    void dictionaryShrinksSingleBody() {
+        String body = body("Ahmet Demir", "ahmet.demir@firma.com.tr");
+
+        int withDictionary = new EmailBodyCodec(DICTIONARY).compress(body).length;
+        int withoutDictionary = new EmailBodyCodec(null).compress(body).length;
+
+        assertTrue(withDictionary * 2 < withoutDictionary,
+                "sözlüklü " + withDictionary + " byte, sözlüksüz " + withoutDictionary + " byte");
+    }
+
+    @Test
+    void bodyCompressedWithDictionaryNeedsSameDictionary() {
+        String body = body("Ahmet Demir", "ahmet.demir@firma.com.tr");
+        byte[] compressed = new EmailBodyCodec(DICTIONARY).compress(body);
+
+        assertThrows(IllegalStateException.class,
+                () -> new EmailBodyCodec(null).decompress(compressed, utf8Length(body)));
+        assertThrows(IllegalStateException.class,
+                () -> new EmailBodyCodec("başka bir sözlük".getBytes(StandardCharsets.UTF_8))
+                        .decompress(compressed, utf8Length(body)));
+    }
+
+    @Test
+    void corruptOrTruncatedDataIsRejected() {
+        EmailBodyCodec codec = new EmailBodyCodec(DICTIONARY);
+        String body = body("Ahmet Demir", "ahmet.demir@firma.com.tr");
+        byte[] compressed = codec.compress(body);
+        byte[] truncated = Arrays.copyOf(compressed, compressed.length / 2);
+
+        assertThrows(IllegalStateException.class, () -> codec.decompress(truncated, utf8Length(body)));
+        assertThrows(IllegalStateException.class, () -> codec.decompress(new byte[] {1, 2, 3, 4}, 10));
+        // Kayıtlı uzunluk gövdeden büyükse eksik okunan gövde döndürülmez
+        assertThrows(IllegalStateException.class, () -> codec.decompress(compressed, utf8Length(body) + 1));
+    }
+
+    @Test
+    void hashIdentifiesEqualBodies() {
+        String body = body("Ahmet Demir", "ahmet.demir@firma.com.tr");
+
+        assertEquals(EmailBodyCodec.hash(body), EmailBodyCodec.hash(new String(body)));
+        assertNotEquals(EmailBodyCodec.hash(body), EmailBodyCodec.hash(body + " "));
+        assertTrue(EmailBodyCodec.hash(body).matches("[0-9a-f]{64}"));
+    }
+
+    private static String body(String ad, String email) {
+        return TEMPLATE.replace("{ad}", ad).replace("{email}", email).replace("{islem}", "UPDATE")
+                .replace("{alanlar}", "Departman, Pozisyon");
+    }
+
+    private static int utf8Length(String body) {
+        return body.getBytes(StandardCharsets.UTF_8).length;
+    }
+}
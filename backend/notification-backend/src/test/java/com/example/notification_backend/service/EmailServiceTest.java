@@ -0,0 +1,105 @@
+package com.example.notification_backend.service;
+
+import com.example.notification_backend.entity.NotificationLog;
+import com.example.notification_backend.mail.EmailRenderer;
+import com.example.notification_backend.mail.MailDeferredException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmailServiceTest {
+
+    private final JavaMailSender mailSender = mock(JavaMailSender.class);
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+
+    @Test
+    void openBreakerDefersWithoutWaitingForFullBulkhead() {
+        EmailService emailService = emailService(Duration.ofSeconds(5));
+        Bulkhead bulkhead = (Bulkhead) ReflectionTestUtils.getField(emailService, "bulkhead");
+        assertTrue(bulkhead.tryAcquirePermission());
+        circuitBreakerRegistry.circuitBreaker(EmailService.SMTP).transitionToOpenState();
+
+        long started = System.nanoTime();
+        MailDeferredException e = assertThrows(MailDeferredException.class,
+                () -> emailService.sendPersonelChangeNotification(notificationLog()));
+
+        assertInstanceOf(CallNotPermittedException.class, e.getCause());
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).compareTo(Duration.ofSeconds(1)) < 0);
+        verify(mailSender, never()).send(any(MimeMessage.class));
+    }
+
+    @Test
+    void fullBulkheadDefersWithoutCountingAsBreakerFailure() {
+        EmailService emailService = emailService(Duration.ZERO);
+        Bulkhead bulkhead = (Bulkhead) ReflectionTestUtils.getField(emailService, "bulkhead");
+        assertTrue(bulkhead.tryAcquirePermission());
+
+        MailDeferredException e = assertThrows(MailDeferredException.class,
+                () -> emailService.sendPersonelChangeNotification(notificationLog()));
+
+        assertInstanceOf(BulkheadFullException.class, e.getCause());
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(EmailService.SMTP);
+        assertEquals(0, circuitBreaker.getMetrics().getNumberOfBufferedCalls());
+        verify(mailSender, never()).send(any(MimeMessage.class));
+    }
+
+    @Test
+    void sendsWhenBreakerClosedAndSlotFree() {
+        EmailService emailService = emailService(Duration.ZERO);
+
+        assertTrue(emailService.sendPersonelChangeNotification(notificationLog()));
+
+        verify(mailSender).send(any(MimeMessage.class));
+        assertEquals(1, circuitBreakerRegistry.circuitBreaker(EmailService.SMTP).getMetrics().getNumberOfSuccessfulCalls());
+    }
+
+    private EmailService emailService(Duration bulkheadWait) {
+        when(mailSender.createMimeMessage()).thenAnswer(invocation ->
+                new MimeMessage(Session.getInstance(new Properties())));
+        EmailRenderer emailRenderer = mock(EmailRenderer.class);
+        when(emailRenderer.createSubject(anyString(), anyString(), anyString())).thenReturn("Personel güncellendi");
+        when(emailRenderer.renderPersonelNotification(anyLong(), anyString(), anyString(), anyString(), anyString(),
+                anyString())).thenReturn("<p>Departman</p>");
+
+        EmailService emailService = new EmailService();
+        ReflectionTestUtils.setField(emailService, "mailSender", mailSender);
+        ReflectionTestUtils.setField(emailService, "emailRenderer", emailRenderer);
+        ReflectionTestUtils.setField(emailService, "fromEmail", "noreply@firma.com.tr");
+        ReflectionTestUtils.setField(emailService, "hrEmail", "ik@firma.com.tr");
+        ReflectionTestUtils.setField(emailService, "circuitBreakerRegistry", circuitBreakerRegistry);
+        ReflectionTestUtils.setField(emailService, "bulkheadRegistry", BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(bulkheadWait)
+                .build()));
+        emailService.init();
+        return emailService;
+    }
+
+    private static NotificationLog notificationLog() {
+        return new NotificationLog(7L, "Ahmet", "Demir", "ahmet@firma.com.tr", "UPDATE", "Departman");
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.notification_backend.service;
+
+import com.example.notification_backend.archive.ArchiveSegment;
+import com.example.notification_backend.archive.ArchiveSegmentWriter;
+import com.example.notification_backend.entity.NotificationLog;
+import com.example.notification_backend.entity.SchedulerLock;
+import com.example.notification_backend.repository.NotificationBodyRepository;
+import com.example.notification_backend.repository.NotificationDigestRepository;
+import com.example.notification_backend.repository.NotificationLogRepository;
+import com.example.notification_backend.repository.SchedulerLockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// NotificationDigestServiceTest ile aynı ayarlar, Spring context'i paylaşılır
+@SpringBootTest(properties = {
+        "app.notification.digest.window=PT5M",
+        "app.notification.digest.flush-interval=PT1H",
+        "app.notification.retention.enabled=false"
+})
+class NotificationArchiveServiceTest {
+
+    private static final String ARCHIVE_LOCK = "notification-archive";
+
+    @Autowired
+    private NotificationArchiveService notificationArchiveService;
+
+    @Autowired
+    private NotificationLogRepository notificationLogRepository;
+
+    @Autowired
+    private NotificationDigestRepository notificationDigestRepository;
+
+    @Autowired
+    private SchedulerLockRepository schedulerLockRepository;
+
+    @Autowired
+    private NotificationBodyService notificationBodyService;
+
+    @Autowired
+    private NotificationBodyRepository notificationBodyRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @TempDir
+    Path archiveDir;
+
+    @BeforeEach
+    void setUp() {
+        notificationLogRepository.deleteAll();
+        notificationDigestRepository.deleteAll();
+        setLock(null, LocalDateTime.of(1970, 1, 1, 0, 0));
+        ReflectionTestUtils.setField(notificationArchiveService, "archiveDir", archiveDir.toString());
+    }
+
+    @Test
+    void archivesAndDeletesExpiredLogs() throws IOException {
+        saveSent(7L, LocalDateTime.now().minusDays(100));
+        saveSent(8L, LocalDateTime.now().minusDays(95));
+        saveSent(7L, LocalDateTime.now().minusDays(1));
+
+        int archived = notificationArchiveService.archiveExpired(LocalDateTime.now().minusDays(90));
+
+        assertEquals(2, archived);
+        assertEquals(1, notificationLogRepository.count());
+        List<NotificationLog> found = notificationArchiveService.findArchivedNotifications(7L,
+                LocalDateTime.now().minusDays(200), LocalDateTime.now(), 10);
+        assertEquals(1, found.size());
+        assertEquals(7L, found.get(0).getPersonelId());
+    }
+
+    @Test
+    void limitedQueryIncludesOlderRowsArchivedByLaterRun() throws IOException {
+        LocalDateTime now = LocalDateTime.now();
+        Long oldest = saveSent(7L, now.minusDays(100));
+        Long retried = saveSent(7L, now.minusDays(98));
+        saveSent(7L, now.minusDays(96));
+        // Tekrar denemedeki kayıt ilk turda arşivlenmez, sonraki turda daha yeni kayıtlardan sonra arşivlenir
+        jdbcTemplate.update("UPDATE notification_log SET next_attempt_at = ? WHERE id = ?", now, retried);
+        assertEquals(2, notificationArchiveService.archiveExpired(now.minusDays(90)));
+        jdbcTemplate.update("UPDATE notification_log SET next_attempt_at = NULL WHERE id = ?", retried);
+        assertEquals(1, notificationArchiveService.archiveExpired(now.minusDays(90)));
+
+        List<NotificationLog> found = notificationArchiveService.findArchivedNotifications(7L,
+                now.minusDays(200), now, 2);
+
+        assertEquals(2, found.size());
+        assertEquals(oldest, found.get(0).getId());
+        assertEquals(retried, found.get(1).getId());
+    }
+
+    @Test
+    void returnsCopyFromNewestSegmentForRowArchivedTwice() throws IOException {
+        LocalDateTime now = LocalDateTime.now();
+        saveSent(7L, now.minusDays(100));
+        notificationArchiveService.archiveExpired(now.minusDays(90));
+        NotificationLog archived = notificationArchiveService.findArchivedNotifications(7L,
+                now.minusDays(200), now, 10).get(0);
+
+        // Silinemeyip önceki bir turda arşivlenmiş eski kopya: adı önce sıralanır ama daha önce yazılmıştır
+        archived.setErrorMessage("eski kopya");
+        Path stale = archiveDir.resolve("notification-log-00000000-000000-0" + ArchiveSegment.FILE_SUFFIX);
+        try (ArchiveSegmentWriter writer = new ArchiveSegmentWriter(stale)) {
+            writer.writeBlock(List.of(archived));
+            writer.finish();
+        }
+        Files.setLastModifiedTime(stale, FileTime.fromMillis(0));
+
+        List<NotificationLog> found = notificationArchiveService.findArchivedNotifications(7L,
+                now.minusDays(200), now, 10);
+
+        assertEquals(1, found.size());
+        assertNull(found.get(0).getErrorMessage());
+    }
+
+    @Test
+    void skipsRunWhileAnotherNodeHoldsLease() throws IOException {
+        saveSent(7L, LocalDateTime.now().minusDays(100));
+        setLock("diger-node", LocalDateTime.now().plusMinutes(30));
+
+        int archived = notificationArchiveService.archiveExpired(LocalDateTime.now().minusDays(90));
+
+        assertEquals(0, archived);
+        assertEquals(1, notificationLogRepository.count());
+        assertEquals("diger-node", schedulerLockRepository.findById(ARCHIVE_LOCK).orElseThrow().getLockedBy());
+    }
+
+    @Test
+    void takesOverExpiredLease() throws IOException {
+        saveSent(7L, LocalDateTime.now().minusDays(100));
+        setLock("diger-node", LocalDateTime.now().minusMinutes(1));
+
+        assertEquals(1, notificationArchiveService.archiveExpired(LocalDateTime.now().minusDays(90)));
+
+        SchedulerLock lock = schedulerLockRepository.findById(ARCHIVE_LOCK).orElseThrow();
+        assertNotEquals("diger-node", lock.getLockedBy());
+    }
+
+    @Test
+    void bodySharedByUncommittedBatchIsNotDeleted() throws Exception {
+        // Arşivlenip silinen kaydın gövdesi
+        NotificationLog archived = logWithContent("<p>Departman değişti</p>");
+        transactionTemplate.executeWithoutResult(status -> {
+            notificationBodyService.storeBodies(List.of(archived));
+            notificationLogRepository.save(archived);
+        });
+        Long bodyId = archived.getBodyId();
+        notificationLogRepository.deleteById(archived.getId());
+
+        // Aynı gövdeyi paylaşan batch henüz commit edilmemişken arşivleme gövdeyi silmeye çalışır
+        CountDownLatch stored = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> batch = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                NotificationLog shared = logWithContent("<p>Departman değişti</p>");
+                notificationBodyService.storeBodies(List.of(shared));
+                notificationLogRepository.saveAndFlush(shared);
+                stored.countDown();
+                await(commit);
+            }));
+            assertTrue(stored.await(10, TimeUnit.SECONDS));
+            Future<Integer> delete = executor.submit(() -> transactionTemplate.execute(status ->
+                    notificationBodyService.deleteUnreferencedBodies(List.of(bodyId))));
+            Thread.sleep(300);
+            assertFalse(delete.isDone());
+
+            commit.countDown();
+            batch.get(10, TimeUnit.SECONDS);
+            assertEquals(0, delete.get(10, TimeUnit.SECONDS));
+        } finally {
+            commit.countDown();
+            executor.shutdownNow();
+        }
+        assertTrue(notificationBodyRepository.existsById(bodyId));
+    }
+
+    private static NotificationLog logWithContent(String content) {
+        NotificationLog log = new NotificationLog(7L, "Ahmet", "Demir", "ahmet@firma.com.tr", "UPDATE", "Departman");
+        log.setEmailSent(true);
+        log.setEmailContent(content);
+        return log;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void setLock(String lockedBy, LocalDateTime lockedUntil) {
+        jdbcTemplate.update("UPDATE scheduler_lock SET locked_by = ?, locked_until = ? WHERE name = ?",
+                lockedBy, lockedUntil, ARCHIVE_LOCK);
+    }
+
+    private Long saveSent(Long personelId, LocalDateTime createdAt) {
+        NotificationLog log = new NotificationLog(personelId, "Ahmet", "Demir", "ahmet@firma.com.tr", "UPDATE", "Departman");
+        log.setEmailSent(true);
+        log.setSentAt(createdAt);
+        Long id = notificationLogRepository.save(log).getId();
+        // created_at @CreationTimestamp ile yazılır ve güncellenemez, saklama süresi testi için geriye alınır
+        jdbcTemplate.update("UPDATE notification_log SET created_at = ? WHERE id = ?", createdAt, id);
+        return id;
+    }
+}
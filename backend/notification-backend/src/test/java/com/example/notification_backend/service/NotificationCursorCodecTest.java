@@ -0,0 +1,60 @@
+package com.example.notification_backend.service;
+
+import com.example.notification_backend.exception.InvalidCursorException;
+import com.example.notification_backend.service.NotificationCursorCodec.Cursor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationCursorCodecTest {
+
+    private final NotificationCursorCodec codec = new NotificationCursorCodec();
+
+    @Test
+    void roundTripKeepsFullTimestampPrecision() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 3, 2, 10, 15, 30, 123_456_789);
+
+        Cursor cursor = codec.decode(codec.encode(createdAt, 42L));
+
+        assertEquals(new Cursor(createdAt, 42L), cursor);
+    }
+
+    @Test
+    void roundTripWithoutSecondsFraction() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 3, 2, 10, 15);
+
+        assertEquals(new Cursor(createdAt, 7L), codec.decode(codec.encode(createdAt, 7L)));
+    }
+
+    @Test
+    void tokenIsUrlSafe() {
+        String token = codec.encode(LocalDateTime.of(2026, 3, 2, 10, 15, 30, 999_000_000), Long.MAX_VALUE);
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void blankTokenIsFirstPage() {
+        assertSame(Cursor.FIRST, codec.decode(null));
+        assertSame(Cursor.FIRST, codec.decode(""));
+        assertSame(Cursor.FIRST, codec.decode("  "));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"!!!", "2026-03-02T10:15", "2026-03-02T10:15,abc", "tarih,42", ",42"})
+    void malformedTokenIsRejected(String token) {
+        String encoded = token.equals("!!!") ? token
+                : Base64.getUrlEncoder().withoutPadding().encodeToString(token.getBytes(StandardCharsets.US_ASCII));
+
+        assertThrows(InvalidCursorException.class, () -> codec.decode(encoded));
+    }
+}
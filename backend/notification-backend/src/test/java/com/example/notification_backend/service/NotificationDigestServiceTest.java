@@ -0,0 +1,119 @@
+package com.example.notification_backend.service;
+
+import com.example.notification_backend.entity.NotificationLog;
+import com.example.notification_backend.repository.NotificationDigestRepository;
+import com.example.notification_backend.repository.NotificationLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(properties = {
+        "app.notification.digest.window=PT5M",
+        "app.notification.digest.flush-interval=PT1H",
+        "app.notification.retention.enabled=false"
+})
+class NotificationDigestServiceTest {
+
+    private static final String HR = "ik@firma.com.tr";
+
+    @Autowired
+    private NotificationDigestService notificationDigestService;
+
+    @Autowired
+    private NotificationLogRepository notificationLogRepository;
+
+    @Autowired
+    private NotificationDigestRepository notificationDigestRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @BeforeEach
+    void setUp() {
+        notificationLogRepository.deleteAll();
+        notificationDigestRepository.deleteAll();
+    }
+
+    @Test
+    void dueDigestIsSentOnceAndLinked() {
+        when(emailService.sendDigestNotification(eq(HR), anyString(), anyList())).thenReturn(true);
+        savePending(LocalDateTime.now().minusMinutes(10), null);
+        savePending(LocalDateTime.now().minusMinutes(8), null);
+
+        notificationDigestService.flushDueDigests();
+        notificationDigestService.flushDueDigests();
+
+        verify(emailService, times(1)).sendDigestNotification(eq(HR), anyString(), anyList());
+        List<NotificationLog> logs = notificationLogRepository.findAll();
+        assertTrue(logs.stream().allMatch(log -> !log.getDigestPending() && log.getEmailSent()));
+        assertNotNull(logs.get(0).getDigestId());
+        assertEquals(1, notificationDigestRepository.count());
+    }
+
+    @Test
+    void failedDigestBacksOffInsteadOfRetryingEveryFlush() {
+        when(emailService.sendDigestNotification(eq(HR), anyString(), anyList())).thenReturn(false);
+        savePending(LocalDateTime.now().minusMinutes(10), null);
+
+        notificationDigestService.flushDueDigests();
+        notificationDigestService.flushDueDigests();
+
+        verify(emailService, times(1)).sendDigestNotification(eq(HR), anyString(), anyList());
+        NotificationLog log = notificationLogRepository.findAll().get(0);
+        assertTrue(log.getDigestPending());
+        assertEquals(1, log.getAttemptCount());
+        assertTrue(log.getDigestNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(20)));
+    }
+
+    @Test
+    void rowsClaimedByAnotherNodeAreSkipped() {
+        // Başka bir node'un lease'i süresince kayıt alınmaz
+        savePending(LocalDateTime.now().minusMinutes(10), LocalDateTime.now().plusMinutes(5));
+
+        notificationDigestService.flushDueDigests();
+
+        verify(emailService, never()).sendDigestNotification(any(), any(), any());
+        assertFalse(notificationLogRepository.findAll().get(0).getDigestNextAttemptAt().isBefore(LocalDateTime.now()));
+    }
+
+    @Test
+    void digestWaitsForWindow() {
+        savePending(LocalDateTime.now().minusMinutes(1), null);
+
+        notificationDigestService.flushDueDigests();
+
+        verify(emailService, never()).sendDigestNotification(any(), any(), any());
+    }
+
+    private void savePending(LocalDateTime createdAt, LocalDateTime digestNextAttemptAt) {
+        NotificationLog log = new NotificationLog(1L, "Ahmet", "Demir", "ahmet@firma.com.tr", "UPDATE", "Departman");
+        log.setRecipientEmail(HR);
+        log.setDigestPending(true);
+        log.setDigestNextAttemptAt(digestNextAttemptAt);
+        Long id = notificationLogRepository.save(log).getId();
+        // created_at @CreationTimestamp ile yazılır ve güncellenemez, pencere testi için geriye alınır
+        jdbcTemplate.update("UPDATE notification_log SET created_at = ? WHERE id = ?", createdAt, id);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.notification_backend.service;
+
+import com.example.notification_backend.repository.NotificationLogRepository;
+import com.example.personel_events.PersonelNotificationDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationEventDeduplicatorTest {
+
+    private final NotificationLogRepository notificationLogRepository = mock(NotificationLogRepository.class);
+    private NotificationEventDeduplicator deduplicator;
+
+    @BeforeEach
+    void setUp() {
+        deduplicator = new NotificationEventDeduplicator();
+        ReflectionTestUtils.setField(deduplicator, "notificationLogRepository", notificationLogRepository);
+        ReflectionTestUtils.setField(deduplicator, "cacheSize", 2);
+        deduplicator.init();
+        when(notificationLogRepository.findExistingEventIds(anyCollection())).thenReturn(List.of());
+    }
+
+    @Test
+    void duplicatesInBatchAreDroppedInOrder() {
+        PersonelNotificationDTO a = event("a");
+        PersonelNotificationDTO b = event("b");
+
+        assertEquals(List.of(a, b), deduplicator.filterNew(List.of(a, b, event("a"))));
+    }
+
+    @Test
+    void eventsInDatabaseAreDropped() {
+        when(notificationLogRepository.findExistingEventIds(anyCollection())).thenReturn(List.of("a"));
+        PersonelNotificationDTO b = event("b");
+
+        assertEquals(List.of(b), deduplicator.filterNew(List.of(event("a"), b)));
+    }
+
+    @Test
+    void eventsWithoutIdAreKept() {
+        PersonelNotificationDTO first = event(null);
+        PersonelNotificationDTO second = event(null);
+
+        assertEquals(List.of(first, second), deduplicator.filterNew(List.of(first, second)));
+        verify(notificationLogRepository, never()).findExistingEventIds(anyCollection());
+    }
+
+    @Test
+    void acceptedEventsAreRememberedWithoutQuery() {
+        deduplicator.filterNew(List.of(event("a")));
+
+        assertEquals(List.of(), deduplicator.filterNew(List.of(event("a"))));
+        verify(notificationLogRepository, times(1)).findExistingEventIds(anyCollection());
+    }
+
+    @Test
+    void evictedEventsAreLookedUpAgain() {
+        deduplicator.filterNew(List.of(event("a"), event("b"), event("c")));
+        when(notificationLogRepository.findExistingEventIds(anyCollection())).thenReturn(List.of("a"));
+
+        // Önbellekte 2 olay tutulur, "a" çıkarılmıştır ve veritabanında bulunur
+        assertEquals(List.of(), deduplicator.filterNew(List.of(event("a"))));
+        verify(notificationLogRepository, times(2)).findExistingEventIds(anyCollection());
+    }
+
+    @Test
+    void rolledBackEventsAreNotRemembered() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            deduplicator.filterNew(List.of(event("a")));
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Tekrar teslim yeni sayılır
+        assertEquals(1, deduplicator.filterNew(List.of(event("a"))).size());
+    }
+
+    private static PersonelNotificationDTO event(String eventId) {
+        PersonelNotificationDTO notification = new PersonelNotificationDTO(7L, "Ahmet", "Demir", "ahmet@firma.com.tr",
+                "UPDATE", "Departman");
+        notification.setEventId(eventId);
+        return notification;
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.notification_backend.service;
+
+import com.example.notification_backend.entity.NotificationLog;
+import com.example.notification_backend.repository.NotificationDigestRepository;
+import com.example.notification_backend.repository.NotificationLogRepository;
+import com.example.personel_events.PersonelNotificationDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// NotificationDigestServiceTest ile aynı ayarlar, Spring context'i paylaşılır
+@SpringBootTest(properties = {
+        "app.notification.digest.window=PT5M",
+        "app.notification.digest.flush-interval=PT1H",
+        "app.notification.retention.enabled=false"
+})
+class NotificationServiceTest {
+
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationLogRepository notificationLogRepository;
+
+    @Autowired
+    private NotificationDigestRepository notificationDigestRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @BeforeEach
+    void setUp() {
+        notificationLogRepository.deleteAll();
+        notificationDigestRepository.deleteAll();
+        when(emailService.sendPersonelChangeNotification(any())).thenReturn(true);
+    }
+
+    @Test
+    void olderEventArrivingAfterNewerOneIsParkedWithoutEmail() {
+        // Bekleme kuyruğundan dönen eski olay, aynı personelin daha yeni olayından sonra gelir
+        notificationService.processPersonelNotifications(List.of(event(7L, "UPDATE", 2L)));
+        notificationService.processPersonelNotifications(List.of(event(7L, "UPDATE", 1L)));
+
+        verify(emailService, times(1)).sendPersonelChangeNotification(any());
+        List<NotificationLog> logs = logsByPersonelVersion();
+        assertTrue(logs.get(0).getParked());
+        assertFalse(logs.get(0).getEmailSent());
+        assertEquals(1L, logs.get(0).getPersonelVersion());
+        assertTrue(logs.get(1).getEmailSent());
+    }
+
+    @Test
+    void producerClockSkewDoesNotMakeNewerVersionStale() {
+        // Daha yeni değişikliği saati geride olan bir node yazmış
+        PersonelNotificationDTO older = event(7L, "UPDATE", 1L);
+        PersonelNotificationDTO newer = event(7L, "UPDATE", 2L);
+        newer.setTimestamp(older.getTimestamp().minusMinutes(5));
+
+        notificationService.processPersonelNotifications(List.of(older));
+        notificationService.processPersonelNotifications(List.of(newer));
+
+        verify(emailService, times(2)).sendPersonelChangeNotification(any());
+        assertTrue(notificationLogRepository.findAll().stream().allMatch(NotificationLog::getEmailSent));
+    }
+
+    @Test
+    void outOfOrderEventsInOneBatchAreDetected() {
+        notificationService.processPersonelNotifications(List.of(
+                event(7L, "DELETE", 3L),
+                event(8L, "CREATE", 0L),
+                event(7L, "UPDATE", 2L)));
+
+        verify(emailService, times(2)).sendPersonelChangeNotification(any());
+        NotificationLog stale = notificationLogRepository.findAll().stream()
+                .filter(log -> "UPDATE".equals(log.getOperationType()))
+                .findFirst().orElseThrow();
+        assertTrue(stale.getParked());
+    }
+
+    @Test
+    void otherPersonelAndUnversionedEventsAreNotStale() {
+        notificationService.processPersonelNotifications(List.of(event(7L, "UPDATE", 2L)));
+        notificationService.processPersonelNotifications(List.of(event(8L, "UPDATE", 1L), event(7L, "UPDATE", null)));
+
+        verify(emailService, times(3)).sendPersonelChangeNotification(any());
+        assertTrue(notificationLogRepository.findAll().stream().allMatch(NotificationLog::getEmailSent));
+    }
+
+    @Test
+    void retryFailedSkipsRowsClaimedForSending() {
+        LocalDateTime now = LocalDateTime.now();
+        NotificationLog claimed = saveFailed(now.plusMinutes(5), false);
+        NotificationLog failed = saveFailed(null, false);
+        NotificationLog parked = saveFailed(null, true);
+
+        Integer scheduled = transactionTemplate.execute(status ->
+                notificationLogRepository.scheduleAllFailedForRetry(now));
+
+        assertEquals(2, scheduled);
+        // Sahiplenilen kaydın lease'i korunur, dinleyici gönderirken tekrar deneme turu onu almaz
+        assertTrue(notificationLogRepository.findById(claimed.getId()).orElseThrow().getNextAttemptAt().isAfter(now));
+        assertNotNull(notificationLogRepository.findById(failed.getId()).orElseThrow().getNextAttemptAt());
+        assertFalse(notificationLogRepository.findById(parked.getId()).orElseThrow().getParked());
+    }
+
+    @Test
+    void redeliveredEventIsSentOnce() {
+        PersonelNotificationDTO notification = event(7L, "UPDATE", 1L);
+
+        notificationService.processPersonelNotifications(List.of(notification, notification));
+        notificationService.processPersonelNotifications(List.of(notification));
+        notificationService.processPersonelNotification(notification);
+
+        verify(emailService, times(1)).sendPersonelChangeNotification(any());
+        NotificationLog log = notificationLogRepository.findAll().get(0);
+        assertEquals(1, notificationLogRepository.count());
+        assertTrue(log.getEmailSent());
+        assertNull(log.getNextAttemptAt());
+    }
+
+    @Test
+    void failedClaimSendsNothingAndRedeliverySkipsClaimedEvents() {
+        // Olayı başka bir node kaydetmiş, bu node'un kontrolü ise kaydı görmeden yapılmış
+        PersonelNotificationDTO claimedElsewhere = event(7L, "UPDATE", 1L);
+        NotificationLog existing = new NotificationLog(7L, "Ahmet", "Demir", "ahmet@firma.com.tr", "UPDATE", "Departman");
+        existing.setEventId(claimedElsewhere.getEventId());
+        existing.setEmailSent(true);
+        notificationLogRepository.save(existing);
+        PersonelNotificationDTO fresh = event(8L, "CREATE", 0L);
+
+        NotificationService target = AopTestUtils.getTargetObject(notificationService);
+        Object deduplicator = ReflectionTestUtils.getField(target, "notificationEventDeduplicator");
+        NotificationEventDeduplicator passThrough = mock(NotificationEventDeduplicator.class);
+        when(passThrough.filterNew(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        ReflectionTestUtils.setField(target, "notificationEventDeduplicator", passThrough);
+        try {
+            assertThrows(DataIntegrityViolationException.class,
+                    () -> notificationService.processPersonelNotifications(List.of(fresh, claimedElsewhere)));
+        } finally {
+            ReflectionTestUtils.setField(target, "notificationEventDeduplicator", deduplicator);
+        }
+        verify(emailService, never()).sendPersonelChangeNotification(any());
+        assertEquals(1, notificationLogRepository.count());
+
+        // Dispatcher'ın mesajları tek tek tekrar işlemesi
+        notificationService.processPersonelNotifications(List.of(fresh));
+        notificationService.processPersonelNotifications(List.of(claimedElsewhere));
+
+        verify(emailService, times(1)).sendPersonelChangeNotification(any());
+        assertEquals(2, notificationLogRepository.count());
+    }
+
+    @Test
+    void eventsAreClaimedBeforeEmailIsSent() {
+        PersonelNotificationDTO notification = event(7L, "UPDATE", 1L);
+        when(emailService.sendPersonelChangeNotification(any())).thenAnswer(invocation -> {
+            // Gönderim sırasında olayın kaydı commit edilmiş ve tekrar deneme servisinden lease ile saklanmış olmalı
+            NotificationLog claimed = notificationLogRepository.findAll().get(0);
+            assertEquals(notification.getEventId(), claimed.getEventId());
+            assertFalse(claimed.getEmailSent());
+            assertTrue(claimed.getNextAttemptAt().isAfter(LocalDateTime.now()));
+            return true;
+        });
+
+        notificationService.processPersonelNotifications(List.of(notification));
+
+        verify(emailService, times(1)).sendPersonelChangeNotification(any());
+        assertTrue(notificationLogRepository.findAll().get(0).getEmailSent());
+    }
+
+    private List<NotificationLog> logsByPersonelVersion() {
+        return notificationLogRepository.findAll().stream()
+                .sorted(Comparator.comparing(NotificationLog::getPersonelVersion))
+                .toList();
+    }
+
+    private static PersonelNotificationDTO event(Long personelId, String operationType, Long personelVersion) {
+        PersonelNotificationDTO notification = new PersonelNotificationDTO(personelId, "Ahmet", "Demir",
+                "ahmet@firma.com.tr", operationType, "Departman");
+        notification.setEventId(UUID.randomUUID().toString());
+        notification.setPersonelVersion(personelVersion);
+        return notification;
+    }
+
+    private NotificationLog saveFailed(LocalDateTime nextAttemptAt, boolean parked) {
+        NotificationLog log = new NotificationLog(7L, "Ahmet", "Demir", "ahmet@firma.com.tr", "UPDATE", "Departman");
+        log.setEmailSent(false);
+        log.setNextAttemptAt(nextAttemptAt);
+        log.setParked(parked);
+        return notificationLogRepository.save(log);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.notification_backend.service;
+
+import com.example.notification_backend.dto.StatisticsBucketDTO;
+import com.example.notification_backend.entity.NotificationLog;
+import com.example.notification_backend.repository.NotificationLogRepository;
+import com.example.notification_backend.service.NotificationStatisticsService.Granularity;
+import com.example.notification_backend.service.NotificationStatisticsService.Outcome;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NotificationStatisticsServiceTest {
+
+    private final NotificationLogRepository notificationLogRepository = mock(NotificationLogRepository.class);
+    private NotificationStatisticsService statistics;
+
+    @BeforeEach
+    void setUp() {
+        when(notificationLogRepository.countByState()).thenReturn(rows(sentRow(10)));
+        when(notificationLogRepository.countByMinuteSince(any())).thenReturn(List.of());
+        statistics = new NotificationStatisticsService();
+        ReflectionTestUtils.setField(statistics, "notificationLogRepository", notificationLogRepository);
+        ReflectionTestUtils.setField(statistics, "minuteBuckets", 120);
+        ReflectionTestUtils.setField(statistics, "hourBuckets", 48);
+        ReflectionTestUtils.setField(statistics, "node", "node-a");
+        statistics.init();
+    }
+
+    @Test
+    void localWritesAreAddedToDatabaseCounts() {
+        statistics.recordCreated(List.of(sentLog(), sentLog()));
+
+        assertEquals(12, statistics.count(Outcome.SENT));
+        assertEquals(12, statistics.total());
+    }
+
+    @Test
+    void reloadPicksUpWritesOfOtherNodes() {
+        statistics.recordCreated(List.of(sentLog()));
+        // Bu node'un 1 ve diğer node'ların 4 kaydı veritabanında
+        when(notificationLogRepository.countByState()).thenReturn(rows(sentRow(15)));
+
+        statistics.reloadTotals();
+
+        assertEquals(15, statistics.count(Outcome.SENT));
+    }
+
+    @Test
+    void writeCountedDuringReloadIsNotLost() {
+        // Sorgu kaydı görmeden okur, kayıt sorgu sürerken commit edilip sayılır
+        when(notificationLogRepository.countByState()).thenAnswer(invocation -> {
+            statistics.recordCreated(List.of(sentLog()));
+            return rows(sentRow(10));
+        });
+
+        statistics.reloadTotals();
+
+        assertEquals(11, statistics.count(Outcome.SENT));
+
+        when(notificationLogRepository.countByState()).thenReturn(rows(sentRow(11)));
+        statistics.reloadTotals();
+        assertEquals(11, statistics.count(Outcome.SENT));
+    }
+
+    @Test
+    void transitionMovesCountBetweenOutcomes() {
+        NotificationLog log = sentLog();
+        statistics.recordTransition(Outcome.FAILED, log);
+
+        assertEquals(11, statistics.count(Outcome.SENT));
+        assertEquals(-1, statistics.count(Outcome.FAILED));
+
+        when(notificationLogRepository.countByState()).thenReturn(rows(sentRow(11)));
+        statistics.reloadTotals();
+        assertEquals(0, statistics.count(Outcome.FAILED));
+    }
+
+    @Test
+    void timeSeriesBucketsNameTheNode() {
+        statistics.recordCreated(List.of(sentLog()));
+
+        List<StatisticsBucketDTO> buckets = statistics.getTimeSeries(Duration.ofMinutes(5), Granularity.MINUTE);
+
+        assertEquals(5, buckets.size());
+        assertTrue(buckets.stream().allMatch(bucket -> "node-a".equals(bucket.getNode())));
+        assertEquals(1, buckets.get(buckets.size() - 1).getTotal());
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+
+    // countByState satırı: emailSent, parked, deferred, digestPending, sayı
+    private static Object[] sentRow(long count) {
+        return new Object[] {true, false, false, false, count};
+    }
+
+    private static NotificationLog sentLog() {
+        NotificationLog log = new NotificationLog(7L, "Ahmet", "Demir", "ahmet@firma.com.tr", "UPDATE", "Departman");
+        log.setEmailSent(true);
+        return log;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.personel_events;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.ContentTypeDelegatingMessageConverter;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+/**
+ * personnel-backend ile notification-backend arasındaki personel olayı mesajlarının sözleşmesi
+ * Mesaj gövdesi JSON veya Smile (ikili JSON) olabilir, biçim content-type ile belirtilir (PersonelEventFormat).
+ * Mesajlar SCHEMA_VERSION_HEADER başlığında yazıldıkları şema sürümünü taşır; başlığı olmayan mesajlar 1. sürümdür.
+ */
+public final class PersonelEventContract {
+
+    /**
+     * Güncel şema sürümü, sadece geriye uyumsuz değişikliklerde artırılır
+     */
+    public static final int SCHEMA_VERSION = 1;
+
+    public static final String SCHEMA_VERSION_HEADER = "x-schema-version";
+
+    public static final String CONTENT_TYPE_SMILE = "application/x-jackson-smile";
+
+    private PersonelEventContract() {}
+
+    /**
+     * Gelen mesajı content-type'ına göre JSON veya Smile olarak çözen, gönderilen nesneleri JSON yazan converter
+     * Content-type'ı bilinmeyen mesajlar JSON kabul edilir. Bu sürümden yeni şemadaki mesajlar okunmaz,
+     * MessageConversionException ile reddedilir (tüketici güncellenene kadar parking-lot'ta bekler).
+     */
+    public static MessageConverter messageConverter() {
+        Jackson2JsonMessageConverter jsonConverter = new Jackson2JsonMessageConverter();
+        ContentTypeDelegatingMessageConverter converter = new ContentTypeDelegatingMessageConverter(jsonConverter) {
+            @Override
+            public Object fromMessage(Message message) throws MessageConversionException {
+                int schemaVersion = schemaVersionOf(message.getMessageProperties());
+                if (schemaVersion > SCHEMA_VERSION) {
+                    throw new MessageConversionException("Desteklenmeyen personel olayı şema sürümü: " + schemaVersion
+                            + " (desteklenen: " + SCHEMA_VERSION + ")");
+                }
+                return super.fromMessage(message);
+            }
+        };
+        converter.addDelegate(PersonelEventFormat.JSON.getContentType(), jsonConverter);
+        converter.addDelegate(PersonelEventFormat.SMILE.getContentType(), new SmileMessageConverter());
+        return converter;
+    }
+
+    /**
+     * @return Mesajın şema sürümü, başlık yoksa 1
+     */
+    public static int schemaVersionOf(MessageProperties properties) {
+        Object version = properties.getHeader(SCHEMA_VERSION_HEADER);
+        if (version instanceof Number number) {
+            return number.intValue();
+        }
+        try {
+            return version != null ? Integer.parseInt(version.toString()) : 1;
+        } catch (NumberFormatException e) {
+            throw new MessageConversionException("Geçersiz şema sürümü: " + version, e);
+        }
+    }
+}
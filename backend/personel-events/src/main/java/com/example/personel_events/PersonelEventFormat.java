@@ -0,0 +1,80 @@
+package com.example.personel_events;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Personel olayı mesajlarının gövde biçimi
+ * Outbox'ta payload JSON olarak saklanır ve yayınlanırken seçilen biçime çevrilir. Tüketiciler biçimi content-type'tan
+ * anlar (PersonelEventContract.messageConverter); Smile'a geçmeden önce tüm tüketiciler Smile okuyabilmelidir.
+ */
+public enum PersonelEventFormat {
+
+    JSON(MessageProperties.CONTENT_TYPE_JSON),
+    SMILE(PersonelEventContract.CONTENT_TYPE_SMILE);
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final JsonFactory SMILE_FACTORY = SmileMessageConverter.createMapper().getFactory();
+
+    private final String contentType;
+
+    PersonelEventFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * @return Bu biçimin gövdesi metin mi (content-encoding taşır)
+     */
+    public boolean isText() {
+        return this == JSON;
+    }
+
+    /**
+     * JSON payload'ı bu biçimde kodlar, Smile'a ağaç oluşturmadan token token çevrilir
+     * @param json JSON payload
+     * @return Mesaj gövdesi
+     */
+    public byte[] encode(String json) {
+        byte[] jsonBytes = json.getBytes(StandardCharsets.UTF_8);
+        if (this == JSON) {
+            return jsonBytes;
+        }
+        return transcode(jsonBytes, JSON_FACTORY, SMILE_FACTORY);
+    }
+
+    /**
+     * Mesaj gövdesini okunabilir JSON metni olarak döner (ör. parking-lot listesinde göstermek için)
+     * @param body Mesaj gövdesi
+     * @param contentType Mesajın content-type'ı
+     */
+    public static String toJson(byte[] body, String contentType) {
+        if (!SMILE.contentType.equals(contentType)) {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+        return new String(transcode(body, SMILE_FACTORY, JSON_FACTORY), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] transcode(byte[] source, JsonFactory sourceFactory, JsonFactory targetFactory) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(source.length);
+        try (JsonParser parser = sourceFactory.createParser(source);
+             JsonGenerator generator = targetFactory.createGenerator(output)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEvent(parser);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Personel olayı dönüştürülemedi", e);
+        }
+        return output.toByteArray();
+    }
+}
@@ -1,9 +1,16 @@
-package com.example.notification_backend.dto;
+package com.example.personel_events;
 
 import java.time.LocalDateTime;
 
+/**
+ * personnel-backend'in yayınladığı personel değişiklik olayı (şema sürümü: PersonelEventContract.SCHEMA_VERSION)
+ * Alan eklemek geriye uyumludur, eski okuyucular bilmedikleri alanları atlar; alan silmek veya anlamını
+ * değiştirmek şema sürümünü artırmayı gerektirir.
+ */
 public class PersonelNotificationDTO {
 
+    // Olayın tekil ID'si, outbox'a yazılırken atanır; aynı olayın tekrar teslimleri aynı ID'yi taşır
+    private String eventId;
     private Long personelId;
     private String ad;
     private String soyad;
@@ -11,6 +18,10 @@ public class PersonelNotificationDTO {
     private String operationType; // CREATE, UPDATE, DELETE
     private String changedFields;
     private LocalDateTime timestamp;
+    // Değişiklikten sonraki personel sürümü (Personel.surum), aynı personelin olaylarını sıralamak için; her
+    // commit edilen değişiklikte artar. Saat (timestamp) node'lar arasında kayabildiği için sıralamada kullanılmaz.
+    // Eski mesajlarda null
+    private Long personelVersion;
 
     // Constructors
     public PersonelNotificationDTO() {}
@@ -27,6 +38,14 @@ public class PersonelNotificationDTO {
     }
 
     // Getters and Setters
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
     public Long getPersonelId() {
         return personelId;
     }
@@ -83,16 +102,26 @@ public class PersonelNotificationDTO {
         this.timestamp = timestamp;
     }
 
+    public Long getPersonelVersion() {
+        return personelVersion;
+    }
+
+    public void setPersonelVersion(Long personelVersion) {
+        this.personelVersion = personelVersion;
+    }
+
     @Override
     public String toString() {
         return "PersonelNotificationDTO{" +
-                "personelId=" + personelId +
+                "eventId='" + eventId + '\'' +
+                ", personelId=" + personelId +
                 ", ad='" + ad + '\'' +
                 ", soyad='" + soyad + '\'' +
                 ", email='" + email + '\'' +
                 ", operationType='" + operationType + '\'' +
                 ", changedFields='" + changedFields + '\'' +
                 ", timestamp=" + timestamp +
+                ", personelVersion=" + personelVersion +
                 '}';
     }
 }
@@ -0,0 +1,54 @@
+package com.example.personel_events;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.AbstractJackson2MessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.util.MimeType;
+
+import java.lang.reflect.Type;
+
+/**
+ * Mesaj gövdesini Smile (Jackson'ın ikili JSON biçimi) olarak yazan ve okuyan converter
+ * Hedef tipin çözülmesi Jackson2JsonMessageConverter ile aynıdır (listener parametresi, yoksa __TypeId__ başlığı).
+ * Gövde metin olmadığı için content-encoding kullanılmaz; üst sınıf encoding'i olan gövdeyi String'e çevirir.
+ */
+public class SmileMessageConverter extends AbstractJackson2MessageConverter {
+
+    public SmileMessageConverter() {
+        super(createMapper(), MimeType.valueOf(PersonelEventContract.CONTENT_TYPE_SMILE), "*");
+    }
+
+    /**
+     * Olay sözleşmesinin Smile ayarları: tarihler JSON'daki gibi ISO metin, tekrar eden alan adları ve kısa metin
+     * değerleri (ör. toplu mesajlarda operationType) geri referansla yazılır
+     */
+    static ObjectMapper createMapper() {
+        return SmileMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+    }
+
+    @Override
+    public Object fromMessage(Message message, Object conversionHint) throws MessageConversionException {
+        message.getMessageProperties().setContentEncoding(null);
+        return super.fromMessage(message, conversionHint);
+    }
+
+    @Override
+    protected Message createMessage(Object object, MessageProperties messageProperties, Type genericType)
+            throws MessageConversionException {
+        Message message = super.createMessage(object, messageProperties, genericType);
+        message.getMessageProperties().setContentEncoding(null);
+        return message;
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.personel_events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.core.ParameterizedTypeReference;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PersonelEventContractTest {
+
+    private static final Type NOTIFICATION_LIST_TYPE =
+            new ParameterizedTypeReference<List<PersonelNotificationDTO>>() {}.getType();
+
+    // Outbox payload'ını yazan Spring Boot ObjectMapper'ı ile aynı tarih ayarı
+    private final ObjectMapper outboxObjectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final MessageConverter converter = PersonelEventContract.messageConverter();
+
+    @Test
+    void jsonRoundTrip() {
+        PersonelNotificationDTO notification = notification(42L, "Güncellenen alanlar: Departman");
+        MessageProperties properties = new MessageProperties();
+        properties.setHeader(PersonelEventContract.SCHEMA_VERSION_HEADER, PersonelEventContract.SCHEMA_VERSION);
+
+        Message message = converter.toMessage(notification, properties);
+
+        assertEquals(MessageProperties.CONTENT_TYPE_JSON, message.getMessageProperties().getContentType());
+        assertNotification(notification, converter.fromMessage(consumed(message, PersonelNotificationDTO.class)));
+    }
+
+    @Test
+    void smileRoundTripFromOutboxPayload() throws Exception {
+        PersonelNotificationDTO notification = notification(42L, "Güncellenen alanlar: Departman, Pozisyon");
+        Message message = message(PersonelEventFormat.SMILE,
+                PersonelEventFormat.SMILE.encode(outboxObjectMapper.writeValueAsString(notification)),
+                PersonelEventContract.SCHEMA_VERSION);
+
+        assertNotification(notification, converter.fromMessage(consumed(message, PersonelNotificationDTO.class)));
+    }
+
+    @Test
+    void smileBatchRoundTrip() throws Exception {
+        List<PersonelNotificationDTO> batch = List.of(notification(1L, "Yeni personel eklendi"),
+                notification(2L, "Yeni personel eklendi"), notification(3L, null));
+        Message message = message(PersonelEventFormat.SMILE,
+                PersonelEventFormat.SMILE.encode(outboxObjectMapper.writeValueAsString(batch)),
+                PersonelEventContract.SCHEMA_VERSION);
+
+        List<?> decoded = assertInstanceOf(List.class, converter.fromMessage(consumed(message, NOTIFICATION_LIST_TYPE)));
+        assertEquals(batch.size(), decoded.size());
+        for (int i = 0; i < batch.size(); i++) {
+            assertNotification(batch.get(i), decoded.get(i));
+        }
+    }
+
+    @Test
+    void smileConverterWritesBinaryBody() {
+        PersonelNotificationDTO notification = notification(42L, "Departman");
+
+        Message message = new SmileMessageConverter().toMessage(notification, new MessageProperties());
+
+        assertEquals(PersonelEventContract.CONTENT_TYPE_SMILE, message.getMessageProperties().getContentType());
+        assertNull(message.getMessageProperties().getContentEncoding());
+        assertNotification(notification, converter.fromMessage(consumed(message, PersonelNotificationDTO.class)));
+    }
+
+    @Test
+    void messageWithoutSchemaVersionIsVersionOne() throws Exception {
+        PersonelNotificationDTO notification = notification(42L, "Departman");
+        Message message = message(PersonelEventFormat.JSON,
+                PersonelEventFormat.JSON.encode(outboxObjectMapper.writeValueAsString(notification)), null);
+
+        assertEquals(1, PersonelEventContract.schemaVersionOf(message.getMessageProperties()));
+        assertNotification(notification, converter.fromMessage(consumed(message, PersonelNotificationDTO.class)));
+    }
+
+    @Test
+    void newerSchemaVersionIsRejected() throws Exception {
+        String payload = outboxObjectMapper.writeValueAsString(notification(42L, "Departman"));
+        for (PersonelEventFormat format : PersonelEventFormat.values()) {
+            Message message = message(format, format.encode(payload), PersonelEventContract.SCHEMA_VERSION + 1);
+
+            assertThrows(MessageConversionException.class,
+                    () -> converter.fromMessage(consumed(message, PersonelNotificationDTO.class)));
+        }
+    }
+
+    @Test
+    void invalidSchemaVersionIsRejected() {
+        MessageProperties properties = new MessageProperties();
+        properties.setHeader(PersonelEventContract.SCHEMA_VERSION_HEADER, "iki");
+
+        assertThrows(MessageConversionException.class, () -> PersonelEventContract.schemaVersionOf(properties));
+    }
+
+    @Test
+    void schemaVersionHeaderMayBeText() {
+        MessageProperties properties = new MessageProperties();
+        properties.setHeader(PersonelEventContract.SCHEMA_VERSION_HEADER, "2");
+
+        assertEquals(2, PersonelEventContract.schemaVersionOf(properties));
+    }
+
+    @Test
+    void jsonEncodeKeepsPayload() {
+        String payload = "{\"personelId\":42,\"ad\":\"Ayşe\"}";
+
+        assertArrayEquals(payload.getBytes(StandardCharsets.UTF_8), PersonelEventFormat.JSON.encode(payload));
+    }
+
+    @Test
+    void smileBodyIsShownAsJson() throws Exception {
+        String payload = outboxObjectMapper.writeValueAsString(notification(42L, "Departman"));
+        byte[] body = PersonelEventFormat.SMILE.encode(payload);
+
+        assertEquals(outboxObjectMapper.readTree(payload),
+                outboxObjectMapper.readTree(PersonelEventFormat.toJson(body, PersonelEventContract.CONTENT_TYPE_SMILE)));
+        assertEquals(payload, PersonelEventFormat.toJson(payload.getBytes(StandardCharsets.UTF_8),
+                MessageProperties.CONTENT_TYPE_JSON));
+    }
+
+    @Test
+    void invalidSmileBodyIsRejected() {
+        Message message = message(PersonelEventFormat.SMILE, "{\"personelId\":42}".getBytes(StandardCharsets.UTF_8),
+                PersonelEventContract.SCHEMA_VERSION);
+
+        assertThrows(MessageConversionException.class,
+                () -> converter.fromMessage(consumed(message, PersonelNotificationDTO.class)));
+    }
+
+    private static PersonelNotificationDTO notification(Long personelId, String changedFields) {
+        PersonelNotificationDTO notification = new PersonelNotificationDTO(personelId, "Çağrı", "Öztürk",
+                "cagri.ozturk@firma.com.tr", "UPDATE", changedFields);
+        notification.setEventId("event-" + personelId);
+        notification.setTimestamp(LocalDateTime.of(2025, 3, 14, 9, 30, 15, 123_000_000));
+        return notification;
+    }
+
+    // Outbox relay'in yayınladığı mesaj
+    private static Message message(PersonelEventFormat format, byte[] body, Integer schemaVersion) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(format.getContentType());
+        if (format.isText()) {
+            properties.setContentEncoding(StandardCharsets.UTF_8.name());
+        }
+        if (schemaVersion != null) {
+            properties.setHeader(PersonelEventContract.SCHEMA_VERSION_HEADER, schemaVersion);
+        }
+        return new Message(body, properties);
+    }
+
+    // Listener container'ın yaptığı gibi hedef tip metot parametresinden verilir
+    private static Message consumed(Message message, Type listenerParameterType) {
+        message.getMessageProperties().setInferredArgumentType(listenerParameterType);
+        return message;
+    }
+
+    private static void assertNotification(PersonelNotificationDTO expected, Object actual) {
+        PersonelNotificationDTO decoded = assertInstanceOf(PersonelNotificationDTO.class, actual);
+        assertEquals(expected.getEventId(), decoded.getEventId());
+        assertEquals(expected.getPersonelId(), decoded.getPersonelId());
+        assertEquals(expected.getAd(), decoded.getAd());
+        assertEquals(expected.getSoyad(), decoded.getSoyad());
+        assertEquals(expected.getEmail(), decoded.getEmail());
+        assertEquals(expected.getOperationType(), decoded.getOperationType());
+        assertEquals(expected.getChangedFields(), decoded.getChangedFields());
+        assertEquals(expected.getTimestamp(), decoded.getTimestamp());
+    }
+}
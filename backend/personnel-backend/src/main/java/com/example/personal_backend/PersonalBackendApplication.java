@@ -2,8 +2,10 @@ package com.example.personal_backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class PersonalBackendApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,75 @@
+package com.example.personal_backend.aspect;
+
+import com.example.personal_backend.metrics.MethodLatencyRecorder;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Service ve controller metotlarının çalışma sürelerini nanosaniye çözünürlükte ölçer
+ * Süreler metot bazlı HdrHistogram'lara yazılır ve /actuator/methodlatency üzerinden okunur.
+ * Normal akışta log yazılmaz ve parametreler string'e çevrilmez, istenirse
+ * çağrıların bir örneklemi DEBUG seviyesinde loglanır.
+ */
+@Aspect
+@Component
+public class MethodLatencyAspect {
+
+    private static final Logger logger = LoggerFactory.getLogger(MethodLatencyAspect.class);
+
+    @Autowired
+    private MethodLatencyRecorder methodLatencyRecorder;
+
+    // Loglanacak çağrı oranı (0.0 - 1.0), 0 ise örnekleme kapalı
+    @Value("${app.latency.log.sample-rate:0}")
+    private double logSampleRate;
+
+    // Örneklenen loglara parametreler eklensin mi (maliyetli, sadece teşhis için)
+    @Value("${app.latency.log.include-args:false}")
+    private boolean logIncludeArgs;
+
+    @Pointcut("execution(* com.example.personal_backend.service.*.*(..))")
+    public void serviceLayer() {}
+
+    @Pointcut("execution(* com.example.personal_backend.controller.*.*(..))")
+    public void controllerLayer() {}
+
+    @Around("serviceLayer() || controllerLayer()")
+    public Object recordLatency(ProceedingJoinPoint joinPoint) throws Throwable {
+        long startNanos = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            long elapsedNanos = System.nanoTime() - startNanos;
+            Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+            methodLatencyRecorder.record(method, elapsedNanos, failed);
+            if (logSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < logSampleRate && logger.isDebugEnabled()) {
+                logSample(joinPoint, method, elapsedNanos, failed);
+            }
+        }
+    }
+
+    private void logSample(ProceedingJoinPoint joinPoint, Method method, long elapsedNanos, boolean failed) {
+        String name = MethodLatencyRecorder.nameOf(method);
+        if (logIncludeArgs) {
+            logger.debug("{} {} µs (hata={}) parametreler={}", name, elapsedNanos / 1_000, failed,
+                    Arrays.toString(joinPoint.getArgs()));
+        } else {
+            logger.debug("{} {} µs (hata={})", name, elapsedNanos / 1_000, failed);
+        }
+    }
+}
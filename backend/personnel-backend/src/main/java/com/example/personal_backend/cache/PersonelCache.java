@@ -0,0 +1,184 @@
+package com.example.personal_backend.cache;
+
+import com.example.personal_backend.config.RabbitMQConfig;
+import com.example.personal_backend.dto.PersonelCacheInvalidationDTO;
+import com.example.personal_backend.dto.PersonelResponseDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * ID bazlı PersonelResponseDTO cache'i
+ * Okumada doldurulur, yazma işlemlerinde transaction commit'inden sonra
+ * hem yerel olarak hem de RabbitMQ üzerinden diğer node'larda geçersiz kılınır.
+ * Yayın ayrı bir thread'de yapılır, yazma isteği broker'ı beklemez; kuyruk dolarsa yayın atlanır.
+ * Bir invalidation mesajı kaybolsa bile kayıt en fazla TTL kadar bayat kalır.
+ */
+@Component
+public class PersonelCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(PersonelCache.class);
+
+    // Bu node'u diğerlerinden ayırt etmek için kullanılır (kendi mesajını tekrar işlememek için)
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.cache.personel.maximum-size:10000}")
+    private long maximumSize;
+
+    // Bir kaydın herhangi bir node'da bayat kalabileceği en uzun süre
+    @Value("${app.cache.personel.ttl:PT5M}")
+    private Duration ttl;
+
+    // Yayınlanmayı bekleyen invalidation sayısı üst sınırı
+    @Value("${app.cache.personel.broadcast-queue-capacity:10000}")
+    private int broadcastQueueCapacity;
+
+    private Cache<Long, PersonelResponseDTO> cache;
+
+    private BlockingQueue<Long> pendingBroadcasts;
+    private Thread broadcaster;
+    private volatile boolean running;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        // Hit/miss/eviction sayaçlarını actuator metrics altında yayınla
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "personel");
+        pendingBroadcasts = new ArrayBlockingQueue<>(broadcastQueueCapacity);
+        running = true;
+        broadcaster = new Thread(this::runBroadcaster, "personel-cache-broadcast");
+        broadcaster.setDaemon(true);
+        broadcaster.start();
+        logger.info("Personel cache oluşturuldu: maximumSize={}, ttl={}, nodeId={}", maximumSize, ttl, nodeId);
+    }
+
+    /**
+     * Yeni yayın alınmaz, kuyrukta bekleyen invalidation'lar en fazla 5 saniye boyunca gönderilmeye devam eder
+     */
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        broadcaster.join(5000);
+        broadcaster.interrupt();
+    }
+
+    /**
+     * Cache'ten okur, yoksa loader ile yükleyip cache'e koyar
+     * Loader'ın fırlattığı exception'lar (ör. PersonelNotFoundException) cache'lenmez
+     * @param id Personel ID'si
+     * @param loader Cache miss durumunda çağrılacak fonksiyon
+     * @return Personel DTO'su
+     */
+    public PersonelResponseDTO get(Long id, Function<Long, PersonelResponseDTO> loader) {
+        return cache.get(id, loader);
+    }
+
+    /**
+     * Kaydı aktif transaction commit edildikten sonra geçersiz kılar ve diğer node'lara yayınlar
+     * Rollback olursa hiçbir şey yapılmaz
+     * @param id Personel ID'si
+     */
+    public void invalidateAfterCommit(Long id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateAndBroadcast(id);
+                }
+            });
+        } else {
+            invalidateAndBroadcast(id);
+        }
+    }
+
+    /**
+     * Kaydı yalnızca bu node'un cache'inden çıkarır
+     * @param id Personel ID'si
+     */
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+
+    /**
+     * Invalidation mesajının bu node tarafından yayınlanıp yayınlanmadığını kontrol eder
+     * @param sourceNodeId Mesajdaki kaynak node ID'si
+     * @return Mesaj bu node'dan çıktıysa true
+     */
+    public boolean isLocalNode(String sourceNodeId) {
+        return nodeId.equals(sourceNodeId);
+    }
+
+    private void invalidateAndBroadcast(Long id) {
+        cache.invalidate(id);
+        if (!running || !pendingBroadcasts.offer(id)) {
+            // Diğer node'lar kaydı en fazla TTL süresi kadar bayat tutar
+            logger.warn("Cache invalidation yayın kuyruğuna alınamadı: Personel ID={}", id);
+        }
+    }
+
+    // Kuyrukta aynı personel birden fazla kez bekliyorsa tek mesaj gönderilir
+    private void runBroadcaster() {
+        List<Long> drained = new ArrayList<>();
+        while (running || !pendingBroadcasts.isEmpty()) {
+            try {
+                Long first = pendingBroadcasts.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                drained.add(first);
+                pendingBroadcasts.drainTo(drained);
+                for (Long id : new LinkedHashSet<>(drained)) {
+                    broadcast(id);
+                }
+                drained.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void broadcast(Long id) {
+        try {
+            rabbitTemplate.convertAndSend(
+                    RabbitMQConfig.PERSONEL_CACHE_EXCHANGE,
+                    "",
+                    new PersonelCacheInvalidationDTO(id, nodeId)
+            );
+        } catch (Exception e) {
+            // Mesaj gönderilemezse diğer node'lar kaydı en fazla TTL süresi kadar bayat tutar
+            logger.warn("Cache invalidation yayınlanamadı: Personel ID={}, Hata={}", id, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.personal_backend.config;
+
+/**
+ * Personel bildirimlerinin shard kuyruklarına dağıtımı
+ * personelId jump consistent hash (Lamping & Veach) ile shard'a eşlenir: aynı personelin tüm olayları
+ * aynı kuyruğa gider ve sırası korunur. Shard sayısı N'den N+1'e çıktığında anahtarların sadece
+ * yaklaşık 1/(N+1)'i yer değiştirir.
+ * Yer değiştiren bir personelin eski shard'da bekleyen olayları ile yeni shard'a giden olayları paralel tüketilir,
+ * bu geçiş sırasında sıra korunmaz. Shard sayısı değiştirilmeden önce kuyruklar boşaltılmalıdır:
+ * app.outbox.relay.paused=true ile yayın durdurulur, shard ve retry kuyrukları boşalınca iki serviste de sayı
+ * değiştirilip yayın tekrar açılır (olaylar bu sürede outbox'ta bekler).
+ */
+public final class PersonelNotificationShards {
+
+    private PersonelNotificationShards() {}
+
+    /**
+     * Personelin shard numarasını hesaplar
+     * @param personelId Personel ID'si (null ise 0. shard)
+     * @param shardCount Shard sayısı
+     * @return 0 ile shardCount - 1 arasında shard numarası
+     */
+    public static int shardOf(Long personelId, int shardCount) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard sayısı sıfırdan büyük olmalıdır: " + shardCount);
+        }
+        return personelId == null ? 0 : jumpConsistentHash(personelId, shardCount);
+    }
+
+    // "A Fast, Minimal Memory, Consistent Hash Algorithm" - Lamping & Veach, 2014
+    static int jumpConsistentHash(long key, int buckets) {
+        long bucket = -1;
+        long next = 0;
+        while (next < buckets) {
+            bucket = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) bucket;
+    }
+}
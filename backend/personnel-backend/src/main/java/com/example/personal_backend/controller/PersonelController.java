@@ -1,9 +1,16 @@
 package com.example.personal_backend.controller;
 
+import com.example.personal_backend.dto.CursorPageDTO;
+import com.example.personal_backend.dto.PersonelBatchOperationDTO;
+import com.example.personal_backend.dto.PersonelBatchResponseDTO;
 import com.example.personal_backend.dto.PersonelCreateDTO;
 import com.example.personal_backend.dto.PersonelResponseDTO;
 import com.example.personal_backend.dto.PersonelUpdateDTO;
 import com.example.personal_backend.service.PersonelService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -18,7 +25,10 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 /**
@@ -38,6 +48,10 @@ public class PersonelController {
     @Autowired
     private PersonelService personelService;
 
+    // Stream endpoint'inde satırları Spring'in Jackson ayarlarıyla yazmak için
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * Tüm aktif personelleri listeler
      * @return Personel listesi
@@ -50,6 +64,36 @@ public class PersonelController {
         return ResponseEntity.ok(personelList);
     }
 
+    /**
+     * Tüm aktif personelleri NDJSON (satır başına bir JSON) olarak akış halinde yazar
+     * Liste bellekte oluşturulmaz, satırlar veritabanından okundukça cevaba yazılır
+     * @return NDJSON akışı
+     */
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    @Operation(summary = "Tüm personelleri akış olarak getir", description = "Aktif personelleri application/x-ndjson formatında satır satır döner")
+    public ResponseEntity<StreamingResponseBody> streamAllPersonel() {
+        logger.info("GET /api/personel/stream - Tüm personeller akış olarak istendi");
+        // Her satırdan sonra flush yapılmaz, servlet buffer'ı doldukça gönderilir
+        ObjectWriter writer = objectMapper.writerFor(PersonelResponseDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                personelService.streamAllPersonel(personel -> {
+                    try {
+                        writer.writeValue(generator, personel);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok(body);
+    }
+
     /**
      * Sayfalama ve sıralama ile personelleri listeler
      * @param page Sayfa numarası (0'dan başlar)
@@ -78,6 +122,32 @@ public class PersonelController {
         return ResponseEntity.ok(personelPage);
     }
 
+    /**
+     * Cursor (keyset) tabanlı sayfalama ile personelleri listeler
+     * Toplam kayıt sayısı dönmez, derin sayfalarda da sabit maliyetlidir
+     * @param size Sayfa boyutu
+     * @param sortBy Sıralama alanı (id, ad, soyad, email, departman, pozisyon, iseBaslamaTarihi, olusturmaTarihi)
+     * @param sortDir Sıralama yönü (asc/desc)
+     * @param cursor Önceki cevaptaki nextCursor değeri, ilk sayfa için boş
+     * @return Cursor sayfası
+     */
+    @GetMapping("/paged/cursor")
+    @Operation(summary = "Cursor ile personelleri getir", description = "Keyset sayfalama ile personelleri listeler, toplam sayı hesaplanmaz")
+    public ResponseEntity<CursorPageDTO<PersonelResponseDTO>> getAllPersonelByCursor(
+            @Parameter(description = "Sayfa boyutu (1-500)") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Sıralama alanı") @RequestParam(defaultValue = "ad") String sortBy,
+            @Parameter(description = "Sıralama yönü") @RequestParam(defaultValue = "asc") String sortDir,
+            @Parameter(description = "Sonraki sayfa token'ı") @RequestParam(required = false) String cursor) {
+
+        logger.info("GET /api/personel/paged/cursor - Cursor ile personeller istendi: size={}, sortBy={}, sortDir={}",
+                   size, sortBy, sortDir);
+
+        Sort.Direction direction = sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        CursorPageDTO<PersonelResponseDTO> personelPage =
+                personelService.getAllPersonelByCursor(sortBy, direction, cursor, size);
+        return ResponseEntity.ok(personelPage);
+    }
+
     /**
      * Belirtilen ID'ye sahip personeli getirir
      * @param id Personel ID'si
@@ -106,6 +176,20 @@ public class PersonelController {
         return new ResponseEntity<>(createdPersonel, HttpStatus.CREATED);
     }
 
+    /**
+     * Birden fazla oluşturma/güncelleme/silme işlemini tek istekte uygular
+     * Her işlem ayrı doğrulanır, sonuç listesi istekteki sırayla döner
+     * @param operations İşlem listesi
+     * @return İşlem bazında sonuçlar
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Toplu personel işlemi", description = "CREATE, UPDATE ve DELETE işlemlerini tek istekte uygular, her işlem için ayrı sonuç döner")
+    public ResponseEntity<PersonelBatchResponseDTO> processBatch(@RequestBody List<PersonelBatchOperationDTO> operations) {
+        logger.info("POST /api/personel/batch - {} işlem", operations == null ? 0 : operations.size());
+        PersonelBatchResponseDTO response = personelService.processBatch(operations);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Mevcut personel bilgilerini günceller
      * @param id Güncellenecek personel ID'si
@@ -156,6 +240,26 @@ public class PersonelController {
         return ResponseEntity.ok(searchResults);
     }
 
+    /**
+     * Cursor (keyset) tabanlı sayfalama ile personel araması yapar
+     * Sonuçlar ID'ye göre artan sıradadır
+     * @param query Arama metni
+     * @param size Sayfa boyutu
+     * @param cursor Önceki cevaptaki nextCursor değeri, ilk sayfa için boş
+     * @return Cursor sayfası
+     */
+    @GetMapping("/search/cursor")
+    @Operation(summary = "Cursor ile personel ara", description = "Keyset sayfalama ile personel arar, toplam sayı hesaplanmaz")
+    public ResponseEntity<CursorPageDTO<PersonelResponseDTO>> searchPersonelByCursor(
+            @Parameter(description = "Arama metni") @RequestParam String query,
+            @Parameter(description = "Sayfa boyutu (1-500)") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Sonraki sayfa token'ı") @RequestParam(required = false) String cursor) {
+
+        logger.info("GET /api/personel/search/cursor - Cursor ile personel arama istendi: query={}", query);
+        CursorPageDTO<PersonelResponseDTO> searchResults = personelService.searchPersonelByCursor(query, cursor, size);
+        return ResponseEntity.ok(searchResults);
+    }
+
     /**
      * Sistemdeki tüm departmanları listeler
      * @return Departman listesi
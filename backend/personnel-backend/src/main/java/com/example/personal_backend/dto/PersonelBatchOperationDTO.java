@@ -0,0 +1,56 @@
+package com.example.personal_backend.dto;
+
+/**
+ * Batch endpoint'indeki tek bir işlem
+ * CREATE için 'create', UPDATE için 'id' ve 'update', DELETE için sadece 'id' doldurulur.
+ */
+public class PersonelBatchOperationDTO {
+
+    private String operation; // CREATE, UPDATE, DELETE
+    private Long id;
+    private PersonelCreateDTO create;
+    private PersonelUpdateDTO update;
+
+    // Constructors
+    public PersonelBatchOperationDTO() {}
+
+    public PersonelBatchOperationDTO(String operation, Long id, PersonelCreateDTO create, PersonelUpdateDTO update) {
+        this.operation = operation;
+        this.id = id;
+        this.create = create;
+        this.update = update;
+    }
+
+    // Getters and Setters
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public PersonelCreateDTO getCreate() {
+        return create;
+    }
+
+    public void setCreate(PersonelCreateDTO create) {
+        this.create = create;
+    }
+
+    public PersonelUpdateDTO getUpdate() {
+        return update;
+    }
+
+    public void setUpdate(PersonelUpdateDTO update) {
+        this.update = update;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.personal_backend.dto;
+
+import java.util.List;
+
+/**
+ * Batch endpoint cevabı
+ * Sonuçlar istekteki işlem sırasıyla döner.
+ */
+public class PersonelBatchResponseDTO {
+
+    private int total;
+    private int successCount;
+    private int failureCount;
+    private List<PersonelBatchResultDTO> results;
+
+    // Constructors
+    public PersonelBatchResponseDTO() {}
+
+    public PersonelBatchResponseDTO(List<PersonelBatchResultDTO> results) {
+        this.results = results;
+        this.total = results.size();
+        this.successCount = (int) results.stream()
+                .filter(result -> PersonelBatchResultDTO.STATUS_SUCCESS.equals(result.getStatus()))
+                .count();
+        this.failureCount = total - successCount;
+    }
+
+    // Getters and Setters
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getSuccessCount() {
+        return successCount;
+    }
+
+    public void setSuccessCount(int successCount) {
+        this.successCount = successCount;
+    }
+
+    public int getFailureCount() {
+        return failureCount;
+    }
+
+    public void setFailureCount(int failureCount) {
+        this.failureCount = failureCount;
+    }
+
+    public List<PersonelBatchResultDTO> getResults() {
+        return results;
+    }
+
+    public void setResults(List<PersonelBatchResultDTO> results) {
+        this.results = results;
+    }
+}
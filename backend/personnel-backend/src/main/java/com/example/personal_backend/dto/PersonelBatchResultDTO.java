@@ -0,0 +1,79 @@
+package com.example.personal_backend.dto;
+
+/**
+ * Batch içindeki tek bir işlemin sonucu
+ */
+public class PersonelBatchResultDTO {
+
+    public static final String STATUS_SUCCESS = "SUCCESS";
+    public static final String STATUS_FAILED = "FAILED";
+
+    private int index; // İstekteki sırası (0'dan başlar)
+    private String operation;
+    private String status; // SUCCESS, FAILED
+    private Long personelId;
+    private PersonelResponseDTO personel; // Başarılı CREATE/UPDATE için güncel kayıt
+    private String error;
+
+    // Constructors
+    public PersonelBatchResultDTO() {}
+
+    public PersonelBatchResultDTO(int index, String operation, String status, Long personelId,
+                                  PersonelResponseDTO personel, String error) {
+        this.index = index;
+        this.operation = operation;
+        this.status = status;
+        this.personelId = personelId;
+        this.personel = personel;
+        this.error = error;
+    }
+
+    // Getters and Setters
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getPersonelId() {
+        return personelId;
+    }
+
+    public void setPersonelId(Long personelId) {
+        this.personelId = personelId;
+    }
+
+    public PersonelResponseDTO getPersonel() {
+        return personel;
+    }
+
+    public void setPersonel(PersonelResponseDTO personel) {
+        this.personel = personel;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
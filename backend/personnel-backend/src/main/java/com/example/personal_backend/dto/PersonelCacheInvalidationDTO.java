@@ -0,0 +1,40 @@
+package com.example.personal_backend.dto;
+
+public class PersonelCacheInvalidationDTO {
+
+    private Long personelId;
+    private String sourceNodeId; // Mesajı yayınlayan node
+
+    // Constructors
+    public PersonelCacheInvalidationDTO() {}
+
+    public PersonelCacheInvalidationDTO(Long personelId, String sourceNodeId) {
+        this.personelId = personelId;
+        this.sourceNodeId = sourceNodeId;
+    }
+
+    // Getters and Setters
+    public Long getPersonelId() {
+        return personelId;
+    }
+
+    public void setPersonelId(Long personelId) {
+        this.personelId = personelId;
+    }
+
+    public String getSourceNodeId() {
+        return sourceNodeId;
+    }
+
+    public void setSourceNodeId(String sourceNodeId) {
+        this.sourceNodeId = sourceNodeId;
+    }
+
+    @Override
+    public String toString() {
+        return "PersonelCacheInvalidationDTO{" +
+                "personelId=" + personelId +
+                ", sourceNodeId='" + sourceNodeId + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.personal_backend.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * RabbitMQ'ya gönderilecek olayları tutan outbox kaydı
+ * İş verisiyle aynı transaction içinde yazılır, OutboxRelay tarafından arka planda yayınlanır.
+ * Böylece rollback olan işlemler için mesaj gitmez, broker kapalıyken de olay kaybolmaz.
+ */
+@Entity
+@Table(name = "outbox_event", indexes = {
+        // Relay gönderilmemiş kayıtları ID sırasıyla, prune ise gönderilmişleri tarihe göre tarar
+        @Index(name = "idx_outbox_event_sent_id", columnList = "sent_at, id")
+})
+public class OutboxEvent {
+
+    // ID'ler ekleme sırasıyla verilir, commit sırasıyla değil. Aynı personelin değişiklikleri Personel.surum
+    // optimistic lock'u ile sıralanır: bir değişikliği commit edebilen işlem önceki değişikliği commit'ten sonra
+    // okumuştur ve outbox kaydını okumadan sonra eklediği için ID'si daha büyüktür. Farklı personellerin olayları
+    // birbirine göre ID sırasından farklı sırada commit edilebilir.
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Olayın ait olduğu kayıt (ör. personel ID'si), birden fazla kaydı kapsayan toplu olaylarda null
+    @Column(name = "aggregate_id")
+    private Long aggregateId;
+
+    // Olay tipi (CREATE, UPDATE, DELETE, BATCH)
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+
+    @Column(name = "exchange", nullable = false, length = 255)
+    private String exchange;
+
+    @Column(name = "routing_key", nullable = false, length = 255)
+    private String routingKey;
+
+    // Mesajın __TypeId__ başlığı, tüketici tarafında JSON'un hangi sınıfa çevrileceği
+    @Column(name = "payload_type", nullable = false, length = 255)
+    private String payloadType;
+
+    // JSON mesaj gövdesi
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @CreationTimestamp
+    @Column(name = "olusturma_tarihi", nullable = false, updatable = false)
+    private LocalDateTime olusturmaTarihi;
+
+    // Broker'ın onayladığı zaman, null ise henüz gönderilmemiştir
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    // Constructors
+    public OutboxEvent() {}
+
+    public OutboxEvent(Long aggregateId, String eventType, String exchange, String routingKey,
+                       String payloadType, String payload) {
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.exchange = exchange;
+        this.routingKey = routingKey;
+        this.payloadType = payloadType;
+        this.payload = payload;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getAggregateId() {
+        return aggregateId;
+    }
+
+    public void setAggregateId(Long aggregateId) {
+        this.aggregateId = aggregateId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public String getExchange() {
+        return exchange;
+    }
+
+    public void setExchange(String exchange) {
+        this.exchange = exchange;
+    }
+
+    public String getRoutingKey() {
+        return routingKey;
+    }
+
+    public void setRoutingKey(String routingKey) {
+        this.routingKey = routingKey;
+    }
+
+    public String getPayloadType() {
+        return payloadType;
+    }
+
+    public void setPayloadType(String payloadType) {
+        this.payloadType = payloadType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public LocalDateTime getOlusturmaTarihi() {
+        return olusturmaTarihi;
+    }
+
+    public void setOlusturmaTarihi(LocalDateTime olusturmaTarihi) {
+        this.olusturmaTarihi = olusturmaTarihi;
+    }
+
+    public LocalDateTime getSentAt() {
+        return sentAt;
+    }
+
+    public void setSentAt(LocalDateTime sentAt) {
+        this.sentAt = sentAt;
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxEvent{" +
+                "id=" + id +
+                ", aggregateId=" + aggregateId +
+                ", eventType='" + eventType + '\'' +
+                ", routingKey='" + routingKey + '\'' +
+                ", sentAt=" + sentAt +
+                '}';
+    }
+}
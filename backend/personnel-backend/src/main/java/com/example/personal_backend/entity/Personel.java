@@ -16,12 +16,24 @@ import java.time.LocalDateTime;
  * Veritabanındaki 'personel' tablosuna karşılık gelir
  */
 @Entity
-@Table(name = "personel")
+@Table(name = "personel", indexes = {
+        // Keyset (cursor) sayfalamada izin verilen sıralama alanları için indeksler
+        @Index(name = "idx_personel_aktif_id", columnList = "aktif, id"),
+        @Index(name = "idx_personel_aktif_ad_id", columnList = "aktif, ad, id"),
+        @Index(name = "idx_personel_aktif_soyad_id", columnList = "aktif, soyad, id"),
+        @Index(name = "idx_personel_aktif_email_id", columnList = "aktif, email, id"),
+        @Index(name = "idx_personel_aktif_departman_id", columnList = "aktif, departman, id"),
+        @Index(name = "idx_personel_aktif_pozisyon_id", columnList = "aktif, pozisyon, id"),
+        @Index(name = "idx_personel_aktif_ise_baslama_id", columnList = "aktif, ise_baslama_tarihi, id"),
+        @Index(name = "idx_personel_aktif_olusturma_id", columnList = "aktif, olusturma_tarihi, id")
+})
 public class Personel {
 
-    // Birincil anahtar - otomatik artan ID
+    // Birincil anahtar - sequence'tan 50'lik bloklar halinde alınır (pooled optimizer),
+    // IDENTITY'den farklı olarak Hibernate'in INSERT'leri JDBC batch ile göndermesine izin verir
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "personel_seq")
+    @SequenceGenerator(name = "personel_seq", sequenceName = "personel_seq", allocationSize = 50)
     private Long id;
 
     // Personelin adı - zorunlu alan, 2-50 karakter arası
@@ -81,6 +93,12 @@ public class Personel {
     @Column(name = "guncelleme_tarihi")
     private LocalDateTime guncellemeTarihi;
 
+    // Her güncellemede bir artan sürüm - eşzamanlı güncellemeler optimistic lock ile reddedilir,
+    // değişikliklerin sırası (arama indeksi, bildirimler) saat yerine bununla belirlenir
+    @Version
+    @Column(name = "surum", nullable = false)
+    private Long surum;
+
     // Constructors
     
     /**
@@ -222,6 +240,14 @@ public class Personel {
         this.guncellemeTarihi = guncellemeTarihi;
     }
 
+    public Long getSurum() {
+        return surum;
+    }
+
+    public void setSurum(Long surum) {
+        this.surum = surum;
+    }
+
     @Override
     public String toString() {
         return "Personel{" +
@@ -0,0 +1,36 @@
+package com.example.personal_backend.listener;
+
+import com.example.personal_backend.cache.PersonelCache;
+import com.example.personal_backend.dto.PersonelCacheInvalidationDTO;
+import com.example.personal_backend.search.PersonelSearchIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Diğer personel-backend node'larından gelen cache invalidation mesajlarını dinler
+ * Yerel cache kaydını siler ve arama indeksini veritabanından tazeler
+ */
+@Component
+public class PersonelCacheInvalidationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(PersonelCacheInvalidationListener.class);
+
+    @Autowired
+    private PersonelCache personelCache;
+
+    @Autowired
+    private PersonelSearchIndex personelSearchIndex;
+
+    @RabbitListener(queues = "#{personelCacheInvalidationQueue.name}")
+    public void handleInvalidation(PersonelCacheInvalidationDTO message) {
+        if (personelCache.isLocalNode(message.getSourceNodeId())) {
+            return; // Kendi yayınladığımız mesaj, yerelde zaten uygulandı
+        }
+        logger.debug("Uzak invalidation alındı: {}", message);
+        personelCache.invalidate(message.getPersonelId());
+        personelSearchIndex.refresh(message.getPersonelId());
+    }
+}
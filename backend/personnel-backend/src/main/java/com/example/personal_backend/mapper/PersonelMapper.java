@@ -0,0 +1,110 @@
+package com.example.personal_backend.mapper;
+
+import com.example.personal_backend.dto.PersonelCreateDTO;
+import com.example.personal_backend.dto.PersonelResponseDTO;
+import com.example.personal_backend.dto.PersonelUpdateDTO;
+import com.example.personal_backend.entity.Personel;
+import org.springframework.stereotype.Component;
+
+/**
+ * Personel entity'si ile DTO'lar arasında dönüşüm yapar
+ * Durumsuzdur, servis katmanının dışında tutulduğu için benchmark'larda doğrudan kullanılabilir.
+ */
+@Component
+public class PersonelMapper {
+
+    /**
+     * Güncelleme DTO'sundaki dolu ve farklı alanları entity'ye uygular
+     * @param existingPersonel Güncellenecek entity
+     * @param updateDTO Güncellenecek bilgiler
+     * @return Değişen alanların virgülle ayrılmış listesi, değişiklik yoksa boş string
+     */
+    public String applyUpdate(Personel existingPersonel, PersonelUpdateDTO updateDTO) {
+        StringBuilder changedFields = new StringBuilder();
+
+        // Her alanı kontrol et ve değiştiyse güncelle
+        if (updateDTO.getAd() != null && !updateDTO.getAd().equals(existingPersonel.getAd())) {
+            existingPersonel.setAd(updateDTO.getAd());
+            changedFields.append("Ad, ");
+        }
+        if (updateDTO.getSoyad() != null && !updateDTO.getSoyad().equals(existingPersonel.getSoyad())) {
+            existingPersonel.setSoyad(updateDTO.getSoyad());
+            changedFields.append("Soyad, ");
+        }
+        if (updateDTO.getEmail() != null && !updateDTO.getEmail().equals(existingPersonel.getEmail())) {
+            existingPersonel.setEmail(updateDTO.getEmail());
+            changedFields.append("Email, ");
+        }
+        if (updateDTO.getTelefon() != null && !updateDTO.getTelefon().equals(existingPersonel.getTelefon())) {
+            existingPersonel.setTelefon(updateDTO.getTelefon());
+            changedFields.append("Telefon, ");
+        }
+        if (updateDTO.getDepartman() != null && !updateDTO.getDepartman().equals(existingPersonel.getDepartman())) {
+            existingPersonel.setDepartman(updateDTO.getDepartman());
+            changedFields.append("Departman, ");
+        }
+        if (updateDTO.getPozisyon() != null && !updateDTO.getPozisyon().equals(existingPersonel.getPozisyon())) {
+            existingPersonel.setPozisyon(updateDTO.getPozisyon());
+            changedFields.append("Pozisyon, ");
+        }
+        if (updateDTO.getIseBaslamaTarihi() != null && !updateDTO.getIseBaslamaTarihi().equals(existingPersonel.getIseBaslamaTarihi())) {
+            existingPersonel.setIseBaslamaTarihi(updateDTO.getIseBaslamaTarihi());
+            changedFields.append("İşe Başlama Tarihi, ");
+        }
+        if (updateDTO.getMaas() != null && !updateDTO.getMaas().equals(existingPersonel.getMaas())) {
+            existingPersonel.setMaas(updateDTO.getMaas());
+            changedFields.append("Maaş, ");
+        }
+        if (updateDTO.getAktif() != null && !updateDTO.getAktif().equals(existingPersonel.getAktif())) {
+            existingPersonel.setAktif(updateDTO.getAktif());
+            changedFields.append("Aktiflik Durumu, ");
+        }
+
+        String changes = changedFields.toString();
+        // Son virgülü kaldır
+        if (changes.endsWith(", ")) {
+            changes = changes.substring(0, changes.length() - 2);
+        }
+        return changes;
+    }
+
+    /**
+     * Personel Entity'sini ResponseDTO'ya dönüştürür
+     * @param personel Personel entity'si
+     * @return PersonelResponseDTO
+     */
+    public PersonelResponseDTO toResponseDTO(Personel personel) {
+        return new PersonelResponseDTO(
+                personel.getId(),
+                personel.getAd(),
+                personel.getSoyad(),
+                personel.getEmail(),
+                personel.getTelefon(),
+                personel.getDepartman(),
+                personel.getPozisyon(),
+                personel.getIseBaslamaTarihi(),
+                personel.getMaas(),
+                personel.getAktif(),
+                personel.getOlusturmaTarihi(),
+                personel.getGuncellemeTarihi()
+        );
+    }
+
+    /**
+     * PersonelCreateDTO'yu Personel Entity'sine dönüştürür
+     * @param createDTO Oluşturma DTO'su
+     * @return Personel entity'si
+     */
+    public Personel toEntity(PersonelCreateDTO createDTO) {
+        return new Personel(
+                createDTO.getAd(),
+                createDTO.getSoyad(),
+                createDTO.getEmail(),
+                createDTO.getTelefon(),
+                createDTO.getDepartman(),
+                createDTO.getPozisyon(),
+                createDTO.getIseBaslamaTarihi(),
+                createDTO.getMaas()
+        );
+    }
+}
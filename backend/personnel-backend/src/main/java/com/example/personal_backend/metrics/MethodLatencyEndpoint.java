@@ -0,0 +1,39 @@
+package com.example.personal_backend.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Controller ve service metotlarının gecikme yüzdeliklerini yayınlayan actuator endpoint'i
+ * GET    /actuator/methodlatency           - tüm metotlar
+ * GET    /actuator/methodlatency/{method}  - tek metot (ör. PersonelService.getPersonelById)
+ * DELETE /actuator/methodlatency           - histogramları sıfırlar
+ */
+@Component
+@Endpoint(id = "methodlatency")
+public class MethodLatencyEndpoint {
+
+    @Autowired
+    private MethodLatencyRecorder methodLatencyRecorder;
+
+    @ReadOperation
+    public Map<String, MethodLatencySnapshot> latencies() {
+        return methodLatencyRecorder.snapshot();
+    }
+
+    @ReadOperation
+    public MethodLatencySnapshot latency(@Selector String method) {
+        return methodLatencyRecorder.snapshot().get(method);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        methodLatencyRecorder.reset();
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.personal_backend.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metot bazlı gecikme histogramlarını tutar
+ * Yazma tarafı HdrHistogram Recorder ile kilitsizdir (sıcak yolda sadece birkaç atomik işlem).
+ * Okuma tarafı interval histogramını toplayıcıya ekler, böylece okumalar yazanları bekletmez.
+ */
+@Component
+public class MethodLatencyRecorder {
+
+    // 3 anlamlı basamak: raporlanan yüzdelikler %0.1 hassasiyetle doğrudur
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<Method, MethodLatency> latencies = new ConcurrentHashMap<>();
+
+    /**
+     * Bir çağrının süresini kaydeder
+     * @param method Çağrılan metot
+     * @param elapsedNanos Süre (nanosaniye)
+     * @param failed Çağrı exception ile bittiyse true
+     */
+    public void record(Method method, long elapsedNanos, boolean failed) {
+        MethodLatency latency = latencies.get(method);
+        if (latency == null) {
+            latency = latencies.computeIfAbsent(method, key -> new MethodLatency(nameOf(key)));
+        }
+        latency.recorder.recordValue(Math.max(elapsedNanos, 0));
+        if (failed) {
+            latency.errors.increment();
+        }
+    }
+
+    /**
+     * Son sıfırlamadan bu yana tüm metotların özetini döner
+     * @return Metot adı (Sınıf.metot) -> özet, ada göre sıralı
+     */
+    public Map<String, MethodLatencySnapshot> snapshot() {
+        Map<String, MethodLatencySnapshot> snapshots = new TreeMap<>();
+        long now = System.nanoTime();
+        for (MethodLatency latency : latencies.values()) {
+            snapshots.merge(latency.name, latency.snapshot(now), MethodLatencySnapshot::merge);
+        }
+        return snapshots;
+    }
+
+    /**
+     * Tüm histogramları sıfırlar (ör. bir yük testinden önce)
+     */
+    public void reset() {
+        long now = System.nanoTime();
+        latencies.values().forEach(latency -> latency.reset(now));
+    }
+
+    /**
+     * Raporlarda kullanılan metot adı
+     * @param method Metot
+     * @return Sınıf.metot
+     */
+    public static String nameOf(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+
+    private static final class MethodLatency {
+
+        private final String name;
+        private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+        private final LongAdder errors = new LongAdder();
+
+        // Aşağıdakiler sadece this üzerinde senkronize erişilir
+        private final Histogram accumulated = new Histogram(SIGNIFICANT_DIGITS);
+        private Histogram interval;
+        private long errorsAtReset;
+        private long startNanos = System.nanoTime();
+
+        private MethodLatency(String name) {
+            this.name = name;
+        }
+
+        private synchronized MethodLatencySnapshot snapshot(long now) {
+            drain();
+            double elapsedSeconds = Math.max(now - startNanos, 1) / 1e9;
+            return MethodLatencySnapshot.of(accumulated, errors.sum() - errorsAtReset, elapsedSeconds);
+        }
+
+        private synchronized void reset(long now) {
+            drain();
+            accumulated.reset();
+            errorsAtReset = errors.sum();
+            startNanos = now;
+        }
+
+        private void drain() {
+            interval = recorder.getIntervalHistogram(interval);
+            accumulated.add(interval);
+        }
+    }
+}
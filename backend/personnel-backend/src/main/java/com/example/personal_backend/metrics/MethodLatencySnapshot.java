@@ -0,0 +1,96 @@
+package com.example.personal_backend.metrics;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Bir metodun gecikme özeti (süreler mikrosaniye)
+ */
+public class MethodLatencySnapshot {
+
+    private static final double NANOS_PER_MICRO = 1_000.0;
+
+    private long count;
+    private long errors;
+    private double throughputPerSecond; // Son sıfırlamadan bu yana ortalama çağrı/saniye
+    private double meanMicros;
+    private double p50Micros;
+    private double p90Micros;
+    private double p99Micros;
+    private double p999Micros;
+    private double maxMicros;
+
+    // Aynı ada sahip (overload) metotları birleştirmek için histogram saklanır, JSON'a yazılmaz
+    private transient Histogram histogram;
+    private transient double elapsedSeconds;
+
+    // Constructors
+    public MethodLatencySnapshot() {}
+
+    static MethodLatencySnapshot of(Histogram source, long errors, double elapsedSeconds) {
+        MethodLatencySnapshot snapshot = new MethodLatencySnapshot();
+        snapshot.histogram = source.copy();
+        snapshot.errors = errors;
+        snapshot.elapsedSeconds = elapsedSeconds;
+        snapshot.fill();
+        return snapshot;
+    }
+
+    static MethodLatencySnapshot merge(MethodLatencySnapshot first, MethodLatencySnapshot second) {
+        first.histogram.add(second.histogram);
+        first.errors += second.errors;
+        first.elapsedSeconds = Math.max(first.elapsedSeconds, second.elapsedSeconds);
+        first.fill();
+        return first;
+    }
+
+    private void fill() {
+        count = histogram.getTotalCount();
+        throughputPerSecond = count / elapsedSeconds;
+        if (count == 0) {
+            return;
+        }
+        meanMicros = histogram.getMean() / NANOS_PER_MICRO;
+        p50Micros = histogram.getValueAtPercentile(50) / NANOS_PER_MICRO;
+        p90Micros = histogram.getValueAtPercentile(90) / NANOS_PER_MICRO;
+        p99Micros = histogram.getValueAtPercentile(99) / NANOS_PER_MICRO;
+        p999Micros = histogram.getValueAtPercentile(99.9) / NANOS_PER_MICRO;
+        maxMicros = histogram.getMaxValue() / NANOS_PER_MICRO;
+    }
+
+    // Getters
+    public long getCount() {
+        return count;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public double getThroughputPerSecond() {
+        return throughputPerSecond;
+    }
+
+    public double getMeanMicros() {
+        return meanMicros;
+    }
+
+    public double getP50Micros() {
+        return p50Micros;
+    }
+
+    public double getP90Micros() {
+        return p90Micros;
+    }
+
+    public double getP99Micros() {
+        return p99Micros;
+    }
+
+    public double getP999Micros() {
+        return p999Micros;
+    }
+
+    public double getMaxMicros() {
+        return maxMicros;
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.personal_backend.outbox;
+
+import com.example.personal_backend.entity.OutboxEvent;
+import com.example.personal_backend.entity.SchedulerLock;
+import com.example.personal_backend.repository.OutboxEventRepository;
+import com.example.personal_backend.repository.SchedulerLockRepository;
+import com.example.personel_events.PersonelEventContract;
+import com.example.personel_events.PersonelEventFormat;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outbox tablosundaki gönderilmemiş olayları RabbitMQ'ya yayınlar
+ * Her batch ayrı bir transaction'da kilitlenir, tek kanal üzerinden gönderilir ve
+ * publisher confirm beklenir. Broker tüm batch'i onaylarsa kayıtlar gönderildi olarak işaretlenir,
+ * aksi halde transaction geri alınır ve kayıtlar bir sonraki turda tekrar denenir.
+ * Bu yüzden teslimat "en az bir kez"dir, tüketici tekrar gelen mesajları tolere etmelidir.
+ *
+ * Birden fazla node'da aynı anda tek relay yayın yapar: her batch transaction'ı önce scheduler_lock'taki
+ * outbox-relay kilidini alır veya uzatır (lease), kilit başka node'daysa tur atlanır. Batch'ler böylece node'lar
+ * arasında da ID sırasıyla ve birbiri ardına yayınlanır. ID sırası aynı personelin olayları için commit sırasıdır
+ * (OutboxEvent.id), bu yüzden bir personelin olayları shard kuyruğuna commit sırasıyla ulaşır; farklı personellerin
+ * olayları arasında böyle bir sıra garantisi yoktur.
+ * Kilidi tutan node kapanırsa app.outbox.relay.lease süresi sonunda başka bir node devralır.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private static final String RELAY_LOCK = "outbox-relay";
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private SchedulerLockRepository schedulerLockRepository;
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Relay kilidinde bu node'u tanımlar
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Value("${app.outbox.relay.batch-size:100}")
+    private int batchSize;
+
+    // Bir turda en fazla kaç batch gönderileceği, diğer zamanlanmış işleri bekletmemek için
+    @Value("${app.outbox.relay.max-batches-per-run:50}")
+    private int maxBatchesPerRun;
+
+    // Kilidi tutan node'dan haber alınamazsa kilidin devredilmesi için geçmesi gereken süre
+    @Value("${app.outbox.relay.lease:PT30S}")
+    private Duration lease;
+
+    @Value("${app.outbox.relay.confirm-timeout:PT5S}")
+    private Duration confirmTimeout;
+
+    // Broker'a ulaşılamadığında denemeler arası bekleme bu süreye kadar katlanarak artar
+    @Value("${app.outbox.relay.max-backoff:PT30S}")
+    private Duration maxBackoff;
+
+    // Mesaj gövdesinin biçimi; payload outbox'ta JSON durur, SMILE seçiliyse yayınlanırken ikili biçime çevrilir.
+    // SMILE'a ancak tüm tüketiciler PersonelEventContract converter'ını kullandıktan sonra geçilmelidir
+    @Value("${app.outbox.relay.message-format:JSON}")
+    private PersonelEventFormat messageFormat;
+
+    // Yayın durdurulur, olaylar outbox'ta birikir (ör. shard sayısı değişmeden önce kuyrukları boşaltmak için)
+    @Value("${app.outbox.relay.paused:false}")
+    private boolean paused;
+
+    // Gönderilmiş kayıtların silinmeden önce tutulacağı süre
+    @Value("${app.outbox.retention:PT1H}")
+    private Duration retention;
+
+    // Sadece zamanlayıcı thread'inden erişilir
+    private int consecutiveFailures;
+    private long nextAttemptNanos = System.nanoTime();
+
+    /**
+     * Relay kilit satırını yoksa oluşturur, aynı anda açılan node'lardan biri oluşturur
+     */
+    @PostConstruct
+    public void createRelayLock() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!schedulerLockRepository.existsById(RELAY_LOCK)) {
+                    schedulerLockRepository.saveAndFlush(new SchedulerLock(RELAY_LOCK));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Outbox relay kilidi başka bir node tarafından oluşturuldu");
+        }
+    }
+
+    /**
+     * Gönderilmemiş kayıtları batch'ler halinde yayınlar
+     * Bir batch tam dolu değilse kuyruk boşalmış demektir, tur sonlanır. Relay kilidi başka bir node'daysa da
+     * tur sonlanır.
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.relay.interval:PT0.5S}")
+    public synchronized void relay() {
+        if (paused || System.nanoTime() - nextAttemptNanos < 0) {
+            return;
+        }
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                Integer published = transactionTemplate.execute(status -> publishNextBatch());
+                if (published == null || published < batchSize) {
+                    break;
+                }
+            }
+            if (consecutiveFailures > 0) {
+                logger.info("Outbox yayını {} başarısız denemeden sonra tekrar çalışıyor", consecutiveFailures);
+                consecutiveFailures = 0;
+            }
+        } catch (PessimisticLockingFailureException e) {
+            // Kilidi tutan node'un batch'i kilit bekleme süresinden uzun sürdü, sonraki turda tekrar denenir
+            logger.debug("Outbox relay kilidi başka bir node'da: {}", e.getMessage());
+        } catch (Exception e) {
+            // Kayıtlar tabloda kalır, bekleme süresi sonunda tekrar denenir
+            consecutiveFailures++;
+            Duration backoff = Duration.ofMillis(Math.min(maxBackoff.toMillis(),
+                    100L << Math.min(consecutiveFailures, 20)));
+            nextAttemptNanos = System.nanoTime() + backoff.toNanos();
+            logger.warn("Outbox olayları yayınlanamadı ({}. deneme), {} ms sonra tekrar denenecek: {}",
+                    consecutiveFailures, backoff.toMillis(), e.getMessage());
+        }
+    }
+
+    /**
+     * Gönderilmiş ve saklama süresi dolmuş kayıtları siler
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.prune.interval:PT1M}")
+    public void prune() {
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxEventRepository.deleteSentBefore(LocalDateTime.now().minus(retention)));
+        if (deleted != null && deleted > 0) {
+            logger.debug("Gönderilmiş {} outbox kaydı silindi", deleted);
+        }
+    }
+
+    private int publishNextBatch() {
+        // Kilit satırı transaction commit edilene kadar kilitli kalır, başka node bu batch işaretlenmeden okuyamaz
+        LocalDateTime now = LocalDateTime.now();
+        if (schedulerLockRepository.tryAcquire(RELAY_LOCK, nodeId, now, now.plus(lease)) == 0) {
+            return 0;
+        }
+        List<OutboxEvent> events = outboxEventRepository.findBySentAtIsNullOrderByIdAsc(Limit.of(batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        // Tüm batch aynı kanaldan gönderilir, confirm'ler tek seferde beklenir
+        rabbitTemplate.invoke(operations -> {
+            for (OutboxEvent event : events) {
+                operations.send(event.getExchange(), event.getRoutingKey(), toMessage(event));
+            }
+            operations.waitForConfirmsOrDie(confirmTimeout.toMillis());
+            return null;
+        });
+
+        outboxEventRepository.markSent(events.stream().map(OutboxEvent::getId).toList(), LocalDateTime.now());
+        logger.debug("{} outbox olayı yayınlandı (son ID={})", events.size(), events.get(events.size() - 1).getId());
+        return events.size();
+    }
+
+    private Message toMessage(OutboxEvent event) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(messageFormat.getContentType());
+        if (messageFormat.isText()) {
+            properties.setContentEncoding(StandardCharsets.UTF_8.name());
+        }
+        properties.setMessageId("outbox-" + event.getId());
+        properties.setHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, event.getPayloadType());
+        properties.setHeader(PersonelEventContract.SCHEMA_VERSION_HEADER, PersonelEventContract.SCHEMA_VERSION);
+        return new Message(messageFormat.encode(event.getPayload()), properties);
+    }
+}
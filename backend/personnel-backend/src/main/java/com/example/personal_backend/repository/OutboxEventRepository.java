@@ -0,0 +1,51 @@
+package com.example.personal_backend.repository;
+
+import com.example.personal_backend.entity.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Outbox tablosu için repository
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Gönderilmemiş en eski kayıtları getirir
+     * Satırlar tek tek kilitlenmez: kilitli satırları atlayan (SKIP LOCKED) relay'ler aynı personelin olaylarını
+     * farklı node'lardan sırasız yayınlayabilirdi. Çağıran, relay kilidini (SchedulerLockRepository.tryAcquire) aynı
+     * transaction'da almış olmalıdır.
+     * ID sırası commit sırası değildir: daha küçük ID'li bir kayıt henüz commit edilmemişken daha büyük ID'li kayıt
+     * okunup yayınlanabilir. Bu sadece farklı personellerin olaylarında olur (bkz. OutboxEvent.id).
+     * @param limit En fazla kaç kayıt alınacağı
+     * @return ID'ye göre sıralı kayıtlar
+     */
+    List<OutboxEvent> findBySentAtIsNullOrderByIdAsc(Limit limit);
+
+    /**
+     * Kayıtları gönderildi olarak işaretler
+     * @param ids Gönderilen kayıtların ID'leri
+     * @param sentAt Gönderim zamanı
+     * @return Güncellenen kayıt sayısı
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.sentAt = :sentAt WHERE e.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    /**
+     * Belirtilen zamandan önce gönderilmiş kayıtları siler
+     * @param before Bu zamandan önce gönderilenler silinir
+     * @return Silinen kayıt sayısı
+     */
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.sentAt < :before")
+    int deleteSentBefore(@Param("before") LocalDateTime before);
+}
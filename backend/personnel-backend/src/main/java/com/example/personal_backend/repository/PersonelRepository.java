@@ -1,15 +1,25 @@
 package com.example.personal_backend.repository;
 
+import com.example.personal_backend.dto.PersonelResponseDTO;
 import com.example.personal_backend.entity.Personel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Personel entity'si için veritabanı erişim katmanı
@@ -19,6 +29,22 @@ import java.util.Optional;
 @Repository
 public interface PersonelRepository extends JpaRepository<Personel, Long> {
 
+    /**
+     * Okuma endpoint'lerinde kullanılan DTO projeksiyonu
+     * Satırlar doğrudan PersonelResponseDTO'ya okunur: entity oluşturulmaz, persistence context'e
+     * eklenmez ve dirty checking için snapshot alınmaz.
+     */
+    String RESPONSE_DTO_SELECT = "SELECT new com.example.personal_backend.dto.PersonelResponseDTO(" +
+            "p.id, p.ad, p.soyad, p.email, p.telefon, p.departman, p.pozisyon, p.iseBaslamaTarihi, " +
+            "p.maas, p.aktif, p.olusturmaTarihi, p.guncellemeTarihi) FROM Personel p ";
+
+    // findBySearchText sorgularının ortak arama koşulu
+    String SEARCH_CONDITION = "(LOWER(p.ad) LIKE LOWER(CONCAT('%', :searchText, '%')) OR " +   // Ad alanında arama
+            "LOWER(p.soyad) LIKE LOWER(CONCAT('%', :searchText, '%')) OR " +                   // Soyad alanında arama
+            "LOWER(p.email) LIKE LOWER(CONCAT('%', :searchText, '%')) OR " +                   // Email alanında arama
+            "LOWER(p.departman) LIKE LOWER(CONCAT('%', :searchText, '%')) OR " +               // Departman alanında arama
+            "LOWER(p.pozisyon) LIKE LOWER(CONCAT('%', :searchText, '%')))";                    // Pozisyon alanında arama
+
     /**
      * Email adresine göre personel arar
      * @param email Aranacak email adresi
@@ -41,12 +67,32 @@ public interface PersonelRepository extends JpaRepository<Personel, Long> {
      * @return boolean - Email başka kayıtta varsa true, yoksa false
      */
     boolean existsByEmailAndIdNot(String email, Long id);
+
+    /**
+     * Verilen email adreslerini kullanan kayıtları tek sorguda bulur (batch email kontrolü için)
+     * @param emails Kontrol edilecek email adresleri
+     * @return List<Object[]> - [email, id] çiftleri
+     */
+    @Query("SELECT p.email, p.id FROM Personel p WHERE p.email IN :emails")
+    List<Object[]> findEmailOwners(@Param("emails") Collection<String> emails);
     
     /**
-     * Tüm aktif personelleri listeler
-     * @return List<Personel> - Aktif personel listesi
+     * Tüm aktif personelleri DTO olarak listeler
+     * @return List<PersonelResponseDTO> - Aktif personel listesi
+     */
+    @Query(RESPONSE_DTO_SELECT + "WHERE p.aktif = true")
+    List<PersonelResponseDTO> findActivePersonel();
+
+    /**
+     * Aktif personelleri ileri yönlü bir cursor üzerinden akış olarak döner
+     * Satırlar doğrudan DTO'ya okunur, persistence context'e entity eklenmez,
+     * böylece bellek kullanımı tablo boyutundan bağımsız kalır.
+     * Çağıran taraf transaction içinde olmalı ve stream'i kapatmalıdır.
+     * @return Stream<PersonelResponseDTO> - ID'ye göre sıralı aktif personeller
      */
-    List<Personel> findByAktifTrue();
+    @Query(RESPONSE_DTO_SELECT + "WHERE p.aktif = true ORDER BY p.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<PersonelResponseDTO> streamActivePersonel();
     
     /**
      * Belirtilen departmandaki personelleri listeler
@@ -63,26 +109,65 @@ public interface PersonelRepository extends JpaRepository<Personel, Long> {
     List<Personel> findByPozisyon(String pozisyon);
     
     /**
-     * Sayfalama ile aktif personelleri listeler
+     * Sayfalama ile aktif personelleri DTO olarak listeler
      * @param pageable Sayfalama ve sıralama bilgileri
-     * @return Page<Personel> - Sayfalanmış aktif personel listesi
+     * @return Page<PersonelResponseDTO> - Sayfalanmış aktif personel listesi
+     */
+    @Query(value = RESPONSE_DTO_SELECT + "WHERE p.aktif = true",
+           countQuery = "SELECT COUNT(p) FROM Personel p WHERE p.aktif = true")
+    Page<PersonelResponseDTO> findActivePersonel(Pageable pageable);
+
+    /**
+     * Verilen ID'lere sahip aktif personelleri DTO olarak getirir (arama indeksi sonuç sayfaları için)
+     * Başka bir node'da silinen personel, bu node'un indeksinden çıkarılana kadar aday olarak gelebilir; aktif
+     * olmayanlar burada elenir.
+     * @param ids Personel ID'leri
+     * @return List<PersonelResponseDTO> - ID'ye göre artan sıralı sonuçlar
+     */
+    @Query(RESPONSE_DTO_SELECT + "WHERE p.aktif = true AND p.id IN :ids ORDER BY p.id")
+    List<PersonelResponseDTO> findPersonelByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Keyset (seek) yöntemiyle aktif personelleri listeler
+     * OFFSET ve COUNT(*) kullanmaz, sıralamaya otomatik olarak id eklenir
+     * @param position Son okunan satırın pozisyonu (ilk sayfa için ScrollPosition.keyset())
+     * @param sort Sıralama (sadece indeksli alanlar kullanılmalı)
+     * @param limit Sayfa boyutu
+     * @return Window<Personel> - Sayfa ve sonraki sayfanın olup olmadığı bilgisi
      */
-    Page<Personel> findByAktifTrue(Pageable pageable);
+    Window<Personel> findByAktifTrue(ScrollPosition position, Sort sort, Limit limit);
     
     /**
      * Aktif personeller arasında çoklu alan araması yapar
      * Ad, soyad, email, departman ve pozisyon alanlarında arama yapılır
      * @param searchText Arama metni
      * @param pageable Sayfalama bilgileri
-     * @return Page<Personel> - Arama sonuçları
-     */
-    @Query("SELECT p FROM Personel p WHERE p.aktif = true AND " +
-           "(LOWER(p.ad) LIKE LOWER(CONCAT('%', :searchText, '%')) OR " +        // Ad alanında arama
-           "LOWER(p.soyad) LIKE LOWER(CONCAT('%', :searchText, '%')) OR " +       // Soyad alanında arama
-           "LOWER(p.email) LIKE LOWER(CONCAT('%', :searchText, '%')) OR " +       // Email alanında arama
-           "LOWER(p.departman) LIKE LOWER(CONCAT('%', :searchText, '%')) OR " +   // Departman alanında arama
-           "LOWER(p.pozisyon) LIKE LOWER(CONCAT('%', :searchText, '%')))")        // Pozisyon alanında arama
-    Page<Personel> findBySearchText(@Param("searchText") String searchText, Pageable pageable);
+     * @return Page<PersonelResponseDTO> - Arama sonuçları
+     */
+    @Query(value = RESPONSE_DTO_SELECT + "WHERE p.aktif = true AND " + SEARCH_CONDITION,
+           countQuery = "SELECT COUNT(p) FROM Personel p WHERE p.aktif = true AND " + SEARCH_CONDITION)
+    Page<PersonelResponseDTO> findBySearchText(@Param("searchText") String searchText, Pageable pageable);
+
+    /**
+     * findBySearchText'in ID'ye göre keyset sayfalamalı hali
+     * Arama indeksi hazır olmadığında cursor araması için kullanılır
+     * @param searchText Arama metni
+     * @param lastId Önceki sayfadaki son ID (ilk sayfa için 0)
+     * @param pageable Sadece sayfa boyutu kullanılır
+     * @return List<PersonelResponseDTO> - ID'ye göre artan sıralı sonuçlar
+     */
+    @Query(RESPONSE_DTO_SELECT + "WHERE p.aktif = true AND p.id > :lastId AND " + SEARCH_CONDITION + " ORDER BY p.id")
+    List<PersonelResponseDTO> findBySearchTextAfterId(@Param("searchText") String searchText,
+                                                      @Param("lastId") Long lastId, Pageable pageable);
+
+    /**
+     * Arama indeksini oluşturmak için aktif personellerin aranabilir alanlarını akış olarak döner
+     * Entity yerine sadece gerekli kolonlar okunur, çağıran taraf transaction içinde olmalıdır
+     * @return Stream<Object[]> - [id, ad, soyad, email, departman, pozisyon, surum]
+     */
+    @Query("SELECT p.id, p.ad, p.soyad, p.email, p.departman, p.pozisyon, p.surum FROM Personel p WHERE p.aktif = true")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<Object[]> streamSearchableFields();
     
     /**
      * Sistemdeki tüm benzersiz departmanları listeler (sadece aktif personellerin)
@@ -0,0 +1,398 @@
+package com.example.personal_backend.search;
+
+import com.example.personal_backend.entity.Personel;
+import com.example.personal_backend.repository.PersonelRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Aktif personeller için bellek içi trigram (3-gram) ters indeksi
+ * Ad, soyad, email, departman ve pozisyon alanlarında "içerir" araması yapar.
+ * Metinler Türkçe kurallarına göre küçük harfe çevrilir ve noktalı/noktasız i tek harfe indirilir (İ, I, ı → i),
+ * bu yüzden hem Türkçe yazılmış ("IŞIK", "İpek") hem ASCII yazılmış ("Ilker@x.com", "IT") değerler bulunur.
+ *
+ * Uygulama açılışında veritabanından yeniden oluşturulur, PersonelService yazmalarında
+ * commit sonrası artımlı olarak güncellenir. İndeks hazır olana kadar isReady() false döner.
+ * Her kaydın uygulanan son sürümü (Personel.surum) tutulur; yerel commit'ler ve uzak node'lardan gelen
+ * tazelemeler farklı sırayla gelebildiği için daha eski sürüm daha yenisinin üzerine yazılmaz.
+ */
+@Component
+public class PersonelSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(PersonelSearchIndex.class);
+
+    public static final Locale TURKISH = Locale.forLanguageTag("tr-TR");
+
+    // Alanlar arasında eşleşme olmaması için kullanılan ayraç (aramada kullanılamaz)
+    private static final char FIELD_SEPARATOR = '\u0001';
+
+    private static final int GRAM = 3;
+
+    @Autowired
+    private PersonelRepository personelRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Personel ID'si ile dahili sıra numarası (ordinal) arasındaki eşleme
+    private final Map<Long, Integer> ordinalById = new HashMap<>();
+    private long[] idByOrdinal = new long[1024];
+    // Ordinal başına katlanmış (folded) metin, silinen kayıtlar için null
+    private String[] textByOrdinal = new String[1024];
+    // Ordinal başına uygulanan son personel sürümü (silinen kayıtlarda da tutulur)
+    private long[] versionByOrdinal = new long[1024];
+    private int nextOrdinal;
+    private int liveCount;
+
+    // Trigram -> sıralı ordinal listesi
+    private final Map<Long, PostingList> postings = new HashMap<>();
+
+    private volatile boolean ready;
+
+    /**
+     * Metni Türkçe kurallarına göre küçük harfe çevirir, noktasız ı'yı i'ye indirir
+     * İndekslenen metinler ve sorgular aynı şekilde katlanır. Türkçe kuralı I'yı ı yaptığı için ASCII metinlerde
+     * (email, "IT") "i" araması eşleşmezdi; ı/i ayrımı kaldırılarak LOWER() LIKE'ın bulduğu sonuçlar korunur.
+     * @param text Kaynak metin
+     * @return Katlanmış metin (uzunluk değişmez), null ise boş string
+     */
+    public static String fold(String text) {
+        return text == null ? "" : text.toLowerCase(TURKISH).replace('ı', 'i');
+    }
+
+    /**
+     * Açılışta indeksi veritabanındaki aktif personellerden yeniden oluşturur
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            clear();
+            try (Stream<Object[]> rows = personelRepository.streamSearchableFields()) {
+                rows.forEach(row -> put((Long) row[0], textOf(
+                        (String) row[1], (String) row[2], (String) row[3], (String) row[4], (String) row[5]),
+                        versionOf((Long) row[6])));
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Personel arama indeksi oluşturuldu: {} kayıt, {} trigram, {} ms",
+                liveCount, postings.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Personeli aktif transaction commit edildikten sonra indekste günceller
+     * Aktif olmayan personel indeksten çıkarılır. Alan değerleri çağrı anında kopyalanır, sürüm ise
+     * flush'ta arttığı için commit sonrasında okunur.
+     * @param personel Kaydedilmiş personel
+     */
+    public void updateAfterCommit(Personel personel) {
+        Long id = personel.getId();
+        String text = Boolean.TRUE.equals(personel.getAktif())
+                ? textOf(personel.getAd(), personel.getSoyad(), personel.getEmail(),
+                         personel.getDepartman(), personel.getPozisyon())
+                : null;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(id, text, versionOf(personel.getSurum()));
+                }
+            });
+        } else {
+            apply(id, text, versionOf(personel.getSurum()));
+        }
+    }
+
+    /**
+     * Personeli veritabanından tekrar okuyup indeksi günceller
+     * Başka bir node'da yapılan değişiklikler için kullanılır. Okunan sürüm indekstekinden eskiyse
+     * (daha yeni bir okuma veya commit önce uygulandıysa) indeks değişmez.
+     * @param id Personel ID'si
+     */
+    public void refresh(Long id) {
+        if (!ready) {
+            return; // Açılıştaki rebuild en güncel hali zaten okuyacak
+        }
+        personelRepository.findById(id).ifPresent(p -> apply(id, Boolean.TRUE.equals(p.getAktif())
+                ? textOf(p.getAd(), p.getSoyad(), p.getEmail(), p.getDepartman(), p.getPozisyon())
+                : null, versionOf(p.getSurum())));
+    }
+
+    /**
+     * Arama metnini içeren aktif personellerin ID'lerini artan sırada döner
+     * @param searchText Arama metni
+     * @return Eşleşen personel ID'leri (artan sıralı)
+     */
+    public long[] search(String searchText) {
+        String query = fold(searchText);
+        lock.readLock().lock();
+        try {
+            long[] result;
+            if (query.length() < GRAM) {
+                result = scan(query);
+            } else {
+                result = lookup(query);
+            }
+            Arrays.sort(result);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Kısa aramalarda trigram üretilemez, tüm metinler taranır
+    private long[] scan(String query) {
+        long[] result = new long[liveCount];
+        int count = 0;
+        for (int ordinal = 0; ordinal < nextOrdinal; ordinal++) {
+            String text = textByOrdinal[ordinal];
+            if (text != null && text.contains(query)) {
+                result[count++] = idByOrdinal[ordinal];
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private long[] lookup(String query) {
+        long[] grams = trigramsOf(query);
+        PostingList[] lists = new PostingList[grams.length];
+        for (int i = 0; i < grams.length; i++) {
+            PostingList list = postings.get(grams[i]);
+            if (list == null || list.size == 0) {
+                return new long[0]; // Trigramlardan biri hiç geçmiyorsa eşleşme yok
+            }
+            lists[i] = list;
+        }
+        // En kısa listeden başlayarak kesişim al
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+        PostingList smallest = lists[0];
+        long[] result = new long[smallest.size];
+        int count = 0;
+        for (int i = 0; i < smallest.size; i++) {
+            int ordinal = smallest.values[i];
+            boolean inAll = true;
+            for (int j = 1; j < lists.length && inAll; j++) {
+                inAll = lists[j].contains(ordinal);
+            }
+            // Trigramların hepsinin geçmesi ardışık geçtikleri anlamına gelmez, metinle doğrula
+            if (inAll && textByOrdinal[ordinal].contains(query)) {
+                result[count++] = idByOrdinal[ordinal];
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private void apply(Long id, String text, long version) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalById.get(id);
+            if (ordinal != null && version < versionByOrdinal[ordinal]) {
+                return; // Daha yeni bir sürüm zaten uygulanmış
+            }
+            if (text == null) {
+                remove(id, version);
+            } else {
+                put(id, text, version);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(Long id, String text, long version) {
+        Integer existing = ordinalById.get(id);
+        int ordinal;
+        if (existing != null) {
+            ordinal = existing;
+            versionByOrdinal[ordinal] = version;
+            String oldText = textByOrdinal[ordinal];
+            if (text.equals(oldText)) {
+                return;
+            }
+            if (oldText != null) {
+                removePostings(ordinal, oldText);
+            } else {
+                liveCount++;
+            }
+        } else {
+            ordinal = nextOrdinal++;
+            ensureCapacity(ordinal + 1);
+            ordinalById.put(id, ordinal);
+            idByOrdinal[ordinal] = id;
+            versionByOrdinal[ordinal] = version;
+            liveCount++;
+        }
+        textByOrdinal[ordinal] = text;
+        for (long gram : trigramsOf(text)) {
+            postings.computeIfAbsent(gram, g -> new PostingList()).add(ordinal);
+        }
+    }
+
+    private void remove(Long id, long version) {
+        Integer ordinal = ordinalById.get(id);
+        if (ordinal == null) {
+            // Eski bir ekleme sonradan gelirse geri getirilmemesi için silinen sürüm kaydedilir
+            ordinal = nextOrdinal++;
+            ensureCapacity(ordinal + 1);
+            ordinalById.put(id, ordinal);
+            idByOrdinal[ordinal] = id;
+            versionByOrdinal[ordinal] = version;
+            return;
+        }
+        versionByOrdinal[ordinal] = version;
+        if (textByOrdinal[ordinal] == null) {
+            return;
+        }
+        removePostings(ordinal, textByOrdinal[ordinal]);
+        // Ordinal boş bırakılır, bir sonraki rebuild'de sıkıştırılır
+        textByOrdinal[ordinal] = null;
+        liveCount--;
+    }
+
+    private void removePostings(int ordinal, String text) {
+        for (long gram : trigramsOf(text)) {
+            PostingList list = postings.get(gram);
+            if (list != null) {
+                list.remove(ordinal);
+                if (list.size == 0) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private void clear() {
+        ordinalById.clear();
+        postings.clear();
+        idByOrdinal = new long[1024];
+        textByOrdinal = new String[1024];
+        versionByOrdinal = new long[1024];
+        nextOrdinal = 0;
+        liveCount = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > idByOrdinal.length) {
+            int newLength = Math.max(capacity, idByOrdinal.length * 2);
+            idByOrdinal = Arrays.copyOf(idByOrdinal, newLength);
+            textByOrdinal = Arrays.copyOf(textByOrdinal, newLength);
+            versionByOrdinal = Arrays.copyOf(versionByOrdinal, newLength);
+        }
+    }
+
+    // Henüz kaydedilmemiş (sürümü olmayan) personel en eski sürüm sayılır
+    private static long versionOf(Long surum) {
+        return surum != null ? surum : 0L;
+    }
+
+    private static String textOf(String ad, String soyad, String email, String departman, String pozisyon) {
+        return fold(ad) + FIELD_SEPARATOR + fold(soyad) + FIELD_SEPARATOR + fold(email)
+                + FIELD_SEPARATOR + fold(departman) + FIELD_SEPARATOR + fold(pozisyon);
+    }
+
+    /**
+     * Metindeki benzersiz trigramları döner, ayraç içeren trigramlar atlanır
+     * Her trigram üç karakterin 16'şar bitlik değerleriyle tek bir long'a kodlanır
+     */
+    private static long[] trigramsOf(String text) {
+        int length = text.length();
+        if (length < GRAM) {
+            return new long[0];
+        }
+        long[] grams = new long[length - GRAM + 1];
+        int count = 0;
+        for (int i = 0; i + GRAM <= length; i++) {
+            char c1 = text.charAt(i);
+            char c2 = text.charAt(i + 1);
+            char c3 = text.charAt(i + 2);
+            if (c1 == FIELD_SEPARATOR || c2 == FIELD_SEPARATOR || c3 == FIELD_SEPARATOR) {
+                continue;
+            }
+            grams[count++] = ((long) c1 << 32) | ((long) c2 << 16) | c3;
+        }
+        grams = Arrays.copyOf(grams, count);
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    /**
+     * Sıralı, tekrarsız int listesi
+     * Yeni kayıtlar genelde en büyük ordinal'i aldığı için ekleme çoğunlukla sona yapılır
+     */
+    private static final class PostingList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == 0 || values[size - 1] < value) {
+                grow();
+                values[size++] = value;
+                return;
+            }
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0) {
+                return;
+            }
+            int insertAt = -index - 1;
+            grow();
+            System.arraycopy(values, insertAt, values, insertAt + 1, size - insertAt);
+            values[insertAt] = value;
+            size++;
+        }
+
+        void remove(int value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0) {
+                System.arraycopy(values, index + 1, values, index, size - index - 1);
+                size--;
+            }
+        }
+
+        boolean contains(int value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+
+        private void grow() {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, values.length + (values.length >> 1) + 1);
+            }
+        }
+    }
+}
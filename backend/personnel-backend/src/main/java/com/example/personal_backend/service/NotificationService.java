@@ -1,12 +1,25 @@
 package com.example.personal_backend.service;
 
+import com.example.personal_backend.config.PersonelNotificationShards;
 import com.example.personal_backend.config.RabbitMQConfig;
-import com.example.personal_backend.dto.PersonelNotificationDTO;
+import com.example.personal_backend.entity.OutboxEvent;
+import com.example.personal_backend.repository.OutboxEventRepository;
+import com.example.personel_events.PersonelNotificationDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
 
 @Service
 public class NotificationService {
@@ -14,20 +27,87 @@ public class NotificationService {
     private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
 
     @Autowired
-    private RabbitTemplate rabbitTemplate;
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Bildirim shard kuyruğu sayısı (notification-backend ile aynı olmalı)
+    @Value("${app.notification.shards.count:4}")
+    private int shardCount;
 
+    /**
+     * Bildirimi çağıran işlemin transaction'ı içinde outbox tablosuna yazar
+     * Mesaj RabbitMQ'ya OutboxRelay tarafından commit'ten sonra gönderilir,
+     * böylece API gecikmesi broker'dan bağımsızdır ve rollback olan işlemler için mesaj gitmez.
+     * Mesaj personelId'nin shard kuyruğuna yönlendirilir, aynı personelin olayları sırayla işlenir.
+     * Bildirime tekil eventId atanır; notification-backend aynı olayın tekrar teslimlerini bu ID ile ayıklar.
+     * @param notification Gönderilecek bildirim
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
     public void sendPersonelNotification(PersonelNotificationDTO notification) {
+        assignEventId(notification);
+        String payload;
         try {
-            logger.info("Notification gönderiliyor: {}", notification);
-            rabbitTemplate.convertAndSend(
+            payload = objectMapper.writeValueAsString(notification);
+        } catch (JsonProcessingException e) {
+            // Serileştirilemeyen bildirim iş işlemini de geri almalı, sessizce kaybolmamalı
+            throw new IllegalStateException("Notification serileştirilemedi: " + notification, e);
+        }
+
+        OutboxEvent event = outboxEventRepository.save(new OutboxEvent(
+                notification.getPersonelId(),
+                notification.getOperationType(),
+                RabbitMQConfig.PERSONEL_EXCHANGE,
+                RabbitMQConfig.shardRoutingKey(PersonelNotificationShards.shardOf(notification.getPersonelId(), shardCount)),
+                notification.getClass().getName(),
+                payload
+        ));
+        logger.info("Notification outbox'a yazıldı: Outbox ID = {}, Personel ID = {}, Operation = {}",
+                event.getId(), notification.getPersonelId(), notification.getOperationType());
+    }
+
+    /**
+     * Birden fazla bildirimi shard başına tek bir toplu mesaj olarak outbox'a yazar
+     * Batch endpoint'i tarafından kullanılır. Bildirimler personelId'nin shard'ına göre gruplanır ve her grup
+     * o shard'ın kuyruğuna liste olarak gider, böylece tekil olaylarla aynı personel için sıra korunur.
+     * Her bildirime ayrı eventId atanır.
+     * @param notifications Gönderilecek bildirimler
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void sendAggregatedPersonelNotification(List<PersonelNotificationDTO> notifications) {
+        Map<Integer, List<PersonelNotificationDTO>> byShard = new TreeMap<>();
+        for (PersonelNotificationDTO notification : notifications) {
+            assignEventId(notification);
+            byShard.computeIfAbsent(PersonelNotificationShards.shardOf(notification.getPersonelId(), shardCount),
+                    shard -> new ArrayList<>()).add(notification);
+        }
+
+        for (Map.Entry<Integer, List<PersonelNotificationDTO>> shard : byShard.entrySet()) {
+            String payload;
+            try {
+                payload = objectMapper.writeValueAsString(shard.getValue());
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Toplu notification serileştirilemedi", e);
+            }
+
+            OutboxEvent event = outboxEventRepository.save(new OutboxEvent(
+                    null,
+                    "BATCH",
                     RabbitMQConfig.PERSONEL_EXCHANGE,
-                    RabbitMQConfig.PERSONEL_ROUTING_KEY,
-                    notification
-            );
-            logger.info("Notification başarıyla gönderildi: Personel ID = {}, Operation = {}",
-                    notification.getPersonelId(), notification.getOperationType());
-        } catch (Exception e) {
-            logger.error("Notification gönderilirken hata oluştu: {}", e.getMessage(), e);
+                    RabbitMQConfig.shardRoutingKey(shard.getKey()),
+                    ArrayList.class.getName(),
+                    payload
+            ));
+            logger.info("Toplu notification outbox'a yazıldı: Outbox ID = {}, Shard = {}, Bildirim sayısı = {}",
+                    event.getId(), shard.getKey(), shard.getValue().size());
+        }
+    }
+
+    // ID payload ile birlikte outbox'a yazılır, relay'in tekrar gönderimleri de aynı ID'yi taşır
+    private static void assignEventId(PersonelNotificationDTO notification) {
+        if (notification.getEventId() == null) {
+            notification.setEventId(UUID.randomUUID().toString());
         }
     }
 }
@@ -0,0 +1,137 @@
+package com.example.personal_backend.service;
+
+import com.example.personal_backend.exception.InvalidCursorException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keyset sayfalama için opak cursor token'larını üretir ve çözer
+ * Token; sıralama alanını, yönü ve son satırın (sıralama değeri, id) ikilisini içerir.
+ * Sadece personel tablosunda (aktif, alan, id) indeksi olan alanlara göre sıralamaya izin verilir.
+ */
+@Component
+public class PersonelCursorCodec {
+
+    private static final String ID_PROPERTY = "id";
+
+    /**
+     * Cursor ile sıralanabilen alanlar (Personel entity'sindeki indeksler ile eşleşmelidir)
+     */
+    public enum SortField {
+        ID("id", Long::valueOf),
+        AD("ad", value -> value),
+        SOYAD("soyad", value -> value),
+        EMAIL("email", value -> value),
+        DEPARTMAN("departman", value -> value),
+        POZISYON("pozisyon", value -> value),
+        ISE_BASLAMA_TARIHI("iseBaslamaTarihi", LocalDate::parse),
+        OLUSTURMA_TARIHI("olusturmaTarihi", LocalDateTime::parse);
+
+        private final String property;
+        private final Function<String, Object> parser;
+
+        SortField(String property, Function<String, Object> parser) {
+            this.property = property;
+            this.parser = parser;
+        }
+
+        public String getProperty() {
+            return property;
+        }
+
+        /**
+         * Entity alan adından SortField bulur
+         * @param property Entity alan adı (ör. "ad")
+         * @return SortField
+         * @throws InvalidCursorException Alan cursor sıralaması için izinli değilse
+         */
+        public static SortField fromProperty(String property) {
+            for (SortField field : values()) {
+                if (field.property.equals(property)) {
+                    return field;
+                }
+            }
+            throw new InvalidCursorException("Bu alana göre cursor sıralaması desteklenmiyor: " + property +
+                    ". İzin verilen alanlar: " + Arrays.stream(values()).map(SortField::getProperty)
+                    .collect(Collectors.joining(", ")));
+        }
+    }
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Son satırın keyset değerlerinden token üretir
+     * @param field Sıralama alanı
+     * @param direction Sıralama yönü
+     * @param position Son satırın pozisyonu
+     * @return URL-safe Base64 token
+     */
+    public String encode(SortField field, Sort.Direction direction, KeysetScrollPosition position) {
+        Map<String, String> keys = new LinkedHashMap<>();
+        position.getKeys().forEach((key, value) -> keys.put(key, String.valueOf(value)));
+
+        Map<String, Object> token = new LinkedHashMap<>();
+        token.put("s", field.getProperty());
+        token.put("d", direction.name());
+        token.put("k", keys);
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(token));
+        } catch (Exception e) {
+            throw new IllegalStateException("Cursor oluşturulamadı", e);
+        }
+    }
+
+    /**
+     * Token'ı çözer, null/boş token ilk sayfayı ifade eder
+     * @param token İstemciden gelen token
+     * @param field İstekteki sıralama alanı (token'daki ile aynı olmalı)
+     * @param direction İstekteki sıralama yönü (token'daki ile aynı olmalı)
+     * @return Keyset pozisyonu
+     * @throws InvalidCursorException Token bozuksa veya farklı bir sıralamaya aitse
+     */
+    public KeysetScrollPosition decode(String token, SortField field, Sort.Direction direction) {
+        if (token == null || token.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        Map<String, Object> decoded;
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(token.getBytes(StandardCharsets.US_ASCII));
+            decoded = objectMapper.readValue(json, new TypeReference<Map<String, Object>>() {});
+        } catch (Exception e) {
+            throw new InvalidCursorException("Geçersiz cursor");
+        }
+
+        if (!field.getProperty().equals(decoded.get("s")) || !direction.name().equals(decoded.get("d"))) {
+            throw new InvalidCursorException("Cursor farklı bir sıralamaya ait, sıralama parametreleri değiştirilemez");
+        }
+        if (!(decoded.get("k") instanceof Map<?, ?> rawKeys)
+                || !rawKeys.containsKey(ID_PROPERTY) || !rawKeys.containsKey(field.getProperty())) {
+            throw new InvalidCursorException("Geçersiz cursor");
+        }
+
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            keys.put(field.getProperty(), field.parser.apply(String.valueOf(rawKeys.get(field.getProperty()))));
+            keys.put(ID_PROPERTY, Long.valueOf(String.valueOf(rawKeys.get(ID_PROPERTY))));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Geçersiz cursor");
+        }
+        return ScrollPosition.forward(keys);
+    }
+}
@@ -1,20 +1,45 @@
 package com.example.personal_backend.service;
 
+import com.example.personal_backend.cache.PersonelCache;
 import com.example.personal_backend.dto.*;
 import com.example.personal_backend.entity.Personel;
 import com.example.personal_backend.exception.PersonelNotFoundException;
+import com.example.personal_backend.mapper.PersonelMapper;
 import com.example.personal_backend.exception.DuplicateEmailException;
+import com.example.personal_backend.exception.InvalidBatchRequestException;
+import com.example.personal_backend.exception.InvalidCursorException;
 import com.example.personal_backend.repository.PersonelRepository;
+import com.example.personal_backend.search.PersonelSearchIndex;
+import com.example.personel_events.PersonelNotificationDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Personel iş mantığını yöneten servis sınıfı
@@ -27,6 +52,13 @@ public class PersonelService {
     // Loglama için kullanılan logger instance'ı
     private static final Logger logger = LoggerFactory.getLogger(PersonelService.class);
 
+    private static final String OPERATION_CREATE = "CREATE";
+    private static final String OPERATION_UPDATE = "UPDATE";
+    private static final String OPERATION_DELETE = "DELETE";
+
+    // Cursor sayfalamasında izin verilen en büyük sayfa boyutu
+    private static final int MAX_CURSOR_PAGE_SIZE = 500;
+
     // Veritabanı işlemleri için repository
     @Autowired
     private PersonelRepository personelRepository;
@@ -35,6 +67,30 @@ public class PersonelService {
     @Autowired
     private NotificationService notificationService;
 
+    // ID ile okunan personeller için cache
+    @Autowired
+    private PersonelCache personelCache;
+
+    // Bellek içi arama indeksi
+    @Autowired
+    private PersonelSearchIndex personelSearchIndex;
+
+    // Entity ve DTO arasında dönüşüm için
+    @Autowired
+    private PersonelMapper personelMapper;
+
+    // Keyset sayfalama token'ları için
+    @Autowired
+    private PersonelCursorCodec personelCursorCodec;
+
+    // Batch işlemlerinde her bir öğeyi ayrı ayrı doğrulamak için
+    @Autowired
+    private Validator validator;
+
+    // Tek bir batch isteğindeki en fazla işlem sayısı
+    @Value("${app.personel.batch.max-operations:1000}")
+    private int maxBatchOperations;
+
     /**
      * Tüm aktif personelleri listeler
      * @return Aktif personellerin DTO listesi
@@ -42,11 +98,21 @@ public class PersonelService {
     @Transactional(readOnly = true) // Sadece okuma işlemi
     public List<PersonelResponseDTO> getAllPersonel() {
         logger.info("Tüm aktif personeller getiriliyor");
-        List<Personel> personelList = personelRepository.findByAktifTrue();
-        // Entity'leri DTO'lara dönüştür
-        return personelList.stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        // Satırlar doğrudan DTO olarak okunur, entity dönüşümü gerekmez
+        return personelRepository.findActivePersonel();
+    }
+
+    /**
+     * Tüm aktif personelleri tek tek consumer'a aktarır
+     * Liste oluşturmaz, satırlar veritabanı cursor'ından okundukça işlenir
+     * @param consumer Her personel için çağrılacak fonksiyon
+     */
+    @Transactional(readOnly = true)
+    public void streamAllPersonel(Consumer<PersonelResponseDTO> consumer) {
+        logger.info("Tüm aktif personeller akış olarak getiriliyor");
+        try (Stream<PersonelResponseDTO> personelStream = personelRepository.streamActivePersonel()) {
+            personelStream.forEach(consumer);
+        }
     }
 
     /**
@@ -58,13 +124,44 @@ public class PersonelService {
     public Page<PersonelResponseDTO> getAllPersonelPaginated(Pageable pageable) {
         logger.info("Sayfalama ile personeller getiriliyor: sayfa={}, boyut={}", 
                    pageable.getPageNumber(), pageable.getPageSize());
-        Page<Personel> personelPage = personelRepository.findByAktifTrue(pageable);
-        // Page içindeki her Personel entity'sini DTO'ya dönüştür
-        return personelPage.map(this::convertToResponseDTO);
+        return personelRepository.findActivePersonel(pageable);
+    }
+
+    /**
+     * Aktif personelleri keyset (cursor) yöntemiyle listeler
+     * Derin sayfalarda da sabit maliyetlidir, toplam kayıt sayısı hesaplanmaz
+     * @param sortBy Sıralama alanı (PersonelCursorCodec.SortField içindekilerden biri)
+     * @param direction Sıralama yönü
+     * @param cursor Önceki sayfadan dönen token, ilk sayfa için null
+     * @param size Sayfa boyutu (1-500)
+     * @return Cursor sayfası
+     * @throws InvalidCursorException Alan izinli değilse, token geçersizse veya sayfa boyutu aralık dışındaysa
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<PersonelResponseDTO> getAllPersonelByCursor(String sortBy, Sort.Direction direction,
+                                                                     String cursor, int size) {
+        logger.info("Cursor ile personeller getiriliyor: sortBy={}, direction={}, size={}", sortBy, direction, size);
+        checkCursorPageSize(size);
+        PersonelCursorCodec.SortField field = PersonelCursorCodec.SortField.fromProperty(sortBy);
+        KeysetScrollPosition position = personelCursorCodec.decode(cursor, field, direction);
+
+        Window<Personel> window = personelRepository.findByAktifTrue(
+                position, Sort.by(direction, field.getProperty()), Limit.of(size));
+
+        List<PersonelResponseDTO> content = window.getContent().stream()
+                .map(personelMapper::toResponseDTO)
+                .collect(Collectors.toList());
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            nextCursor = personelCursorCodec.encode(field, direction,
+                    (KeysetScrollPosition) window.positionAt(window.size() - 1));
+        }
+        return new CursorPageDTO<>(content, window.hasNext(), nextCursor);
     }
 
     /**
      * Belirtilen ID'ye sahip personeli getirir
+     * Sonuç cache'ten okunur, cache'te yoksa veritabanından yüklenir
      * @param id Personel ID'si
      * @return Personel DTO'su
      * @throws PersonelNotFoundException Personel bulunamazsa
@@ -72,9 +169,11 @@ public class PersonelService {
     @Transactional(readOnly = true)
     public PersonelResponseDTO getPersonelById(Long id) {
         logger.info("ID ile personel getiriliyor: {}", id);
-        Personel personel = personelRepository.findById(id)
-                .orElseThrow(() -> new PersonelNotFoundException("ID: " + id + " ile personel bulunamadı"));
-        return convertToResponseDTO(personel);
+        return personelCache.get(id, personelId -> {
+            Personel personel = personelRepository.findById(personelId)
+                    .orElseThrow(() -> new PersonelNotFoundException("ID: " + personelId + " ile personel bulunamadı"));
+            return personelMapper.toResponseDTO(personel);
+        });
     }
 
     /**
@@ -92,10 +191,12 @@ public class PersonelService {
         }
 
         // DTO'yu Entity'e dönüştür ve kaydet
-        Personel personel = convertToEntity(createDTO);
-        Personel savedPersonel = personelRepository.save(personel);
+        Personel personel = personelMapper.toEntity(createDTO);
+        Personel savedPersonel = personelRepository.saveAndFlush(personel);
 
         logger.info("Personel başarıyla oluşturuldu: ID={}", savedPersonel.getId());
+        personelCache.invalidateAfterCommit(savedPersonel.getId());
+        personelSearchIndex.updateAfterCommit(savedPersonel);
 
         // Yeni personel eklendi bildirimi gönder
         PersonelNotificationDTO notification = new PersonelNotificationDTO(
@@ -106,9 +207,10 @@ public class PersonelService {
                 "CREATE",
                 "Yeni personel eklendi"
         );
+        notification.setPersonelVersion(savedPersonel.getSurum());
         notificationService.sendPersonelNotification(notification);
 
-        return convertToResponseDTO(savedPersonel);
+        return personelMapper.toResponseDTO(savedPersonel);
     }
 
     /**
@@ -132,59 +234,17 @@ public class PersonelService {
             throw new DuplicateEmailException("Bu email adresi zaten kullanımda: " + updateDTO.getEmail());
         }
 
-        // Değişen alanları takip et (bildirim için)
-        StringBuilder changedFields = new StringBuilder();
-        
-        // Her alanı kontrol et ve değiştiyse güncelle
-        if (updateDTO.getAd() != null && !updateDTO.getAd().equals(existingPersonel.getAd())) {
-            existingPersonel.setAd(updateDTO.getAd());
-            changedFields.append("Ad, ");
-        }
-        if (updateDTO.getSoyad() != null && !updateDTO.getSoyad().equals(existingPersonel.getSoyad())) {
-            existingPersonel.setSoyad(updateDTO.getSoyad());
-            changedFields.append("Soyad, ");
-        }
-        if (updateDTO.getEmail() != null && !updateDTO.getEmail().equals(existingPersonel.getEmail())) {
-            existingPersonel.setEmail(updateDTO.getEmail());
-            changedFields.append("Email, ");
-        }
-        if (updateDTO.getTelefon() != null && !updateDTO.getTelefon().equals(existingPersonel.getTelefon())) {
-            existingPersonel.setTelefon(updateDTO.getTelefon());
-            changedFields.append("Telefon, ");
-        }
-        if (updateDTO.getDepartman() != null && !updateDTO.getDepartman().equals(existingPersonel.getDepartman())) {
-            existingPersonel.setDepartman(updateDTO.getDepartman());
-            changedFields.append("Departman, ");
-        }
-        if (updateDTO.getPozisyon() != null && !updateDTO.getPozisyon().equals(existingPersonel.getPozisyon())) {
-            existingPersonel.setPozisyon(updateDTO.getPozisyon());
-            changedFields.append("Pozisyon, ");
-        }
-        if (updateDTO.getIseBaslamaTarihi() != null && !updateDTO.getIseBaslamaTarihi().equals(existingPersonel.getIseBaslamaTarihi())) {
-            existingPersonel.setIseBaslamaTarihi(updateDTO.getIseBaslamaTarihi());
-            changedFields.append("İşe Başlama Tarihi, ");
-        }
-        if (updateDTO.getMaas() != null && !updateDTO.getMaas().equals(existingPersonel.getMaas())) {
-            existingPersonel.setMaas(updateDTO.getMaas());
-            changedFields.append("Maaş, ");
-        }
-        if (updateDTO.getAktif() != null && !updateDTO.getAktif().equals(existingPersonel.getAktif())) {
-            existingPersonel.setAktif(updateDTO.getAktif());
-            changedFields.append("Aktiflik Durumu, ");
-        }
+        // Değişen alanları uygula ve takip et (bildirim için)
+        String changes = personelMapper.applyUpdate(existingPersonel, updateDTO);
 
-        // Güncellenmiş personeli kaydet
-        Personel savedPersonel = personelRepository.save(existingPersonel);
+        // Güncellenmiş personeli kaydet, flush ile sürüm (surum) bildirimden önce artar
+        Personel savedPersonel = personelRepository.saveAndFlush(existingPersonel);
         logger.info("Personel başarıyla güncellendi: ID={}", savedPersonel.getId());
+        personelCache.invalidateAfterCommit(savedPersonel.getId());
+        personelSearchIndex.updateAfterCommit(savedPersonel);
 
         // Eğer değişiklik varsa bildirim gönder
-        if (changedFields.length() > 0) {
-            String changes = changedFields.toString();
-            // Son virgülü kaldır
-            if (changes.endsWith(", ")) {
-                changes = changes.substring(0, changes.length() - 2);
-            }
-
+        if (!changes.isEmpty()) {
             PersonelNotificationDTO notification = new PersonelNotificationDTO(
                     savedPersonel.getId(),
                     savedPersonel.getAd(),
@@ -193,10 +253,11 @@ public class PersonelService {
                     "UPDATE",
                     "Güncellenen alanlar: " + changes
             );
+            notification.setPersonelVersion(savedPersonel.getSurum());
             notificationService.sendPersonelNotification(notification);
         }
 
-        return convertToResponseDTO(savedPersonel);
+        return personelMapper.toResponseDTO(savedPersonel);
     }
 
     /**
@@ -212,9 +273,11 @@ public class PersonelService {
 
         // Soft delete - kaydı fiziksel olarak silmez, sadece aktif durumunu false yapar
         personel.setAktif(false);
-        personelRepository.save(personel);
+        personelRepository.saveAndFlush(personel);
 
         logger.info("Personel başarıyla silindi (soft delete): ID={}", id);
+        personelCache.invalidateAfterCommit(id);
+        personelSearchIndex.updateAfterCommit(personel);
 
         // Silme bildirimi gönder
         PersonelNotificationDTO notification = new PersonelNotificationDTO(
@@ -225,11 +288,198 @@ public class PersonelService {
                 "DELETE",
                 "Personel silindi"
         );
+        notification.setPersonelVersion(personel.getSurum());
         notificationService.sendPersonelNotification(notification);
     }
 
+    /**
+     * Birden fazla oluşturma/güncelleme/silme işlemini tek transaction'da uygular
+     * Önce tüm işlemler doğrulanır: alan validasyonu, ID'lerin varlığı tek findAllById ile,
+     * email benzersizliği tek IN sorgusu ile kontrol edilir. Geçersiz işlemler atlanır ve
+     * sonuçta FAILED olarak döner, geçerli olanlar JDBC batch ile yazılır.
+     * Tüm değişiklik bildirimleri tek bir toplu mesaj olarak gönderilir.
+     * @param operations İşlem listesi
+     * @return İşlem sırasıyla sonuçlar
+     * @throws InvalidBatchRequestException Liste boşsa veya izin verilen boyutu aşıyorsa
+     */
+    public PersonelBatchResponseDTO processBatch(List<PersonelBatchOperationDTO> operations) {
+        if (operations == null || operations.isEmpty()) {
+            throw new InvalidBatchRequestException("Batch en az bir işlem içermelidir");
+        }
+        if (operations.size() > maxBatchOperations) {
+            throw new InvalidBatchRequestException("Batch en fazla " + maxBatchOperations + " işlem içerebilir, gelen: " + operations.size());
+        }
+        logger.info("Batch işlemi başlatılıyor: {} işlem", operations.size());
+
+        int count = operations.size();
+        String[] operationTypes = new String[count];
+        String[] errors = new String[count];
+
+        // 1. Alan validasyonu ve batch içinde aynı ID'ye birden fazla işlem kontrolü
+        Set<Long> targetIds = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            PersonelBatchOperationDTO operation = operations.get(i);
+            operationTypes[i] = operation.getOperation() == null ? null : operation.getOperation().trim().toUpperCase(Locale.ROOT);
+            errors[i] = validateBatchOperation(operationTypes[i], operation);
+            if (errors[i] == null && !OPERATION_CREATE.equals(operationTypes[i]) && !targetIds.add(operation.getId())) {
+                errors[i] = "Aynı personel için batch içinde birden fazla işlem var: ID=" + operation.getId();
+            }
+        }
+
+        // 2. Güncellenecek/silinecek kayıtlar tek sorguda yüklenir
+        Map<Long, Personel> existing = new HashMap<>();
+        if (!targetIds.isEmpty()) {
+            personelRepository.findAllById(targetIds).forEach(personel -> existing.put(personel.getId(), personel));
+        }
+        for (int i = 0; i < count; i++) {
+            if (errors[i] == null && !OPERATION_CREATE.equals(operationTypes[i])
+                    && !existing.containsKey(operations.get(i).getId())) {
+                errors[i] = "ID: " + operations.get(i).getId() + " ile personel bulunamadı";
+            }
+        }
+
+        // 3. Email benzersizliği: batch içi tekrarlar ve veritabanındaki sahipler tek sorguda
+        String[] requestedEmails = new String[count];
+        Set<String> batchEmails = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            if (errors[i] != null) {
+                continue;
+            }
+            PersonelBatchOperationDTO operation = operations.get(i);
+            String email = null;
+            if (OPERATION_CREATE.equals(operationTypes[i])) {
+                email = operation.getCreate().getEmail();
+            } else if (OPERATION_UPDATE.equals(operationTypes[i]) && operation.getUpdate().getEmail() != null
+                    && !operation.getUpdate().getEmail().equals(existing.get(operation.getId()).getEmail())) {
+                email = operation.getUpdate().getEmail();
+            }
+            if (email != null && !batchEmails.add(email)) {
+                errors[i] = "Bu email adresi batch içinde birden fazla kullanılmış: " + email;
+            } else {
+                requestedEmails[i] = email;
+            }
+        }
+        Map<String, Long> emailOwners = new HashMap<>();
+        if (!batchEmails.isEmpty()) {
+            for (Object[] row : personelRepository.findEmailOwners(batchEmails)) {
+                emailOwners.put((String) row[0], (Long) row[1]);
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            if (requestedEmails[i] != null && emailOwners.containsKey(requestedEmails[i])) {
+                errors[i] = "Bu email adresi zaten kullanımda: " + requestedEmails[i];
+            }
+        }
+
+        // 4. Geçerli işlemleri uygula; INSERT/UPDATE'ler flush sırasında JDBC batch olarak gönderilir
+        Personel[] affected = new Personel[count];
+        String[] changes = new String[count];
+        List<Personel> created = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (errors[i] != null) {
+                continue;
+            }
+            PersonelBatchOperationDTO operation = operations.get(i);
+            switch (operationTypes[i]) {
+                case OPERATION_CREATE -> {
+                    affected[i] = personelMapper.toEntity(operation.getCreate());
+                    created.add(affected[i]);
+                    changes[i] = "Yeni personel eklendi";
+                }
+                case OPERATION_UPDATE -> {
+                    affected[i] = existing.get(operation.getId());
+                    changes[i] = personelMapper.applyUpdate(affected[i], operation.getUpdate());
+                    if (!changes[i].isEmpty()) {
+                        changes[i] = "Güncellenen alanlar: " + changes[i];
+                    }
+                }
+                default -> {
+                    affected[i] = existing.get(operation.getId());
+                    affected[i].setAktif(false);
+                    changes[i] = "Personel silindi";
+                }
+            }
+        }
+        personelRepository.saveAll(created);
+        personelRepository.flush(); // ID, zaman damgaları ve sürümlerin cevapta ve bildirimlerde dolu olması için
+
+        // 5. Sonuçlar, cache/indeks güncellemesi ve tek toplu bildirim
+        List<PersonelBatchResultDTO> results = new ArrayList<>(count);
+        List<PersonelNotificationDTO> notifications = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (errors[i] != null) {
+                results.add(new PersonelBatchResultDTO(i, operationTypes[i], PersonelBatchResultDTO.STATUS_FAILED,
+                        operations.get(i).getId(), null, errors[i]));
+                continue;
+            }
+            Personel personel = affected[i];
+            personelCache.invalidateAfterCommit(personel.getId());
+            personelSearchIndex.updateAfterCommit(personel);
+            if (!changes[i].isEmpty()) {
+                PersonelNotificationDTO notification = new PersonelNotificationDTO(
+                        personel.getId(),
+                        personel.getAd(),
+                        personel.getSoyad(),
+                        personel.getEmail(),
+                        operationTypes[i],
+                        changes[i]
+                );
+                notification.setPersonelVersion(personel.getSurum());
+                notifications.add(notification);
+            }
+            results.add(new PersonelBatchResultDTO(i, operationTypes[i], PersonelBatchResultDTO.STATUS_SUCCESS,
+                    personel.getId(), OPERATION_DELETE.equals(operationTypes[i]) ? null : personelMapper.toResponseDTO(personel), null));
+        }
+        if (!notifications.isEmpty()) {
+            notificationService.sendAggregatedPersonelNotification(notifications);
+        }
+
+        PersonelBatchResponseDTO response = new PersonelBatchResponseDTO(results);
+        logger.info("Batch işlemi tamamlandı: başarılı={}, başarısız={}", response.getSuccessCount(), response.getFailureCount());
+        return response;
+    }
+
+    /**
+     * Batch içindeki tek bir işlemin yapısını ve alanlarını doğrular
+     * @return Hata mesajı, geçerliyse null
+     */
+    private String validateBatchOperation(String operationType, PersonelBatchOperationDTO operation) {
+        if (operationType == null) {
+            return "İşlem tipi boş olamaz (CREATE, UPDATE, DELETE)";
+        }
+        switch (operationType) {
+            case OPERATION_CREATE:
+                if (operation.getCreate() == null) {
+                    return "CREATE işlemi için 'create' alanı zorunludur";
+                }
+                return validationErrors(operation.getCreate());
+            case OPERATION_UPDATE:
+                if (operation.getId() == null || operation.getUpdate() == null) {
+                    return "UPDATE işlemi için 'id' ve 'update' alanları zorunludur";
+                }
+                return validationErrors(operation.getUpdate());
+            case OPERATION_DELETE:
+                return operation.getId() == null ? "DELETE işlemi için 'id' alanı zorunludur" : null;
+            default:
+                return "Geçersiz işlem tipi: " + operationType + " (CREATE, UPDATE, DELETE olmalıdır)";
+        }
+    }
+
+    private String validationErrors(Object dto) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
     /**
      * Personel arama işlemi yapar
+     * Aday ID'ler bellek içi trigram indeksinden bulunur, sadece istenen sayfa veritabanından yüklenir.
+     * Sonuçlar ID'ye göre artan sıradadır. İndeks henüz hazır değilse veritabanı sorgusuna düşer.
      * @param searchText Arama metni
      * @param pageable Sayfalama bilgileri
      * @return Arama sonuçları
@@ -237,9 +487,77 @@ public class PersonelService {
     @Transactional(readOnly = true)
     public Page<PersonelResponseDTO> searchPersonel(String searchText, Pageable pageable) {
         logger.info("Personel aranıyor: searchText={}", searchText);
-        // Repository'de tanımlı custom query ile arama yap
-        Page<Personel> personelPage = personelRepository.findBySearchText(searchText, pageable);
-        return personelPage.map(this::convertToResponseDTO);
+        if (!personelSearchIndex.isReady()) {
+            // Repository'de tanımlı custom query ile arama yap
+            return personelRepository.findBySearchText(searchText, pageable);
+        }
+
+        long[] candidateIds = personelSearchIndex.search(searchText);
+        int from = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), candidateIds.length) : 0;
+        int to = pageable.isPaged() ? Math.min(from + pageable.getPageSize(), candidateIds.length) : candidateIds.length;
+
+        List<Long> pageIds = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            pageIds.add(candidateIds[i]);
+        }
+        List<PersonelResponseDTO> content = personelRepository.findPersonelByIdIn(pageIds);
+        return new PageImpl<>(content, pageable, candidateIds.length);
+    }
+
+    /**
+     * Personel aramasını ID'ye göre keyset (cursor) yöntemiyle yapar
+     * @param searchText Arama metni
+     * @param cursor Önceki sayfadan dönen token, ilk sayfa için null
+     * @param size Sayfa boyutu (1-500)
+     * @return Cursor sayfası
+     * @throws InvalidCursorException Token geçersizse veya sayfa boyutu aralık dışındaysa
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<PersonelResponseDTO> searchPersonelByCursor(String searchText, String cursor, int size) {
+        logger.info("Cursor ile personel aranıyor: searchText={}, size={}", searchText, size);
+        checkCursorPageSize(size);
+        PersonelCursorCodec.SortField field = PersonelCursorCodec.SortField.ID;
+        KeysetScrollPosition position = personelCursorCodec.decode(cursor, field, Sort.Direction.ASC);
+        long lastId = position.isInitial() ? 0L : (Long) position.getKeys().get(field.getProperty());
+
+        List<PersonelResponseDTO> content;
+        boolean hasNext;
+        if (personelSearchIndex.isReady()) {
+            long[] candidateIds = personelSearchIndex.search(searchText);
+            // İlk ID > lastId olan adayın konumu
+            int from = Arrays.binarySearch(candidateIds, lastId);
+            from = from >= 0 ? from + 1 : -from - 1;
+            int to = Math.min(from + size, candidateIds.length);
+            hasNext = to < candidateIds.length;
+
+            List<Long> pageIds = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                pageIds.add(candidateIds[i]);
+            }
+            content = personelRepository.findPersonelByIdIn(pageIds);
+        } else {
+            // Bir fazla kayıt okunarak sonraki sayfanın varlığı anlaşılır
+            content = personelRepository.findBySearchTextAfterId(searchText, lastId, PageRequest.of(0, size + 1));
+            hasNext = content.size() > size;
+            if (hasNext) {
+                content = content.subList(0, size);
+            }
+        }
+
+        String nextCursor = null;
+        if (hasNext && !content.isEmpty()) {
+            Long lastReturnedId = content.get(content.size() - 1).getId();
+            nextCursor = personelCursorCodec.encode(field, Sort.Direction.ASC,
+                    ScrollPosition.forward(Map.of(field.getProperty(), lastReturnedId)));
+        }
+        return new CursorPageDTO<>(content, hasNext, nextCursor);
+    }
+
+    // Negatif boyut sorguda hataya, sıfır boyut cursor'sız hasNext'e, çok büyük boyut sınırsız okumaya yol açar
+    private static void checkCursorPageSize(int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new InvalidCursorException("Sayfa boyutu 1 ile " + MAX_CURSOR_PAGE_SIZE + " arasında olmalıdır: " + size);
+        }
     }
 
     /**
@@ -259,46 +577,4 @@ public class PersonelService {
     public List<String> getAllPozisyonlar() {
         return personelRepository.findAllPozisyonlar();
     }
-
-    // Converter methods - Entity ve DTO arasında dönüşüm yapar
-    
-    /**
-     * Personel Entity'sini ResponseDTO'ya dönüştürür
-     * @param personel Personel entity'si
-     * @return PersonelResponseDTO
-     */
-    private PersonelResponseDTO convertToResponseDTO(Personel personel) {
-        return new PersonelResponseDTO(
-                personel.getId(),
-                personel.getAd(),
-                personel.getSoyad(),
-                personel.getEmail(),
-                personel.getTelefon(),
-                personel.getDepartman(),
-                personel.getPozisyon(),
-                personel.getIseBaslamaTarihi(),
-                personel.getMaas(),
-                personel.getAktif(),
-                personel.getOlusturmaTarihi(),
-                personel.getGuncellemeTarihi()
-        );
-    }
-
-    /**
-     * PersonelCreateDTO'yu Personel Entity'sine dönüştürür
-     * @param createDTO Oluşturma DTO'su
-     * @return Personel entity'si
-     */
-    private Personel convertToEntity(PersonelCreateDTO createDTO) {
-        return new Personel(
-                createDTO.getAd(),
-                createDTO.getSoyad(),
-                createDTO.getEmail(),
-                createDTO.getTelefon(),
-                createDTO.getDepartman(),
-                createDTO.getPozisyon(),
-                createDTO.getIseBaslamaTarihi(),
-                createDTO.getMaas()
-        );
-    }
 }
@@ -0,0 +1,61 @@
+package com.example.personal_backend.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PersonelNotificationShardsTest {
+
+    private static final int KEYS = 100_000;
+
+    @Test
+    void shardIsStableAndInRange() {
+        for (long id = 1; id <= KEYS; id++) {
+            int shard = PersonelNotificationShards.shardOf(id, 7);
+            assertTrue(shard >= 0 && shard < 7);
+            assertEquals(shard, PersonelNotificationShards.shardOf(id, 7));
+        }
+        assertEquals(0, PersonelNotificationShards.shardOf(12345L, 1));
+    }
+
+    @Test
+    void nullPersonelGoesToFirstShard() {
+        assertEquals(0, PersonelNotificationShards.shardOf(null, 4));
+    }
+
+    @Test
+    void invalidShardCountIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> PersonelNotificationShards.shardOf(1L, 0));
+    }
+
+    @Test
+    void keysAreSpreadEvenly() {
+        int shards = 8;
+        int[] counts = new int[shards];
+        for (long id = 1; id <= KEYS; id++) {
+            counts[PersonelNotificationShards.shardOf(id, shards)]++;
+        }
+        int expected = KEYS / shards;
+        for (int count : counts) {
+            assertTrue(Math.abs(count - expected) < expected * 0.05, "Dengesiz dağılım: " + count);
+        }
+    }
+
+    @Test
+    void addingShardOnlyMovesKeysToNewShard() {
+        int moved = 0;
+        for (long id = 1; id <= KEYS; id++) {
+            int before = PersonelNotificationShards.shardOf(id, 4);
+            int after = PersonelNotificationShards.shardOf(id, 5);
+            if (before != after) {
+                // Yer değiştiren anahtar sadece yeni shard'a gider
+                assertEquals(4, after);
+                moved++;
+            }
+        }
+        // Beklenen oran 1/5
+        assertTrue(Math.abs(moved - KEYS / 5) < KEYS / 5 * 0.05, "Taşınan anahtar sayısı: " + moved);
+    }
+}
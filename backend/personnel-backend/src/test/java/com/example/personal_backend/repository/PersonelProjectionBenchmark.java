@@ -0,0 +1,140 @@
+package com.example.personal_backend.repository;
+
+import com.example.personal_backend.dto.PersonelResponseDTO;
+import com.example.personal_backend.entity.Personel;
+import com.example.personal_backend.mapper.PersonelMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Okuma endpoint'lerinde entity yükleyip DTO'ya kopyalamak ile doğrudan DTO projeksiyonunu karşılaştırır
+ * Her iki yol da servisteki gibi readOnly transaction içinde çalışır; ölçülen değerler
+ * çağrı başına ortalama süre ve çağıran thread'in ayırdığı bellek miktarıdır.
+ * Normal test çalıştırmasında devre dışıdır, şu komutla çalıştırılır:
+ * mvn test -Dtest=PersonelProjectionBenchmark -Dbenchmark=true [-Dbenchmark.rows=10000]
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+        "logging.level.com.example.personal_backend=WARN",
+        "spring.rabbitmq.listener.simple.auto-startup=false"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PersonelProjectionBenchmark {
+
+    private static final String[] DEPARTMANLAR = {"İnsan Kaynakları", "Bilgi İşlem", "Muhasebe", "Satış", "Pazarlama"};
+    private static final int WARMUP_ROUNDS = 30;
+    private static final int MEASURED_ROUNDS = 50;
+    private static final long FIRST_ID = 1_000_000L; // Sequence'tan gelen ID'lerle çakışmaması için
+
+    private static final String ENTITY_WHERE = " FROM Personel p WHERE p.aktif = true";
+    private static final String ENTITY_SEARCH = ENTITY_WHERE + " AND " + PersonelRepository.SEARCH_CONDITION;
+
+    @Autowired
+    private PersonelRepository personelRepository;
+
+    @Autowired
+    private PersonelMapper personelMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void compareEntityWithProjection() {
+        int rows = Integer.getInteger("benchmark.rows", 10_000);
+        populate(rows);
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        System.out.printf("%-28s %-10s %12s %16s%n", "scenario (" + rows + " rows)", "variant", "mean (us)", "alloc (KB/op)");
+
+        run(readOnly, "list all", "entity", () -> entityManager
+                .createQuery("SELECT p" + ENTITY_WHERE, Personel.class)
+                .getResultList().stream().map(personelMapper::toResponseDTO).toList());
+        run(readOnly, "list all", "dto", () -> personelRepository.findActivePersonel());
+
+        int pageNumber = rows / 40;
+        run(readOnly, "page 20 sorted by ad", "entity", () -> {
+            List<PersonelResponseDTO> content = entityManager
+                    .createQuery("SELECT p" + ENTITY_WHERE + " ORDER BY p.ad", Personel.class)
+                    .setFirstResult(pageNumber * 20).setMaxResults(20)
+                    .getResultList().stream().map(personelMapper::toResponseDTO).toList();
+            entityManager.createQuery("SELECT COUNT(p)" + ENTITY_WHERE, Long.class).getSingleResult();
+            return content;
+        });
+        run(readOnly, "page 20 sorted by ad", "dto", () -> personelRepository
+                .findActivePersonel(PageRequest.of(pageNumber, 20, Sort.by("ad"))).getContent());
+
+        run(readOnly, "search 'muhasebe' page 20", "entity", () -> {
+            List<PersonelResponseDTO> content = entityManager
+                    .createQuery("SELECT p" + ENTITY_SEARCH, Personel.class)
+                    .setParameter("searchText", "muhasebe")
+                    .setMaxResults(20)
+                    .getResultList().stream().map(personelMapper::toResponseDTO).toList();
+            entityManager.createQuery("SELECT COUNT(p)" + ENTITY_SEARCH, Long.class)
+                    .setParameter("searchText", "muhasebe").getSingleResult();
+            return content;
+        });
+        run(readOnly, "search 'muhasebe' page 20", "dto", () -> personelRepository
+                .findBySearchText("muhasebe", PageRequest.of(0, 20)).getContent());
+    }
+
+    private void run(TransactionTemplate readOnly, String scenario, String variant, Supplier<List<PersonelResponseDTO>> query) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int resultSize = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            resultSize = readOnly.execute(status -> query.get()).size();
+        }
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            readOnly.execute(status -> query.get());
+        }
+        long meanMicros = (System.nanoTime() - start) / MEASURED_ROUNDS / 1_000;
+        long allocatedKb = (threads.getCurrentThreadAllocatedBytes() - allocatedBefore) / MEASURED_ROUNDS / 1_024;
+        System.out.printf("%-28s %-10s %12d %16d   (%d rows returned)%n", scenario, variant, meanMicros, allocatedKb, resultSize);
+    }
+
+    private void populate(int rows) {
+        Random random = new Random(42);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(1_000);
+        for (int i = 0; i < rows; i++) {
+            batch.add(new Object[]{FIRST_ID + i, "Ad" + random.nextInt(5_000), "Soyad" + i, "personel" + i + "@firma.com.tr",
+                    "5550000000", DEPARTMANLAR[random.nextInt(DEPARTMANLAR.length)], "Uzman",
+                    Date.valueOf(LocalDate.of(2020, 1, 1).plusDays(random.nextInt(1_500))), 50_000.0, now, now});
+            if (batch.size() == 1_000 || i == rows - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO personel (id, ad, soyad, email, telefon, departman, pozisyon, " +
+                        "ise_baslama_tarihi, maas, aktif, olusturma_tarihi, guncelleme_tarihi, surum) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, TRUE, ?, ?, 0)", batch);
+                batch.clear();
+            }
+        }
+    }
+}
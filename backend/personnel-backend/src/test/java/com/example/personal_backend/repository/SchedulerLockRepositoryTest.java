@@ -0,0 +1,93 @@
+package com.example.personal_backend.repository;
+
+import com.example.personal_backend.entity.SchedulerLock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SchedulerLockRepositoryTest {
+
+    private static final String LOCK = "test-lock";
+
+    @Autowired
+    private SchedulerLockRepository schedulerLockRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        schedulerLockRepository.deleteAll();
+        schedulerLockRepository.save(new SchedulerLock(LOCK));
+    }
+
+    @Test
+    void leaseIsExclusiveUntilItExpires() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertEquals(1, acquire("node-a", now, now.plusSeconds(30)));
+        assertEquals(0, acquire("node-b", now.plusSeconds(10), now.plusSeconds(40)));
+        // Sahibi süreyi uzatabilir
+        assertEquals(1, acquire("node-a", now.plusSeconds(10), now.plusSeconds(40)));
+        // Süre dolunca başka node devralır
+        assertEquals(1, acquire("node-b", now.plusSeconds(41), now.plusSeconds(71)));
+        assertEquals(0, acquire("node-a", now.plusSeconds(42), now.plusSeconds(72)));
+    }
+
+    @Test
+    void competingNodeWaitsForHolderTransaction() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        CountDownLatch acquired = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> holder = CompletableFuture.supplyAsync(() ->
+                transactionTemplate.execute(status -> {
+                    int result = schedulerLockRepository.tryAcquire(LOCK, "node-a", now, now.plusSeconds(30));
+                    acquired.countDown();
+                    await(release);
+                    return result;
+                }));
+        assertTrue(acquired.await(10, TimeUnit.SECONDS));
+
+        // node-b'nin UPDATE'i node-a commit edene kadar bekler, sonra kilidi dolu bulur
+        CompletableFuture<Integer> competitor = CompletableFuture.supplyAsync(() ->
+                acquire("node-b", now, now.plusSeconds(30)));
+        Thread.sleep(200);
+        release.countDown();
+
+        assertEquals(1, holder.get(10, TimeUnit.SECONDS));
+        assertEquals(0, competitor.get(10, TimeUnit.SECONDS));
+        assertEquals("node-a", schedulerLockRepository.findById(LOCK).orElseThrow().getLockedBy());
+    }
+
+    private int acquire(String owner, LocalDateTime now, LocalDateTime until) {
+        Integer updated = transactionTemplate.execute(status ->
+                schedulerLockRepository.tryAcquire(LOCK, owner, now, until));
+        return updated != null ? updated : 0;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.personal_backend.search;
+
+import com.example.personal_backend.entity.Personel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * PersonelSearchIndex ile PersonelRepository.findBySearchText'teki LIKE '%x%' sorgusunu karşılaştırır
+ * Normal test çalıştırmasında devre dışıdır, şu komutla çalıştırılır:
+ * mvn test -Dtest=PersonelSearchIndexBenchmark -Dbenchmark=true [-Dbenchmark.sizes=10000,100000,1000000]
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PersonelSearchIndexBenchmark {
+
+    private static final String[] ADLAR = {"Ahmet", "Mehmet", "Ayşe", "Fatma", "İsmail", "Işıl", "Zeynep", "Emre",
+            "Can", "Elif", "Ömer", "Şule", "Gökhan", "Irmak", "İpek", "Burak", "Çağla", "Oğuz", "Deniz", "Hülya"};
+    private static final String[] SOYADLAR = {"Yılmaz", "Kaya", "Demir", "Şahin", "Çelik", "Yıldız", "Aydın",
+            "Öztürk", "Arslan", "Doğan", "Kılıç", "Aslan", "Işık", "Koç", "Kurt", "Özdemir", "İnce", "Erdoğan"};
+    private static final String[] DEPARTMANLAR = {"İnsan Kaynakları", "Bilgi İşlem", "Muhasebe", "Satış",
+            "Pazarlama", "Üretim", "Lojistik", "Hukuk", "Ar-Ge", "Müşteri Hizmetleri"};
+    private static final String[] POZISYONLAR = {"Yazılım Mühendisi", "Uzman", "Müdür", "Direktör", "Stajyer",
+            "Analist", "Kıdemli Uzman", "Takım Lideri", "Asistan", "Danışman"};
+
+    // Gerçek arama kutusu girdilerine benzer sorgular (kısa, Türkçe büyük harf, email parçası)
+    private static final String[] QUERIES = {"ahmet", "yılmaz", "İNSAN", "IŞIK", "mühendis", "ka", "@firma", "ozdemir.7"};
+
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 50;
+    private static final int PAGE_SIZE = 10;
+
+    private static final String LIKE_WHERE = " FROM personel p WHERE p.aktif = TRUE AND (" +
+            "LOWER(p.ad) LIKE LOWER(CONCAT('%', ?, '%')) OR " +
+            "LOWER(p.soyad) LIKE LOWER(CONCAT('%', ?, '%')) OR " +
+            "LOWER(p.email) LIKE LOWER(CONCAT('%', ?, '%')) OR " +
+            "LOWER(p.departman) LIKE LOWER(CONCAT('%', ?, '%')) OR " +
+            "LOWER(p.pozisyon) LIKE LOWER(CONCAT('%', ?, '%')))";
+
+    @Test
+    void compareIndexWithLikeQuery() throws Exception {
+        String[] sizes = System.getProperty("benchmark.sizes", "10000,100000,1000000").split(",");
+        System.out.printf("%-9s %-12s %14s %14s %10s %10s%n",
+                "rows", "query", "LIKE (us)", "index (us)", "LIKE hit", "index hit");
+        for (String size : sizes) {
+            run(Integer.parseInt(size.trim()));
+        }
+    }
+
+    private void run(int rows) throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:bench" + rows, "sa", "")) {
+            PersonelSearchIndex index = new PersonelSearchIndex();
+            populate(connection, index, rows);
+
+            for (String query : QUERIES) {
+                long likeHits = 0;
+                long indexHits = 0;
+                for (int round = 0; round < WARMUP_ROUNDS; round++) {
+                    likeHits = likeSearch(connection, query);
+                    indexHits = index.search(query).length;
+                }
+                long likeStart = System.nanoTime();
+                for (int round = 0; round < MEASURED_ROUNDS; round++) {
+                    likeSearch(connection, query);
+                }
+                long likeMicros = (System.nanoTime() - likeStart) / MEASURED_ROUNDS / 1_000;
+
+                long indexStart = System.nanoTime();
+                for (int round = 0; round < MEASURED_ROUNDS; round++) {
+                    indexSearch(connection, index, query);
+                }
+                long indexMicros = (System.nanoTime() - indexStart) / MEASURED_ROUNDS / 1_000;
+
+                System.out.printf("%-9d %-12s %14d %14d %10d %10d%n",
+                        rows, query, likeMicros, indexMicros, likeHits, indexHits);
+            }
+        }
+    }
+
+    // Mevcut davranış: sayfa sorgusu + Page için COUNT(*)
+    private long likeSearch(Connection connection, String query) throws Exception {
+        try (PreparedStatement page = connection.prepareStatement(
+                "SELECT p.id, p.ad, p.soyad, p.email, p.departman, p.pozisyon" + LIKE_WHERE +
+                        " OFFSET 0 ROWS FETCH FIRST " + PAGE_SIZE + " ROWS ONLY");
+             PreparedStatement count = connection.prepareStatement("SELECT COUNT(*)" + LIKE_WHERE)) {
+            bindQuery(page, query);
+            try (ResultSet rs = page.executeQuery()) {
+                while (rs.next()) {
+                    rs.getLong(1);
+                }
+            }
+            bindQuery(count, query);
+            try (ResultSet rs = count.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    // Yeni davranış: aday ID'ler indeksten, sadece sayfadaki satırlar veritabanından
+    private long indexSearch(Connection connection, PersonelSearchIndex index, String query) throws Exception {
+        long[] ids = index.search(query);
+        int pageSize = Math.min(PAGE_SIZE, ids.length);
+        if (pageSize == 0) {
+            return 0;
+        }
+        StringBuilder in = new StringBuilder();
+        for (int i = 0; i < pageSize; i++) {
+            in.append(i == 0 ? "?" : ",?");
+        }
+        try (PreparedStatement page = connection.prepareStatement(
+                "SELECT p.id, p.ad, p.soyad, p.email, p.departman, p.pozisyon FROM personel p WHERE p.id IN (" + in + ")")) {
+            for (int i = 0; i < pageSize; i++) {
+                page.setLong(i + 1, ids[i]);
+            }
+            try (ResultSet rs = page.executeQuery()) {
+                while (rs.next()) {
+                    rs.getLong(1);
+                }
+            }
+        }
+        return ids.length;
+    }
+
+    private void bindQuery(PreparedStatement statement, String query) throws Exception {
+        for (int i = 1; i <= 5; i++) {
+            statement.setString(i, query);
+        }
+    }
+
+    private void populate(Connection connection, PersonelSearchIndex index, int rows) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE personel (id BIGINT PRIMARY KEY, ad VARCHAR(50), soyad VARCHAR(50), " +
+                    "email VARCHAR(100), departman VARCHAR(100), pozisyon VARCHAR(100), aktif BOOLEAN)");
+        }
+        Random random = new Random(42);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO personel (id, ad, soyad, email, departman, pozisyon, aktif) VALUES (?, ?, ?, ?, ?, ?, TRUE)")) {
+            for (int i = 1; i <= rows; i++) {
+                Personel personel = new Personel(
+                        ADLAR[random.nextInt(ADLAR.length)],
+                        SOYADLAR[random.nextInt(SOYADLAR.length)],
+                        null,
+                        "5550000000",
+                        DEPARTMANLAR[random.nextInt(DEPARTMANLAR.length)],
+                        POZISYONLAR[random.nextInt(POZISYONLAR.length)],
+                        LocalDate.of(2020, 1, 1),
+                        null
+                );
+                personel.setId((long) i);
+                personel.setEmail(asciiEmail(personel.getAd(), personel.getSoyad(), i));
+
+                insert.setLong(1, i);
+                insert.setString(2, personel.getAd());
+                insert.setString(3, personel.getSoyad());
+                insert.setString(4, personel.getEmail());
+                insert.setString(5, personel.getDepartman());
+                insert.setString(6, personel.getPozisyon());
+                insert.addBatch();
+                if (i % 1000 == 0) {
+                    insert.executeBatch();
+                }
+                // Transaction dışında çağrıldığı için indeks hemen güncellenir
+                index.updateAfterCommit(personel);
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private String asciiEmail(String ad, String soyad, int sequence) {
+        String local = (ad + "." + soyad + "." + sequence).toLowerCase(PersonelSearchIndex.TURKISH)
+                .replace('ı', 'i').replace('ş', 's').replace('ğ', 'g')
+                .replace('ü', 'u').replace('ö', 'o').replace('ç', 'c');
+        return local + "@firma.com.tr";
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.personal_backend.search;
+
+import com.example.personal_backend.entity.Personel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PersonelSearchIndexTest {
+
+    private PersonelSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PersonelSearchIndex();
+        index.updateAfterCommit(personel(1L, "Ilker", "Demir", "Ilker@x.com", "IT", "Uzman"));
+        index.updateAfterCommit(personel(2L, "İpek", "Işık", "ipek.isik@firma.com.tr", "İnsan Kaynakları", "Müdür"));
+        index.updateAfterCommit(personel(3L, "Ayşe", "Kaya", "ayse@firma.com.tr", "Satış", "Analist"));
+    }
+
+    @Test
+    void asciiUppercaseIMatchesLowercaseQuery() {
+        assertArrayEquals(new long[] {1L}, index.search("ilker"));
+        assertArrayEquals(new long[] {1L}, index.search("ILKER@X"));
+        assertArrayEquals(new long[] {1L}, index.search("it"));
+    }
+
+    @Test
+    void dottedAndDotlessIMatchEachOther() {
+        assertArrayEquals(new long[] {2L}, index.search("IŞIK"));
+        assertArrayEquals(new long[] {2L}, index.search("ışık"));
+        assertArrayEquals(new long[] {2L}, index.search("isik"));
+        assertArrayEquals(new long[] {2L}, index.search("İPEK"));
+        assertArrayEquals(new long[] {2L}, index.search("insan"));
+    }
+
+    @Test
+    void foldKeepsLength() {
+        assertEquals("ilker@x.com", PersonelSearchIndex.fold("Ilker@X.com"));
+        assertEquals("işik ipek", PersonelSearchIndex.fold("IŞIK İPEK"));
+        assertEquals("", PersonelSearchIndex.fold(null));
+    }
+
+    @Test
+    void fieldsDoNotMatchAcrossBoundaries() {
+        // "demir" + "ilker@x.com" bitişik aranırsa eşleşmemeli
+        assertArrayEquals(new long[0], index.search("demirilker"));
+    }
+
+    @Test
+    void inactivePersonelIsRemoved() {
+        Personel personel = personel(3L, "Ayşe", "Kaya", "ayse@firma.com.tr", "Satış", "Analist");
+        personel.setAktif(false);
+        index.updateAfterCommit(personel);
+
+        assertArrayEquals(new long[0], index.search("ayşe"));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void olderVersionDoesNotOverwriteNewer() {
+        Personel updated = personel(3L, "Ayşe", "Yıldız", "ayse@firma.com.tr", "Satış", "Analist");
+        updated.setSurum(2L);
+        index.updateAfterCommit(updated);
+        Personel older = personel(3L, "Ayşe", "Kaya", "ayse@firma.com.tr", "Satış", "Analist");
+        older.setSurum(1L);
+        index.updateAfterCommit(older);
+
+        assertArrayEquals(new long[] {3L}, index.search("yıldız"));
+        assertArrayEquals(new long[0], index.search("kaya"));
+    }
+
+    @Test
+    void olderVersionDoesNotRestoreDeletedPersonel() {
+        Personel deleted = personel(4L, "Mehmet", "Öz", "mehmet@firma.com.tr", "Satış", "Uzman");
+        deleted.setAktif(false);
+        deleted.setSurum(1L);
+        index.updateAfterCommit(deleted);
+        Personel created = personel(4L, "Mehmet", "Öz", "mehmet@firma.com.tr", "Satış", "Uzman");
+        created.setSurum(0L);
+        index.updateAfterCommit(created);
+
+        assertArrayEquals(new long[0], index.search("mehmet"));
+        assertEquals(3, index.size());
+    }
+
+    private static Personel personel(Long id, String ad, String soyad, String email, String departman,
+                                     String pozisyon) {
+        Personel personel = new Personel(ad, soyad, email, "5550000000", departman, pozisyon,
+                LocalDate.of(2020, 1, 1), 10000.0);
+        personel.setId(id);
+        return personel;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.personal_backend.service;
+
+import com.example.personal_backend.exception.InvalidCursorException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PersonelCursorCodecTest {
+
+    private PersonelCursorCodec codec;
+
+    @BeforeEach
+    void setUp() {
+        codec = new PersonelCursorCodec();
+        ReflectionTestUtils.setField(codec, "objectMapper", new ObjectMapper());
+    }
+
+    @Test
+    void roundTripKeepsTypedKeys() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("iseBaslamaTarihi", LocalDate.of(2021, 3, 15));
+        keys.put("id", 42L);
+        String token = codec.encode(PersonelCursorCodec.SortField.ISE_BASLAMA_TARIHI, Sort.Direction.DESC,
+                ScrollPosition.forward(keys));
+
+        KeysetScrollPosition position = codec.decode(token, PersonelCursorCodec.SortField.ISE_BASLAMA_TARIHI,
+                Sort.Direction.DESC);
+
+        assertEquals(LocalDate.of(2021, 3, 15), position.getKeys().get("iseBaslamaTarihi"));
+        assertEquals(42L, position.getKeys().get("id"));
+    }
+
+    @Test
+    void blankTokenIsFirstPage() {
+        assertTrue(codec.decode(null, PersonelCursorCodec.SortField.ID, Sort.Direction.ASC).isInitial());
+        assertTrue(codec.decode(" ", PersonelCursorCodec.SortField.ID, Sort.Direction.ASC).isInitial());
+    }
+
+    @Test
+    void tokenFromAnotherSortIsRejected() {
+        String token = codec.encode(PersonelCursorCodec.SortField.AD, Sort.Direction.ASC,
+                ScrollPosition.forward(Map.of("ad", "Ahmet", "id", 1L)));
+
+        assertThrows(InvalidCursorException.class,
+                () -> codec.decode(token, PersonelCursorCodec.SortField.SOYAD, Sort.Direction.ASC));
+        assertThrows(InvalidCursorException.class,
+                () -> codec.decode(token, PersonelCursorCodec.SortField.AD, Sort.Direction.DESC));
+    }
+
+    @Test
+    void malformedTokenIsRejected() {
+        assertThrows(InvalidCursorException.class,
+                () -> codec.decode("not-base64!", PersonelCursorCodec.SortField.ID, Sort.Direction.ASC));
+        String badKey = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"s\":\"id\",\"d\":\"ASC\",\"k\":{\"id\":\"abc\"}}".getBytes());
+        assertThrows(InvalidCursorException.class,
+                () -> codec.decode(badKey, PersonelCursorCodec.SortField.ID, Sort.Direction.ASC));
+    }
+
+    @Test
+    void unknownSortFieldIsRejected() {
+        assertThrows(InvalidCursorException.class, () -> PersonelCursorCodec.SortField.fromProperty("maas"));
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.personal_backend.service;
+
+import com.example.personal_backend.exception.InvalidCursorException;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.domain.Sort;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PersonelServiceCursorPageSizeTest {
+
+    private final PersonelService personelService = new PersonelService();
+
+    @ParameterizedTest
+    @ValueSource(ints = {-1, 0, 501, Integer.MAX_VALUE})
+    void listingRejectsOutOfRangeSize(int size) {
+        assertThrows(InvalidCursorException.class,
+                () -> personelService.getAllPersonelByCursor("id", Sort.Direction.ASC, null, size));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {-1, 0, 501})
+    void searchRejectsOutOfRangeSize(int size) {
+        assertThrows(InvalidCursorException.class, () -> personelService.searchPersonelByCursor("ali", null, size));
+    }
+}